@@ -120,13 +120,15 @@ public class Types
 	}
 	
 	/**
-	 * Serialization block types (empty, dense, sparse, ultra-sparse)
+	 * Serialization block types (empty, dense, sparse, ultra-sparse, compressed)
 	 */
 	public enum BlockType{
 		EMPTY_BLOCK,
 		ULTRA_SPARSE_BLOCK,
 		SPARSE_BLOCK,
 		DENSE_BLOCK,
+		BLOCK_SPARSE_BLOCK,
+		COMPRESSED_BLOCK,
 	}
 	
 	/**
@@ -534,14 +536,19 @@ public class Types
 		BINARY, // binary block representation (dense/sparse/ultra-sparse)
 		FEDERATED, // A federated matrix
 		PROTO,  // protocol buffer representation
-		HDF5; // Hierarchical Data Format (HDF)
+		HDF5,   // Hierarchical Data Format (HDF)
+		NATIVE; // native local binary block representation (block index, page-aligned)
 		
 		public boolean isIJV() {
 			return this == TEXT || this == MM;
 		}
 		
 		public boolean isTextFormat() {
-			return this != BINARY;
+			return this != BINARY && this != NATIVE;
+		}
+		
+		public boolean isBinaryBlockFormat() {
+			return this == BINARY || this == NATIVE;
 		}
 		
 		public static boolean isTextFormat(String fmt) {
@@ -175,6 +175,15 @@ public class ConfigurationManager
 		return getDMLConfig().getBooleanValue(DMLConfig.PARALLEL_ENCODE);
 	}
 
+	public static boolean isUnifiedMemoryManager() {
+		return getDMLConfig().getTextValue(DMLConfig.CACHING_MEMORY_MANAGER)
+			.equalsIgnoreCase("unified");
+	}
+
+	public static boolean isNativeBinaryCompression() {
+		return getDMLConfig().getBooleanValue(DMLConfig.IO_NATIVE_COMPRESSION);
+	}
+
 	public static boolean isStagedParallelTransform() {
 		return getDMLConfig().getBooleanValue(DMLConfig.PARALLEL_ENCODE_STAGED);
 	}
@@ -41,6 +41,7 @@ import org.apache.sysds.parser.DataExpression;
 import static org.apache.sysds.parser.DataExpression.FED_RANGES;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.LocalFileUtils;
 
 /**
@@ -56,6 +57,7 @@ public class DataOp extends Hop {
 	private FileFormat _inFormat = FileFormat.TEXT;
 	private long _inBlocksize = -1;
 	private boolean _hasOnlyRDD = false;
+	private IndexRange _readRange = null; //partial read (pushed-down right indexing)
 	
 	private boolean _recompileRead = true;
 
@@ -255,6 +257,10 @@ public class DataOp extends Hop {
 		return _paramIndexMap.get(name);
 	}
 	
+	public HashMap<String, Integer> getParamIndexMap() {
+		return _paramIndexMap;
+	}
+	
 	public void setOnlyRDD(boolean flag) {
 		_hasOnlyRDD = flag;
 	}
@@ -263,6 +269,20 @@ public class DataOp extends Hop {
 		return _hasOnlyRDD;
 	}
 	
+	/**
+	 * Sets the index range (0-based, inclusive) of a partial persistent read,
+	 * where the dimensions of this hop refer to the index range.
+	 * 
+	 * @param ixrange index range, or null for a read of the entire input
+	 */
+	public void setReadRange(IndexRange ixrange) {
+		_readRange = ixrange;
+	}
+	
+	public IndexRange getReadRange() {
+		return _readRange;
+	}
+	
 	@Override
 	public boolean isGPUEnabled() {
 		return false;
@@ -297,6 +317,7 @@ public class DataOp extends Hop {
 				l = new Data(_op, null, inputLops, getName(), null, 
 						getDataType(), getValueType(), getFileFormat());
 				l.getOutputParameters().setDimensions(getDim1(), getDim2(), _inBlocksize, getNnz(), getUpdateType());
+				((Data)l).setReadRange(_readRange);
 				break;
 				
 			case PERSISTENTWRITE:
@@ -483,6 +504,10 @@ public class DataOp extends Hop {
 				checkAndSetInvalidCPDimsAndSize();
 			}
 			
+			//native binary format only supported by local CP writes
+			if( _inFormat == FileFormat.NATIVE && getDataType().isMatrix() )
+				_etype = ExecType.CP;
+			
 			//mark for recompile (forever)
 			setRequiresRecompileIfNecessary();
 		}
@@ -495,7 +520,9 @@ public class DataOp extends Hop {
 				setRequiresRecompile();
 			}
 			
-			_etype = letype;
+			//native binary format and partial reads only supported by local CP reads
+			_etype = ((_inFormat == FileFormat.NATIVE && getDataType().isMatrix()) || _readRange != null) ?
+				ExecType.CP : letype;
 		}
 
 		updateETFed();
@@ -555,6 +582,7 @@ public class DataOp extends Hop {
 		ret._inFormat = _inFormat;
 		ret._inBlocksize = _inBlocksize;
 		ret._recompileRead = _recompileRead;
+		ret._readRange = _readRange;
 		ret._paramIndexMap = (HashMap<String, Integer>) _paramIndexMap.clone();
 		//note: no deep cp of params since read-only 
 		
@@ -579,6 +607,7 @@ public class DataOp extends Hop {
 			&& _fileName.equals(that2._fileName)
 			&& _inFormat == that2._inFormat
 			&& _inBlocksize == that2._inBlocksize
+			&& isEqualReadRange(_readRange, that2._readRange)
 			&& _paramIndexMap!=null && that2._paramIndexMap!=null );
 		
 		//above conditions also ensure consistency with regard to 
@@ -596,6 +625,12 @@ public class DataOp extends Hop {
 		
 		return ret;
 	}
+	
+	private static boolean isEqualReadRange(IndexRange a, IndexRange b) {
+		return (a == null || b == null) ? a == b :
+			a.rowStart == b.rowStart && a.rowEnd == b.rowEnd
+			&& a.colStart == b.colStart && a.colEnd == b.colEnd;
+	}
 
 	/**
 	 * Remove an input from the list of inputs and from the parameter index map.
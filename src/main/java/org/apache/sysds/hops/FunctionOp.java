@@ -200,8 +200,11 @@ public class FunctionOp extends Hop
 				return outputVectors+outputValues; 
 			}
 			else if ( getFunctionName().equalsIgnoreCase("lstm") || getFunctionName().equalsIgnoreCase("lstm_backward") ) {
-				// TODO: To allow for initial version to always run on the GPU
-				return 0; 
+				// dense outputs (out, cy) and (dX, dW, db, dout0, dc0), respectively
+				long ret = 0;
+				for( Hop out : getOutputs() )
+					ret += OptimizerUtils.estimateSizeExactSparsity(out.getDim1(), out.getDim2(), 1.0);
+				return ret;
 			}
 			else if ( getFunctionName().equalsIgnoreCase("batch_norm2d") || getFunctionName().equalsIgnoreCase("batch_norm2d_train")) {
 				return OptimizerUtils.estimateSizeExactSparsity(getOutputs().get(0).getDim1(), getOutputs().get(0).getDim2(), 1.0) +
@@ -253,8 +256,16 @@ public class FunctionOp extends Hop
 				return 0; 
 			}
 			else if ( getFunctionName().equalsIgnoreCase("lstm") ||  getFunctionName().equalsIgnoreCase("lstm_backward") ) {
-				// TODO: To allow for initial version to always run on the GPU
-				return 0; 
+				// gate and state buffers (N x 6M), for the backward pass additionally
+				// the recomputed gates and states of all time steps (T x N x 6M)
+				long N = getInput().get(0).getDim1();
+				long M = getInput().get(1).getDim2() / 4;
+				long T = (N > 0 && M > 0 && getInput().get(1).getDim1() > M) ?
+					getInput().get(0).getDim2() / (getInput().get(1).getDim1() - M) : -1;
+				double ret = OptimizerUtils.estimateSizeExactSparsity(N, 6*M, 1.0);
+				if( getFunctionName().equalsIgnoreCase("lstm_backward") )
+					ret += (T > 0) ? T * ret : OptimizerUtils.DEFAULT_SIZE;
+				return ret;
 			}
 			else if ( getFunctionName().equalsIgnoreCase("svd")) {
 				double interOutput = OptimizerUtils.estimateSizeExactSparsity(1, getInput().get(0).getDim2(), 1.0);
@@ -318,14 +329,13 @@ public class FunctionOp extends Hop
 			boolean isBuiltinFunction = isBuiltinFunction();
 			// check if there is sufficient memory to execute this function
 			if(isBuiltinFunction && getFunctionName().equalsIgnoreCase("transformencode") ) {
+				//incremental encode w/ existing metadata only supported in CP
 				_etype = ((_etypeForced==ExecType.SPARK 
 					|| (getMemEstimate() >= OptimizerUtils.getLocalMemBudget()
-						&& OptimizerUtils.isSparkExecutionMode())) ? ExecType.SPARK : ExecType.CP);
+						&& OptimizerUtils.isSparkExecutionMode())) && getInput().size() < 3 ? ExecType.SPARK : ExecType.CP);
 			}
 			else if(isBuiltinFunction && (getFunctionName().equalsIgnoreCase("lstm") || getFunctionName().equalsIgnoreCase("lstm_backward"))) {
-				if(!DMLScript.USE_ACCELERATOR)
-					throw new RuntimeException("The function " + getFunctionName() + " is only supported on GPU.");
-				_etype = ExecType.GPU;
+				_etype = DMLScript.USE_ACCELERATOR ? ExecType.GPU : ExecType.CP;
 			}
 			else if(isBuiltinFunction && (getFunctionName().equalsIgnoreCase("batch_norm2d") || getFunctionName().equalsIgnoreCase("batch_norm2d_backward"))) {
 				_etype = DMLScript.USE_ACCELERATOR ? ExecType.GPU : ExecType.CP;
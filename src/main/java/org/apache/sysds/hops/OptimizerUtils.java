@@ -135,6 +135,12 @@ public class OptimizerUtils
 
 	public static boolean ALLOW_AUTO_VECTORIZATION = true;
 	
+	/**
+	 * Enables the pushdown of right indexing with constant index ranges into persistent
+	 * binary block and csv reads, which then skip non-requested rows and columns.
+	 */
+	public static boolean ALLOW_READ_INDEXING_PUSHDOWN = true;
+	
 	/**
 	 * Enables simple expression evaluation for datagen parameters 'rows', 'cols'. Simple
 	 * expressions are defined as binary operations on literals and nrow/ncol. This applies
@@ -354,6 +360,7 @@ public class OptimizerUtils
 				ALLOW_BRANCH_REMOVAL = false;
 				ALLOW_FOR_LOOP_REMOVAL = false;
 				ALLOW_SUM_PRODUCT_REWRITES = false;
+				ALLOW_READ_INDEXING_PUSHDOWN = false;
 				break;
 			// opt level 1: memory-based (no advanced rewrites)	
 			case 1:
@@ -368,6 +375,7 @@ public class OptimizerUtils
 				ALLOW_FOR_LOOP_REMOVAL = false;
 				ALLOW_SUM_PRODUCT_REWRITES = false;
 				ALLOW_LOOP_UPDATE_IN_PLACE = false;
+				ALLOW_READ_INDEXING_PUSHDOWN = false;
 				break;
 			// opt level 2: memory-based (all advanced rewrites)
 			case 2:
@@ -419,6 +427,7 @@ public class OptimizerUtils
 		//should be removed as soon all modified static variables are properly handled in the compiler config
 		ALLOW_ALGEBRAIC_SIMPLIFICATION = true;
 		ALLOW_AUTO_VECTORIZATION = true;
+		ALLOW_READ_INDEXING_PUSHDOWN = true;
 		ALLOW_BRANCH_REMOVAL = true;
 		ALLOW_FOR_LOOP_REMOVAL = true;
 		ALLOW_CONSTANT_FOLDING = true;
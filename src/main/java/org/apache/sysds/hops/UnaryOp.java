@@ -517,7 +517,8 @@ public class UnaryOp extends MultiThreadedHop
 		//ensure cp exec type for single-node operations
 		if( _op == OpOp1.PRINT || _op == OpOp1.ASSERT || _op == OpOp1.STOP || _op == OpOp1.TYPEOF
 			|| _op == OpOp1.INVERSE || _op == OpOp1.EIGEN || _op == OpOp1.CHOLESKY || _op == OpOp1.SVD
-			|| getInput().get(0).getDataType() == DataType.LIST || isMetadataOperation() )
+			|| getInput().get(0).getDataType() == DataType.LIST || isMetadataOperation()
+			|| (_op == OpOp1.COMPRESS || _op == OpOp1.DECOMPRESS) && getDataType().isFrame() )
 		{
 			_etype = ExecType.CP;
 		} else {
@@ -1594,7 +1594,7 @@ public class Recompiler {
 		long estFilesize = (long)(3.5 * mem); //conservative estimate
 		long cpThreshold = CP_REBLOCK_THRESHOLD_SIZE * 
 			OptimizerUtils.getParallelTextReadParallelism();
-		return (iimd.getFileFormat() == FileFormat.BINARY
+		return (iimd.getFileFormat().isBinaryBlockFormat()
 			|| estFilesize < cpThreshold); //for text conservative
 	}
 	
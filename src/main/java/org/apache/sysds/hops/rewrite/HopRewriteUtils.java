@@ -1398,7 +1398,7 @@ public class HopRewriteUtils {
 	public static boolean alwaysRequiresReblock(Hop hop) {
 		return (hop instanceof DataOp
 			&& ((DataOp)hop).getOp()==OpOpData.PERSISTENTREAD
-			 && ((DataOp)hop).getFileFormat()!=FileFormat.BINARY);
+			 && !((DataOp)hop).getFileFormat().isBinaryBlockFormat());
 	}
 	
 	public static boolean containsOp(ArrayList<Hop> candidates, Class<? extends Hop> clazz) {
@@ -98,6 +98,8 @@ public class ProgramRewriter
 				_dagRuleSet.add( new RewriteCommonSubexpressionElimination()     );
 			if( OptimizerUtils.ALLOW_AUTO_VECTORIZATION )
 				_dagRuleSet.add( new RewriteIndexingVectorization()              ); //dependency: cse, simplifications
+			if( OptimizerUtils.ALLOW_READ_INDEXING_PUSHDOWN )
+				_dagRuleSet.add( new RewriteReadIndexingPushdown()               ); //dependency: reblock, constant folding
 			_dagRuleSet.add( new RewriteInjectSparkPReadCheckpointing()          ); //dependency: reblock
 			
 			//add statement block rewrite rules
@@ -66,7 +66,8 @@ public class RewriteInjectSparkPReadCheckpointing extends HopRewriteRule
 		// shuffle) in order to prevent excessive garbage collection due to possibly
 		// many small string objects. An alternative would be serialized caching.
 		boolean isMatrix = hop.getDataType().isMatrix();
-		boolean isPRead = hop instanceof DataOp  && ((DataOp)hop).getOp()==OpOpData.PERSISTENTREAD;
+		boolean isPRead = hop instanceof DataOp  && ((DataOp)hop).getOp()==OpOpData.PERSISTENTREAD
+			&& ((DataOp)hop).getReadRange() == null; //partial reads always in CP
 		boolean isFrameException = hop.getDataType().isFrame() && isPRead && !((DataOp)hop).getFileFormat().isIJV();
 		
 		if( (isMatrix && isPRead) || (hop.requiresReblock() && !isFrameException) ) {
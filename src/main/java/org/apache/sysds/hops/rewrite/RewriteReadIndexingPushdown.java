@@ -0,0 +1,162 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.hops.rewrite;
+
+import java.util.ArrayList;
+
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.common.Types.OpOpData;
+import org.apache.sysds.hops.DataOp;
+import org.apache.sysds.hops.Hop;
+import org.apache.sysds.hops.IndexingOp;
+import org.apache.sysds.hops.LiteralOp;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.parser.DataExpression;
+import org.apache.sysds.runtime.util.IndexRange;
+
+/**
+ * Rule: Read indexing pushdown. If all consumers of a persistent read
+ * are right indexing operations with constant index ranges, we push the
+ * union of these index ranges into the read, which then only parses the
+ * requested rows and columns (projection and row-range predicate pushdown).
+ * This applies to binary block matrices and csv matrices/frames, where the
+ * read skips non-overlapping blocks and lines/cells, respectively. Consumers
+ * with exactly the union range are replaced by the read, while all other
+ * consumers are adjusted to index ranges relative to the union range.
+ *
+ * NOTE: partial reads are only supported by local CP reads and hence,
+ * only applied if the index range fits into the local memory budget.
+ */
+public class RewriteReadIndexingPushdown extends HopRewriteRule
+{
+	@Override
+	public ArrayList<Hop> rewriteHopDAGs(ArrayList<Hop> roots, ProgramRewriteStatus state) {
+		if( roots == null )
+			return roots;
+		for( Hop h : roots )
+			rule_ReadIndexingPushdown( h );
+		Hop.resetVisitStatus(roots);
+		return roots;
+	}
+
+	@Override
+	public Hop rewriteHopDAG(Hop root, ProgramRewriteStatus state) {
+		//not applicable to predicates (we do not allow persistent reads there)
+		return root;
+	}
+
+	private void rule_ReadIndexingPushdown( Hop hop ) {
+		if( hop.isVisited() )
+			return;
+
+		//recursively process children (prevent concurrent modification by index access)
+		for( int i=0; i<hop.getInput().size(); i++ )
+			rule_ReadIndexingPushdown( hop.getInput().get(i) );
+
+		if( isApplicableRead(hop) )
+			pushdownIndexing( (DataOp) hop );
+
+		hop.setVisited();
+	}
+
+	private static boolean isApplicableRead( Hop hop ) {
+		if( !HopRewriteUtils.isData(hop, OpOpData.PERSISTENTREAD)
+			|| !hop.dimsKnown() || hop.getParent().isEmpty() )
+			return false;
+		DataOp dop = (DataOp) hop;
+		boolean fmt = (hop.getDataType().isMatrix()
+			&& (dop.getFileFormat() == FileFormat.BINARY || dop.getFileFormat() == FileFormat.CSV))
+			|| (hop.getDataType().isFrame() && dop.getFileFormat() == FileFormat.CSV
+			&& !dop.getParamIndexMap().containsKey(DataExpression.SCHEMAPARAM));
+		if( !fmt )
+			return false;
+
+		//all consumers are right indexing w/ constant index ranges
+		for( Hop p : hop.getParent() ) {
+			if( !(p instanceof IndexingOp) || p.getInput().get(0) != hop )
+				return false;
+			for( int i=1; i<5; i++ )
+				if( !(p.getInput().get(i) instanceof LiteralOp) )
+					return false;
+		}
+		return true;
+	}
+
+	private static void pushdownIndexing( DataOp dop ) {
+		//compute union of all index ranges (1-based, inclusive)
+		long rl = Long.MAX_VALUE, ru = Long.MIN_VALUE;
+		long cl = Long.MAX_VALUE, cu = Long.MIN_VALUE;
+		for( Hop p : dop.getParent() ) {
+			rl = Math.min(rl, getIndex(p, 1));
+			ru = Math.max(ru, getIndex(p, 2));
+			cl = Math.min(cl, getIndex(p, 3));
+			cu = Math.max(cu, getIndex(p, 4));
+		}
+
+		//check for valid and partial index range (otherwise runtime errors or no benefit)
+		long nrow = dop.getDim1(), ncol = dop.getDim2();
+		if( rl < 1 || ru > nrow || cl < 1 || cu > ncol || rl > ru || cl > cu
+			|| (rl == 1 && ru == nrow && cl == 1 && cu == ncol) )
+			return;
+
+		//check local memory budget of partial read
+		long rows = ru - rl + 1, cols = cu - cl + 1;
+		double sp = OptimizerUtils.getSparsity(nrow, ncol, dop.getNnz());
+		if( OptimizerUtils.estimateSizeExactSparsity(rows, cols, sp) > OptimizerUtils.getLocalMemBudget() )
+			return;
+
+		//set index range (0-based, relative to existing index range)
+		IndexRange old = dop.getReadRange();
+		long roff = (old != null) ? old.rowStart : 0;
+		long coff = (old != null) ? old.colStart : 0;
+		dop.setReadRange(new IndexRange(roff+rl-1, roff+ru-1, coff+cl-1, coff+cu-1));
+		dop.setDim1(rows);
+		dop.setDim2(cols);
+		dop.setNnz(-1);
+		dop.setRequiresReblock(false); //in-memory CP read
+
+		//rewire consumers to the partial read (prevent concurrent modification)
+		ArrayList<Hop> parents = new ArrayList<>(dop.getParent());
+		for( Hop p : parents ) {
+			if( getIndex(p, 1) == rl && getIndex(p, 2) == ru
+				&& getIndex(p, 3) == cl && getIndex(p, 4) == cu ) {
+				//remove unnecessary indexing
+				HopRewriteUtils.rewireAllParentChildReferences(p, dop);
+				HopRewriteUtils.removeAllChildReferences(p);
+			}
+			else {
+				//shift index range relative to the partial read
+				for( int i=1; i<5; i++ ) {
+					long off = (i < 3) ? rl - 1 : cl - 1;
+					Hop lit = p.getInput().get(i);
+					HopRewriteUtils.replaceChildReference(p, lit,
+						new LiteralOp(getIndex(p, i) - off), i, false);
+				}
+				p.refreshSizeInformation();
+			}
+		}
+
+		LOG.debug("Applied pushdownReadIndexing (line "+dop.getBeginLine()+"): "+dop.getReadRange());
+	}
+
+	private static long getIndex( Hop ix, int pos ) {
+		return HopRewriteUtils.getIntValueSafe(ix.getInput().get(pos));
+	}
+}
@@ -27,6 +27,7 @@ import org.apache.sysds.common.Types.OpOpData;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.common.Types.ExecType;
 import org.apache.sysds.parser.DataExpression;
+import org.apache.sysds.runtime.util.IndexRange;
 
 /**
  * Lop to represent data objects. Data objects represent matrices, vectors, 
@@ -35,10 +36,12 @@ import org.apache.sysds.parser.DataExpression;
 public class Data extends Lop
 {
 	public static final String PREAD_PREFIX = "pREAD";
+	public static final String READ_RANGE_PREFIX = "ixrange:";
 	private final FileFormat formatType;
 	private final OpOpData _op;
 	private final boolean literal_var;
 	private HashMap<String, Lop> _inputParams;
+	private IndexRange _readRange = null; //partial persistent read
 
 	/**
 	 * Method to create literal LOPs.
@@ -144,6 +147,20 @@ public class Data extends Lop
 		return formatType ;
 	}
 
+	/**
+	 * Sets the index range (0-based, inclusive) of a partial persistent
+	 * read, i.e., right indexing pushed down into the read.
+	 * 
+	 * @param ixrange index range
+	 */
+	public void setReadRange(IndexRange ixrange) {
+		_readRange = ixrange;
+	}
+
+	public IndexRange getReadRange() {
+		return _readRange;
+	}
+
 	@Override
 	public String toString() {
 		return getID() + ":" + "File_Name: " + getOutputParameters().getFile_name() + " "
@@ -452,6 +469,19 @@ public class Data extends Lop
 				sb.append( OPERAND_DELIMITOR );
 				sb.append( (schema!=null) ? schema.prepScalarLabel() : "*" );
 			}
+
+			// Index range of partial reads (always last operand)
+			if( _readRange != null ) {
+				sb.append( OPERAND_DELIMITOR );
+				sb.append( READ_RANGE_PREFIX );
+				sb.append( _readRange.rowStart );
+				sb.append( "," );
+				sb.append( _readRange.rowEnd );
+				sb.append( "," );
+				sb.append( _readRange.colStart );
+				sb.append( "," );
+				sb.append( _readRange.colEnd );
+			}
 			return sb.toString();
 		}
 		else {
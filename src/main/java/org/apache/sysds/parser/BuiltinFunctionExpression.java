@@ -1585,8 +1585,8 @@ public class BuiltinFunctionExpression extends DataIdentifier
 		case LOCAL:
 			if(OptimizerUtils.ALLOW_SCRIPT_LEVEL_LOCAL_COMMAND){
 				checkNumParameters(1);
-				checkMatrixParam(getFirstExpr());
-				output.setDataType(DataType.MATRIX);
+				checkMatrixFrameParam(getFirstExpr());
+				output.setDataType(id.getDataType());
 				output.setDimensions(id.getDim1(), id.getDim2());
 				output.setBlocksize (id.getBlocksize());
 				output.setValueType(id.getValueType());
@@ -1597,8 +1597,8 @@ public class BuiltinFunctionExpression extends DataIdentifier
 		case DECOMPRESS:
 			if(OptimizerUtils.ALLOW_SCRIPT_LEVEL_COMPRESS_COMMAND){
 				checkNumParameters(1);
-				checkMatrixParam(getFirstExpr());
-				output.setDataType(DataType.MATRIX);
+				checkMatrixFrameParam(getFirstExpr());
+				output.setDataType(id.getDataType());
 				output.setDimensions(id.getDim1(), id.getDim2());
 				output.setBlocksize (id.getBlocksize());
 				output.setValueType(id.getValueType());
@@ -1051,6 +1051,7 @@ public class DMLTranslator
 							ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), -1);
 							break;
 						case BINARY:
+						case NATIVE:
 							// write output in binary block format
 							ae.setOutputParams(ae.getDim1(), ae.getDim2(), ae.getNnz(), ae.getUpdateType(), ae.getBlocksize());
 							break;
@@ -1927,6 +1928,8 @@ public class DMLTranslator
 				ArrayList<Hop> inputs = new ArrayList<>();
 				inputs.add( processExpression(source.getVarParam("target"), null, hops) );
 				inputs.add( processExpression(source.getVarParam("spec"), null, hops) );
+				if( source.getVarParam("meta") != null ) //incremental encode
+					inputs.add( processExpression(source.getVarParam("meta"), null, hops) );
 				String[] outputNames = new String[targetList.size()]; 
 				outputNames[0] = targetList.get(0).getName();
 				outputNames[1] = targetList.get(1).getName();
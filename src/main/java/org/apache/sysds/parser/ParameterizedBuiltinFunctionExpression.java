@@ -450,6 +450,10 @@ public class ParameterizedBuiltinFunctionExpression extends DataIdentifier
 		checkDataValueType(false, "transformencode", TF_FN_PARAM_SPEC, DataType.SCALAR, ValueType.STRING, conditional);
 		validateTransformSpec(TF_FN_PARAM_SPEC, conditional);
 		
+		//validate optional existing metadata (incremental encode)
+		if( getVarParam(TF_FN_PARAM_MTD2) != null )
+			checkDataType("transformencode", TF_FN_PARAM_MTD2, DataType.FRAME, conditional);
+		
 		//set output dimensions 
 		output1.setDataType(DataType.MATRIX);
 		output1.setValueType(ValueType.FP64);
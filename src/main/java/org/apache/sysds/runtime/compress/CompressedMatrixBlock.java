@@ -27,6 +27,7 @@ import java.io.ObjectOutput;
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.concurrent.Future;
@@ -35,22 +36,28 @@ import org.apache.commons.lang.NotImplementedException;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.commons.math3.random.Well1024a;
+import org.apache.sysds.common.Types.BlockType;
 import org.apache.sysds.common.Types.CorrectionLocationType;
 import org.apache.sysds.lops.MMTSJ.MMTSJType;
 import org.apache.sysds.lops.MapMultChain.ChainType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
-import org.apache.sysds.runtime.compress.colgroup.AColGroupValue;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupIO;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
 import org.apache.sysds.runtime.compress.lib.CLALibAppend;
 import org.apache.sysds.runtime.compress.lib.CLALibBinaryCellOp;
+import org.apache.sysds.runtime.compress.lib.CLALibCTable;
 import org.apache.sysds.runtime.compress.lib.CLALibCompAgg;
 import org.apache.sysds.runtime.compress.lib.CLALibDecompress;
+import org.apache.sysds.runtime.compress.lib.CLALibGroupedAgg;
+import org.apache.sysds.runtime.compress.lib.CLALibHistogram;
 import org.apache.sysds.runtime.compress.lib.CLALibLeftMultBy;
 import org.apache.sysds.runtime.compress.lib.CLALibMMChain;
+import org.apache.sysds.runtime.compress.lib.CLALibQuaternary;
+import org.apache.sysds.runtime.compress.lib.CLALibRBind;
+import org.apache.sysds.runtime.compress.lib.CLALibRemoveEmpty;
 import org.apache.sysds.runtime.compress.lib.CLALibReExpand;
 import org.apache.sysds.runtime.compress.lib.CLALibRightMultBy;
 import org.apache.sysds.runtime.compress.lib.CLALibScalar;
@@ -102,6 +109,12 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	private static final Log LOG = LogFactory.getLog(CompressedMatrixBlock.class.getName());
 	private static final long serialVersionUID = 73193720143154058L;
 
+	/**
+	 * Minimum serialized size of a compressed matrix with multiple column groups, from which the column groups are
+	 * serialized and deserialized in parallel using the indexed layout.
+	 */
+	private static final long MIN_PAR_SERIALIZE_SIZE = 16L * 1024 * 1024;
+
 	/**
 	 * Column groups
 	 */
@@ -354,8 +367,10 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public long getExactSizeOnDisk() {
 		// header information
-		long ret = 4 + 4 + 8 + 1;
-		ret += ColGroupIO.getExactSizeOnDisk(_colGroups);
+		long ret = 4 + 4 + 1 + 8 + 1;
+		final List<AColGroup> groups = getSerializationGroups();
+		final long groupsSize = ColGroupIO.getExactSizeOnDisk(groups);
+		ret += isParallelSerialize(groups, groupsSize) ? ColGroupIO.getExactSizeOnDiskIndexed(groups) : groupsSize;
 		return ret;
 	}
 
@@ -366,33 +381,65 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public void readFields(DataInput in) throws IOException {
-		// deserialize compressed block
+		// deserialize compressed block header
 		rlen = in.readInt();
 		clen = in.readInt();
+		final byte format = in.readByte();
+		if(format != BlockType.COMPRESSED_BLOCK.ordinal())
+			throw new IOException("Invalid block type for compressed matrix block: " + format);
+		readCompressedFields(in);
+	}
+
+	/**
+	 * Deserialize the content of a compressed block, after the header containing the number of rows, columns and block
+	 * type is read. The number of rows and columns of this block have to be set before calling this method.
+	 * 
+	 * Column groups written in the indexed layout are deserialized in parallel.
+	 * 
+	 * @param in The data input positioned after the block header
+	 * @throws IOException if IOException occurs
+	 */
+	public void readCompressedFields(DataInput in) throws IOException {
 		nonZeros = in.readLong();
 		overlappingColGroups = in.readBoolean();
-		_colGroups = ColGroupIO.readGroups(in, rlen);
+		_colGroups = ColGroupIO.readGroups(in, rlen, InfrastructureAnalyzer.getLocalParallelism());
+		clearSoftReferenceToDecompressed();
 	}
 
 	@Override
 	public void write(DataOutput out) throws IOException {
-		if(getExactSizeOnDisk() > MatrixBlock.estimateSizeOnDisk(rlen, clen, nonZeros)) {
-			// If the size of this matrixBlock is smaller in uncompressed format, then
-			// decompress and save inside an uncompressed column group.
-			MatrixBlock uncompressed = getUncompressed("for smaller serialization");
-			ColGroupUncompressed cg = new ColGroupUncompressed(uncompressed);
-			allocateColGroup(cg);
-			nonZeros = cg.getNumberNonZeros(rlen);
-			// clear the soft reference to the decompressed version, since the one column group is perfectly,
-			// representing the decompressed version.
-			clearSoftReferenceToDecompressed();
-		}
-		// serialize compressed matrix block
+		// serialize compressed matrix block, always in compressed form without modifying this block
+		final List<AColGroup> groups = getSerializationGroups();
+		final boolean uncompressed = groups != _colGroups;
 		out.writeInt(rlen);
 		out.writeInt(clen);
-		out.writeLong(nonZeros);
-		out.writeBoolean(overlappingColGroups);
-		ColGroupIO.writeGroups(out, _colGroups);
+		out.writeByte(BlockType.COMPRESSED_BLOCK.ordinal());
+		out.writeLong(uncompressed ? groups.get(0).getNumberNonZeros(rlen) : nonZeros);
+		out.writeBoolean(!uncompressed && overlappingColGroups);
+		if(isParallelSerialize(groups, ColGroupIO.getExactSizeOnDisk(groups)))
+			ColGroupIO.writeGroups(out, groups, InfrastructureAnalyzer.getLocalParallelism());
+		else
+			ColGroupIO.writeGroups(out, groups);
+	}
+
+	/**
+	 * Get the column groups to serialize. If this block is smaller in uncompressed format, the column groups are
+	 * replaced by a temporary uncompressed column group of the decompressed block for serialization, while the
+	 * column groups of this block remain unchanged.
+	 * 
+	 * @return The column groups of this block or a list containing a single uncompressed column group
+	 */
+	private List<AColGroup> getSerializationGroups() {
+		final long compressedSize = 4 + 4 + 1 + 8 + 1 + ColGroupIO.getExactSizeOnDisk(_colGroups);
+		if(compressedSize <= MatrixBlock.estimateSizeOnDisk(rlen, clen, nonZeros))
+			return _colGroups;
+		final MatrixBlock uncompressed = getUncompressed("for smaller serialization");
+		return Collections.singletonList(new ColGroupUncompressed(uncompressed));
+	}
+
+	private static boolean isParallelSerialize(List<AColGroup> groups, long groupsSize) {
+		return groups.size() > 1 && groupsSize >= MIN_PAR_SERIALIZE_SIZE &&
+			InfrastructureAnalyzer.getLocalParallelism() > 1;
 	}
 
 	/**
@@ -441,8 +488,10 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	public MatrixBlock append(MatrixBlock[] that, MatrixBlock ret, boolean cbind) {
 		if(cbind && that.length == 1)
 			return CLALibAppend.append(this, that[0], InfrastructureAnalyzer.getLocalParallelism());
+		else if(!cbind)
+			return CLALibRBind.rbind(this, that, InfrastructureAnalyzer.getLocalParallelism());
 		else {
-			MatrixBlock left = getUncompressed("append list or r-bind not supported in compressed");
+			MatrixBlock left = getUncompressed("append list not supported in compressed");
 			MatrixBlock[] thatUC = new MatrixBlock[that.length];
 			for(int i = 0; i < that.length; i++)
 				thatUC[i] = getUncompressed(that[i]);
@@ -808,39 +857,14 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	public CM_COV_Object cmOperations(CMOperator op) {
 		if(isEmpty())
 			return super.cmOperations(op);
-		else if(_colGroups.size() == 1 && _colGroups.get(0) instanceof AColGroupValue) {
-			AColGroupValue g = (AColGroupValue) _colGroups.get(0);
-			MatrixBlock vals = g.getValuesAsBlock();
-			MatrixBlock counts = getCountsAsBlock(g.getCounts());
-			if(counts.isEmpty())
-				return vals.cmOperations(op);
-			return vals.cmOperations(op, counts);
-		}
-		else
-			return getUncompressed("cmOperations").cmOperations(op);
-	}
-
-	private static MatrixBlock getCountsAsBlock(int[] counts) {
-		if(counts != null) {
-			MatrixBlock ret = new MatrixBlock(counts.length, 1, false);
-			for(int i = 0; i < counts.length; i++)
-				ret.quickSetValue(i, 0, counts[i]);
-			return ret;
-		}
-		else
-			return new MatrixBlock(1, 1, false);
+		return CLALibHistogram.cmOperations(this, op);
 	}
 
 	@Override
 	public CM_COV_Object cmOperations(CMOperator op, MatrixBlock weights) {
-		printDecompressWarning("cmOperations");
-		MatrixBlock right = getUncompressed(weights);
 		if(isEmpty())
-			return super.cmOperations(op, right);
-		AColGroup grp = _colGroups.get(0);
-		if(grp instanceof ColGroupUncompressed)
-			return ((ColGroupUncompressed) grp).getData().cmOperations(op);
-		return getUncompressed().cmOperations(op, right);
+			return super.cmOperations(op, getUncompressed(weights));
+		return CLALibHistogram.cmOperations(this, op, weights);
 	}
 
 	@Override
@@ -858,8 +882,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 
 	@Override
 	public MatrixBlock sortOperations(MatrixValue weights, MatrixBlock result) {
-		MatrixBlock right = getUncompressed(weights);
-		return getUncompressed("sortOperations").sortOperations(right, result);
+		return CLALibHistogram.sortOperations(this, (MatrixBlock) weights, result);
 	}
 
 	@Override
@@ -892,69 +915,50 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public MatrixBlock groupedAggOperations(MatrixValue tgt, MatrixValue wghts, MatrixValue ret, int ngroups,
 		Operator op, int k) {
-		printDecompressWarning("groupedAggOperations");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(wghts);
-		return left.groupedAggOperations(left, right, ret, ngroups, op, k);
+		return CLALibGroupedAgg.groupedAggregate(this, (MatrixBlock) tgt, (MatrixBlock) wghts, (MatrixBlock) ret,
+			ngroups, op, k);
 	}
 
 	@Override
 	public MatrixBlock removeEmptyOperations(MatrixBlock ret, boolean rows, boolean emptyReturn, MatrixBlock select) {
-		printDecompressWarning("removeEmptyOperations");
-		MatrixBlock tmp = getUncompressed();
-		return tmp.removeEmptyOperations(ret, rows, emptyReturn, select);
+		return CLALibRemoveEmpty.removeEmpty(this, ret, rows, emptyReturn, select,
+			InfrastructureAnalyzer.getLocalParallelism());
 	}
 
 	@Override
 	public void ctableOperations(Operator op, double scalar, MatrixValue that, CTableMap resultMap,
 		MatrixBlock resultBlock) {
-		printDecompressWarning("ctableOperations Var 1");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(that);
-		left.ctableOperations(op, scalar, right, resultMap, resultBlock);
+		CLALibCTable.ctable(this, op, scalar, (MatrixBlock) that, resultMap, resultBlock);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, double scalar, double scalar2, CTableMap resultMap,
 		MatrixBlock resultBlock) {
-		printDecompressWarning("ctableOperations Var 2");
-		MatrixBlock tmp = getUncompressed();
-		tmp.ctableOperations(op, scalar, scalar2, resultMap, resultBlock);
+		CLALibCTable.ctable(this, op, scalar, scalar2, resultMap, resultBlock);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, MatrixIndexes ix1, double scalar, boolean left, int brlen,
 		CTableMap resultMap, MatrixBlock resultBlock) {
-		printDecompressWarning("ctableOperations Var 3");
-		MatrixBlock tmp = getUncompressed();
-		tmp.ctableOperations(op, ix1, scalar, left, brlen, resultMap, resultBlock);
+		CLALibCTable.ctable(this, op, ix1, scalar, left, brlen, resultMap, resultBlock);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, double scalar, boolean ignoreZeros, CTableMap resultMap,
 		MatrixBlock resultBlock) {
-		printDecompressWarning("ctableOperations Var 4");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(that);
-		left.ctableOperations(op, right, scalar, ignoreZeros, resultMap, resultBlock);
+		CLALibCTable.ctable(this, op, (MatrixBlock) that, scalar, ignoreZeros, resultMap, resultBlock);
 	}
 
 	@Override
 	public MatrixBlock ctableSeqOperations(MatrixValue thatMatrix, double thatScalar, MatrixBlock resultBlock,
 		boolean updateClen) {
-		printDecompressWarning("ctableOperations Var 5");
-		MatrixBlock left = getUncompressed();
-		MatrixBlock right = getUncompressed(thatMatrix);
-		return left.ctableSeqOperations(right, thatScalar, resultBlock, updateClen);
+		return CLALibCTable.ctableSeq(this, (MatrixBlock) thatMatrix, thatScalar, resultBlock, updateClen);
 	}
 
 	@Override
 	public void ctableOperations(Operator op, MatrixValue that, MatrixValue that2, CTableMap resultMap,
 		MatrixBlock resultBlock) {
-		MatrixBlock left = getUncompressed("ctableOperations Var 7");
-		MatrixBlock right1 = getUncompressed(that);
-		MatrixBlock right2 = getUncompressed(that2);
-		left.ctableOperations(op, right1, right2, resultMap, resultBlock);
+		CLALibCTable.ctable(this, op, (MatrixBlock) that, (MatrixBlock) that2, resultMap, resultBlock);
 	}
 
 	@Override
@@ -1010,11 +1014,7 @@ public class CompressedMatrixBlock extends MatrixBlock {
 	@Override
 	public MatrixBlock quaternaryOperations(QuaternaryOperator qop, MatrixBlock um, MatrixBlock vm, MatrixBlock wm,
 		MatrixBlock out, int k) {
-		MatrixBlock left = getUncompressed("quaternaryOperations");
-		MatrixBlock right1 = getUncompressed(um);
-		MatrixBlock right2 = getUncompressed(vm);
-		MatrixBlock right3 = getUncompressed(wm);
-		return left.quaternaryOperations(qop, right1, right2, right3, out, k);
+		return CLALibQuaternary.quaternaryOperations(this, qop, um, vm, wm, out, k);
 	}
 
 	@Override
@@ -0,0 +1,521 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupFactory;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory.MAP_TYPE;
+import org.apache.sysds.runtime.compress.utils.DblArray;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Builder for compress-on-read, which constructs a compressed matrix block from row bands (or blen x blen blocks) of
+ * the input without materializing the entire uncompressed matrix.
+ * 
+ * The first arriving row bands are buffered as a sample until a minimum number of rows is available. The sample is
+ * compressed with the default compression to decide on the co-coding of columns. Afterwards, the sample and all
+ * subsequent row bands are encoded directly into the mappings and dictionaries of the chosen column groups, which are
+ * finally constructed as DDC (or constant) groups. Column groups chosen as uncompressed, and groups whose dictionary
+ * explodes, are kept as uncompressed column groups. If the sample does not compress, the remaining input is read into
+ * a regular uncompressed matrix block.
+ * 
+ * Blocks can be appended in any order and from multiple threads. Only the sample is collected under a lock; afterwards
+ * each thread encodes its row bands with its own set of encoders (local dictionaries and codes per band), and the
+ * local encodings are merged into the column groups in build.
+ */
+public class CompressedMatrixBlockBuilder {
+	private static final Log LOG = LogFactory.getLog(CompressedMatrixBlockBuilder.class.getName());
+
+	/** Minimum number of rows to sample for the co-coding decisions */
+	private static final int MIN_SAMPLE_ROWS = 4096;
+	/** Fraction of rows to sample for the co-coding decisions */
+	private static final double SAMPLE_FRACTION = 0.05;
+	/** Max number of distinct tuples relative to the number of rows before falling back to uncompressed groups */
+	private static final double MAX_DISTINCT_RATIO = 0.5;
+	/** Max size in bytes of buffered dense row bands */
+	private static final long MAX_BAND_SIZE = 64L * 1024 * 1024;
+
+	private final int _rlen;
+	private final int _clen;
+	private final int _blen;
+	private final int _k;
+	private final int _sampleRows;
+
+	/** Incomplete row bands of blen x blen blocks by row offset */
+	private final Map<Integer, Band> _bands = new HashMap<>();
+	/** Buffered row bands of the sample, before co-coding decisions */
+	private List<Band> _sample = new ArrayList<>();
+	private int _sampledRows = 0;
+	/** Indicates that the co-coding is decided, i.e., that row bands are encoded without lock */
+	private volatile boolean _decided = false;
+	/** Shared state of the chosen column groups, after co-coding decisions */
+	private GroupEncoder[] _encoders = null;
+	/** Idle thread-local encoders, each with one encoder per column group */
+	private final ConcurrentLinkedQueue<LocalEncoder[]> _idle = new ConcurrentLinkedQueue<>();
+	/** All thread-local encoders, merged in build */
+	private final ConcurrentLinkedQueue<LocalEncoder[]> _locals = new ConcurrentLinkedQueue<>();
+	/** Uncompressed output, if the sample did not compress */
+	private MatrixBlock _uncompressed = null;
+
+	public CompressedMatrixBlockBuilder(long rlen, long clen, int blen, int k) {
+		if(!isApplicable(rlen, clen, blen))
+			throw new DMLCompressionException("Invalid dimensions for compress on read: " + rlen + "x" + clen);
+		_rlen = (int) rlen;
+		_clen = (int) clen;
+		_blen = blen;
+		_k = k;
+		_sampleRows = (int) Math.min(_rlen, Math.max(MIN_SAMPLE_ROWS, Math.ceil(_rlen * SAMPLE_FRACTION)));
+	}
+
+	/**
+	 * Indicates if compress-on-read is applicable for the given dimensions, which requires known dimensions, more rows
+	 * than columns, and row bands of moderate size.
+	 * 
+	 * @param rlen The number of rows
+	 * @param clen The number of columns
+	 * @param blen The block size (number of rows per band)
+	 * @return true if a builder can be created for these dimensions
+	 */
+	public static boolean isApplicable(long rlen, long clen, int blen) {
+		return rlen > 0 && clen > 0 && blen > 0 && rlen > clen && rlen <= Integer.MAX_VALUE
+			&& 8L * clen * blen <= MAX_BAND_SIZE;
+	}
+
+	/**
+	 * Append a row band that spans all columns. The given block is not retained and can be reused after this call.
+	 * 
+	 * @param rows      The row band
+	 * @param rowOffset The row offset of the band in the overall matrix
+	 */
+	public void appendRows(MatrixBlock rows, int rowOffset) {
+		if(rows.getNumColumns() != _clen)
+			throw new DMLCompressionException(
+				"Invalid number of columns in compress on read: " + rows.getNumColumns() + " vs " + _clen);
+		if(rowOffset < 0 || rowOffset + rows.getNumRows() > _rlen)
+			throw new DMLCompressionException("Row band [" + rowOffset + "," + (rowOffset + rows.getNumRows())
+				+ ") out of range [0," + _rlen + ")");
+		processBand(toDense(rows), rowOffset);
+	}
+
+	/**
+	 * Append a block of the blocked matrix representation. Blocks of a row band are collected until the band is
+	 * complete. The given block is not retained and can be reused after this call.
+	 * 
+	 * @param blk       The block
+	 * @param rowOffset The row offset of the block in the overall matrix
+	 * @param colOffset The column offset of the block in the overall matrix
+	 */
+	public void appendBlock(MatrixBlock blk, int rowOffset, int colOffset) {
+		if(colOffset == 0 && blk.getNumColumns() == _clen) {
+			appendRows(blk, rowOffset);
+			return;
+		}
+		final Band b;
+		synchronized(_bands) {
+			b = _bands.computeIfAbsent(rowOffset, r -> {
+				Band tmp = new Band(new MatrixBlock(blk.getNumRows(), _clen, false), r);
+				tmp.data.allocateDenseBlock();
+				return tmp;
+			});
+		}
+		// blocks of a band cover disjoint columns, and are therefore copied without lock
+		if(!blk.isEmptyBlock(false))
+			b.data.copy(0, blk.getNumRows() - 1, colOffset, colOffset + blk.getNumColumns() - 1, blk, false);
+		final boolean complete;
+		synchronized(_bands) {
+			complete = ++b.count == (int) Math.ceil((double) _clen / _blen);
+			if(complete)
+				_bands.remove(rowOffset);
+		}
+		if(complete)
+			processBand(b.data, rowOffset);
+	}
+
+	/**
+	 * Finalize the compressed matrix block, after all blocks are appended. Incomplete row bands (e.g., from empty
+	 * blocks that were not written) are processed with zeros for their missing blocks, and the thread-local encodings
+	 * are merged into the column groups.
+	 * 
+	 * @return The compressed matrix block, or an uncompressed matrix block if compression was not beneficial
+	 */
+	public synchronized MatrixBlock build() {
+		for(Band b : new ArrayList<>(_bands.values()))
+			processBand(b.data, b.rowOffset);
+		_bands.clear();
+
+		if(!_decided) {
+			// fewer rows than the sample size, compress all rows at once
+			MatrixBlock all = new MatrixBlock(_rlen, _clen, false);
+			all.allocateDenseBlock();
+			for(Band b : _sample)
+				all.copy(b.rowOffset, b.rowOffset + b.data.getNumRows() - 1, 0, _clen - 1, b.data, false);
+			_sample = null;
+			all.recomputeNonZeros();
+			all.examSparsity();
+			return CompressedMatrixBlockFactory.compress(all, _k).getLeft();
+		}
+		else if(_uncompressed != null) {
+			_uncompressed.recomputeNonZeros();
+			_uncompressed.examSparsity();
+			return _uncompressed;
+		}
+
+		final List<AColGroup> groups = new ArrayList<>(_encoders.length);
+		for(int i = 0; i < _encoders.length; i++) {
+			final List<LocalEncoder> locals = new ArrayList<>(_locals.size());
+			for(LocalEncoder[] l : _locals)
+				locals.add(l[i]);
+			groups.add(_encoders[i].build(locals));
+		}
+		_encoders = null;
+		_locals.clear();
+		_idle.clear();
+		final CompressedMatrixBlock ret = new CompressedMatrixBlock(_rlen, _clen);
+		ret.allocateColGroupList(groups);
+		ret.setOverlapping(false);
+		ret.recomputeNonZeros();
+
+		final double compressedSize = ret.getInMemorySize();
+		final double uncompressedSize = MatrixBlock.estimateSizeInMemory(_rlen, _clen, ret.getSparsity());
+		if(compressedSize < uncompressedSize)
+			return ret;
+		return ret.getUncompressed(String.format(
+			"Decompressing compress on read because it had to small compression ratio: %2.3f",
+			uncompressedSize / compressedSize));
+	}
+
+	private void processBand(MatrixBlock band, int rowOffset) {
+		band.recomputeNonZeros();
+		if(!_decided) {
+			synchronized(this) {
+				if(!_decided) {
+					sampleBand(band, rowOffset);
+					return;
+				}
+			}
+		}
+		encodeBand(band, rowOffset);
+	}
+
+	private void sampleBand(MatrixBlock band, int rowOffset) {
+		// buffer a private copy of the band as part of the sample
+		MatrixBlock tmp = new MatrixBlock(band.getNumRows(), _clen, false);
+		tmp.copy(band, false);
+		_sample.add(new Band(tmp, rowOffset));
+		_sampledRows += band.getNumRows();
+		if(_sampledRows >= _sampleRows)
+			decideCoCoding();
+	}
+
+	private void encodeBand(MatrixBlock band, int rowOffset) {
+		if(_uncompressed != null) {
+			// row bands are disjoint, and the nnz are recomputed in build
+			copyInto(_uncompressed, band, rowOffset);
+			return;
+		}
+		LocalEncoder[] local = _idle.poll();
+		if(local == null) {
+			local = new LocalEncoder[_encoders.length];
+			for(int i = 0; i < local.length; i++)
+				local[i] = new LocalEncoder(_encoders[i]);
+			_locals.add(local);
+		}
+		for(LocalEncoder e : local)
+			e.encode(band, rowOffset);
+		_idle.add(local);
+	}
+
+	private void decideCoCoding() {
+		// compress the concatenated sample to obtain the column groups
+		final MatrixBlock[] rest = new MatrixBlock[_sample.size() - 1];
+		for(int i = 1; i < _sample.size(); i++)
+			rest[i - 1] = _sample.get(i).data;
+		final MatrixBlock sample = rest.length > 0 ? //
+			_sample.get(0).data.append(rest, null, false) : _sample.get(0).data;
+		sample.recomputeNonZeros();
+		final MatrixBlock c = CompressedMatrixBlockFactory.compress(sample, _k).getLeft();
+
+		if(c instanceof CompressedMatrixBlock && !((CompressedMatrixBlock) c).isOverlapping()) {
+			final List<AColGroup> groups = ((CompressedMatrixBlock) c).getColGroups();
+			LOG.debug("Compress on read with " + groups.size() + " column groups from " + _sampledRows + " rows");
+			_encoders = new GroupEncoder[groups.size()];
+			for(int i = 0; i < groups.size(); i++)
+				_encoders[i] = new GroupEncoder(groups.get(i).getColIndices(), _rlen,
+					groups.get(i) instanceof ColGroupUncompressed);
+		}
+		else {
+			LOG.debug("Compress on read falls back to uncompressed read, because the sample did not compress");
+			final long estnnz = (long) (sample.getSparsity() * _rlen * _clen);
+			_uncompressed = new MatrixBlock(_rlen, _clen, MatrixBlock.evalSparseFormatInMemory(_rlen, _clen, estnnz));
+			_uncompressed.allocateBlock();
+		}
+
+		final List<Band> bands = _sample;
+		_sample = null;
+		_decided = true;
+		for(Band b : bands)
+			encodeBand(b.data, b.rowOffset);
+	}
+
+	private void copyInto(MatrixBlock ret, MatrixBlock band, int rowOffset) {
+		if(band.isEmptyBlock(false))
+			return;
+		if(ret.isInSparseFormat())
+			ret.appendToSparse(band, rowOffset, 0);
+		else
+			ret.copy(rowOffset, rowOffset + band.getNumRows() - 1, 0, _clen - 1, band, false);
+	}
+
+	private MatrixBlock toDense(MatrixBlock mb) {
+		if(!mb.isInSparseFormat() && mb.getDenseBlock() != null && mb.getDenseBlock().numBlocks() == 1)
+			return mb;
+		MatrixBlock ret = new MatrixBlock(mb.getNumRows(), mb.getNumColumns(), false);
+		ret.allocateDenseBlock();
+		if(!mb.isEmptyBlock(false))
+			ret.copy(0, mb.getNumRows() - 1, 0, mb.getNumColumns() - 1, mb, false);
+		return ret;
+	}
+
+	private static class Band {
+		private final MatrixBlock data;
+		private final int rowOffset;
+		private int count = 0;
+
+		private Band(MatrixBlock data, int rowOffset) {
+			this.data = data;
+			this.rowOffset = rowOffset;
+		}
+	}
+
+	/**
+	 * Shared state of a single column group, which merges the thread-local encodings of the group. Groups chosen as
+	 * uncompressed, and groups whose dictionary explodes, are written directly into a shared uncompressed block, where
+	 * each thread writes the disjoint rows of its bands.
+	 */
+	private static class GroupEncoder {
+		private final int[] _cols;
+		private final int _nRows;
+		private final int _maxDistinct;
+		private volatile MatrixBlock _raw;
+
+		private GroupEncoder(int[] cols, int nRows, boolean uncompressed) {
+			_cols = cols;
+			_nRows = nRows;
+			_maxDistinct = (int) Math.max(2, nRows * MAX_DISTINCT_RATIO);
+			if(uncompressed)
+				allocateRaw();
+		}
+
+		private synchronized MatrixBlock allocateRaw() {
+			if(_raw == null) {
+				final MatrixBlock raw = new MatrixBlock(_nRows, _cols.length, false);
+				raw.allocateDenseBlock();
+				_raw = raw;
+			}
+			return _raw;
+		}
+
+		private AColGroup build(List<LocalEncoder> locals) {
+			if(_raw == null) {
+				// merge the local dictionaries, with the zero tuple as code 0
+				final Map<DblArray, Integer> map = new HashMap<>();
+				final List<double[]> tuples = new ArrayList<>();
+				getCode(map, tuples, new double[_cols.length]);
+				final int[][] remaps = new int[locals.size()][];
+				for(int i = 0; i < remaps.length; i++) {
+					final List<double[]> lt = locals.get(i)._tuples;
+					remaps[i] = new int[lt.size()];
+					for(int j = 0; j < remaps[i].length; j++)
+						remaps[i][j] = getCode(map, tuples, lt.get(j));
+				}
+				if(tuples.size() <= _maxDistinct) {
+					final AMapToData codes = MapToFactory.create(_nRows, tuples.size());
+					for(int i = 0; i < remaps.length; i++)
+						for(LocalBand b : locals.get(i)._bands)
+							for(int r = 0; r < b.codes.size(); r++)
+								codes.set(b.rowOffset + r, remaps[i][b.codes.getIndex(r)]);
+					return build(codes, tuples);
+				}
+				allocateRaw();
+			}
+
+			// too many distinct tuples, decode the local encodings into the uncompressed block
+			for(LocalEncoder l : locals)
+				l.explode();
+			_raw.recomputeNonZeros();
+			_raw.examSparsity();
+			return ColGroupUncompressed.create(_cols, _raw);
+		}
+
+		private AColGroup build(AMapToData codes, List<double[]> tuples) {
+			// compact the dictionary to the used tuples
+			final int[] counts = new int[tuples.size()];
+			for(int r = 0; r < _nRows; r++)
+				counts[codes.getIndex(r)]++;
+			final int[] remap = new int[counts.length];
+			int nUsed = 0;
+			for(int i = 0; i < counts.length; i++)
+				remap[i] = counts[i] > 0 ? nUsed++ : -1;
+
+			final int nCol = _cols.length;
+			if(nUsed == 1) {
+				int code = 0;
+				while(counts[code] == 0)
+					code++;
+				return code == 0 ? new ColGroupEmpty(_cols) : ColGroupFactory.genColGroupConst(_cols,
+					tuples.get(code));
+			}
+
+			final double[] values = new double[nUsed * nCol];
+			final int[] usedCounts = new int[nUsed];
+			for(int i = 0; i < counts.length; i++)
+				if(remap[i] >= 0) {
+					System.arraycopy(tuples.get(i), 0, values, remap[i] * nCol, nCol);
+					usedCounts[remap[i]] = counts[i];
+				}
+			final AMapToData map = MapToFactory.create(_nRows, nUsed);
+			for(int r = 0; r < _nRows; r++)
+				map.set(r, remap[codes.getIndex(r)]);
+			return ColGroupDDC.create(_cols, _nRows, new Dictionary(values), map, usedCounts);
+		}
+
+		private static int getCode(Map<DblArray, Integer> map, List<double[]> tuples, double[] tuple) {
+			final DblArray key = new DblArray(tuple);
+			Integer code = map.get(key);
+			if(code == null) {
+				code = tuples.size();
+				map.put(key, code);
+				tuples.add(tuple);
+			}
+			return code;
+		}
+	}
+
+	/**
+	 * Thread-local encoder of a single column group, which maps distinct tuples of the group's columns to local codes
+	 * per row band, where code 0 is reserved for the all-zero tuple of rows that were never appended. A local encoder
+	 * is only used by one thread at a time.
+	 */
+	private static class LocalEncoder {
+		private final GroupEncoder _group;
+		private final double[] _tmp;
+		private final DblArray _key;
+
+		private Map<DblArray, Integer> _map = new HashMap<>();
+		private List<double[]> _tuples = new ArrayList<>();
+		private List<LocalBand> _bands = new ArrayList<>();
+
+		private LocalEncoder(GroupEncoder group) {
+			_group = group;
+			_tmp = new double[group._cols.length];
+			_key = new DblArray(_tmp);
+			getCode(); // zero tuple as code 0
+		}
+
+		private void encode(MatrixBlock band, int rowOffset) {
+			if(_bands != null && _group._raw != null)
+				explode(); // uncompressed or exploded group
+			final double[] vals = band.getDenseBlockValues();
+			if(vals == null || band.getNonZeros() == 0)
+				return; // all zero rows (code 0)
+			final int[] cols = _group._cols;
+			final int nCol = cols.length;
+			final int clen = band.getNumColumns();
+			if(_bands == null) {
+				final double[] raw = _group._raw.getDenseBlockValues();
+				for(int i = 0; i < band.getNumRows(); i++) {
+					final int off = i * clen;
+					final int roff = (rowOffset + i) * nCol;
+					for(int j = 0; j < nCol; j++)
+						raw[roff + j] = vals[off + cols[j]];
+				}
+				return;
+			}
+
+			AMapToData codes = MapToFactory.create(band.getNumRows(), _tuples.size());
+			for(int i = 0; i < band.getNumRows(); i++) {
+				final int off = i * clen;
+				for(int j = 0; j < nCol; j++)
+					_tmp[j] = vals[off + cols[j]];
+				final int code = getCode();
+				if(code > codes.getUpperBoundValue())
+					codes = MapToFactory.resizeForce(codes, code <= 255 ? MAP_TYPE.BYTE : //
+						code <= Character.MAX_VALUE ? MAP_TYPE.CHAR : MAP_TYPE.INT);
+				codes.set(i, code);
+			}
+			_bands.add(new LocalBand(codes, rowOffset));
+			if(_tuples.size() > _group._maxDistinct)
+				explode();
+		}
+
+		private int getCode() {
+			_key.resetHash();
+			Integer code = _map.get(_key);
+			if(code == null) {
+				final DblArray copy = new DblArray(_key);
+				code = _tuples.size();
+				_map.put(copy, code);
+				_tuples.add(copy.getData());
+			}
+			return code;
+		}
+
+		private void explode() {
+			// decode the local codes into the shared uncompressed block of the group
+			if(_bands == null)
+				return;
+			final double[] raw = _group.allocateRaw().getDenseBlockValues();
+			final int nCol = _group._cols.length;
+			for(LocalBand b : _bands)
+				for(int r = 0; r < b.codes.size(); r++) {
+					final int code = b.codes.getIndex(r);
+					if(code != 0)
+						System.arraycopy(_tuples.get(code), 0, raw, (b.rowOffset + r) * nCol, nCol);
+				}
+			_map = null;
+			_tuples = null;
+			_bands = null;
+		}
+	}
+
+	private static class LocalBand {
+		private final AMapToData codes;
+		private final int rowOffset;
+
+		private LocalBand(AMapToData codes, int rowOffset) {
+			this.codes = codes;
+			this.rowOffset = rowOffset;
+		}
+	}
+}
@@ -79,6 +79,8 @@ public class CompressedMatrixBlockFactory {
 	private int phase = 0;
 	/** Compression information gathered through the sampling, used for the actual compression decided */
 	private CompressedSizeInfo compressionGroups;
+	/** Optional compression plan to reuse instead of sampling and co-coding */
+	private CompressionPlan plan;
 
 	private CompressedMatrixBlockFactory(MatrixBlock mb, int k, CompressionSettingsBuilder compSettings,
 		ICostEstimate costEstimator) {
@@ -178,6 +180,30 @@ public class CompressedMatrixBlockFactory {
 		return cmbf.compressMatrix();
 	}
 
+	/**
+	 * Compress the input matrix with a given compression plan, for instance extracted from a previously compressed
+	 * matrix of the same schema. The plan replaces the sampling based classification and co-coding, but if the
+	 * resulting compression is not beneficial, the matrix is compressed with a newly computed plan instead.
+	 * 
+	 * @param mb           The matrix block to compress
+	 * @param k            The number of threads used to execute the compression
+	 * @param compSettings The Compression settings used
+	 * @param plan         The compression plan to apply
+	 * @return A pair of an possibly compressed matrix block and compression statistics.
+	 */
+	public static Pair<MatrixBlock, CompressionStatistics> compress(MatrixBlock mb, int k,
+		CompressionSettingsBuilder compSettings, CompressionPlan plan) {
+		CompressionSettings cs = compSettings.create();
+		ICostEstimate ice = CostEstimatorFactory.create(cs, null, mb.getNumRows(), mb.getNumColumns(), mb.getSparsity());
+		CompressedMatrixBlockFactory cmbf = new CompressedMatrixBlockFactory(mb, k, cs, ice);
+		cmbf.plan = plan;
+		return cmbf.compressMatrix();
+	}
+
+	public static Pair<MatrixBlock, CompressionStatistics> compress(MatrixBlock mb, int k, CompressionPlan plan) {
+		return compress(mb, k, new CompressionSettingsBuilder(), plan);
+	}
+
 	/**
 	 * Generate a CompressedMatrixBlock Object that contains a single uncompressed matrix block column group.
 	 * 
@@ -234,7 +260,10 @@ public class CompressedMatrixBlockFactory {
 
 		res = new CompressedMatrixBlock(mb); // copy metadata and allocate soft reference
 
-		looksLikeOneHot();
+		if(plan != null)
+			applyPlan();
+		else
+			looksLikeOneHot();
 
 		if(compressionGroups == null) {
 			classifyPhase();
@@ -247,8 +276,12 @@ public class CompressedMatrixBlockFactory {
 
 		finalizePhase();
 
+		// validate that the reused plan is still beneficial
+		if(res != null && plan != null && _stats.getRatio() < compSettings.minimumCompressionRatio)
+			res = null;
+
 		if(res == null)
-			return abortCompression();
+			return plan != null ? abortPlan() : abortCompression();
 
 		return new ImmutablePair<>(res, _stats);
 	}
@@ -352,6 +385,23 @@ public class CompressedMatrixBlockFactory {
 		}
 	}
 
+	private void applyPlan() {
+		compressionGroups = plan.getSizeInfo(mb.getNumRows(), mb.getNumColumns());
+		LOG.debug("Reusing compression plan with " + plan.getNumGroups() + " column groups, skipping analysis");
+		// skipping two phases
+		phase += 2;
+	}
+
+	private Pair<MatrixBlock, CompressionStatistics> abortPlan() {
+		LOG.info("Compression plan no longer beneficial, compressing with a new plan");
+		if(compSettings.transposed) {
+			LibMatrixReorg.transposeInPlace(mb, k);
+			compSettings.transposed = false;
+		}
+		CompressedMatrixBlockFactory cmbf = new CompressedMatrixBlockFactory(mb, k, compSettings, costEstimator);
+		return cmbf.compressMatrix();
+	}
+
 	private void transposePhase() {
 		if(!compSettings.transposed) {
 			transposeHeuristics();
@@ -0,0 +1,193 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeInfo;
+import org.apache.sysds.runtime.compress.estim.CompressedSizeInfoColGroup;
+
+/**
+ * A compression plan contains the column groupings and chosen compression types of a compressed matrix. The plan can be
+ * exported from a compressed matrix and applied to new data of the same schema, which skips the sampling based
+ * estimation and co-coding phases of the compression.
+ * 
+ * Since the plan does not contain any values, the column groups are re-encoded from the new data, and the plan is only
+ * used if the resulting compression is still beneficial.
+ */
+public class CompressionPlan {
+
+	/** Number of columns of the matrix the plan was created for */
+	private final int _nCols;
+	/** The column indexes of the groups */
+	private final int[][] _groups;
+	/** The compression type of each group */
+	private final CompressionType[] _types;
+	/** The number of distinct tuples of each group when the plan was created */
+	private final int[] _numVals;
+
+	private CompressionPlan(int nCols, int[][] groups, CompressionType[] types, int[] numVals) {
+		_nCols = nCols;
+		_groups = groups;
+		_types = types;
+		_numVals = numVals;
+	}
+
+	/**
+	 * Extract the compression plan of the given compressed matrix.
+	 * 
+	 * @param cmb The compressed matrix
+	 * @return The compression plan of the matrix
+	 */
+	public static CompressionPlan create(CompressedMatrixBlock cmb) {
+		if(cmb.isOverlapping())
+			throw new DMLCompressionException("Invalid extraction of compression plan from overlapping compressed matrix");
+		final List<AColGroup> colGroups = cmb.getColGroups();
+		final int nGroups = colGroups.size();
+		final int[][] groups = new int[nGroups][];
+		final CompressionType[] types = new CompressionType[nGroups];
+		final int[] numVals = new int[nGroups];
+		for(int i = 0; i < nGroups; i++) {
+			final AColGroup g = colGroups.get(i);
+			groups[i] = g.getColIndices().clone();
+			types[i] = g.getCompType();
+			numVals[i] = g.getCompType() == CompressionType.UNCOMPRESSED ? 0 : g.getNumValues();
+		}
+		return new CompressionPlan(cmb.getNumColumns(), groups, types, numVals);
+	}
+
+	/**
+	 * Get the compression information of this plan for a new matrix with the given dimensions, that can directly be
+	 * used to compress the column groups.
+	 * 
+	 * @param nRows The number of rows of the new matrix
+	 * @param nCols The number of columns of the new matrix
+	 * @return The compression information
+	 */
+	public CompressedSizeInfo getSizeInfo(int nRows, int nCols) {
+		if(nCols != _nCols)
+			throw new DMLCompressionException(
+				"Invalid compression plan for " + nCols + " columns, the plan was created for " + _nCols + " columns");
+		final List<CompressedSizeInfoColGroup> info = new ArrayList<>(_groups.length);
+		for(int i = 0; i < _groups.length; i++)
+			info.add(new CompressedSizeInfoColGroup(_groups[i], _numVals[i], nRows, getEncodeType(_types[i])));
+		return new CompressedSizeInfo(info);
+	}
+
+	public int getNumColumns() {
+		return _nCols;
+	}
+
+	public int getNumGroups() {
+		return _groups.length;
+	}
+
+	public int[] getColumns(int group) {
+		return _groups[group];
+	}
+
+	public CompressionType getCompressionType(int group) {
+		return _types[group];
+	}
+
+	/**
+	 * Serialize the plan to the data output.
+	 * 
+	 * @param out The output to write to
+	 * @throws IOException If the output fails writing
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(_nCols);
+		out.writeInt(_groups.length);
+		for(int i = 0; i < _groups.length; i++) {
+			out.writeByte(_types[i].ordinal());
+			out.writeInt(_numVals[i]);
+			out.writeInt(_groups[i].length);
+			for(int c : _groups[i])
+				out.writeInt(c);
+		}
+	}
+
+	/**
+	 * Read a plan serialized with write.
+	 * 
+	 * @param in The input to read from
+	 * @return The compression plan
+	 * @throws IOException If the input fails reading
+	 */
+	public static CompressionPlan read(DataInput in) throws IOException {
+		final int nCols = in.readInt();
+		final int nGroups = in.readInt();
+		final int[][] groups = new int[nGroups][];
+		final CompressionType[] types = new CompressionType[nGroups];
+		final int[] numVals = new int[nGroups];
+		final CompressionType[] all = CompressionType.values();
+		for(int i = 0; i < nGroups; i++) {
+			types[i] = all[in.readByte()];
+			numVals[i] = in.readInt();
+			groups[i] = new int[in.readInt()];
+			for(int j = 0; j < groups[i].length; j++)
+				groups[i][j] = in.readInt();
+		}
+		return new CompressionPlan(nCols, groups, types, numVals);
+	}
+
+	public long getExactSizeOnDisk() {
+		long ret = 8;
+		for(int[] g : _groups)
+			ret += 9 + 4L * g.length;
+		return ret;
+	}
+
+	private static CompressionType getEncodeType(CompressionType ct) {
+		// constant and empty groups are detected while encoding, and PFOR groups are only created by operations
+		switch(ct) {
+			case CONST:
+			case EMPTY:
+				return CompressionType.DDC;
+			case PFOR:
+				return CompressionType.SDC;
+			default:
+				return ct;
+		}
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(this.getClass().getSimpleName());
+		sb.append(" nCols: ");
+		sb.append(_nCols);
+		for(int i = 0; i < _groups.length; i++) {
+			sb.append("\n");
+			sb.append(_types[i]);
+			sb.append(" ");
+			sb.append(Arrays.toString(_groups[i]));
+		}
+		return sb.toString();
+	}
+}
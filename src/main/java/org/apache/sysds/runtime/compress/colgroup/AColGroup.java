@@ -210,6 +210,27 @@ public abstract class AColGroup implements Serializable {
 		return ret;
 	}
 
+	/**
+	 * Select the given rows out of this column group, in the given order. The rows can be in arbitrary order and contain
+	 * duplicates. Compressed column groups re-index their mapping and offsets without modifying the dictionary, while
+	 * the default implementation materializes the selected rows into an uncompressed column group.
+	 *
+	 * @param rows The rows to select
+	 * @return A new column group with rows.length rows (never null)
+	 */
+	public AColGroup selectRows(int[] rows) {
+		final int nCol = _colIndexes.length;
+		final MatrixBlock ret = new MatrixBlock(rows.length, nCol, false);
+		ret.allocateDenseBlock();
+		final double[] c = ret.getDenseBlockValues();
+		for(int i = 0; i < rows.length; i++)
+			for(int j = 0; j < nCol; j++)
+				c[i * nCol + j] = getIdx(rows[i], j);
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ColGroupUncompressed.create(_colIndexes, ret);
+	}
+
 	/**
 	 * Slice out a single column from the column group.
 	 * 
@@ -27,6 +27,7 @@ import java.util.Arrays;
 import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
 import org.apache.sysds.runtime.functionobjects.Builtin;
 import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.utils.MemoryEstimates;
 
 /**
@@ -178,6 +179,32 @@ public abstract class AColGroupOffset extends AColGroupValue {
 
 	protected abstract boolean[] computeZeroIndicatorVector();
 
+	/**
+	 * Decompress the offsets into a mapping from each row to the index of its value tuple.
+	 * 
+	 * @return The tuple index per row, or -1 for rows not contained in any offset list
+	 */
+	protected abstract int[] computeTupleIndicatorVector();
+
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		// decode the offset lists once, instead of scanning them for every selected cell
+		final int[] map = computeTupleIndicatorVector();
+		final int nCol = _colIndexes.length;
+		final MatrixBlock ret = new MatrixBlock(rows.length, nCol, false);
+		ret.allocateDenseBlock();
+		final double[] c = ret.getDenseBlockValues();
+		for(int i = 0; i < rows.length; i++) {
+			final int k = map[rows[i]];
+			if(k >= 0)
+				for(int j = 0; j < nCol; j++)
+					c[i * nCol + j] = _dict.getValue(k * nCol + j);
+		}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ColGroupUncompressed.create(_colIndexes, ret);
+	}
+
 	public abstract void countNonZerosPerRow(int[] rnnz, int rl, int ru);
 
 	@Override
@@ -254,6 +254,11 @@ public class ColGroupConst extends AColGroupCompressed {
 		return create(outputCols, retD);
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		return this;
+	}
+
 	@Override
 	public AColGroup copy() {
 		return create(_colIndexes, _dict.clone());
@@ -59,6 +59,14 @@ public class ColGroupDDC extends APreAgg {
 		_data = data;
 	}
 
+	public static AColGroup create(int[] colIndices, int numRows, ADictionary dict, AMapToData data,
+		int[] cachedCounts) {
+		if(dict == null)
+			return new ColGroupEmpty(colIndices);
+		else
+			return new ColGroupDDC(colIndices, numRows, dict, data, cachedCounts);
+	}
+
 	public CompressionType getCompType() {
 		return CompressionType.DDC;
 	}
@@ -127,6 +135,15 @@ public class ColGroupDDC extends APreAgg {
 		}
 	}
 
+	/**
+	 * Get the mapping from rows to dictionary entries (codes) of this column group.
+	 * 
+	 * @return The mapping to data
+	 */
+	public AMapToData getMapToData() {
+		return _data;
+	}
+
 	@Override
 	public double getIdx(int r, int colIdx) {
 		return _dict.getValue(_data.getIndex(r) * _colIndexes.length + colIdx);
@@ -269,6 +286,11 @@ public class ColGroupDDC extends APreAgg {
 		return ret;
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		return create(_colIndexes, rows.length, _dict, _data.selectRows(rows), null);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -141,6 +141,11 @@ public class ColGroupEmpty extends AColGroupCompressed {
 		// do nothing
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		return this;
+	}
+
 	@Override
 	public AColGroup copy() {
 		return new ColGroupEmpty(_colIndexes);
@@ -396,6 +396,11 @@ public class ColGroupFactory {
 			// This is highly unlikely but could happen if forced compression of
 			// not transposed column and the estimator says use DDC.
 			return new ColGroupEmpty(colIndexes);
+		else if(map.size() > fill)
+			// The number of distinct tuples exceeded the estimate (for instance of a reused compression plan),
+			// therefore the codes overflowed the map and the encoding is redone with a map sized for the actual count.
+			return directCompressDDC(colIndexes, raw, cs, cg, MapToFactory.create(rlen, map.size() + 1), rlen, k);
+
 		ADictionary dict = DictionaryFactory.create(map, colIndexes.length, extra);
 		if(extra) {
 			data.replace(fill, map.size());
@@ -19,20 +19,32 @@
 
 package org.apache.sysds.runtime.compress.colgroup;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInput;
+import java.io.DataInputStream;
 import java.io.DataOutput;
+import java.io.DataOutputStream;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.ColGroupType;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 
 /**
  * This has the IO responsibility of ColGroups, such that it enables to read and write ColGroups to and from a DataInput
  * and DataOutput
+ * 
+ * Two layouts are supported. The sequential layout writes the number of groups followed by the groups. The indexed
+ * layout writes the negative number of groups, followed by the serialized length of each group and the groups. The
+ * index allows the groups to be serialized and deserialized independently in parallel.
  */
 public class ColGroupIO {
 
@@ -47,9 +59,24 @@ public class ColGroupIO {
 	 * @throws IOException Throws IO Exception if the in refuses to read data.
 	 */
 	public static List<AColGroup> readGroups(DataInput in, int nRows) throws IOException {
+		return readGroups(in, nRows, 1);
+	}
+
+	/**
+	 * Read groups from a file. If the groups are written in the indexed layout the groups are deserialized in parallel.
+	 * 
+	 * @param in    The Data input object to read from.
+	 * @param nRows The number of rows in the read groups.
+	 * @param k     The parallelization degree allowed for deserializing indexed groups.
+	 * @return Return a List containing the ColGroups from the DataInput.
+	 * @throws IOException Throws IO Exception if the in refuses to read data.
+	 */
+	public static List<AColGroup> readGroups(DataInput in, int nRows, int k) throws IOException {
 
-		// Read in how many colGroups there are
+		// Read in how many colGroups there are, a negative count indicate the indexed layout
 		final int nColGroups = in.readInt();
+		if(nColGroups < 0)
+			return readGroupsIndexed(in, nRows, -nColGroups, k);
 		if(LOG.isDebugEnabled())
 			LOG.debug("reading " + nColGroups + " ColGroups");
 		
@@ -57,14 +84,8 @@ public class ColGroupIO {
 		final List<AColGroup> _colGroups = new ArrayList<>(nColGroups);
 
 		// Read each ColGroup one at a time.
-		for(int i = 0; i < nColGroups; i++) {
-			ColGroupType ctype = ColGroupType.values()[in.readByte()];
-			if(LOG.isTraceEnabled())
-				LOG.trace("Reading in : " + ctype);
-			final AColGroup grp = constructColGroup(ctype, nRows);
-			grp.readFields(in);
-			_colGroups.add(grp);
-		}
+		for(int i = 0; i < nColGroups; i++)
+			_colGroups.add(readGroup(in, nRows));
 
 		return _colGroups;
 	}
@@ -83,6 +104,27 @@ public class ColGroupIO {
 			grp.write(out);
 	}
 
+	/**
+	 * Writes the ColGroups out to the DataOutput in the indexed layout, where each group is serialized independently in
+	 * parallel into a byte array before the arrays are written to the DataOutput in order.
+	 * 
+	 * Note that the serialized groups are temporarily held in memory, requiring memory in the size of the compressed
+	 * matrix on disk.
+	 * 
+	 * @param out       The DataOutput the ColGroups are written to
+	 * @param colGroups List of the ColGroups to write to file.
+	 * @param k         The parallelization degree allowed
+	 * @throws IOException Throws IO Exception if the out refuses to write.
+	 */
+	public static void writeGroups(DataOutput out, List<AColGroup> colGroups, int k) throws IOException {
+		final byte[][] serialized = serializeGroups(colGroups, k);
+		out.writeInt(-colGroups.size());
+		for(byte[] b : serialized)
+			out.writeInt(b.length);
+		for(byte[] b : serialized)
+			out.write(b);
+	}
+
 	/**
 	 * Get the size on disk for the given list of column groups
 	 * 
@@ -96,6 +138,90 @@ public class ColGroupIO {
 		return ret;
 	}
 
+	/**
+	 * Get the size on disk for the given list of column groups written in the indexed layout.
+	 * 
+	 * @param colGroups A List of column groups to see the disk space required for.
+	 * @return The exact disk size required for writing the compressed matrix with an index.
+	 */
+	public static long getExactSizeOnDiskIndexed(List<AColGroup> colGroups) {
+		// additional int per group for the length of the serialized group.
+		return getExactSizeOnDisk(colGroups) + 4L * colGroups.size();
+	}
+
+	private static AColGroup readGroup(DataInput in, int nRows) throws IOException {
+		ColGroupType ctype = ColGroupType.values()[in.readByte()];
+		if(LOG.isTraceEnabled())
+			LOG.trace("Reading in : " + ctype);
+		final AColGroup grp = constructColGroup(ctype, nRows);
+		grp.readFields(in);
+		return grp;
+	}
+
+	private static List<AColGroup> readGroupsIndexed(DataInput in, int nRows, int nColGroups, int k)
+		throws IOException {
+		if(LOG.isDebugEnabled())
+			LOG.debug("reading " + nColGroups + " indexed ColGroups");
+
+		// read the index and the serialized groups, the input itself is sequential.
+		final int[] lengths = new int[nColGroups];
+		for(int i = 0; i < nColGroups; i++)
+			lengths[i] = in.readInt();
+		final List<ReadGroupTask> tasks = new ArrayList<>(nColGroups);
+		for(int i = 0; i < nColGroups; i++) {
+			final byte[] b = new byte[lengths[i]];
+			in.readFully(b);
+			tasks.add(new ReadGroupTask(b, nRows));
+		}
+
+		final List<AColGroup> ret = new ArrayList<>(nColGroups);
+		if(k <= 1 || nColGroups <= 1) {
+			for(ReadGroupTask t : tasks)
+				ret.add(t.call());
+			return ret;
+		}
+
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			for(Future<AColGroup> f : pool.invokeAll(tasks))
+				ret.add(f.get());
+			return ret;
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel deserialization of column groups", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static byte[][] serializeGroups(List<AColGroup> colGroups, int k) throws IOException {
+		final byte[][] ret = new byte[colGroups.size()][];
+		final List<WriteGroupTask> tasks = new ArrayList<>(colGroups.size());
+		for(AColGroup grp : colGroups)
+			tasks.add(new WriteGroupTask(grp));
+
+		if(k <= 1 || colGroups.size() <= 1) {
+			for(int i = 0; i < ret.length; i++)
+				ret[i] = tasks.get(i).call();
+			return ret;
+		}
+
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			final List<Future<byte[]>> rtasks = pool.invokeAll(tasks);
+			for(int i = 0; i < ret.length; i++)
+				ret[i] = rtasks.get(i).get();
+			return ret;
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel serialization of column groups", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
 	private static AColGroup constructColGroup(ColGroupType ctype, int nRows){
 		switch(ctype) {
 			case UNCOMPRESSED:
@@ -124,4 +250,39 @@ public class ColGroupIO {
 				throw new DMLRuntimeException("Unsupported ColGroup Type used:  " + ctype);
 		}
 	}
+
+	private static class WriteGroupTask implements Callable<byte[]> {
+		private final AColGroup _grp;
+
+		protected WriteGroupTask(AColGroup grp) {
+			_grp = grp;
+		}
+
+		@Override
+		public byte[] call() throws IOException {
+			final long size = _grp.getExactSizeOnDisk();
+			final ByteArrayOutputStream bos = new ByteArrayOutputStream((int) Math.min(size, Integer.MAX_VALUE - 8));
+			try(DataOutputStream dos = new DataOutputStream(bos)) {
+				_grp.write(dos);
+			}
+			return bos.toByteArray();
+		}
+	}
+
+	private static class ReadGroupTask implements Callable<AColGroup> {
+		private final byte[] _b;
+		private final int _nRows;
+
+		protected ReadGroupTask(byte[] b, int nRows) {
+			_b = b;
+			_nRows = nRows;
+		}
+
+		@Override
+		public AColGroup call() throws IOException {
+			try(DataInputStream dis = new DataInputStream(new ByteArrayInputStream(_b))) {
+				return readGroup(dis, _nRows);
+			}
+		}
+	}
 }
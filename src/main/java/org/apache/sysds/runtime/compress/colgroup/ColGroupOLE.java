@@ -344,6 +344,29 @@ public class ColGroupOLE extends AColGroupOffset {
 		return ret;
 	}
 
+	@Override
+	protected int[] computeTupleIndicatorVector() {
+		int[] ret = new int[_numRows];
+		final int blksz = CompressionSettings.BITMAP_BLOCK_SZ;
+		final int numVals = getNumValues();
+		Arrays.fill(ret, -1);
+
+		for(int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+
+			int off = 0;
+			int slen;
+			for(int bix = 0; bix < blen; bix += slen + 1, off += blksz) {
+				slen = _data[boff + bix];
+				for(int i = 1; i <= slen; i++)
+					ret[off + _data[boff + bix + i]] = k;
+			}
+		}
+
+		return ret;
+	}
+
 	@Override
 	public void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
 		final int blksz = CompressionSettings.BITMAP_BLOCK_SZ;
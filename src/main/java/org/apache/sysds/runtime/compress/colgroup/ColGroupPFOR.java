@@ -121,6 +121,16 @@ public class ColGroupPFOR extends AMorphingMMColGroup {
 		return _data.getCounts(counts, _numRows);
 	}
 
+	/**
+	 * Get the reference values of this column group, which are added to all dictionary values and are the values of all
+	 * rows not contained in the offsets.
+	 * 
+	 * @return The reference values, one per column
+	 */
+	public double[] getReference() {
+		return _reference;
+	}
+
 	private final double refSum() {
 		double ret = 0;
 		for(double d : _reference)
@@ -249,6 +259,15 @@ public class ColGroupPFOR extends AMorphingMMColGroup {
 
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		final int[][] sel = _indexes.selectRows(rows);
+		if(sel[0].length == 0) // only reference tuples selected
+			return create(_colIndexes, rows.length, null, null, null, null, _reference);
+		return create(_colIndexes, rows.length, _dict, OffsetFactory.createOffset(sel[0]), _data.selectRows(sel[1]),
+			null, _reference);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
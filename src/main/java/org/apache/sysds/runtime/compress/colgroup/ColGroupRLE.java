@@ -405,6 +405,28 @@ public class ColGroupRLE extends AColGroupOffset {
 		return ret;
 	}
 
+	@Override
+	protected int[] computeTupleIndicatorVector() {
+		int[] ret = new int[_numRows];
+		final int numVals = getNumValues();
+		Arrays.fill(ret, -1);
+
+		for(int k = 0; k < numVals; k++) {
+			int boff = _ptr[k];
+			int blen = len(k);
+
+			int curRunStartOff = 0;
+			int curRunEnd = 0;
+			for(int bix = 0; bix < blen; bix += 2) {
+				curRunStartOff = curRunEnd + _data[boff + bix];
+				curRunEnd = curRunStartOff + _data[boff + bix + 1];
+				Arrays.fill(ret, curRunStartOff, curRunEnd, k);
+			}
+		}
+
+		return ret;
+	}
+
 	@Override
 	public void countNonZerosPerRow(int[] rnnz, int rl, int ru) {
 		final int numVals = getNumValues();
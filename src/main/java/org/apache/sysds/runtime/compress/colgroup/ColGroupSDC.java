@@ -252,6 +252,16 @@ public class ColGroupSDC extends AMorphingMMColGroup {
 		return ColGroupSDCZeros.create(_colIndexes, _numRows, subtractedDict, _indexes, _data, getCounts());
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		final int[][] sel = _indexes.selectRows(rows);
+		if(sel[0].length == 0) // only default tuples selected
+			return ColGroupFactory.genColGroupConst(_colIndexes,
+				_dict.getTuple(getNumValues() - 1, _colIndexes.length));
+		return create(_colIndexes, rows.length, _dict, OffsetFactory.createOffset(sel[0]), _data.selectRows(sel[1]),
+			null);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
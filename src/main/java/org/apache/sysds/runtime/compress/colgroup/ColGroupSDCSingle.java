@@ -230,6 +230,14 @@ public class ColGroupSDCSingle extends AMorphingMMColGroup {
 		return new ColGroupSDCSingleZeros(_colIndexes, _numRows, subtractedDict, _indexes, getCachedCounts());
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		final int[][] sel = _indexes.selectRows(rows);
+		if(sel[0].length == 0) // only default tuples selected
+			return ColGroupFactory.genColGroupConst(_colIndexes, _dict.getTuple(1, _colIndexes.length));
+		return new ColGroupSDCSingle(_colIndexes, rows.length, _dict, OffsetFactory.createOffset(sel[0]), null);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -515,6 +515,14 @@ public class ColGroupSDCSingleZeros extends APreAgg {
 		return new ColGroupSDCSingle(_colIndexes, _numRows, replaced, _indexes, getCachedCounts());
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		final int[][] sel = _indexes.selectRows(rows);
+		if(sel[0].length == 0) // only zero rows selected
+			return new ColGroupEmpty(_colIndexes);
+		return new ColGroupSDCSingleZeros(_colIndexes, rows.length, _dict, OffsetFactory.createOffset(sel[0]), null);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -602,6 +602,15 @@ public class ColGroupSDCZeros extends APreAgg {
 		return ColGroupSDC.create(_colIndexes, _numRows, replaced, _indexes, _data, getCachedCounts());
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		final int[][] sel = _indexes.selectRows(rows);
+		if(sel[0].length == 0) // only zero rows selected
+			return new ColGroupEmpty(_colIndexes);
+		return create(_colIndexes, rows.length, _dict, OffsetFactory.createOffset(sel[0]), _data.selectRows(sel[1]),
+			null);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -131,6 +131,21 @@ public class ColGroupUncompressed extends AColGroup {
 		_data.recomputeNonZeros();
 	}
 
+	/**
+	 * Create an uncompressed column group from the given matrix block, where the columns of the block are mapped in
+	 * order to the given column indexes.
+	 * 
+	 * @param colIndices column mapping for this column group
+	 * @param data       matrix block with as many columns as column indexes
+	 * @return An uncompressed column group, or an empty group if the data is empty
+	 */
+	public static AColGroup create(int[] colIndices, MatrixBlock data) {
+		if(data.isEmpty())
+			return new ColGroupEmpty(colIndices);
+		else
+			return new ColGroupUncompressed(colIndices, data);
+	}
+
 	/**
 	 * Constructor for allocating a single uncompressed column group.
 	 * 
@@ -432,6 +447,37 @@ public class ColGroupUncompressed extends AColGroup {
 		}
 	}
 
+	@Override
+	public AColGroup selectRows(int[] rows) {
+		if(_data.isEmpty())
+			return new ColGroupEmpty(_colIndexes);
+		final int nCol = _colIndexes.length;
+		final MatrixBlock ret = new MatrixBlock(rows.length, nCol, _data.isInSparseFormat());
+		if(_data.isInSparseFormat()) {
+			final SparseBlock sb = _data.getSparseBlock();
+			for(int i = 0; i < rows.length; i++) {
+				if(sb.isEmpty(rows[i]))
+					continue;
+				final int apos = sb.pos(rows[i]);
+				final int alen = sb.size(rows[i]) + apos;
+				final int[] aix = sb.indexes(rows[i]);
+				final double[] avals = sb.values(rows[i]);
+				for(int j = apos; j < alen; j++)
+					ret.appendValue(i, aix[j], avals[j]);
+			}
+		}
+		else {
+			final DenseBlock db = _data.getDenseBlock();
+			ret.allocateDenseBlock();
+			final double[] c = ret.getDenseBlockValues();
+			for(int i = 0; i < rows.length; i++)
+				System.arraycopy(db.values(rows[i]), db.pos(rows[i]), c, i * nCol, nCol);
+		}
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return create(_colIndexes, ret);
+	}
+
 	@Override
 	public AColGroup copy() {
 		MatrixBlock newData = new MatrixBlock(_data.getNumRows(), _data.getNumColumns(), _data.isInSparseFormat());
@@ -246,6 +246,20 @@ public abstract class AMapToData implements Serializable {
 			set(i, d.getIndex(i));
 	}
 
+	/**
+	 * Create a new map containing the mapping of the given indexes in the given order. The indexes can be in arbitrary
+	 * order and contain duplicates, and the returned map has the same number of unique values as this map.
+	 *
+	 * @param idx The indexes to select from this map
+	 * @return A new map of length idx.length
+	 */
+	public AMapToData selectRows(int[] idx) {
+		final AMapToData ret = MapToFactory.create(idx.length, getUnique());
+		for(int i = 0; i < idx.length; i++)
+			ret.set(i, getIndex(idx[i]));
+		return ret;
+	}
+
 	@Override
 	public String toString() {
 		final int sz = size();
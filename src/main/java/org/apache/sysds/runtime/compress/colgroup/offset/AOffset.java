@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.compress.colgroup.offset;
 import java.io.DataOutput;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.Arrays;
 import java.util.BitSet;
 import java.util.HashMap;
 import java.util.Map;
@@ -168,6 +169,78 @@ public abstract class AOffset implements Serializable {
 	 */
 	public abstract int getOffsetsLength();
 
+	/**
+	 * Select the given rows out of this offset list. The rows can be in arbitrary order and contain duplicates.
+	 *
+	 * The first returned array contains the positions in the given rows that are contained in this offset list (in
+	 * increasing order, such that it can be used directly as offsets of the selection), and the second array contains
+	 * the corresponding data indexes into the mapping of the calling column group.
+	 *
+	 * @param rows The rows to select
+	 * @return Two arrays of equal length, the new offsets and the data indexes.
+	 */
+	public int[][] selectRows(int[] rows) {
+		if(isRange(rows))
+			return selectRange(rows[0], rows[rows.length - 1] + 1);
+
+		// materialize the offsets to allow random lookups in arbitrary row orders
+		final int[] offs = new int[getSize()];
+		final AIterator it = getIterator();
+		final int last = getOffsetToLast();
+		for(int i = 0; true; i++) {
+			offs[i] = it.value();
+			if(offs[i] >= last)
+				break;
+			it.next();
+		}
+
+		final int[] pos = new int[rows.length];
+		final int[] dataIdx = new int[rows.length];
+		int cnt = 0;
+		for(int j = 0; j < rows.length; j++) {
+			final int ix = Arrays.binarySearch(offs, rows[j]);
+			if(ix >= 0) {
+				pos[cnt] = j;
+				dataIdx[cnt++] = ix;
+			}
+		}
+		return new int[][] {Arrays.copyOf(pos, cnt), Arrays.copyOf(dataIdx, cnt)};
+	}
+
+	private int[][] selectRange(int rl, int ru) {
+		// only iterate the offsets within the range, starting from the thread local cached iterator if it is before rl.
+		// The shared memorizer of getIterator(row) is not used to allow concurrent selections of row ranges.
+		final int[] pos = new int[ru - rl];
+		final int[] dataIdx = new int[ru - rl];
+		int cnt = 0;
+		final int last = getOffsetToLast();
+		if(rl <= last) {
+			final OffsetCache c = cacheRow.get();
+			final AIterator it = c != null && c.row <= rl ? c.it.clone() : getIterator();
+			if(it.value() < rl)
+				it.skipTo(rl);
+			while(it.value() < ru) {
+				pos[cnt] = it.value() - rl;
+				dataIdx[cnt++] = it.getDataIndex();
+				if(it.value() >= last)
+					break;
+				it.next();
+			}
+			// the iterator is positioned at the start of the following range.
+			cacheIterator(it, ru);
+		}
+		return new int[][] {Arrays.copyOf(pos, cnt), Arrays.copyOf(dataIdx, cnt)};
+	}
+
+	private static boolean isRange(int[] rows) {
+		if(rows.length == 0)
+			return false;
+		for(int i = 1; i < rows.length; i++)
+			if(rows[i] != rows[0] + i)
+				return false;
+		return true;
+	}
+
 	public final void preAggregateDenseMap(MatrixBlock m, double[] preAV, int rl, int ru, int cl, int cu, int nVal,
 		char[] data) {
 		// multi row iterator.
@@ -74,6 +74,26 @@ public class CompressedSizeInfoColGroup {
 		_map = null;
 	}
 
+	/**
+	 * Column group information taken from a previously computed compression plan, where the columns and compression
+	 * type are known without analyzing the content. Like the join constructor, the size is only an estimate assuming
+	 * DDC encoding.
+	 *
+	 * @param columns  The columns of the group
+	 * @param numVals  The number of distinct tuples when the plan was created, used as a hint for allocations
+	 * @param numRows  The number of rows.
+	 * @param bestType The compression type to use
+	 */
+	public CompressedSizeInfoColGroup(int[] columns, int numVals, int numRows, CompressionType bestType) {
+		_facts = new EstimationFactors(columns.length, numVals, numRows);
+		_cardinalityRatio = (double) numVals / numRows;
+		_cols = columns;
+		_sizes = null;
+		_bestCompressionType = bestType;
+		_minSize = ColGroupSizes.estimateInMemorySizeDDC(columns.length, numVals, numRows, 1.0, false);
+		_map = null;
+	}
+
 	public CompressedSizeInfoColGroup(int[] columns, EstimationFactors facts, double sparsity) {
 		_facts = facts;
 		_cardinalityRatio = (double) facts.numVals / facts.numRows;
@@ -0,0 +1,273 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.functionobjects.CTable;
+import org.apache.sysds.runtime.matrix.data.CTableMap;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+
+/**
+ * Contingency tables (ctable) with a compressed first input. If the input is a compressed column vector of a single
+ * DDC column group, the table is computed over the dictionary codes: the code counts (or code-aggregated weights) are
+ * passed once per distinct value, and co-occurring codes of two compressed DDC inputs are counted per code pair, which
+ * makes the number of ctable updates proportional to the number of distinct value pairs rather than rows. Sequence
+ * ctables (ctable(seq, A)) scan the rows with dictionary lookups and never decompress the sequence input. All other
+ * cases fall back to decompression.
+ */
+public class CLALibCTable {
+
+	/**
+	 * ctable(A, v2, W), with A compressed.
+	 * 
+	 * @param in          The compressed input A
+	 * @param op          The operator
+	 * @param v2          The scalar second input
+	 * @param w           The weights
+	 * @param resultMap   The result map (if no result block)
+	 * @param resultBlock The result block
+	 */
+	public static void ctable(CompressedMatrixBlock in, Operator op, double v2, MatrixBlock w, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final ColGroupDDC g = CLALibUtils.getSingleDDCColumn(in);
+		if(g == null) {
+			in.getUncompressed("ctableOperations Var 1").ctableOperations(op, v2,
+				CompressedMatrixBlock.getUncompressed(w), resultMap, resultBlock);
+			return;
+		}
+
+		// aggregate the weights per code (missing weights are skipped as in ctable)
+		final MatrixBlock wu = CompressedMatrixBlock.getUncompressed(w);
+		final AMapToData map = g.getMapToData();
+		final int nVals = g.getNumValues();
+		final double[] wsum = new double[nVals];
+		final boolean[] valid = new boolean[nVals];
+		for(int r = 0; r < map.size(); r++) {
+			final double wv = wu.quickGetValue(r, 0);
+			if(!Double.isNaN(wv)) {
+				final int c = map.getIndex(r);
+				wsum[c] += wv;
+				valid[c] = true;
+			}
+		}
+
+		final CTable ctable = CTable.getCTableFnObject();
+		final ADictionary dict = g.getDictionary();
+		for(int c = 0; c < nVals; c++)
+			if(valid[c])
+				ctable.execute(dict.getValue(c), v2, wsum[c], false, resultMap, resultBlock);
+		maintainNonZeros(resultBlock);
+	}
+
+	/**
+	 * ctable(A, v2, w), with A compressed.
+	 * 
+	 * @param in          The compressed input A
+	 * @param op          The operator
+	 * @param v2          The scalar second input
+	 * @param w           The scalar weight
+	 * @param resultMap   The result map (if no result block)
+	 * @param resultBlock The result block
+	 */
+	public static void ctable(CompressedMatrixBlock in, Operator op, double v2, double w, CTableMap resultMap,
+		MatrixBlock resultBlock) {
+		final ColGroupDDC g = CLALibUtils.getSingleDDCColumn(in);
+		if(g == null) {
+			in.getUncompressed("ctableOperations Var 2").ctableOperations(op, v2, w, resultMap, resultBlock);
+			return;
+		}
+
+		final CTable ctable = CTable.getCTableFnObject();
+		final ADictionary dict = g.getDictionary();
+		final int[] counts = g.getCounts();
+		for(int c = 0; c < g.getNumValues(); c++)
+			ctable.execute(dict.getValue(c), v2, counts[c] * w, false, resultMap, resultBlock);
+		maintainNonZeros(resultBlock);
+	}
+
+	/**
+	 * ctable(A, B, w), with A compressed.
+	 * 
+	 * @param in          The compressed input A
+	 * @param op          The operator
+	 * @param that        The second input B
+	 * @param w           The scalar weight
+	 * @param ignoreZeros Ignore pairs of zeros
+	 * @param resultMap   The result map (if no result block)
+	 * @param resultBlock The result block
+	 */
+	public static void ctable(CompressedMatrixBlock in, Operator op, MatrixBlock that, double w, boolean ignoreZeros,
+		CTableMap resultMap, MatrixBlock resultBlock) {
+		final ColGroupDDC g = CLALibUtils.getSingleDDCColumn(in);
+		if(g == null) {
+			in.getUncompressed("ctableOperations Var 4").ctableOperations(op,
+				CompressedMatrixBlock.getUncompressed(that), w, ignoreZeros, resultMap, resultBlock);
+			return;
+		}
+
+		final CTable ctable = CTable.getCTableFnObject();
+		final AMapToData map = g.getMapToData();
+		final ADictionary dict = g.getDictionary();
+		final int nVals = g.getNumValues();
+		final ColGroupDDC t = CLALibUtils.getSingleDDCColumn(that);
+		if(t != null && (long) nVals * t.getNumValues() <= map.size()) {
+			// count co-occurrences of codes, and update the table once per code pair
+			final AMapToData tMap = t.getMapToData();
+			final ADictionary tDict = t.getDictionary();
+			final int tVals = t.getNumValues();
+			final int[] counts = new int[nVals * tVals];
+			for(int r = 0; r < map.size(); r++)
+				counts[map.getIndex(r) * tVals + tMap.getIndex(r)]++;
+			for(int i = 0; i < nVals; i++)
+				for(int j = 0; j < tVals; j++)
+					if(counts[i * tVals + j] != 0)
+						ctable.execute(dict.getValue(i), tDict.getValue(j), counts[i * tVals + j] * w, ignoreZeros,
+							resultMap, resultBlock);
+		}
+		else {
+			// single scan over the second input with dictionary lookups of the first
+			final MatrixBlock thatU = CompressedMatrixBlock.getUncompressed(that,
+				"ctableOperations Var 4 second input");
+			final double[] vals = getValues(dict, nVals);
+			for(int r = 0; r < map.size(); r++)
+				ctable.execute(vals[map.getIndex(r)], thatU.quickGetValue(r, 0), w, ignoreZeros, resultMap, resultBlock);
+		}
+		maintainNonZeros(resultBlock);
+	}
+
+	/**
+	 * ctable(A, B, W), with A compressed.
+	 * 
+	 * @param in          The compressed input A
+	 * @param op          The operator
+	 * @param that        The second input B
+	 * @param that2       The weights W
+	 * @param resultMap   The result map (if no result block)
+	 * @param resultBlock The result block
+	 */
+	public static void ctable(CompressedMatrixBlock in, Operator op, MatrixBlock that, MatrixBlock that2,
+		CTableMap resultMap, MatrixBlock resultBlock) {
+		final ColGroupDDC g = CLALibUtils.getSingleDDCColumn(in);
+		final MatrixBlock thatU = CompressedMatrixBlock.getUncompressed(that);
+		final MatrixBlock that2U = CompressedMatrixBlock.getUncompressed(that2);
+		if(g == null) {
+			in.getUncompressed("ctableOperations Var 7").ctableOperations(op, thatU, that2U, resultMap, resultBlock);
+			return;
+		}
+
+		// single scan over the other inputs with dictionary lookups of the first
+		final CTable ctable = CTable.getCTableFnObject();
+		final AMapToData map = g.getMapToData();
+		final double[] vals = getValues(g.getDictionary(), g.getNumValues());
+		for(int r = 0; r < map.size(); r++)
+			ctable.execute(vals[map.getIndex(r)], thatU.quickGetValue(r, 0), that2U.quickGetValue(r, 0), false,
+				resultMap, resultBlock);
+		maintainNonZeros(resultBlock);
+	}
+
+	/**
+	 * ctable(seq(...), A, w) or ctable(A, seq(...), w) of one block, with A compressed.
+	 * 
+	 * @param in          The compressed input A
+	 * @param op          The operator
+	 * @param ix1         The block index of A (to derive the sequence offset)
+	 * @param w           The scalar weight
+	 * @param left        If the sequence appeared on the left
+	 * @param blen        The block size
+	 * @param resultMap   The result map (if no result block)
+	 * @param resultBlock The result block
+	 */
+	public static void ctable(CompressedMatrixBlock in, Operator op, MatrixIndexes ix1, double w, boolean left,
+		int blen, CTableMap resultMap, MatrixBlock resultBlock) {
+		final ColGroupDDC g = CLALibUtils.getSingleDDCColumn(in);
+		if(g == null) {
+			in.getUncompressed("ctableOperations Var 3").ctableOperations(op, ix1, w, left, blen, resultMap,
+				resultBlock);
+			return;
+		}
+
+		// every row is a distinct sequence value, so scan the rows with dictionary lookups
+		final CTable ctable = CTable.getCTableFnObject();
+		final AMapToData map = g.getMapToData();
+		final double[] vals = getValues(g.getDictionary(), g.getNumValues());
+		final int offset = (int) ((ix1.getRowIndex() - 1) * blen);
+		for(int r = 0; r < map.size(); r++) {
+			final double v = vals[map.getIndex(r)];
+			if(left)
+				ctable.execute(offset + r + 1, v, w, false, resultMap, resultBlock);
+			else
+				ctable.execute(v, offset + r + 1, w, false, resultMap, resultBlock);
+		}
+		maintainNonZeros(resultBlock);
+	}
+
+	/**
+	 * ctable(seq(1, nrow(A)), B, w), with the sequence input compressed. The sequence input only contributes its
+	 * number of rows and is therefore never decompressed; a compressed single DDC column B is scanned via its
+	 * dictionary.
+	 * 
+	 * @param in          The compressed sequence input
+	 * @param that        The second input B
+	 * @param w           The scalar weight
+	 * @param resultBlock The result block
+	 * @param updateClen  If the number of columns of the result should be set to the max column
+	 * @return The result block
+	 */
+	public static MatrixBlock ctableSeq(CompressedMatrixBlock in, MatrixBlock that, double w,
+		MatrixBlock resultBlock, boolean updateClen) {
+		final CTable ctable = CTable.getCTableFnObject();
+		final int rlen = in.getNumRows();
+		final ColGroupDDC t = CLALibUtils.getSingleDDCColumn(that);
+		int maxCol = 0;
+		if(t != null) {
+			final AMapToData map = t.getMapToData();
+			final double[] vals = getValues(t.getDictionary(), t.getNumValues());
+			for(int r = 0; r < rlen; r++)
+				maxCol = ctable.execute(r + 1, vals[map.getIndex(r)], w, maxCol, resultBlock);
+		}
+		else {
+			final MatrixBlock thatU = CompressedMatrixBlock.getUncompressed(that, "ctableSeqOperations second input");
+			for(int r = 0; r < rlen; r++)
+				maxCol = ctable.execute(r + 1, thatU.quickGetValue(r, 0), w, maxCol, resultBlock);
+		}
+
+		// nnz maintained in ctable (via quickset)
+		if(updateClen)
+			resultBlock.setNumColumns(maxCol);
+		return resultBlock;
+	}
+
+	private static double[] getValues(ADictionary dict, int nVals) {
+		final double[] ret = new double[nVals];
+		for(int i = 0; i < nVals; i++)
+			ret[i] = dict.getValue(i);
+		return ret;
+	}
+
+	private static void maintainNonZeros(MatrixBlock resultBlock) {
+		if(resultBlock != null)
+			resultBlock.recomputeNonZeros();
+	}
+}
@@ -0,0 +1,182 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.instructions.cp.KahanObject;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+
+/**
+ * Grouped aggregates (aggregate(target, groups, fn)) with compressed groups. If the groups are a compressed column
+ * vector of a single DDC column group, the aggregates are computed over the dictionary codes: counts directly from the
+ * code counts, and sums either from the co-occurrence counts of codes with a compressed DDC target, or by a single
+ * scan over the target with a code to group lookup. Other groups fall back to decompression.
+ */
+public class CLALibGroupedAgg {
+
+	public static MatrixBlock groupedAggregate(CompressedMatrixBlock groups, MatrixBlock target, MatrixBlock weights,
+		MatrixBlock ret, int ngroups, Operator op, int k) {
+		final ColGroupDDC g = CLALibUtils.getSingleDDCColumn(groups);
+		final int[] gIds = (g != null) ? getGroupIds(g.getDictionary(), g.getNumValues()) : null;
+		if(gIds == null || !isSupported(groups, target, weights, op)) {
+			MatrixBlock groupsU = groups.getUncompressed("groupedAggOperations");
+			return groupsU.groupedAggOperations(CompressedMatrixBlock.getUncompressed(target),
+				weights != null ? CompressedMatrixBlock.getUncompressed(weights) : null, ret, ngroups, op, k);
+		}
+
+		// determine the number of groups from the dictionary
+		if(ngroups <= 0)
+			for(int id : gIds)
+				ngroups = Math.max(ngroups, id);
+
+		final int nCol = target.getNumColumns();
+		if(ret == null)
+			ret = new MatrixBlock(ngroups, nCol, false);
+		else
+			ret.reset(ngroups, nCol, false);
+		ret.allocateDenseBlock();
+		final double[] c = ret.getDenseBlockValues();
+
+		if(op instanceof CMOperator)
+			groupedCount(g, gIds, ngroups, c);
+		else
+			groupedSum(g, gIds, target, weights, ngroups, (AggregateOperator) op, c);
+
+		ret.recomputeNonZeros();
+		ret.examSparsity();
+		return ret;
+	}
+
+	private static boolean isSupported(CompressedMatrixBlock groups, MatrixBlock target, MatrixBlock weights,
+		Operator op) {
+		if(target.getNumRows() != groups.getNumRows() || (weights != null && weights.getNumRows() != groups.getNumRows()))
+			return false; // includes row vector targets, handled by the uncompressed path
+		if(op instanceof CMOperator)
+			return ((CMOperator) op).getAggOpType() == AggregateOperationTypes.COUNT && weights == null &&
+				target.getNumColumns() == 1;
+		return op instanceof AggregateOperator;
+	}
+
+	private static int[] getGroupIds(ADictionary dict, int nVals) {
+		// group ids per dictionary entry, invalid ids are handled (and reported) by the uncompressed path
+		final int[] ret = new int[nVals];
+		for(int i = 0; i < nVals; i++) {
+			final double v = dict.getValue(i);
+			if(v < 1 || v != Math.floor(v) || v > Integer.MAX_VALUE)
+				return null;
+			ret[i] = (int) v;
+		}
+		return ret;
+	}
+
+	private static void groupedCount(ColGroupDDC g, int[] gIds, int ngroups, double[] c) {
+		final int[] counts = g.getCounts();
+		for(int i = 0; i < gIds.length; i++)
+			if(gIds[i] <= ngroups)
+				c[gIds[i] - 1] += counts[i];
+	}
+
+	private static void groupedSum(ColGroupDDC g, int[] gIds, MatrixBlock target, MatrixBlock weights, int ngroups,
+		AggregateOperator aggop, double[] c) {
+		final int nCol = target.getNumColumns();
+		final KahanObject[] buffer = new KahanObject[ngroups * nCol];
+		for(int i = 0; i < buffer.length; i++)
+			buffer[i] = new KahanObject(aggop.initialValue, 0);
+
+		final AMapToData map = g.getMapToData();
+		final ColGroupDDC t = weights == null ? CLALibUtils.getSingleDDCColumn(target) : null;
+		if(t != null && (long) gIds.length * t.getNumValues() <= map.size())
+			groupedSumCoCode(map, gIds, t, ngroups, aggop, buffer);
+		else if(!target.isEmptyBlock(false))
+			groupedSumScan(map, gIds, CompressedMatrixBlock.getUncompressed(target, "groupedAggOperations target"),
+				weights != null ? CompressedMatrixBlock.getUncompressed(weights) : null, ngroups, aggop, buffer);
+
+		for(int i = 0; i < buffer.length; i++)
+			c[i] = buffer[i]._sum;
+	}
+
+	private static void groupedSumCoCode(AMapToData map, int[] gIds, ColGroupDDC t, int ngroups, AggregateOperator aggop,
+		KahanObject[] buffer) {
+		// count co-occurrences of group codes and target codes
+		final AMapToData tMap = t.getMapToData();
+		final int nVals = t.getNumValues();
+		final int[] counts = new int[gIds.length * nVals];
+		final int nRows = map.size();
+		for(int r = 0; r < nRows; r++)
+			counts[map.getIndex(r) * nVals + tMap.getIndex(r)]++;
+
+		// aggregate the target values scaled by their counts
+		final ADictionary tDict = t.getDictionary();
+		for(int i = 0; i < gIds.length; i++) {
+			if(gIds[i] > ngroups)
+				continue;
+			final KahanObject kbuff = buffer[gIds[i] - 1];
+			for(int j = 0; j < nVals; j++) {
+				final double v = tDict.getValue(j);
+				if(counts[i * nVals + j] != 0 && v != 0)
+					aggop.increOp.fn.execute(kbuff, counts[i * nVals + j] * v);
+			}
+		}
+	}
+
+	private static void groupedSumScan(AMapToData map, int[] gIds, MatrixBlock target, MatrixBlock weights,
+		int ngroups, AggregateOperator aggop, KahanObject[] buffer) {
+		final int nRows = target.getNumRows();
+		final int nCol = target.getNumColumns();
+		if(target.isInSparseFormat()) {
+			final SparseBlock sb = target.getSparseBlock();
+			for(int r = 0; r < nRows; r++) {
+				final int gid = gIds[map.getIndex(r)];
+				if(gid > ngroups || sb.isEmpty(r))
+					continue;
+				final double w = (weights != null) ? weights.quickGetValue(r, 0) : 1;
+				final int apos = sb.pos(r);
+				final int alen = sb.size(r) + apos;
+				final int[] aix = sb.indexes(r);
+				final double[] avals = sb.values(r);
+				for(int j = apos; j < alen; j++)
+					aggop.increOp.fn.execute(buffer[(gid - 1) * nCol + aix[j]], avals[j] * w);
+			}
+		}
+		else {
+			final DenseBlock db = target.getDenseBlock();
+			for(int r = 0; r < nRows; r++) {
+				final int gid = gIds[map.getIndex(r)];
+				if(gid > ngroups)
+					continue;
+				final double w = (weights != null) ? weights.quickGetValue(r, 0) : 1;
+				final double[] avals = db.values(r);
+				final int aix = db.pos(r);
+				for(int j = 0; j < nCol; j++)
+					if(avals[aix + j] != 0)
+						aggop.increOp.fn.execute(buffer[(gid - 1) * nCol + j], avals[aix + j] * w);
+			}
+		}
+	}
+}
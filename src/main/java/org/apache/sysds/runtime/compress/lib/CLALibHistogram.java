@@ -0,0 +1,205 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.AColGroupValue;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupPFOR;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.instructions.cp.CM_COV_Object;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.util.DataConverter;
+
+/**
+ * Order statistics and central moments of compressed column vectors. For a column vector of a single column group,
+ * the dictionary and the counts per dictionary entry form a weighted value histogram, which is sufficient for central
+ * moments and the sort of quantile computations. The sorted output uses the weighted (value, weight) format of
+ * MatrixBlock.sortOperations with one row per distinct value, which the subsequent quantile, median, and IQM
+ * computations process without any changes. Inputs that are not representable as histogram fall back to
+ * decompression.
+ */
+public class CLALibHistogram {
+
+	/**
+	 * Sort a compressed column vector into a weighted (value, weight) block with one row per distinct value.
+	 * 
+	 * @param in      The compressed column vector
+	 * @param weights The weights, or null
+	 * @param result  The result block
+	 * @return The sorted weighted values
+	 */
+	public static MatrixBlock sortOperations(CompressedMatrixBlock in, MatrixBlock weights, MatrixBlock result) {
+		if(in.getNumColumns() != 1)
+			throw new DMLRuntimeException(
+				"Invalid input dimensions (" + in.getNumRows() + "x" + in.getNumColumns() + ") to sort operation.");
+		if(weights != null && weights.getNumColumns() != 1)
+			throw new DMLRuntimeException("Invalid weight dimensions (" + weights.getNumRows() + "x"
+				+ weights.getNumColumns() + ") to sort operation.");
+
+		final double[][] hist = getHistogram(in, weights);
+		if(hist == null) {
+			MatrixBlock w = weights != null ? CompressedMatrixBlock.getUncompressed(weights) : null;
+			return in.getUncompressed("sortOperations").sortOperations(w, result);
+		}
+
+		// sort distinct values, and merge duplicates (incl zero, which is always contained)
+		final double[] vals = hist[0];
+		final double[] wts = hist[1];
+		final Integer[] ix = new Integer[vals.length + 1];
+		for(int i = 0; i < ix.length; i++)
+			ix[i] = i;
+		Arrays.sort(ix, (a, b) -> Double.compare(a < vals.length ? vals[a] : 0, b < vals.length ? vals[b] : 0));
+
+		final double[] tmp = new double[ix.length * 2];
+		int n = -1;
+		for(int i = 0; i < ix.length; i++) {
+			final double v = ix[i] < vals.length ? vals[ix[i]] : 0;
+			final double w = ix[i] < vals.length ? wts[ix[i]] : 0;
+			if(w == 0 && v != 0)
+				continue; // unused dictionary entry
+			if(n >= 0 && tmp[n * 2] == v)
+				tmp[n * 2 + 1] += w;
+			else {
+				n++;
+				tmp[n * 2] = v;
+				tmp[n * 2 + 1] = w;
+			}
+		}
+
+		if(result == null)
+			result = new MatrixBlock(n + 1, 2, false);
+		else
+			result.reset(n + 1, 2, false);
+		result.allocateDenseBlock();
+		System.arraycopy(tmp, 0, result.getDenseBlockValues(), 0, (n + 1) * 2);
+		result.recomputeNonZeros();
+		return result;
+	}
+
+	/**
+	 * Central moment of a compressed column vector, computed over the value histogram.
+	 * 
+	 * @param in The compressed column vector
+	 * @param op The central moment operator
+	 * @return The central moment object
+	 */
+	public static CM_COV_Object cmOperations(CompressedMatrixBlock in, CMOperator op) {
+		return cmOperations(in, op, null);
+	}
+
+	/**
+	 * Weighted central moment of a compressed column vector, computed over the value histogram.
+	 * 
+	 * @param in      The compressed column vector
+	 * @param op      The central moment operator
+	 * @param weights The weights, or null
+	 * @return The central moment object
+	 */
+	public static CM_COV_Object cmOperations(CompressedMatrixBlock in, CMOperator op, MatrixBlock weights) {
+		final List<AColGroup> groups = in.getColGroups();
+		if(!in.isOverlapping() && groups != null && groups.size() == 1 &&
+			groups.get(0) instanceof ColGroupUncompressed) {
+			// uncompressed column, no need for decompression
+			MatrixBlock data = ((ColGroupUncompressed) groups.get(0)).getData();
+			return weights != null ? data.cmOperations(op, CompressedMatrixBlock.getUncompressed(weights)) : data
+				.cmOperations(op);
+		}
+		final double[][] hist = in.getNumColumns() == 1 ? getHistogram(in, weights) : null;
+		if(hist == null) {
+			MatrixBlock tmp = in.getUncompressed("cmOperations");
+			return weights != null ? tmp.cmOperations(op, CompressedMatrixBlock.getUncompressed(weights)) : tmp
+				.cmOperations(op);
+		}
+		final MatrixBlock vals = DataConverter.convertToMatrixBlock(hist[0], true);
+		final MatrixBlock counts = DataConverter.convertToMatrixBlock(hist[1], true);
+		return vals.cmOperations(op, counts);
+	}
+
+	/**
+	 * Get the value histogram of a compressed column vector as pairs of (distinct) values and their weights, where the
+	 * weights are either the counts or the sums of given weights.
+	 * 
+	 * @param in      The compressed column vector
+	 * @param weights The weights, or null for counts
+	 * @return The values and weights, or null if not representable as histogram
+	 */
+	private static double[][] getHistogram(CompressedMatrixBlock in, MatrixBlock weights) {
+		final int nRows = in.getNumRows();
+		if(in.isOverlapping() || in.getColGroups() == null || in.getColGroups().size() != 1)
+			return null;
+		final AColGroup g = in.getColGroups().get(0);
+		if(weights != null) // per-code weights require a mapping of all rows
+			return g instanceof ColGroupDDC ? getWeightedHistogram((ColGroupDDC) g,
+				CompressedMatrixBlock.getUncompressed(weights)) : null;
+		if(g instanceof ColGroupEmpty)
+			return new double[][] {{0}, {nRows}};
+		else if(g instanceof ColGroupConst)
+			return new double[][] {{g.getIdx(0, 0)}, {nRows}};
+		else if(g instanceof ColGroupPFOR) {
+			// values are offset by the reference, which is also the value of all rows not in the offsets
+			final ColGroupPFOR gp = (ColGroupPFOR) g;
+			final int nVals = gp.getNumValues();
+			final double ref = gp.getReference()[0];
+			final int[] counts = gp.getCounts(new int[nVals + 1]);
+			final double[][] ret = new double[2][nVals + 1];
+			for(int i = 0; i < nVals; i++) {
+				ret[0][i] = gp.getDictionary().getValue(i) + ref;
+				ret[1][i] = counts[i];
+			}
+			ret[0][nVals] = ref;
+			ret[1][nVals] = counts[nVals];
+			return ret;
+		}
+		else if(g instanceof AColGroupValue) {
+			// counts contain the number of zero rows as last entry (if not materialized in the dictionary)
+			final AColGroupValue gv = (AColGroupValue) g;
+			final int[] counts = gv.getCounts();
+			final int nVals = gv.getNumValues();
+			final double[][] ret = new double[2][counts.length];
+			for(int i = 0; i < counts.length; i++) {
+				ret[0][i] = i < nVals ? gv.getDictionary().getValue(i) : 0;
+				ret[1][i] = counts[i];
+			}
+			return ret;
+		}
+		return null;
+	}
+
+	private static double[][] getWeightedHistogram(ColGroupDDC g, MatrixBlock weights) {
+		final AMapToData map = g.getMapToData();
+		final int nVals = g.getNumValues();
+		final double[][] ret = new double[2][nVals];
+		for(int i = 0; i < nVals; i++)
+			ret[0][i] = g.getDictionary().getValue(i);
+		for(int r = 0; r < map.size(); r++)
+			ret[1][map.getIndex(r)] += weights.quickGetValue(r, 0);
+		return ret;
+	}
+}
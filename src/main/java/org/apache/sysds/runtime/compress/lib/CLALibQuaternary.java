@@ -0,0 +1,87 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import org.apache.sysds.lops.WeightedSquaredLoss.WeightsType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.matrix.data.LibMatrixMult;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.QuaternaryOperator;
+
+/**
+ * Weighted quaternary operations (wsloss, wsigmoid, wdivmm, wcemm, wumm) with a compressed left hand side X.
+ * 
+ * The unweighted squared loss is computed fully in the compressed domain as sum(X^2) - 2 sum(U * (X %*% V)) +
+ * sum((t(U) %*% U) * (t(V) %*% V)), where both aggregates over X exploit the dictionary pre-aggregation of the column
+ * groups with the rows of V. All other operators are defined over the non-zero cells of X and therefore fall back to
+ * the uncompressed operations over the decompressed X.
+ */
+public class CLALibQuaternary {
+
+	public static MatrixBlock quaternaryOperations(CompressedMatrixBlock X, QuaternaryOperator qop, MatrixBlock U,
+		MatrixBlock V, MatrixBlock W, MatrixBlock out, int k) {
+		final int m = X.getNumRows();
+		final int n = X.getNumColumns();
+		if(m != U.getNumRows())
+			throw new DMLRuntimeException("Dimension mismatch rows on quaternary operation: " + m + "!=" + U.getNumRows());
+		if(n != V.getNumRows())
+			throw new DMLRuntimeException("Dimension mismatch columns quaternary operation: " + n + "!=" + V.getNumRows());
+
+		U = CompressedMatrixBlock.getUncompressed(U);
+		V = CompressedMatrixBlock.getUncompressed(V);
+		W = CompressedMatrixBlock.getUncompressed(W);
+
+		if(qop.wtype1 == WeightsType.NONE)
+			return setScalar(out, wslossNone(X, U, V, k));
+		else
+			return X.getUncompressed("quaternaryOperations").quaternaryOperations(qop, U, V, W, out, k);
+	}
+
+	private static double wslossNone(CompressedMatrixBlock X, MatrixBlock U, MatrixBlock V, int k) {
+		// sum((X - U %*% t(V))^2) = sum(X^2) - 2 sum(U * (X %*% V)) + sum((t(U) %*% U) * (t(V) %*% V))
+		final double sumSqX = X.sumSq();
+		final MatrixBlock XV = CLALibRightMultBy.rightMultByMatrix(X, V, null, k, false);
+		final double sumUXV = sumProduct(U, XV);
+		final int rank = U.getNumColumns();
+		final MatrixBlock UtU = new MatrixBlock(rank, rank, false);
+		final MatrixBlock VtV = new MatrixBlock(rank, rank, false);
+		LibMatrixMult.matrixMultTransposeSelf(U, UtU, true, k);
+		LibMatrixMult.matrixMultTransposeSelf(V, VtV, true, k);
+		return sumSqX - 2 * sumUXV + sumProduct(UtU, VtV);
+	}
+
+	private static double sumProduct(MatrixBlock a, MatrixBlock b) {
+		if(a.isEmpty() || b.isEmpty())
+			return 0;
+		double ret = 0;
+		for(int i = 0; i < a.getNumRows(); i++)
+			for(int j = 0; j < a.getNumColumns(); j++)
+				ret += a.quickGetValue(i, j) * b.quickGetValue(i, j);
+		return ret;
+	}
+
+	private static MatrixBlock setScalar(MatrixBlock out, double v) {
+		final MatrixBlock R = out == null ? new MatrixBlock() : out;
+		R.reset(1, 1, false);
+		R.quickSetValue(0, 0, v);
+		return R;
+	}
+}
@@ -0,0 +1,402 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.ADictionary;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.compress.utils.DblArray;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Row-wise append (rbind) of compressed matrices. Instead of decompressing the left hand side, the column groups of
+ * the left side are extended with the new rows: mappings of DDC groups are extended and new distinct tuples are
+ * appended to their dictionaries, constant and empty groups are kept if the new rows match, and all other groups are
+ * converted to DDC. If the dictionary of a group explodes, the group falls back to an uncompressed column group. The
+ * co-coding of the left side is kept as is and only re-evaluated (by recompression) if the appended matrix is no
+ * longer smaller than its uncompressed representation.
+ */
+public class CLALibRBind {
+
+	private static final Log LOG = LogFactory.getLog(CLALibRBind.class.getName());
+
+	/** Max number of distinct tuples relative to the number of rows before falling back to uncompressed groups */
+	private static final double MAX_DISTINCT_RATIO = 0.5;
+
+	/** Number of cells to decompress at a time when converting groups to DDC */
+	private static final int DECOMPRESS_BLOCK_CELLS = 1 << 16;
+
+	public static MatrixBlock rbind(CompressedMatrixBlock left, MatrixBlock[] right, int k) {
+		final int n = left.getNumColumns();
+		int m = left.getNumRows();
+		for(MatrixBlock mb : right) {
+			if(mb.getNumColumns() != n)
+				throw new DMLRuntimeException("Invalid nCol dimension for append rbind: was " + mb.getNumColumns()
+					+ " should be: " + n);
+			m += mb.getNumRows();
+		}
+
+		if(left.isOverlapping()) {
+			MatrixBlock uc = left.getUncompressed("rbind of overlapping compressed matrix");
+			return uc.append(ucAll(right), null, false);
+		}
+
+		// combine all right hand sides into a single uncompressed block
+		MatrixBlock r = CompressedMatrixBlock.getUncompressed(right[0]);
+		if(right.length > 1)
+			r = r.append(ucAll(Arrays.copyOfRange(right, 1, right.length)), null, false);
+
+		final int nRowsLeft = left.getNumRows();
+		final List<AColGroup> groups = new ArrayList<>(left.getColGroups().size());
+		for(AColGroup g : left.getColGroups())
+			groups.add(rbindGroup(g, nRowsLeft, r, n));
+
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(m, n);
+		ret.allocateColGroupList(groups);
+		ret.setOverlapping(false);
+		ret.recomputeNonZeros();
+
+		// lazy re-evaluation of the co-coding if the appended groups do not compress well anymore
+		final double compressedSize = ret.getInMemorySize();
+		final double uncompressedSize = MatrixBlock.estimateSizeInMemory(m, n, ret.getSparsity());
+		if(compressedSize < uncompressedSize)
+			return ret;
+		LOG.info(String.format("Recompressing r bind matrix because it had to small compression ratio: %2.3f",
+			uncompressedSize / compressedSize));
+		return CompressedMatrixBlockFactory.compress(ret.getUncompressed(), k).getLeft();
+	}
+
+	/**
+	 * Row-wise append of compressed row bands that share the same column groups, for instance the row blocks of a
+	 * compressed binary block file. The groups are combined band by band without decompressing the entire bands: DDC
+	 * groups remap their dictionaries, constant and empty groups are kept if all bands agree, and other groups are
+	 * decompressed one band at a time. If the bands do not share the same column groups the default rbind is used.
+	 * 
+	 * @param bands The compressed row bands in order
+	 * @param k     The parallelization degree allowed
+	 * @return The combined matrix
+	 */
+	public static MatrixBlock rbindBands(CompressedMatrixBlock[] bands, int k) {
+		if(bands.length == 1)
+			return bands[0];
+		if(!isSameGroupStructure(bands))
+			return rbind(bands[0], Arrays.copyOfRange(bands, 1, bands.length), k);
+
+		final int n = bands[0].getNumColumns();
+		final int[] bandRows = new int[bands.length];
+		int m = 0;
+		for(int i = 0; i < bands.length; i++) {
+			bandRows[i] = bands[i].getNumRows();
+			m += bandRows[i];
+		}
+
+		final int nGroups = bands[0].getColGroups().size();
+		final List<RBindBandsTask> tasks = new ArrayList<>(nGroups);
+		for(int j = 0; j < nGroups; j++) {
+			final AColGroup[] gs = new AColGroup[bands.length];
+			for(int i = 0; i < bands.length; i++)
+				gs[i] = bands[i].getColGroups().get(j);
+			tasks.add(new RBindBandsTask(gs, bandRows, m, n));
+		}
+
+		final List<AColGroup> groups = new ArrayList<>(nGroups);
+		if(k <= 1 || nGroups <= 1)
+			for(RBindBandsTask t : tasks)
+				groups.add(t.call());
+		else {
+			final ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				for(Future<AColGroup> f : pool.invokeAll(tasks))
+					groups.add(f.get());
+			}
+			catch(Exception e) {
+				throw new DMLRuntimeException("Failed parallel rbind of compressed row bands", e);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+
+		final CompressedMatrixBlock ret = new CompressedMatrixBlock(m, n);
+		ret.allocateColGroupList(groups);
+		ret.setOverlapping(false);
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static boolean isSameGroupStructure(CompressedMatrixBlock[] bands) {
+		final List<AColGroup> first = bands[0].getColGroups();
+		for(CompressedMatrixBlock b : bands) {
+			final List<AColGroup> groups = b.getColGroups();
+			if(b.isOverlapping() || b.getNumColumns() != bands[0].getNumColumns() || groups.size() != first.size())
+				return false;
+			for(int j = 0; j < groups.size(); j++)
+				if(!Arrays.equals(groups.get(j).getColIndices(), first.get(j).getColIndices()))
+					return false;
+		}
+		return true;
+	}
+
+	private static AColGroup rbindBandGroups(AColGroup[] gs, int[] bandRows, int m, int nColTotal) {
+		if(isAllEmpty(gs) || isAllSameConst(gs))
+			return gs[0].copy();
+
+		final int[] cols = gs[0].getColIndices();
+		final RBindEncoder enc = new RBindEncoder(cols.length, m);
+		for(int b = 0, off = 0; b < gs.length && !enc.isExploded(); off += bandRows[b], b++)
+			enc.encode(gs[b], off, bandRows[b], nColTotal);
+
+		if(enc.isExploded()) {
+			LOG.debug("Dictionary explosion in r bind of row bands, falling back to uncompressed column group");
+			final MatrixBlock[] rest = new MatrixBlock[gs.length - 1];
+			for(int b = 1; b < gs.length; b++)
+				rest[b - 1] = decompressColumns(gs[b], bandRows[b], nColTotal);
+			return createUncompressed(cols, decompressColumns(gs[0], bandRows[0], nColTotal), rest);
+		}
+		return enc.createDDC(cols);
+	}
+
+	private static boolean isAllEmpty(AColGroup[] gs) {
+		for(AColGroup g : gs)
+			if(!(g instanceof ColGroupEmpty))
+				return false;
+		return true;
+	}
+
+	private static boolean isAllSameConst(AColGroup[] gs) {
+		for(AColGroup g : gs)
+			if(!(g instanceof ColGroupConst &&
+				Arrays.equals(((ColGroupConst) g).getValues(), ((ColGroupConst) gs[0]).getValues())))
+				return false;
+		return true;
+	}
+
+	private static AColGroup rbindGroup(AColGroup g, int nRowsLeft, MatrixBlock right, int nColTotal) {
+		final int[] cols = g.getColIndices();
+		final MatrixBlock rightCols = new ColGroupUncompressed(cols, right, false).getData();
+		final int m = nRowsLeft + right.getNumRows();
+
+		if(g instanceof ColGroupUncompressed) {
+			MatrixBlock data = ((ColGroupUncompressed) g).getData().append(rightCols, null, false);
+			data.recomputeNonZeros();
+			return ColGroupUncompressed.create(cols, data);
+		}
+		else if(g instanceof ColGroupEmpty && rightCols.isEmpty())
+			return g.copy();
+		else if(g instanceof ColGroupConst && isConstant(rightCols, ((ColGroupConst) g).getValues()))
+			return g.copy();
+
+		final RBindEncoder enc = new RBindEncoder(cols.length, m);
+		enc.encode(g, 0, nRowsLeft, nColTotal);
+		enc.encode(rightCols, nRowsLeft);
+
+		if(enc.isExploded()) {
+			LOG.debug("Dictionary explosion in r bind, falling back to uncompressed column group");
+			return createUncompressed(cols, decompressColumns(g, nRowsLeft, nColTotal), rightCols);
+		}
+		return enc.createDDC(cols);
+	}
+
+	private static AColGroup createUncompressed(int[] cols, MatrixBlock first, MatrixBlock... rest) {
+		final MatrixBlock data = first.append(rest, null, false);
+		data.recomputeNonZeros();
+		data.examSparsity();
+		return ColGroupUncompressed.create(cols, data);
+	}
+
+	private static MatrixBlock decompressColumns(AColGroup g, int nRows, int nColTotal) {
+		// decompress in blocks of rows to bound the temporary memory of wide matrices
+		final int[] cols = g.getColIndices();
+		final int nCol = cols.length;
+		final MatrixBlock ret = new MatrixBlock(nRows, nCol, false);
+		ret.allocateDenseBlock();
+		final double[] ret_vals = ret.getDenseBlockValues();
+		final int blkz = Math.max(1, Math.min(nRows, DECOMPRESS_BLOCK_CELLS / nColTotal));
+		final MatrixBlock blk = new MatrixBlock(blkz, nColTotal, false);
+		blk.allocateDenseBlock();
+		final DenseBlock db = blk.getDenseBlock();
+		final double[] vals = blk.getDenseBlockValues();
+		for(int rl = 0; rl < nRows; rl += blkz) {
+			final int ru = Math.min(rl + blkz, nRows);
+			Arrays.fill(vals, 0);
+			g.decompressToDenseBlock(db, rl, ru, -rl, 0);
+			for(int i = rl; i < ru; i++) {
+				final int off = (i - rl) * nColTotal;
+				for(int j = 0; j < nCol; j++)
+					ret_vals[i * nCol + j] = vals[off + cols[j]];
+			}
+		}
+		ret.recomputeNonZeros();
+		return ret;
+	}
+
+	private static boolean isConstant(MatrixBlock mb, double[] values) {
+		for(int i = 0; i < mb.getNumRows(); i++)
+			for(int j = 0; j < values.length; j++)
+				if(mb.quickGetValue(i, j) != values[j])
+					return false;
+		return true;
+	}
+
+	private static MatrixBlock[] ucAll(MatrixBlock[] mbs) {
+		MatrixBlock[] ret = new MatrixBlock[mbs.length];
+		for(int i = 0; i < mbs.length; i++)
+			ret[i] = CompressedMatrixBlock.getUncompressed(mbs[i]);
+		return ret;
+	}
+
+	/**
+	 * Encoder of the rows of a combined column group into codes of distinct tuples. DDC groups reuse their mapping and
+	 * only remap their dictionary entries (merging duplicates), while all other inputs are encoded row by row. The
+	 * encoding stops once the number of distinct tuples exceeds the max ratio of rows, in which case the caller falls
+	 * back to an uncompressed column group.
+	 */
+	private static class RBindEncoder {
+		private final int _nCol;
+		private final int _maxDistinct;
+		private final int[] _codes;
+		private final Map<DblArray, Integer> _map = new HashMap<>();
+		private final List<double[]> _tuples = new ArrayList<>();
+		private final double[] _tmp;
+		private final DblArray _key;
+
+		protected RBindEncoder(int nCol, int m) {
+			_nCol = nCol;
+			_maxDistinct = (int) Math.max(2, m * MAX_DISTINCT_RATIO);
+			_codes = new int[m];
+			_tmp = new double[nCol];
+			_key = new DblArray(_tmp);
+		}
+
+		protected boolean isExploded() {
+			return _tuples.size() > _maxDistinct;
+		}
+
+		/**
+		 * Encode the rows of a column group into the codes starting at the given row offset.
+		 * 
+		 * @param g         The column group
+		 * @param off       The row offset in the combined group
+		 * @param nRows     The number of rows of the column group
+		 * @param nColTotal The total number of columns of the matrix of the column group
+		 */
+		protected void encode(AColGroup g, int off, int nRows, int nColTotal) {
+			if(g instanceof ColGroupDDC) {
+				final ColGroupDDC ddc = (ColGroupDDC) g;
+				final ADictionary dict = ddc.getDictionary();
+				final int[] remap = new int[ddc.getNumValues()];
+				for(int i = 0; i < remap.length; i++) {
+					for(int j = 0; j < _nCol; j++)
+						_tmp[j] = dict.getValue(i * _nCol + j);
+					remap[i] = getCode();
+				}
+				final AMapToData data = ddc.getMapToData();
+				for(int i = 0; i < nRows; i++)
+					_codes[off + i] = remap[data.getIndex(i)];
+			}
+			else
+				encode(decompressColumns(g, nRows, nColTotal), off);
+		}
+
+		/**
+		 * Encode the rows of a block with the columns of the group into the codes starting at the given row offset.
+		 * 
+		 * @param mb  The block of the columns of the group
+		 * @param off The row offset in the combined group
+		 */
+		protected void encode(MatrixBlock mb, int off) {
+			final DenseBlock db = mb.isInSparseFormat() ? null : mb.getDenseBlock();
+			final double[] vals = db != null && db.isContiguous() ? db.valuesAt(0) : null;
+			for(int i = 0; i < mb.getNumRows() && !isExploded(); i++) {
+				if(vals != null)
+					System.arraycopy(vals, i * _nCol, _tmp, 0, _nCol);
+				else
+					for(int j = 0; j < _nCol; j++)
+						_tmp[j] = mb.quickGetValue(i, j);
+				_codes[off + i] = getCode();
+			}
+		}
+
+		protected AColGroup createDDC(int[] cols) {
+			final int m = _codes.length;
+			final int nVal = _tuples.size();
+			final double[] values = new double[nVal * _nCol];
+			for(int i = 0; i < nVal; i++)
+				System.arraycopy(_tuples.get(i), 0, values, i * _nCol, _nCol);
+			final AMapToData data = MapToFactory.create(m, nVal);
+			for(int i = 0; i < m; i++)
+				data.set(i, _codes[i]);
+			return ColGroupDDC.create(cols, m, new Dictionary(values), data, null);
+		}
+
+		private int getCode() {
+			_key.resetHash();
+			Integer code = _map.get(_key);
+			if(code == null) {
+				DblArray copy = new DblArray(_key);
+				code = _tuples.size();
+				_map.put(copy, code);
+				_tuples.add(copy.getData());
+			}
+			return code;
+		}
+	}
+
+	private static class RBindBandsTask implements Callable<AColGroup> {
+		private final AColGroup[] _gs;
+		private final int[] _bandRows;
+		private final int _m;
+		private final int _nColTotal;
+
+		protected RBindBandsTask(AColGroup[] gs, int[] bandRows, int m, int nColTotal) {
+			_gs = gs;
+			_bandRows = bandRows;
+			_m = m;
+			_nColTotal = nColTotal;
+		}
+
+		@Override
+		public AColGroup call() {
+			return rbindBandGroups(_gs, _bandRows, _m, _nColTotal);
+		}
+	}
+}
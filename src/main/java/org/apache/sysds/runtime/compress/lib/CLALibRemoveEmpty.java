@@ -0,0 +1,170 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.compress.lib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.functionobjects.NotEquals;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
+import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Removal of empty rows and row selection on compressed matrices. The selected rows are extracted per column group by
+ * re-indexing the mappings and offsets of the groups, while the dictionaries are shared with the input. Therefore, data
+ * splits such as removeEmpty(target=X, margin="rows", select=S) stay compressed. Removal of empty columns still
+ * decompresses.
+ */
+public class CLALibRemoveEmpty {
+
+	private static final Log LOG = LogFactory.getLog(CLALibRemoveEmpty.class.getName());
+
+	/** Minimum number of selected rows times column groups before the selection is done in parallel */
+	private static final int MIN_PAR_CELLS = 1 << 16;
+
+	public static MatrixBlock removeEmpty(CompressedMatrixBlock in, MatrixBlock ret, boolean rows, boolean emptyReturn,
+		MatrixBlock select, int k) {
+		if(!rows) {
+			MatrixBlock tmp = in.getUncompressed("removeEmpty columns");
+			return tmp.removeEmptyOperations(ret, rows, emptyReturn, select);
+		}
+
+		final int nRow = in.getNumRows();
+		if(select != null && (select.getNumRows() != nRow || select.getNumColumns() != 1))
+			throw new DMLRuntimeException("Invalid select vector for removeEmpty rows: [" + select.getNumRows() + "x"
+				+ select.getNumColumns() + "] should be [" + nRow + "x1]");
+
+		final int[] selected = (select != null) ? getSelectedRows(select) : //
+			in.isEmpty() ? new int[0] : getNonEmptyRows(in, k);
+
+		if(selected.length == 0) // same semantics as the uncompressed removeEmpty
+			return new MatrixBlock(emptyReturn ? 1 : 0, in.getNumColumns(), true);
+		else if(selected.length == nRow) {
+			CompressedMatrixBlock all = new CompressedMatrixBlock(nRow, in.getNumColumns());
+			all.allocateColGroupList(new ArrayList<>(in.getColGroups()));
+			all.setOverlapping(in.isOverlapping());
+			all.setNonZeros(in.getNonZeros());
+			return all;
+		}
+		else
+			return selectRows(in, selected, k);
+	}
+
+	/**
+	 * Select the given rows out of the compressed matrix. The rows can be in arbitrary order and contain duplicates, and
+	 * the output contains the rows in the given order.
+	 * 
+	 * @param in   The compressed input
+	 * @param rows The rows to select (zero based)
+	 * @param k    The parallelization degree allowed
+	 * @return A compressed matrix with rows.length rows
+	 */
+	public static CompressedMatrixBlock selectRows(CompressedMatrixBlock in, int[] rows, int k) {
+		final int nRow = in.getNumRows();
+		for(int r : rows)
+			if(r < 0 || r >= nRow)
+				throw new DMLRuntimeException("Invalid row index " + r + " for selection of rows in: " + nRow);
+
+		final List<AColGroup> groups = in.getColGroups();
+		final List<AColGroup> retGroups;
+		if(k <= 1 || groups.size() <= 1 || (long) rows.length * groups.size() < MIN_PAR_CELLS)
+			retGroups = new SelectRowsTask(groups, rows).call();
+		else
+			retGroups = selectRowsParallel(groups, rows, k);
+
+		final CompressedMatrixBlock ret = new CompressedMatrixBlock(rows.length, in.getNumColumns());
+		ret.allocateColGroupList(retGroups);
+		ret.setOverlapping(in.isOverlapping());
+		ret.recomputeNonZeros();
+		if(LOG.isDebugEnabled())
+			LOG.debug("Compressed row selection of " + rows.length + " out of " + nRow + " rows");
+		return ret;
+	}
+
+	private static List<AColGroup> selectRowsParallel(List<AColGroup> groups, int[] rows, int k) {
+		final ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			final List<SelectRowsTask> tasks = new ArrayList<>();
+			final int blk = Math.max(1, (int) Math.ceil((double) groups.size() / k));
+			for(int i = 0; i < groups.size(); i += blk)
+				tasks.add(new SelectRowsTask(groups.subList(i, Math.min(i + blk, groups.size())), rows));
+			final List<AColGroup> ret = new ArrayList<>(groups.size());
+			for(Future<List<AColGroup>> f : pool.invokeAll(tasks))
+				ret.addAll(f.get());
+			return ret;
+		}
+		catch(Exception e) {
+			throw new DMLRuntimeException("Failed parallel compressed row selection", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static int[] getSelectedRows(MatrixBlock select) {
+		final int nRow = select.getNumRows();
+		final int[] tmp = new int[nRow];
+		int cnt = 0;
+		if(!select.isEmpty())
+			for(int i = 0; i < nRow; i++)
+				if(select.quickGetValue(i, 0) != 0)
+					tmp[cnt++] = i;
+		return Arrays.copyOf(tmp, cnt);
+	}
+
+	private static int[] getNonEmptyRows(CompressedMatrixBlock in, int k) {
+		// count the non-zeros per row on the compressed representation (X != 0 and rowSums)
+		final MatrixBlock nz = in.scalarOperations(new RightScalarOperator(NotEquals.getNotEqualsFnObject(), 0, k),
+			new MatrixBlock());
+		final AggregateUnaryOperator op = InstructionUtils.parseBasicAggregateUnaryOperator("uark+", k);
+		final MatrixBlock cnt = nz.aggregateUnaryOperations(op, null, 1000, null, true);
+		return getSelectedRows(cnt);
+	}
+
+	private static class SelectRowsTask implements Callable<List<AColGroup>> {
+		private final List<AColGroup> _groups;
+		private final int[] _rows;
+
+		protected SelectRowsTask(List<AColGroup> groups, int[] rows) {
+			_groups = groups;
+			_rows = rows;
+		}
+
+		@Override
+		public List<AColGroup> call() {
+			final List<AColGroup> ret = new ArrayList<>(_groups.size());
+			for(AColGroup g : _groups)
+				ret.add(g.selectRows(_rows));
+			return ret;
+		}
+	}
+}
@@ -45,6 +45,30 @@ public class CLALibSlice {
 			return sliceInternal(cmb, rl, ru, cl, cu);
 	}
 
+	/**
+	 * Slice a compressed matrix into a compressed matrix. In contrast to slice, the rows are selected on the compressed
+	 * column groups instead of decompressing the sliced rows, which is used for creating compressed blocks, for instance
+	 * when writing compressed binary block files.
+	 * 
+	 * @param cmb The compressed matrix to slice
+	 * @param rl  The row to start at
+	 * @param ru  The row to end at (inclusive)
+	 * @param cl  The column to start at
+	 * @param cu  The column to end at (inclusive)
+	 * @param k   The parallelization degree allowed
+	 * @return A compressed matrix of the sliced range
+	 */
+	public static CompressedMatrixBlock sliceCompressed(CompressedMatrixBlock cmb, int rl, int ru, int cl, int cu,
+		int k) {
+		final CompressedMatrixBlock cols = (cl == 0 && cu == cmb.getNumColumns() - 1) ? cmb : sliceColumns(cmb, cl, cu);
+		if(rl == 0 && ru == cmb.getNumRows() - 1)
+			return cols;
+		final int[] rows = new int[ru - rl + 1];
+		for(int i = 0; i < rows.length; i++)
+			rows[i] = rl + i;
+		return CLALibRemoveEmpty.selectRows(cols, rows, k);
+	}
+
 	private static MatrixBlock sliceInternal(CompressedMatrixBlock cmb, int rl, int ru, int cl, int cu) {
 		/**
 		 * In the case where an internal matrix is sliced out, then first slice out the columns to an compressed
@@ -30,8 +30,10 @@ import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.AMorphingMMColGroup;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupConst;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
 import org.apache.sysds.runtime.compress.colgroup.ColGroupFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 public final class CLALibUtils {
 	protected static final Log LOG = LogFactory.getLog(CLALibUtils.class.getName());
@@ -71,6 +73,23 @@ public final class CLALibUtils {
 		in.allocateColGroupList(o);
 	}
 
+	/**
+	 * Get the single DDC column group of a compressed column vector, which allows operations directly on the
+	 * dictionary codes of the column.
+	 * 
+	 * @param m A matrix block, compressed or uncompressed
+	 * @return The DDC column group, or null if the input is not a compressed column vector of a single DDC group
+	 */
+	protected static ColGroupDDC getSingleDDCColumn(MatrixBlock m) {
+		if(!(m instanceof CompressedMatrixBlock) || m.getNumColumns() != 1)
+			return null;
+		CompressedMatrixBlock cmb = (CompressedMatrixBlock) m;
+		if(cmb.isOverlapping() || cmb.getColGroups().size() != 1)
+			return null;
+		AColGroup g = cmb.getColGroups().get(0);
+		return g instanceof ColGroupDDC ? (ColGroupDDC) g : null;
+	}
+
 	/**
 	 * Helper method to determine if the column groups contains SDC or Constant groups.
 	 * 
@@ -47,6 +47,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerLocal;
 import org.apache.sysds.runtime.controlprogram.parfor.DataPartitionerRemoteSpark;
 import org.apache.sysds.runtime.controlprogram.parfor.LocalParWorker;
 import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueueStealing;
 import org.apache.sysds.runtime.controlprogram.parfor.ParForBody;
 import org.apache.sysds.runtime.controlprogram.parfor.RemoteDPParForSpark;
 import org.apache.sysds.runtime.controlprogram.parfor.RemoteParForJobReturn;
@@ -65,6 +66,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerFactoringCm
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerFixedsize;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerNaive;
 import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerStatic;
+import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerStealing;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptTreeConverter;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizationWrapper;
 import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizerRuleBased;
@@ -135,6 +137,7 @@ public class ParForProgramBlock extends ForProgramBlock
 		FACTORING,      //factoring task partitioner  
 		FACTORING_CMIN, //constrained factoring task partitioner, uses tasksize as min constraint
 		FACTORING_CMAX, //constrained factoring task partitioner, uses tasksize as max constraint
+		STEALING,       //work-stealing task partitioner (local only, adaptive task sizes), factoring otherwise
 		UNSPECIFIED
 	}
 	
@@ -744,7 +747,11 @@ public class ParForProgramBlock extends ForProgramBlock
 		{
 			// Step 1) create task queue and init workers in parallel
 			// (including preparation of update-in-place variables)
-			LocalTaskQueue<Task> queue = new LocalTaskQueue<>();
+			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
+			boolean stealing = partitioner instanceof TaskPartitionerStealing
+				&& ((TaskPartitionerStealing) partitioner).isStealingApplicable();
+			LocalTaskQueue<Task> queue = stealing ?
+				new LocalTaskQueueStealing(_numThreads) : new LocalTaskQueue<>();
 			Thread[] threads         = new Thread[_numThreads];
 			LocalParWorker[] workers = new LocalParWorker[_numThreads];
 			IntStream.range(0, _numThreads).parallel().forEach(i -> {
@@ -765,10 +772,9 @@ public class ParForProgramBlock extends ForProgramBlock
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_INIT_PARWRK_T, tinit);
 			
 			// Step 2) create tasks 
-			TaskPartitioner partitioner = createTaskPartitioner(from, to, incr);
 			long numIterations = partitioner.getNumIterations();
 			long numCreatedTasks = -1;
-			if( USE_STREAMING_TASK_CREATION )
+			if( USE_STREAMING_TASK_CREATION || stealing )
 			{
 				//put tasks into queue (parworker start work on first tasks while creating tasks) 
 				numCreatedTasks = partitioner.createTasks(queue);
@@ -795,6 +801,19 @@ public class ParForProgramBlock extends ForProgramBlock
 			if( _monitor ) 
 				StatisticMonitor.putPFStat(_ID, Stat.PARFOR_WAIT_EXEC_T, time.stop());
 			
+			//obtain tasks created at runtime and work-stealing statistics
+			if( stealing ) {
+				LocalTaskQueueStealing squeue = (LocalTaskQueueStealing) queue;
+				numCreatedTasks = squeue.getNumCreatedTasks();
+				if( DMLScript.STATISTICS )
+					Statistics.incrementParForStealing(squeue.getNumSteals(),
+						squeue.getNumFailedSteals(), squeue.getIdleTime());
+				if( _monitor ) {
+					StatisticMonitor.putPFStat(_ID, Stat.PARFOR_NUMSTEALS, squeue.getNumSteals());
+					StatisticMonitor.putPFStat(_ID, Stat.PARFOR_IDLE_T, squeue.getIdleTime()/1e6);
+				}
+			}
+			
 			// Step 4) collecting results from each parallel worker
 			//obtain results and cleanup other intermediates before result merge
 			LocalVariableMap [] localVariables = new LocalVariableMap [_numThreads]; 
@@ -1282,6 +1301,10 @@ public class ParForProgramBlock extends ForProgramBlock
 				tp = new TaskPartitionerFactoringCmax(_taskSize,_numThreads, 
 					_taskSize, _iterPredVar, from, to, incr);
 				break;	
+			case STEALING:
+				tp = new TaskPartitionerStealing(
+					_taskSize, _numThreads, _iterPredVar, from, to, incr);
+				break;
 			default:
 				throw new DMLRuntimeException("Undefined task partitioner: '"+_taskPartitioner+"'.");
 		}
@@ -19,6 +19,7 @@
 
 package org.apache.sysds.runtime.controlprogram.caching;
 
+import java.util.concurrent.atomic.LongAccumulator;
 import java.util.concurrent.atomic.LongAdder;
 
 /**
@@ -69,6 +70,17 @@ public class CacheStatistics
 	private static final LongAdder _ctimeAcquireM   = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeRelease    = new LongAdder(); //in nano sec
 	private static final LongAdder _ctimeExport     = new LongAdder(); //in nano sec
+	
+	//sparse block conversion statistics (MCSR to CSR on release)
+	private static final LongAdder _numSparseConv   = new LongAdder();
+	private static final LongAdder _ctimeSparseConv = new LongAdder(); //in nano sec
+	private static final LongAdder _sizeSparseConv  = new LongAdder(); //saved bytes
+
+	//unified memory manager statistics (evictions, peak sizes)
+	private static final LongAdder _numEvictUMM     = new LongAdder();
+	private static final LongAdder _ctimeEvictUMM   = new LongAdder(); //in nano sec
+	private static final LongAccumulator _maxPinnedUMM = new LongAccumulator(Long::max, 0);
+	private static final LongAccumulator _maxCachedUMM = new LongAccumulator(Long::max, 0);
 
 	public static void reset() {
 		_numHitsMem.reset();
@@ -86,6 +98,15 @@ public class CacheStatistics
 		_ctimeAcquireM.reset();
 		_ctimeRelease.reset();
 		_ctimeExport.reset();
+		
+		_numSparseConv.reset();
+		_ctimeSparseConv.reset();
+		_sizeSparseConv.reset();
+		
+		_numEvictUMM.reset();
+		_ctimeEvictUMM.reset();
+		_maxPinnedUMM.reset();
+		_maxCachedUMM.reset();
 	}
 
 	public static void incrementMemHits() {
@@ -228,6 +249,42 @@ public class CacheStatistics
 		return _ctimeExport.longValue();
 	}
 	
+	public static void incrementSparseConversions(long time, long savedSize) {
+		_numSparseConv.increment();
+		_ctimeSparseConv.add(time);
+		_sizeSparseConv.add(savedSize);
+	}
+	
+	public static long getSparseConversions() {
+		return _numSparseConv.longValue();
+	}
+	
+	public static long getSparseConversionSavings() {
+		return _sizeSparseConv.longValue();
+	}
+	
+	public static void incrementUMMEvictions(int num, long time) {
+		_numEvictUMM.add(num);
+		_ctimeEvictUMM.add(time);
+	}
+	
+	public static long getUMMEvictions() {
+		return _numEvictUMM.longValue();
+	}
+	
+	public static void updateUMMPeakSizes(long pinned, long cached) {
+		_maxPinnedUMM.accumulate(pinned);
+		_maxCachedUMM.accumulate(cached);
+	}
+	
+	public static long getUMMPeakPinnedSize() {
+		return _maxPinnedUMM.longValue();
+	}
+	
+	public static long getUMMPeakCachedSize() {
+		return _maxCachedUMM.longValue();
+	}
+	
 	public static String displayHits() {
 		StringBuilder sb = new StringBuilder();
 		sb.append(_numHitsMem.longValue());
@@ -268,4 +325,28 @@ public class CacheStatistics
 		
 		return sb.toString();
 	}
+	
+	public static String displaySparseConversions() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(_numSparseConv.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeSparseConv.longValue())/1000000000)); //in sec
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_sizeSparseConv.longValue())/1024/1024)); //in MB
+		
+		return sb.toString();
+	}
+	
+	public static String displayUMM() {
+		StringBuilder sb = new StringBuilder();
+		sb.append(String.format("%.3f", ((double)_maxPinnedUMM.longValue())/1024/1024)); //in MB
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_maxCachedUMM.longValue())/1024/1024)); //in MB
+		sb.append("/");
+		sb.append(_numEvictUMM.longValue());
+		sb.append("/");
+		sb.append(String.format("%.3f", ((double)_ctimeEvictUMM.longValue())/1000000000)); //in sec
+		
+		return sb.toString();
+	}
 }
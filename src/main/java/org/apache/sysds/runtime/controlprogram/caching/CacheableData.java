@@ -128,6 +128,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	/** Global flag indicating if caching is enabled (controls eviction) */
 	private static volatile boolean _activeFlag = false;
 	
+	/** Global flag indicating if the unified memory manager is used instead of the static buffer pool */
+	private static volatile boolean _ummFlag = false;
+	
 	/** Global sequence for generating unique ids. */
 	private static IDSequence _seq = null;
 
@@ -308,7 +311,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	 * @return true if dirty
 	 */
 	public boolean isDirty() {
-		return _dirtyFlag;
+		//partial reads are never backed by their own file
+		return _dirtyFlag || (_formatProps != null && _formatProps.isReadRange());
 	}
 
 	public void setDirty(boolean flag) {
@@ -368,6 +372,15 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	}
 	
 	public abstract void refreshMetaData();
+	
+	/**
+	 * Hook for converting the in-memory data, which is read-only after
+	 * release until the next acquire modify, into a read-optimized
+	 * representation. By default, the data is kept as is.
+	 */
+	protected void compactReadOnlyData() {
+		//do nothing
+	}
 
 	public LineageItem getCacheLineage() {
 		return _lineage;
@@ -503,8 +516,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		//update thread-local status (after pin but outside the
 		//critical section of accessing a shared object)
-		if( !isBelowCachingThreshold() )
+		if( !isBelowCachingThreshold() ) {
 			updateStatusPinned(true);
+			updateUMMPinned(true);
+		}
 		
 		if( DMLScript.STATISTICS ){
 			long t1 = System.nanoTime();
@@ -612,8 +627,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		//update thread-local status (after pin but outside the
 		//critical section of accessing a shared object)
-		if( !isBelowCachingThreshold() )
+		if( !isBelowCachingThreshold() ) {
 			updateStatusPinned(true);
+			updateUMMPinned(true);
+		}
 		
 		if( DMLScript.STATISTICS ){
 			long t1 = System.nanoTime();
@@ -641,6 +658,8 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		setDirty(true);
 		_isAcquireFromEmpty = false;
+		if( _formatProps != null && _formatProps.isReadRange() )
+			_formatProps = null; //new data replaces partial read
 		
 		//set references to new data
 		if (newData == null)
@@ -664,8 +683,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		
 		//update thread-local status (before unpin but outside
 		//the critical section of accessing a shared object)
-		if( !isBelowCachingThreshold() )
+		if( !isBelowCachingThreshold() ) {
 			updateStatusPinned(false);
+			updateUMMPinned(false);
+		}
 		
 		//core internal release (synchronized per object)
 		releaseIntern();
@@ -688,6 +709,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			
 			//compact empty in-memory block 
 			_data.compactEmptyBlock();
+			
+			//convert into read-optimized representation
+			compactReadOnlyData();
 		}
 		
 		//cache status maintenance (pass cacheNoWrite flag)
@@ -700,7 +724,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			if( ( write && !hasValidLineage() ) || _requiresLocalWrite ) {
 				String filePath = getCacheFilePathAndName();
 				try {
-					LazyWriteBuffer.writeBlock(filePath, _data);
+					if( isUMMEnabled() )
+						UnifiedMemoryManager.writeBlock(filePath, _data);
+					else
+						LazyWriteBuffer.writeBlock(filePath, _data);
 				}
 				catch (Exception e) {
 					throw new DMLRuntimeException("Eviction to local path " + filePath + " ("+hashCode()+") failed.", e);
@@ -890,8 +917,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			try {
 				writeMetaData( fName, outputFormat, formatProperties );
 				writeBlobToHDFS( fName, outputFormat, replication, formatProperties );
-				if ( !pWrite )
+				if ( !pWrite ) {
 					setDirty(false);
+					//partial read now backed by its own file
+					if( _formatProps != null && _formatProps.isReadRange() )
+						_formatProps = null;
+				}
 			}
 			catch (Exception e) {
 				throw new DMLRuntimeException("Export to " + fName + " failed.", e);
@@ -1010,7 +1041,9 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			LOG.trace("CACHE: Freeing evicted matrix...  " + hashCode() + "  HDFS path: " + 
 				(_hdfsFileName == null ? "null" : _hdfsFileName) + " Eviction path: " + cacheFilePathAndName);
 		
-		if(isCachingActive())
+		if( isCachingActive() && isUMMEnabled() )
+			UnifiedMemoryManager.deleteBlock(cacheFilePathAndName);
+		else if( isCachingActive() )
 			LazyWriteBuffer.deleteBlock(cacheFilePathAndName);
 		
 		if( LOG.isTraceEnabled() )
@@ -1046,6 +1079,12 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	protected T readBlobFromHDFS(String fname) throws IOException {
 		MetaDataFormat iimd = (MetaDataFormat) _metaData;
 		DataCharacteristics dc = iimd.getDataCharacteristics();
+		if( _formatProps != null && _formatProps.isReadRange() ) {
+			//partial read of the index range from the source file
+			T ret = readBlobFromHDFS(_formatProps.getReadSource(), dc.getDims());
+			setHDFSFileExists(false);
+			return ret;
+		}
 		return readBlobFromHDFS(fname, dc.getDims());
 	}
 
@@ -1096,7 +1135,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			
 			// when outputFormat is binaryblock, make sure that matrixCharacteristics has correct blocking dimensions
 			// note: this is only required if singlenode (due to binarycell default) 
-			if ( fmt == FileFormat.BINARY && DMLScript.getGlobalExecMode() == ExecMode.SINGLE_NODE
+			if ( fmt.isBinaryBlockFormat() && DMLScript.getGlobalExecMode() == ExecMode.SINGLE_NODE
 				&& dc.getBlocksize() != ConfigurationManager.getBlocksize() )
 			{
 				dc = new MatrixCharacteristics(dc.getRows(), dc.getCols(), dc.getBlocksize(), dc.getNonZeros());
@@ -1326,6 +1365,21 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		sizePinned.set( Math.max(size,0) );
 	}
 
+	/**
+	 * Pins or unpins the cache block in the unified memory manager,
+	 * which might evict unpinned blocks from the buffer pool.
+	 * 
+	 * @param add true for pin, false for unpin
+	 */
+	private void updateUMMPinned(boolean add) {
+		if( !isUMMEnabled() || !isCachingActive() )
+			return;
+		if( add )
+			UnifiedMemoryManager.pin(getCacheFilePathAndName(), _data.getInMemorySize());
+		else
+			UnifiedMemoryManager.unpin(getCacheFilePathAndName());
+	}
+
 	protected static long getPinnedSize() {
 		return sizePinned.get();
 	}
@@ -1346,6 +1400,7 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 	public synchronized static void cleanupCacheDir() {
 		//cleanup remaining cached writes
 		LazyWriteBuffer.cleanup();
+		UnifiedMemoryManager.cleanup();
 		
 		//delete cache dir and files
 		cleanupCacheDir(true);
@@ -1411,8 +1466,11 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 			throw new IOException(e);
 		}
 	
-		//init write-ahead buffer
+		//init write-ahead buffer or unified memory manager
 		LazyWriteBuffer.init();
+		_ummFlag = ConfigurationManager.isUnifiedMemoryManager();
+		if( _ummFlag )
+			UnifiedMemoryManager.init();
 		_refBCs.set(0);
 		
 		_activeFlag = true; //turn on caching
@@ -1422,6 +1480,10 @@ public abstract class CacheableData<T extends CacheBlock> extends Data
 		return _activeFlag;
 	}
 	
+	public static boolean isUMMEnabled() {
+		return _ummFlag;
+	}
+	
 	public static void disableCaching() {
 		_activeFlag = false;
 	}
@@ -171,7 +171,9 @@ public class FrameObject extends CacheableData<FrameBlock>
 	
 	@Override
 	protected FrameBlock readBlobFromCache(String fname) throws IOException {
-		return (FrameBlock)LazyWriteBuffer.readBlock(fname, false);
+		if( isUMMEnabled() )
+			return (FrameBlock) UnifiedMemoryManager.readBlock(fname, false);
+		return (FrameBlock) LazyWriteBuffer.readBlock(fname, false);
 	}
 
 	@Override
@@ -191,7 +193,8 @@ public class FrameObject extends CacheableData<FrameBlock>
 		try {
 			data = isFederated() ? acquireReadAndRelease() :
 				FrameReaderFactory.createFrameReader(iimd.getFileFormat(), getFileFormatProperties())
-					.readFrameFromHDFS(fname, lschema, dc.getRows(), dc.getCols());
+					.readFrameFromHDFS(fname, lschema, dc.getRows(), dc.getCols(),
+					getFileFormatProperties() != null ? getFileFormatProperties().getReadRange() : null);
 		}
 		catch( DMLRuntimeException ex ) {
 			throw new IOException(ex);
@@ -192,6 +192,18 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 		mc.setNonZeros(_data.getNonZeros());
 	}
 
+	@Override
+	protected void compactReadOnlyData() {
+		//in-place updates (incl. concurrent parfor result updates) require the
+		//thread-safe MCSR representation, i.e., we only convert regular outputs
+		if( !MatrixBlock.CONVERT_MCSR_TO_CSR_ON_READ_ONLY || _updateType.isInPlace() )
+			return;
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		long saved = _data.compactReadOnlySparseBlock();
+		if( DMLScript.STATISTICS && saved > 0 )
+			CacheStatistics.incrementSparseConversions(System.nanoTime()-t0, saved);
+	}
+
 	public long getBlocksize() {
 		return getDataCharacteristics().getBlocksize();
 	}
@@ -410,6 +422,8 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 
 	@Override
 	protected MatrixBlock readBlobFromCache(String fname) throws IOException {
+		if( isUMMEnabled() )
+			return (MatrixBlock) UnifiedMemoryManager.readBlock(fname, true);
 		return (MatrixBlock) LazyWriteBuffer.readBlock(fname, true);
 	}
 
@@ -549,7 +563,7 @@ public class MatrixObject extends CacheableData<MatrixBlock> {
 			DataCharacteristics mc = iimd.getDataCharacteristics();
 			// Write the matrix to HDFS in requested format
 			FileFormat fmt = (ofmt != null ? FileFormat.safeValueOf(ofmt) : iimd.getFileFormat());
-			if( fmt == FileFormat.BINARY && fprop != null )
+			if( fmt.isBinaryBlockFormat() && fprop != null )
 				mc = new MatrixCharacteristics(mc).setBlocksize(fprop.getBlocksize());
 			DataConverter.writeMatrixToHDFS(_data, fname, fmt, mc, rep, fprop, _diag);
 
@@ -104,6 +104,8 @@ public class TensorObject extends CacheableData<TensorBlock> {
 
 	@Override
 	protected TensorBlock readBlobFromCache(String fname) throws IOException {
+		if( isUMMEnabled() )
+			return (TensorBlock) UnifiedMemoryManager.readBlock(fname, false);
 		return (TensorBlock) LazyWriteBuffer.readBlock(fname, false);
 	}
 
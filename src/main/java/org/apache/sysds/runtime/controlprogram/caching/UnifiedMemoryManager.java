@@ -19,138 +19,414 @@
 
 package org.apache.sysds.runtime.controlprogram.caching;
 
-import org.apache.commons.lang.NotImplementedException;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyzer;
+import org.apache.sysds.runtime.util.LocalFileUtils;
 
 /**
- * Unified Memory Manager - Initial Design
- * 
+ * Unified Memory Manager
+ *
  * Motivation:
- * The Unified Memory Manager, henceforth UMM, will act as a central manager of in-memory
+ * The Unified Memory Manager, henceforth UMM, acts as a central manager of in-memory
  * matrix (uncompressed and compressed), frame, and tensor blocks within SystemDS control
- * program. So far, operation memory (70%) and buffer pool memory (15%, LazyWriteBuffer)
- * are managed independently, which causes unnecessary evictions. New components like the
- * LineageCache also use and manage statically provisioned memory areas. Ultimately, the
- * UMM aims to eliminate these shortcomings by providing a central, potentially thread-local,
- * memory management.
+ * program. With the static memory manager, operation memory (70%) and buffer pool memory
+ * (15%, LazyWriteBuffer) are managed independently, which causes unnecessary evictions
+ * while the other area is underutilized. The UMM replaces the static buffer pool (if
+ * configured via sysds.caching.memorymanager=unified) by a single budget that is shared
+ * dynamically between operations and the buffer pool.
  *
  * Memory Areas:
- * Initially, the UMM only handles CacheBlock objects (e.g., MatrixBlock, FrameBlock, and
- * TensorBlock), and manages two memory areas:
- *   (1) operation memory (pinned cache blocks and reserved memory) and
- *   (2) dirty objects (dirty cache blocks that need to be written to local FS before eviction)
- * 
+ * The UMM handles CacheBlock objects (e.g., MatrixBlock, FrameBlock, and TensorBlock),
+ * and manages two memory areas:
+ *   (1) operation memory (pinned cache blocks, i.e., inputs and outputs of operations) and
+ *   (2) buffer pool (dirty cache blocks that need to be written to local FS before eviction)
+ *
  * The UMM is configured with a capacity (absolute size in byte). Relative to this capacity,
- * the operations and buffer pool memory areas each will have a min and max amount of memory
- * they can occupy, meaning that the boundary for the areas can shift dynamically depending
- * on the current load. Most importantly, though, dirty objects must not be counted twice
- * when pinning such an object for an operation. The min/max constraints are not exposed but
- * configured internally. An good starting point are the following constraints (relative to
+ * the operations and buffer pool memory areas each have a min and max amount of memory
+ * they can occupy, meaning that the boundary for the areas shifts dynamically depending
+ * on the current load. By default, we use the following constraints (relative to
  * JVM max heap size):
  * ___________________________
  * | operations  | 0%  | 70% | (pin requests always accepted)
  * | buffer pool | 15% | 85% | (eviction on demand)
  *
  * Object Lifecycle:
- * The UMM will also need to keep track of the current state of individual cache blocks, for
- * which it will have a few member variables. A queue similar to the current EvictionQueue is
- * used to add/remove entries with LRU as its eviction policy. In general, there are three
- * properties of object status to consider:
- *  (1) Non-dirty/dirty: non-dirty objects have a representation on HDFS or can be recomputed
- *      from lineage trace (e.g., rand/seq outputs), while dirty objects need to be preserved.
- *  (2) FS Persisted: on eviction, dirty objects need to be written to local file system.
- *      As long the local file representation exist, dirty objects can simply be dropped.
- *  (3) Pinned/unpinned: For operations, objects are pinned into memory to guard against
- *      eviction. All pin requests have to be accepted, and once a non-dirty object is released
- *      (unpinned) it can be dropped without persisting it to local FS.
+ * Unpinned dirty objects are kept in an eviction queue with LRU policy. Pin requests are
+ * always accepted but evict buffer pool entries to local FS until pinned and cached objects
+ * fit into the capacity again (or the buffer pool reached its minimum size). Objects that
+ * are pinned while still in the buffer pool are excluded from eviction, and shallow
+ * serialized objects (same in-memory representation) are not counted twice. Non-dirty
+ * objects have a representation on HDFS or can be recomputed from lineage, and are thus
+ * only tracked while pinned.
  *
  * Thread-safeness:
- * Initially, the UMM will be used in an instance-based manner. For global visibility and
- * use in parallel for loops, the UMM would need to provide a static, synchronized API, but
- * this constitutes a source of severe contention. In the future, we will consider a design
- * with thread-local UMMs for the individual parfor workers.
- *
- * Testing:
- * The UMM will be developed bottom up, and thus initially tested via component tests for
- * evaluating the eviction behavior for sequences of API requests. 
+ * Similar to the LazyWriteBuffer, the UMM provides a static, synchronized API for global
+ * visibility and use in parallel for loops. Serialization of cache blocks into the
+ * buffer pool happens outside the critical region.
  */
 public class UnifiedMemoryManager
 {
-	public UnifiedMemoryManager(long capacity) {
-		//TODO implement
-		throw new NotImplementedException();
+	//total capacity and minimum buffer pool size in bytes
+	private static long _limit;
+	private static long _minBufferPool;
+
+	//current size of pinned and cached blocks in bytes, as well as the size
+	//of pinned blocks that are still referenced from the buffer pool
+	private static long _pinnedSize;
+	private static long _cachedSize;
+	private static long _sharedSize;
+
+	//eviction queue of <filename,buffer> pairs (implemented via linked hash map
+	//for (1) queue semantics and (2) constant time get/insert/delete operations)
+	private static final EvictionQueue _mQueue = new EvictionQueue();
+
+	//pinned cache blocks of <filename,pin status> pairs
+	private static final HashMap<String, PinStatus> _pinned = new HashMap<>();
+
+	//thread pool for asynchronous delete of evicted files
+	private static ExecutorService _pool = null;
+
+	/**
+	 * Initializes the UMM with a capacity of the operation and buffer
+	 * pool memory fractions relative to the local max memory.
+	 */
+	public static void init() {
+		long maxMem = InfrastructureAnalyzer.getLocalMaxMemory();
+		init((long)((OptimizerUtils.MEM_UTIL_FACTOR + CacheableData.CACHING_BUFFER_SIZE) * maxMem),
+			(long)(CacheableData.CACHING_BUFFER_SIZE * maxMem));
 	}
-	
+
 	/**
-	 * Pins a cache block into operation memory.
-	 * 
-	 * @param key    unique identifier and local FS filename for eviction
-	 * @param block  cache block if not under UMM control, null otherwise
-	 * @param dirty  indicator if block is dirty (subject to buffer pool management)
-	 * @return       pinned cache block, potentially restored from local FS
+	 * Initializes the UMM with the given capacity and minimum
+	 * buffer pool size.
+	 *
+	 * @param capacity      capacity of the unified memory area in bytes
+	 * @param minBufferPool minimum size of the buffer pool in bytes
 	 */
-	public CacheBlock pin(String key, CacheBlock block, boolean dirty) {
-		//TODO implement
-		throw new NotImplementedException();
+	public static void init(long capacity, long minBufferPool) {
+		synchronized( _mQueue ) {
+			_mQueue.clear();
+			_pinned.clear();
+			_limit = capacity;
+			_minBufferPool = Math.min(minBufferPool, capacity);
+			_pinnedSize = 0;
+			_cachedSize = 0;
+			_sharedSize = 0;
+		}
+		if( CacheableData.CACHING_ASYNC_FILECLEANUP && _pool == null )
+			_pool = Executors.newCachedThreadPool();
 	}
-	
+
 	/**
-	 * Pins a virtual cache block into operation memory, by making a size reservation.
-	 * The provided size is an upper bound of the actual object size, and can be
-	 * updated on unpin (once the actual cache block is provided).
-	 * 
-	 * @param key    unique identifier and local FS filename for eviction
-	 * @param size   memory reservation in operation area
-	 * @param dirty  indicator if block is dirty (subject to buffer pool management)
+	 * Removes all cache blocks from all memory areas. Pending asynchronous
+	 * deletes of evicted files are executed before the thread pool shuts down.
 	 */
-	public void pin(String key, long size, boolean dirty) {
-		//TODO implement
-		throw new NotImplementedException();
+	public static void cleanup() {
+		synchronized( _mQueue ) {
+			for( ByteBuffer bbuff : _mQueue.values() )
+				bbuff.freeMemory();
+			_mQueue.clear();
+			_pinned.clear();
+			_pinnedSize = 0;
+			_cachedSize = 0;
+			_sharedSize = 0;
+		}
+		if( _pool != null ) {
+			_pool.shutdown();
+			_pool = null;
+		}
 	}
-	
+
 	/**
-	 * Unpins (releases) a cache block from operation memory. Dirty objects
-	 * are logically moved back to the buffer pool area.
-	 * 
-	 * @param key    unique identifier and local FS filename for eviction
+	 * Pins a cache block into operation memory. The pin request is always
+	 * accepted, but might evict unpinned cache blocks from the buffer pool.
+	 *
+	 * @param key   unique identifier and local FS filename for eviction
+	 * @param size  in-memory size of the pinned cache block
 	 */
-	public void unpin(String key) {
-		//TODO implement
-		throw new NotImplementedException();
+	public static void pin(String key, long size) {
+		int numEvicted = 0;
+		synchronized( _mQueue ) {
+			PinStatus status = _pinned.get(key);
+			if( status != null ) {
+				status._refs++;
+				return;
+			}
+			status = new PinStatus(size);
+			ByteBuffer bbuff = _mQueue.get(key);
+			if( bbuff != null ) {
+				bbuff.checkSerialized();
+				if( bbuff.isShallow() )
+					status._shared = Math.min(size, bbuff.getSize());
+			}
+			_pinned.put(key, status);
+			_pinnedSize += size;
+			_sharedSize += status._shared;
+
+			//evict unpinned blocks to make room
+			numEvicted = makeSpace(0);
+			if( DMLScript.STATISTICS )
+				CacheStatistics.updateUMMPeakSizes(_pinnedSize, _cachedSize);
+		}
+
+		if( DMLScript.STATISTICS && numEvicted > 0 )
+			CacheStatistics.incrementFSWrites(numEvicted);
 	}
-	
+
 	/**
-	 * Unpins (releases) a cache block from operation memory. If the size of
-	 * the provided cache block differs from the UMM meta data, the UMM meta
-	 * data is updated. Use cases include update-in-place operations and
-	 * size reservations via worst-case upper bound estimates.
-	 * 
-	 * @param key    unique identifier and local FS filename for eviction
-	 * @param block  cache block which may be under UMM control, if null ignored
+	 * Unpins (releases) a cache block from operation memory. Dirty objects
+	 * are logically moved back to the buffer pool area via a subsequent
+	 * {@link #writeBlock(String, CacheBlock)}.
+	 *
+	 * @param key   unique identifier and local FS filename for eviction
 	 */
-	public void unpin(String key, CacheBlock block) {
-		//TODO implement
-		throw new NotImplementedException();
+	public static void unpin(String key) {
+		synchronized( _mQueue ) {
+			PinStatus status = _pinned.get(key);
+			if( status == null || --status._refs > 0 )
+				return;
+			_pinned.remove(key);
+			_pinnedSize -= status._size;
+			_sharedSize -= status._shared;
+		}
 	}
-	
+
+	public static int writeBlock(String fname, CacheBlock cb)
+		throws IOException
+	{
+		//obtain basic meta data of cache block
+		long lSize = LazyWriteBuffer.getCacheBlockSize(cb);
+		boolean requiresWrite = !ByteBuffer.isValidCapacity(lSize, cb);
+		ByteBuffer bbuff = null;
+		int numEvicted = 0;
+
+		//handle caching/eviction if it fits in the buffer pool
+		if( !requiresWrite ) {
+			synchronized( _mQueue ) {
+				//remove outdated entry of the same block
+				removeEntry(fname);
+
+				if( lSize <= getBufferPoolLimitIntern() ) {
+					//evict unpinned blocks to make room
+					numEvicted = makeSpace(lSize);
+
+					//put placeholder into buffer pool (reserve mem)
+					bbuff = new ByteBuffer(lSize);
+					_mQueue.addLast(fname, bbuff);
+					_cachedSize += lSize;
+					if( DMLScript.STATISTICS )
+						CacheStatistics.updateUMMPeakSizes(_pinnedSize, _cachedSize);
+				}
+				else {
+					requiresWrite = true;
+				}
+			}
+		}
+
+		if( !requiresWrite ) {
+			//serialize block (outside synchronized critical path)
+			bbuff.serializeBlock(cb);
+			if( DMLScript.STATISTICS ) {
+				CacheStatistics.incrementFSBuffWrites();
+				CacheStatistics.incrementFSWrites(numEvicted);
+			}
+		}
+		else {
+			//write directly to local FS (bypass buffer if too large)
+			LocalFileUtils.writeCacheBlockToLocal(fname, cb);
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementFSWrites();
+			numEvicted++;
+		}
+
+		return numEvicted;
+	}
+
+	public static CacheBlock readBlock(String fname, boolean matrix)
+		throws IOException
+	{
+		ByteBuffer ldata = null;
+
+		//probe buffer pool and modify eviction order (LRU)
+		synchronized( _mQueue ) {
+			ldata = _mQueue.remove(fname);
+			if( ldata != null )
+				_mQueue.addLast(fname, ldata);
+		}
+
+		//deserialize or read from FS if required
+		CacheBlock cb = null;
+		if( ldata != null ) {
+			ldata.checkSerialized();
+			cb = ldata.deserializeBlock();
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementFSBuffHits();
+		}
+		else {
+			cb = LocalFileUtils.readCacheBlockFromLocal(fname, matrix);
+			if( DMLScript.STATISTICS )
+				CacheStatistics.incrementFSHits();
+		}
+
+		return cb;
+	}
+
 	/**
-	 * Removes a cache block associated with the given key from all memory
-	 * areas, and deletes evicted representations (files in local FS). The
+	 * Removes a cache block associated with the given key from the buffer
+	 * pool, and deletes its evicted representation (file in local FS). The
 	 * local file system deletes can happen asynchronously.
-	 * 
-	 * @param key    unique identifier and local FS filename for eviction
+	 *
+	 * @param fname  unique identifier and local FS filename for eviction
 	 */
-	public void delete(String key) {
-		//TODO implement
-		throw new NotImplementedException();
+	public static void deleteBlock(String fname) {
+		boolean requiresDelete = true;
+		synchronized( _mQueue ) {
+			requiresDelete = !removeEntry(fname);
+		}
+
+		//delete from FS if required
+		if( requiresDelete ) {
+			if( _pool != null )
+				_pool.submit(() -> LocalFileUtils.deleteFileIfExists(fname, true));
+			else
+				LocalFileUtils.deleteFileIfExists(fname, true);
+		}
+	}
+
+	public static long getCapacity() {
+		return _limit;
+	}
+
+	public static long getPinnedSize() {
+		synchronized( _mQueue ) {
+			return _pinnedSize; }
+	}
+
+	public static long getCachedSize() {
+		synchronized( _mQueue ) {
+			return _cachedSize; }
+	}
+
+	/**
+	 * Obtains the current size limit of the buffer pool, i.e., the
+	 * capacity not used by pinned blocks but at least the minimum
+	 * buffer pool size.
+	 *
+	 * @return buffer pool limit in bytes
+	 */
+	public static long getBufferPoolLimit() {
+		synchronized( _mQueue ) {
+			return getBufferPoolLimitIntern(); }
+	}
+
+	public static int getQueueSize() {
+		synchronized( _mQueue ) {
+			return _mQueue.size(); }
+	}
+
+	public static boolean isCached(String fname) {
+		synchronized( _mQueue ) {
+			return _mQueue.containsKey(fname); }
+	}
+
+	private static long getBufferPoolLimitIntern() {
+		return Math.max(_limit - _pinnedSize + _sharedSize, _minBufferPool);
 	}
-	
+
+	/**
+	 * Evicts unpinned blocks in LRU order until the buffer pool can hold
+	 * the given reserved size. Must be called within the critical region.
+	 *
+	 * @param reserve size to reserve in the buffer pool in bytes
+	 * @return number of evicted blocks
+	 */
+	private static int makeSpace(long reserve) {
+		if( _cachedSize + reserve <= getBufferPoolLimitIntern() )
+			return 0;
+
+		long t0 = DMLScript.STATISTICS ? System.nanoTime() : 0;
+		int numEvicted = 0;
+		Iterator<Entry<String, ByteBuffer>> iter = _mQueue.entrySet().iterator();
+		while( _cachedSize + reserve > getBufferPoolLimitIntern() && iter.hasNext() ) {
+			Entry<String, ByteBuffer> entry = iter.next();
+			if( _pinned.containsKey(entry.getKey()) )
+				continue; //pinned blocks not subject to eviction
+			ByteBuffer tmp = entry.getValue();
+
+			//wait for pending serialization
+			tmp.checkSerialized();
+
+			//evict block to local FS
+			try {
+				tmp.evictBuffer(entry.getKey());
+			}
+			catch(IOException ex) {
+				throw new DMLRuntimeException("Eviction to local path "
+					+ entry.getKey() + " failed.", ex);
+			}
+			tmp.freeMemory();
+			_cachedSize -= tmp.getSize();
+			iter.remove();
+			numEvicted++;
+		}
+
+		if( DMLScript.STATISTICS )
+			CacheStatistics.incrementUMMEvictions(numEvicted, System.nanoTime()-t0);
+		return numEvicted;
+	}
+
 	/**
-	 * Removes all cache blocks from all memory areas and deletes all evicted
-	 * representations (files in local FS). All internally thread pools must be
-	 * shut down in a gracefully manner (e.g., wait for pending deletes).
+	 * Removes the buffer pool entry of the given key if existing. Must
+	 * be called within the critical region.
+	 *
+	 * @param fname unique identifier and local FS filename for eviction
+	 * @return true if an entry was removed
 	 */
-	public void deleteAll() {
-		//TODO implement
-		throw new NotImplementedException();
+	private static boolean removeEntry(String fname) {
+		ByteBuffer ldata = _mQueue.remove(fname);
+		if( ldata == null )
+			return false;
+		_cachedSize -= ldata.getSize();
+		PinStatus status = _pinned.get(fname);
+		if( status != null ) {
+			_sharedSize -= status._shared;
+			status._shared = 0;
+		}
+		ldata.freeMemory();
+		return true;
+	}
+
+	private static class PinStatus {
+		private final long _size;  //in-memory size of the pinned block
+		private long _shared = 0;  //size also accounted in the buffer pool
+		private int _refs = 1;     //number of pin requests
+
+		public PinStatus(long size) {
+			_size = size;
+		}
+	}
+
+	/**
+	 * Extended LinkedHashMap with convenience methods for adding
+	 * last entries.
+	 */
+	private static class EvictionQueue extends LinkedHashMap<String, ByteBuffer>
+	{
+		private static final long serialVersionUID = -3287146317834245216L;
+
+		public void addLast( String fname, ByteBuffer bbuff ) {
+			//put entry into eviction queue w/ 'addLast' semantics
+			put(fname, bbuff);
+		}
 	}
 }
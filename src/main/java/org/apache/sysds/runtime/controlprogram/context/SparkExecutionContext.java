@@ -92,6 +92,7 @@ import org.apache.sysds.runtime.matrix.data.MatrixCell;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.meta.TensorCharacteristics;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.HDFSTool;
@@ -413,13 +414,14 @@ public class SparkExecutionContext extends ExecutionContext
 			rdd = mo.getRDDHandle().getRDD();
 		}
 		//CASE 2: dirty in memory data or cached result of rdd operations
-		else if( mo.isDirty() || mo.isCached(false) || mo.isFederated() )
+		else if( mo.isDirty() || mo.isCached(false) || mo.isFederated() || isNativeFile(mo) )
 		{
 			//get in-memory matrix block and parallelize it
 			//w/ guarded parallelize (fallback to export, rdd from file if too large)
+			//note: native binary files are local and thus always read into memory
 			DataCharacteristics dc = mo.getDataCharacteristics();
 			boolean fromFile = false;
-			if( !mo.isFederated() && (!OptimizerUtils.checkSparkCollectMemoryBudget(dc, 0)
+			if( !mo.isFederated() && !isNativeFile(mo) && (!OptimizerUtils.checkSparkCollectMemoryBudget(dc, 0)
 				|| !_parRDDs.reserve(OptimizerUtils.estimatePartitionedSizeExactSparsity(dc)))) {
 				if( mo.isDirty() || !mo.isHDFSFileExists() ) //write if necessary
 					mo.exportData();
@@ -468,6 +470,11 @@ public class SparkExecutionContext extends ExecutionContext
 		return rdd;
 	}
 
+	private static boolean isNativeFile(MatrixObject mo) {
+		return mo.getMetaData() instanceof MetaDataFormat
+			&& ((MetaDataFormat)mo.getMetaData()).getFileFormat() == FileFormat.NATIVE;
+	}
+
 	public JavaPairRDD<?, ?> getRDDHandleForTensorObject(TensorObject to, FileFormat fmt, int numParts, boolean inclEmpty) {
 		//NOTE: MB this logic should be integrated into MatrixObject
 		//However, for now we cannot assume that spark libraries are
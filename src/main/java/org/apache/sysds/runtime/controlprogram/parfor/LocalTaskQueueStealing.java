@@ -0,0 +1,308 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.parfor;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+
+/**
+ * Lock-free work-stealing task queue for local parallel workers. Instead of a
+ * shared FIFO queue of precomputed tasks, each worker owns a contiguous range of
+ * iterations (initially an equal share of the loop), from which it takes range
+ * tasks at the front. Idle workers steal the back half of the range of a randomly
+ * chosen victim. Both operations are single compare-and-swap updates of the packed
+ * range [lo, hi) of the owner, so dequeues do not contend on a global lock.
+ *
+ * The task granularity adapts at runtime: a worker doubles its task size after
+ * every task (bounded by half of its remaining range, which keeps work available
+ * for stealing) and restarts from a task size of one whenever it was stolen from.
+ *
+ * NOTE: workers are mapped to their local range on their first dequeue, and the
+ * queue supports at most Integer.MAX_VALUE iterations.
+ */
+public class LocalTaskQueueStealing extends LocalTaskQueue<Task>
+{
+	private final WorkerRange[] _ranges;
+	private final AtomicInteger _nextRange = new AtomicInteger(0);
+	private final ThreadLocal<WorkerRange> _localRange = new ThreadLocal<>();
+
+	//number of unassigned iterations and created tasks
+	private final LongAdder _remaining = new LongAdder();
+	private final LongAdder _numTasks = new LongAdder();
+
+	private String _iterVar = null;
+	private long _from = -1;
+	private long _incr = -1;
+	private volatile boolean _closedInput = false;
+
+	public LocalTaskQueueStealing(int numWorkers) {
+		_ranges = new WorkerRange[numWorkers];
+		for( int i=0; i<numWorkers; i++ )
+			_ranges[i] = new WorkerRange();
+	}
+
+	/**
+	 * Initializes the iteration ranges of all workers with an equal
+	 * share of the given normalized loop (positive increment).
+	 *
+	 * @param iterVar name of the iteration variable
+	 * @param from first iteration value
+	 * @param incr increment (positive)
+	 * @param numIter number of iterations
+	 */
+	public void addIterations(String iterVar, long from, long incr, long numIter) {
+		if( numIter > Integer.MAX_VALUE )
+			throw new DMLRuntimeException("Work-stealing task queue supports at most "
+				+ Integer.MAX_VALUE + " iterations, but got " + numIter + ".");
+		numIter = Math.max(numIter, 0);
+		_iterVar = iterVar;
+		_from = from;
+		_incr = incr;
+		int P = _ranges.length;
+		for( int i=0; i<P; i++ ) {
+			int lo = (int)(numIter * i / P);
+			int hi = (int)(numIter * (i+1) / P);
+			_ranges[i]._range.set(pack(lo, hi));
+			_ranges[i]._lastHi = hi;
+		}
+		_remaining.add(numIter);
+	}
+
+	@Override
+	public void enqueueTask(Task t) {
+		throw new DMLRuntimeException("Work-stealing task queue does not support individual tasks.");
+	}
+
+	/**
+	 * Takes the next range task of the calling worker, or steals from other
+	 * workers if its own range is exhausted. Blocks until the iterations
+	 * are added and the input is closed.
+	 *
+	 * @return task or NO_MORE_TASKS if all iterations are assigned
+	 * @throws InterruptedException if InterruptedException occurs
+	 */
+	@Override
+	public Task dequeueTask()
+		throws InterruptedException
+	{
+		if( !_closedInput ) {
+			synchronized( this ) {
+				while( !_closedInput )
+					wait(); //wait for iteration ranges
+			}
+		}
+
+		WorkerRange self = getLocalRange();
+
+		//take next task from the front of the local range
+		long task = take(self);
+		if( task >= 0 )
+			return createTask(task);
+
+		//steal from other workers until all iterations are assigned
+		long t0 = System.nanoTime();
+		while( _remaining.sum() > 0 ) {
+			long stolen = steal(self);
+			if( stolen >= 0 ) {
+				self._range.set(stolen);
+				self._lastHi = hi(stolen);
+				self._taskSize = 1;
+				task = take(self);
+				if( task >= 0 ) {
+					self._idleTime += System.nanoTime() - t0;
+					return createTask(task);
+				}
+			}
+			else {
+				//stolen range not yet published by another thief
+				Thread.yield();
+			}
+		}
+		self._idleTime += System.nanoTime() - t0;
+
+		return (Task)NO_MORE_TASKS;
+	}
+
+	@Override
+	public synchronized void closeInput() {
+		_closedInput = true;
+		notifyAll(); //notify all waiting workers
+	}
+
+	public long getNumCreatedTasks() {
+		return _numTasks.longValue();
+	}
+
+	/**
+	 * Gets the number of successful steals of all workers.
+	 * NOTE: only valid after all workers finished.
+	 *
+	 * @return number of steals
+	 */
+	public long getNumSteals() {
+		long ret = 0;
+		for( WorkerRange r : _ranges )
+			ret += r._numSteals;
+		return ret;
+	}
+
+	/**
+	 * Gets the number of failed steal attempts (CAS conflicts) of all workers.
+	 * NOTE: only valid after all workers finished.
+	 *
+	 * @return number of failed steals
+	 */
+	public long getNumFailedSteals() {
+		long ret = 0;
+		for( WorkerRange r : _ranges )
+			ret += r._numFailedSteals;
+		return ret;
+	}
+
+	/**
+	 * Gets the total time in nano seconds workers spent searching
+	 * for work to steal. NOTE: only valid after all workers finished.
+	 *
+	 * @return idle time in nano seconds
+	 */
+	public long getIdleTime() {
+		long ret = 0;
+		for( WorkerRange r : _ranges )
+			ret += r._idleTime;
+		return ret;
+	}
+
+	private WorkerRange getLocalRange() {
+		WorkerRange ret = _localRange.get();
+		if( ret == null ) {
+			int pos = _nextRange.getAndIncrement();
+			if( pos >= _ranges.length )
+				throw new DMLRuntimeException("Work-stealing task queue configured for "
+					+ _ranges.length + " workers, but accessed by more threads.");
+			ret = _ranges[pos];
+			_localRange.set(ret);
+		}
+		return ret;
+	}
+
+	private long take(WorkerRange self) {
+		while( true ) {
+			long r = self._range.get();
+			int lo = lo(r), hi = hi(r);
+			if( lo >= hi )
+				return -1;
+			//restart with small tasks if stolen from since last take
+			if( hi < self._lastHi )
+				self._taskSize = 1;
+			int k = Math.max(Math.min(self._taskSize, (hi-lo)/2), 1);
+			if( self._range.compareAndSet(r, pack(lo+k, hi)) ) {
+				self._lastHi = hi;
+				self._taskSize = (int) Math.min(2L * self._taskSize, Integer.MAX_VALUE);
+				_remaining.add(-k);
+				return pack(lo, lo+k);
+			}
+		}
+	}
+
+	private long steal(WorkerRange self) {
+		int P = _ranges.length;
+		int start = ThreadLocalRandom.current().nextInt(P);
+		for( int i=0; i<P; i++ ) {
+			WorkerRange victim = _ranges[(start+i) % P];
+			if( victim == self )
+				continue;
+			while( true ) {
+				long r = victim._range.get();
+				int lo = lo(r), hi = hi(r);
+				if( lo >= hi )
+					break;
+				//victim keeps the front half, thief gets the back half
+				int mid = lo + (hi-lo)/2;
+				if( victim._range.compareAndSet(r, pack(lo, mid)) ) {
+					self._numSteals++;
+					return pack(mid, hi);
+				}
+				self._numFailedSteals++;
+			}
+		}
+		return -1;
+	}
+
+	private Task createTask(long range) {
+		Task ret = new Task(_iterVar, TaskType.RANGE);
+		ret.addIteration(new IntObject(_from + lo(range) * _incr));     //from
+		ret.addIteration(new IntObject(_from + (hi(range)-1) * _incr)); //to
+		ret.addIteration(new IntObject(_incr));                         //increment
+		_numTasks.increment();
+		return ret;
+	}
+
+	private static long pack(int lo, int hi) {
+		return ((long)lo << 32) | hi;
+	}
+
+	private static int lo(long range) {
+		return (int)(range >>> 32);
+	}
+
+	private static int hi(long range) {
+		return (int)range;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("WORK-STEALING TASK QUEUE (workers=");
+		sb.append(_ranges.length);
+		sb.append(",remaining=");
+		sb.append(_remaining.sum());
+		sb.append(",close=");
+		sb.append(_closedInput);
+		sb.append(")\n");
+		for( int i=0; i<_ranges.length; i++ ) {
+			long r = _ranges[i]._range.get();
+			sb.append("  WORKER #");
+			sb.append(i+1);
+			sb.append(": [");
+			sb.append(lo(r));
+			sb.append(",");
+			sb.append(hi(r));
+			sb.append(")\n");
+		}
+		return sb.toString();
+	}
+
+	private static class WorkerRange {
+		//packed range [lo, hi) of unassigned iteration indexes
+		private final AtomicLong _range = new AtomicLong(0);
+		//owner-local state for adaptive task sizes and statistics
+		private int _lastHi = 0;
+		private int _taskSize = 1;
+		private long _numSteals = 0;
+		private long _numFailedSteals = 0;
+		private long _idleTime = 0;
+	}
+}
@@ -0,0 +1,61 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.controlprogram.parfor;
+
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+
+/**
+ * Work-stealing task partitioner, which does not create tasks up front but
+ * assigns equal iteration ranges to the workers of a local work-stealing
+ * task queue (see LocalTaskQueueStealing), where tasks are created at runtime.
+ * For all other queues and full task creation (e.g., remote parfor), this
+ * partitioner falls back to factoring.
+ */
+public class TaskPartitionerStealing extends TaskPartitionerFactoring
+{
+	public TaskPartitionerStealing( long taskSize, int numThreads, String iterVarName, IntObject fromVal, IntObject toVal, IntObject incrVal )
+	{
+		super(taskSize, numThreads, iterVarName, fromVal, toVal, incrVal);
+	}
+
+	/**
+	 * Indicates if the given number of iterations can be handled by
+	 * a local work-stealing task queue.
+	 *
+	 * @return true if work stealing applicable
+	 */
+	public boolean isStealingApplicable() {
+		return _numIter <= Integer.MAX_VALUE;
+	}
+
+	@Override
+	public long createTasks(LocalTaskQueue<Task> queue)
+	{
+		if( !(queue instanceof LocalTaskQueueStealing) )
+			return super.createTasks(queue);
+
+		//assign iteration ranges (tasks created by workers)
+		LocalTaskQueueStealing squeue = (LocalTaskQueueStealing) queue;
+		squeue.addIterations(_iterVarName, _fromVal.getLongValue(),
+			_incrVal.getLongValue(), _numIter);
+		squeue.closeInput();
+		return 0;
+	}
+}
@@ -1329,6 +1329,21 @@ public class OptimizerRuleBased extends Optimizer {
 	//REWRITE set task partitioner
 	///
 
+	/**
+	 * Decides if a parfor node uses the work-stealing task partitioner. Work stealing
+	 * is only used for local parfor with enough iterations per worker and a body of
+	 * unknown or skewed iteration costs (loops, branches, or function calls), because
+	 * bodies of simple operations are already balanced by factoring.
+	 * 
+	 * @param pn parfor opt node
+	 * @param N number of iterations
+	 * @return true if the work-stealing task partitioner should be used
+	 */
+	public static boolean isWorkStealingApplicable(OptNode pn, long N) {
+		return pn.getExecType()==ExecType.CP
+			&& N/4 >= pn.getK() && !pn.hasOnlySimpleChilds();
+	}
+	
 	protected void rewriteSetTaskPartitioner(OptNode pn, boolean flagNested, boolean flagLIX) 
 	{
 		//assertions (warnings of corrupt optimizer decisions)
@@ -1355,6 +1370,13 @@ public class OptimizerRuleBased extends Optimizer {
 			//preaggregate results (less write / less read by result merge)
 			setTaskPartitioner( pn, PTaskPartitioner.STATIC );
 		}
+		else if( isWorkStealingApplicable(pn, _N) )
+		{
+			//for local parfor with potentially skewed iterations, we use work stealing
+			//with runtime-adaptive task sizes, which balances skewed iterations
+			//without contention on a shared task queue
+			setTaskPartitioner( pn, PTaskPartitioner.STEALING );
+		}
 		else if( _N/4 >= pn.getK() ) //to prevent imbalance due to ceiling
 		{
 			setTaskPartitioner( pn, PTaskPartitioner.FACTORING );
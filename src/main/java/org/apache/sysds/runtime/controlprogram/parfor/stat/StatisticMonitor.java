@@ -179,6 +179,10 @@ public class StatisticMonitor
 				sb.append("  Time INIT TASKS   = "+stats.get(Stat.PARFOR_INIT_TASKS_T).get(i)+"ms\n");
 				sb.append("  Time WAIT EXEC    = "+stats.get(Stat.PARFOR_WAIT_EXEC_T).get(i)+"ms\n");
 				sb.append("  Time WAIT RESULT  = "+stats.get(Stat.PARFOR_WAIT_RESULTS_T).get(i)+"ms\n");
+				if( stats.containsKey(Stat.PARFOR_NUMSTEALS) && stats.get(Stat.PARFOR_NUMSTEALS).size() > i ) {
+					sb.append("  Num Steals        = "+(long)(double)stats.get(Stat.PARFOR_NUMSTEALS).get(i)+"\n");
+					sb.append("  Time IDLE         = "+stats.get(Stat.PARFOR_IDLE_T).get(i)+"ms\n");
+				}
 				
 				//foreach parworker of this parfor
 				
@@ -48,6 +48,7 @@ public abstract class SparseBlock implements Serializable
 		MCSR,
 		CSR,
 		COO,
+		BCSR,
 	}
 	
 	
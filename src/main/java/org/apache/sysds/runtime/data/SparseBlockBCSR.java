@@ -0,0 +1,795 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.function.DoubleUnaryOperator;
+
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.apache.sysds.utils.MemoryEstimates;
+
+/**
+ * SparseBlock implementation that realizes a 'block compressed sparse row'
+ * representation, where the sparse block is partitioned into small dense
+ * blocks of size blen x blen. Only blocks with at least one non-zero are
+ * stored as three arrays: bptr of length ceil(rlen/blen)+1 to store offsets
+ * per block row, bcol of length nblocks to store the block column indexes,
+ * and values of length nblocks*blen*blen to store the dense row-major blocks.
+ * Compared to CSR, this format stores one index per block instead of one
+ * index per non-zero, which is very memory efficient for matrices with
+ * dense sub-blocks (e.g., pruned weight matrices or block-diagonal feature
+ * matrices) and allows dense micro-kernels per block.
+ *
+ * The generic row-wise access via indexes(r) and values(r) materializes the
+ * non-zeros of the requested row (with pos(r)=0) and is thus slow. The returned
+ * arrays are read-only copies, i.e., updates must use set, append or the
+ * block-wise accessors. Reads never modify the block and are thus safe for
+ * concurrent readers. Operations on this format should use the block-wise
+ * accessors instead.
+ */
+public class SparseBlockBCSR extends SparseBlock
+{
+	private static final long serialVersionUID = -6385732470215914027L;
+
+	//default block size (4x4 blocks, i.e., 128B per block)
+	public static final int DEFAULT_BLOCK_SIZE = 4;
+
+	private final int _rlen;       //number of rows
+	private final int _blen;       //block size (blen x blen)
+	private int[] _bptr = null;    //block row pointer array (size: nbrows+1)
+	private int[] _bcol = null;    //block column index array (size: >=nblocks)
+	private double[] _values = null; //block value array (size: >=nblocks*blen*blen)
+	private int[] _rnnz = null;    //number of non-zeros per row (size: rlen)
+	private long _size = 0;        //actual number of nnz
+
+	public SparseBlockBCSR(int rlen) {
+		this(rlen, DEFAULT_BLOCK_SIZE);
+	}
+
+	public SparseBlockBCSR(int rlen, int blen) {
+		this(rlen, blen, INIT_CAPACITY);
+	}
+
+	public SparseBlockBCSR(int rlen, int blen, int capacity) {
+		checkBlockSize(blen);
+		_rlen = rlen;
+		_blen = blen;
+		_bptr = new int[getNumBlockRows()+1];
+		_bcol = new int[capacity];
+		_values = new double[capacity*blen*blen];
+		_rnnz = new int[rlen];
+		_size = 0;
+	}
+
+	public SparseBlockBCSR(int rlen, int blen, int[] bptr, int[] bcol, double[] values) {
+		checkBlockSize(blen);
+		_rlen = rlen;
+		_blen = blen;
+		_bptr = bptr;
+		_bcol = bcol;
+		_values = values;
+		_rnnz = new int[rlen];
+		recomputeRowNonZeros();
+	}
+
+	/**
+	 * Copy constructor sparse block abstraction.
+	 *
+	 * @param sblock sparse block to copy
+	 */
+	public SparseBlockBCSR(SparseBlock sblock) {
+		this(sblock, (sblock instanceof SparseBlockBCSR) ?
+			((SparseBlockBCSR)sblock)._blen : DEFAULT_BLOCK_SIZE);
+	}
+
+	/**
+	 * Copy constructor sparse block abstraction with given block size.
+	 *
+	 * @param sblock sparse block to copy
+	 * @param blen block size
+	 */
+	public SparseBlockBCSR(SparseBlock sblock, int blen) {
+		checkBlockSize(blen);
+		_rlen = sblock.numRows();
+		_blen = blen;
+
+		//special case SparseBlockBCSR w/ equal block size
+		if( sblock instanceof SparseBlockBCSR && ((SparseBlockBCSR)sblock)._blen == blen ) {
+			SparseBlockBCSR obcsr = (SparseBlockBCSR)sblock;
+			int nblocks = obcsr.getNumBlocks();
+			_bptr = Arrays.copyOf(obcsr._bptr, obcsr._bptr.length);
+			_bcol = Arrays.copyOf(obcsr._bcol, nblocks);
+			_values = Arrays.copyOf(obcsr._values, nblocks*blen*blen);
+			_rnnz = Arrays.copyOf(obcsr._rnnz, _rlen);
+			_size = obcsr._size;
+			return;
+		}
+
+		//general case SparseBlock: two passes over block rows, first to
+		//collect the distinct block column indexes, second to copy values
+		final int nbr = getNumBlockRows();
+		final int blen2 = blen*blen;
+		_bptr = new int[nbr+1];
+		_rnnz = new int[_rlen];
+		int[][] bcols = new int[nbr][];
+		int nblocks = 0;
+		for( int bi=0; bi<nbr; bi++ ) {
+			bcols[bi] = getDistinctBlockColumns(sblock, bi*blen, Math.min(_rlen, (bi+1)*blen), blen);
+			nblocks += bcols[bi].length;
+			_bptr[bi+1] = nblocks;
+		}
+		_bcol = new int[Math.max(nblocks, INIT_CAPACITY)];
+		_values = new double[Math.max(nblocks, INIT_CAPACITY)*blen2];
+		for( int bi=0; bi<nbr; bi++ ) {
+			int[] lbcols = bcols[bi];
+			int bpos = _bptr[bi];
+			System.arraycopy(lbcols, 0, _bcol, bpos, lbcols.length);
+			for( int i=bi*blen; i<Math.min(_rlen, (bi+1)*blen); i++ ) {
+				if( sblock.isEmpty(i) ) continue;
+				int apos = sblock.pos(i);
+				int alen = sblock.size(i);
+				int[] aix = sblock.indexes(i);
+				double[] avals = sblock.values(i);
+				int roff = (i-bi*blen)*blen;
+				for( int j=apos, k=bpos; j<apos+alen; j++ ) {
+					int bc = aix[j] / blen;
+					while( lbcols[k-bpos] != bc ) k++; //sorted block cols
+					_values[k*blen2 + roff + aix[j]%blen] = avals[j];
+				}
+				_rnnz[i] = alen;
+				_size += alen;
+			}
+		}
+	}
+
+	private static int[] getDistinctBlockColumns(SparseBlock sblock, int rl, int ru, int blen) {
+		int len = 0;
+		for( int i=rl; i<ru; i++ )
+			len += sblock.size(i);
+		int[] tmp = new int[len];
+		int pos = 0;
+		for( int i=rl; i<ru; i++ ) {
+			if( sblock.isEmpty(i) ) continue;
+			int apos = sblock.pos(i);
+			int alen = sblock.size(i);
+			int[] aix = sblock.indexes(i);
+			for( int j=apos, last=-1; j<apos+alen; j++ ) {
+				int bj = aix[j] / blen;
+				if( bj != last )
+					tmp[pos++] = last = bj;
+			}
+		}
+		//sort and remove duplicates
+		Arrays.sort(tmp, 0, pos);
+		int ulen = 0;
+		for( int j=0; j<pos; j++ )
+			if( ulen==0 || tmp[ulen-1] != tmp[j] )
+				tmp[ulen++] = tmp[j];
+		return Arrays.copyOf(tmp, ulen);
+	}
+
+	private static void checkBlockSize(int blen) {
+		if( blen != 2 && blen != 4 && blen != 8 )
+			throw new RuntimeException("SparseBlockBCSR supports block sizes 2, 4, and 8 but got "+blen);
+	}
+
+	/**
+	 * Get the estimated in-memory size of the sparse block in BCSR
+	 * with the given dimensions w/o accounting for overallocation.
+	 * In the absence of structural information, we assume uniformly
+	 * distributed non-zeros, which makes this estimate conservative
+	 * for matrices with structured sparsity.
+	 *
+	 * @param nrows number of rows
+	 * @param ncols number of columns
+	 * @param sparsity sparsity ratio
+	 * @return memory estimate
+	 */
+	public static long estimateSizeInMemory(long nrows, long ncols, double sparsity) {
+		final int blen = DEFAULT_BLOCK_SIZE;
+		double nbr = Math.ceil((double)nrows/blen);
+		double nbc = Math.ceil((double)ncols/blen);
+		//expected number of non-empty blocks for uniform non-zeros
+		double nblocks = Math.min(Math.ceil(sparsity*nrows*ncols),
+			nbr * nbc * (1 - Math.pow(1-sparsity, blen*blen)));
+		nblocks = Math.max(INIT_CAPACITY, nblocks);
+
+		double size = 16 + 4 + 4 + 8;                        //object + int fields + long field
+		size += MemoryEstimates.intArrayCost((long)nbr+1);   //block row pointers
+		size += MemoryEstimates.intArrayCost((long)nblocks); //block column indexes
+		size += MemoryEstimates.doubleArrayCost((long)(nblocks*blen*blen)); //block values
+		size += MemoryEstimates.intArrayCost(nrows);         //nnz per row
+
+		//robustness for long overflows
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
+
+	/**
+	 * Get the estimated size of the sparse block in BCSR on disk,
+	 * i.e., in the binary block format, excluding the header.
+	 *
+	 * @return size in bytes
+	 */
+	public long getExactSizeOnDisk() {
+		//block size, num blocks, blocks per block row, block col indexes, values
+		return 4 + 4 + 4L*getNumBlockRows() + 4L*getNumBlocks()
+			+ 8L*getNumBlocks()*_blen*_blen;
+	}
+
+	///////////////////
+	//BCSR-specific block accessors
+
+	public int getBlockSize() {
+		return _blen;
+	}
+
+	public int getNumBlockRows() {
+		return (_rlen + _blen - 1) / _blen;
+	}
+
+	public int getNumBlocks() {
+		return _bptr[getNumBlockRows()];
+	}
+
+	/**
+	 * Get raw access to underlying array of block row pointers.
+	 * The blocks of block row bi are at [bptr[bi], bptr[bi+1]).
+	 *
+	 * @return array of block row pointers
+	 */
+	public int[] blockRowPointers() {
+		return _bptr;
+	}
+
+	/**
+	 * Get raw access to underlying array of block column indexes.
+	 *
+	 * @return array of block column indexes
+	 */
+	public int[] blockColumnIndexes() {
+		return _bcol;
+	}
+
+	/**
+	 * Get raw access to underlying array of dense row-major blocks,
+	 * where block k starts at position k*blen*blen.
+	 *
+	 * @return array of block values
+	 */
+	public double[] blockValues() {
+		return _values;
+	}
+
+	/**
+	 * Recomputes the number of non-zeros per row and in total, which is
+	 * required after direct modifications of the block values.
+	 */
+	public void recomputeRowNonZeros() {
+		final int blen = _blen, blen2 = blen*blen;
+		Arrays.fill(_rnnz, 0);
+		_size = 0;
+		for( int bi=0; bi<getNumBlockRows(); bi++ ) {
+			int rl = bi*blen, rlen = Math.min(blen, _rlen-rl);
+			for( int k=_bptr[bi]; k<_bptr[bi+1]; k++ )
+				for( int i=0; i<rlen; i++ ) {
+					int lnnz = UtilFunctions.computeNnz(_values, k*blen2+i*blen, blen);
+					_rnnz[rl+i] += lnnz;
+					_size += lnnz;
+				}
+		}
+	}
+
+	/**
+	 * Removes all blocks without non-zero values.
+	 */
+	public void compact() {
+		final int blen2 = _blen*_blen;
+		int pos = 0;
+		for( int bi=0, k=0; bi<getNumBlockRows(); bi++ ) {
+			for( ; k<_bptr[bi+1]; k++ ) {
+				if( UtilFunctions.computeNnz(_values, k*blen2, blen2) == 0 )
+					continue;
+				if( pos != k ) {
+					_bcol[pos] = _bcol[k];
+					System.arraycopy(_values, k*blen2, _values, pos*blen2, blen2);
+				}
+				pos++;
+			}
+			_bptr[bi+1] = pos;
+		}
+	}
+
+	/**
+	 * Creates the transpose of this sparse block by transposing the block
+	 * structure (counting sort over block columns) and all dense blocks.
+	 *
+	 * @param clen number of columns of this sparse block
+	 * @return transposed sparse block
+	 */
+	public SparseBlockBCSR transpose(int clen) {
+		final int blen = _blen, blen2 = blen*blen;
+		final int nbr = getNumBlockRows();
+		final int nbc = (clen + blen - 1) / blen;
+		final int nblocks = getNumBlocks();
+		int[] bptr = new int[nbc+1];
+		int[] bcol = new int[Math.max(nblocks, INIT_CAPACITY)];
+		double[] values = new double[Math.max(nblocks, INIT_CAPACITY)*blen2];
+		//count blocks per output block row (i.e., input block column)
+		for( int k=0; k<nblocks; k++ )
+			bptr[_bcol[k]+1]++;
+		for( int bj=0; bj<nbc; bj++ )
+			bptr[bj+1] += bptr[bj];
+		//scatter transposed blocks, in order of input block rows
+		int[] pos = Arrays.copyOf(bptr, nbc);
+		for( int bi=0; bi<nbr; bi++ )
+			for( int k=_bptr[bi]; k<_bptr[bi+1]; k++ ) {
+				int ko = pos[_bcol[k]]++;
+				bcol[ko] = bi;
+				int aix = k*blen2, cix = ko*blen2;
+				for( int i=0; i<blen; i++ )
+					for( int j=0; j<blen; j++ )
+						values[cix+j*blen+i] = _values[aix+i*blen+j];
+			}
+		return new SparseBlockBCSR(clen, blen, bptr, bcol, values);
+	}
+
+	/**
+	 * Creates a copy of this sparse block with the given sparse-safe
+	 * function applied to all non-zero values, which retains the block
+	 * structure and allows dense processing per block.
+	 *
+	 * @param fn sparse-safe cell-wise function, i.e., fn(0)=0
+	 * @return sparse block with cell-wise function applied
+	 */
+	public SparseBlockBCSR apply(DoubleUnaryOperator fn) {
+		final int nblocks = getNumBlocks(), blen2 = _blen*_blen;
+		double[] values = new double[Math.max(nblocks, INIT_CAPACITY)*blen2];
+		for( int i=0; i<nblocks*blen2; i++ )
+			if( _values[i] != 0 )
+				values[i] = fn.applyAsDouble(_values[i]);
+		return new SparseBlockBCSR(_rlen, _blen, Arrays.copyOf(_bptr, _bptr.length),
+			Arrays.copyOf(_bcol, Math.max(nblocks, INIT_CAPACITY)), values);
+	}
+
+	/**
+	 * Writes the block structure and values of this sparse block.
+	 *
+	 * @param out data output
+	 * @throws IOException if IOException occurs
+	 */
+	public void write(DataOutput out) throws IOException {
+		final int nbr = getNumBlockRows();
+		out.writeInt(_blen);
+		out.writeInt(getNumBlocks());
+		for( int bi=0; bi<nbr; bi++ )
+			out.writeInt(_bptr[bi+1]-_bptr[bi]);
+		for( int k=0; k<getNumBlocks(); k++ )
+			out.writeInt(_bcol[k]);
+		for( int i=0; i<getNumBlocks()*_blen*_blen; i++ )
+			out.writeDouble(_values[i]);
+	}
+
+	/**
+	 * Reads a sparse block in BCSR from the given data input,
+	 * according to the layout of {@link #write(DataOutput)}.
+	 *
+	 * @param rlen number of rows
+	 * @param in data input
+	 * @return sparse block
+	 * @throws IOException if IOException occurs
+	 */
+	public static SparseBlockBCSR read(int rlen, DataInput in) throws IOException {
+		int blen = in.readInt();
+		int nblocks = in.readInt();
+		int nbr = (rlen + blen - 1) / blen;
+		int[] bptr = new int[nbr+1];
+		for( int bi=0; bi<nbr; bi++ )
+			bptr[bi+1] = bptr[bi] + in.readInt();
+		int[] bcol = new int[Math.max(nblocks, INIT_CAPACITY)];
+		for( int k=0; k<nblocks; k++ )
+			bcol[k] = in.readInt();
+		double[] values = new double[Math.max(nblocks, INIT_CAPACITY)*blen*blen];
+		for( int i=0; i<nblocks*blen*blen; i++ )
+			values[i] = in.readDouble();
+		return new SparseBlockBCSR(rlen, blen, bptr, bcol, values);
+	}
+
+	///////////////////
+	//SparseBlock implementation
+
+	@Override
+	public void allocate(int r) {
+		//do nothing
+	}
+
+	@Override
+	public void allocate(int r, int nnz) {
+		//do nothing
+	}
+
+	@Override
+	public void allocate(int r, int ennz, int maxnnz) {
+		//do nothing
+	}
+
+	@Override
+	public void compact(int r) {
+		//do nothing, zeros within blocks are not exposed
+	}
+
+	@Override
+	public int numRows() {
+		return _rlen;
+	}
+
+	@Override
+	public boolean isThreadSafe() {
+		return false;
+	}
+
+	@Override
+	public boolean isContiguous() {
+		return false;
+	}
+
+	@Override
+	public boolean isAllocated(int r) {
+		return true;
+	}
+
+	@Override
+	public void reset() {
+		Arrays.fill(_bptr, 0);
+		Arrays.fill(_rnnz, 0);
+		_size = 0;
+	}
+
+	@Override
+	public void reset(int ennz, int maxnnz) {
+		reset();
+	}
+
+	@Override
+	public void reset(int r, int ennz, int maxnnz) {
+		if( isEmpty(r) )
+			return;
+		final int bi = r / _blen, blen2 = _blen*_blen;
+		final int roff = (r % _blen) * _blen;
+		for( int k=_bptr[bi]; k<_bptr[bi+1]; k++ )
+			Arrays.fill(_values, k*blen2+roff, k*blen2+roff+_blen, 0);
+		_size -= _rnnz[r];
+		_rnnz[r] = 0;
+	}
+
+	@Override
+	public long size() {
+		return _size;
+	}
+
+	@Override
+	public int size(int r) {
+		return _rnnz[r];
+	}
+
+	@Override
+	public long size(int rl, int ru) {
+		long ret = 0;
+		for( int i=rl; i<ru; i++ )
+			ret += _rnnz[i];
+		return ret;
+	}
+
+	@Override
+	public long size(int rl, int ru, int cl, int cu) {
+		long nnz = 0;
+		for( int i=rl; i<ru; i++ )
+			if( !isEmpty(i) ) {
+				int[] aix = indexes(i);
+				int start = posFIndexGTE(aix, _rnnz[i], cl);
+				int end = posFIndexGTE(aix, _rnnz[i], cu);
+				nnz += (start!=-1) ? (end!=-1 ? end-start : _rnnz[i]-start) : 0;
+			}
+		return nnz;
+	}
+
+	@Override
+	public boolean isEmpty(int r) {
+		return _rnnz[r] == 0;
+	}
+
+	@Override
+	public boolean checkValidity(int rlen, int clen, long nnz, boolean strict) {
+		//1. correct meta data
+		if( rlen < 0 || clen < 0 || rlen != _rlen )
+			throw new RuntimeException("Invalid block dimensions: "+rlen+" "+clen);
+
+		//2. correct array lengths
+		int nbr = getNumBlockRows();
+		if( _bptr.length < nbr+1 || _bcol.length < getNumBlocks()
+			|| _values.length < getNumBlocks()*_blen*_blen )
+			throw new RuntimeException("Incorrect array lengths.");
+
+		//3. non-decreasing block row pointers, sorted block column indexes
+		int nbc = (clen + _blen - 1) / _blen;
+		for( int bi=0; bi<nbr; bi++ ) {
+			if( _bptr[bi] > _bptr[bi+1] )
+				throw new RuntimeException("Block row pointers are decreasing at block row: "+bi);
+			for( int k=_bptr[bi]; k<_bptr[bi+1]; k++ ) {
+				if( _bcol[k] < 0 || _bcol[k] >= nbc )
+					throw new RuntimeException("Invalid block column index "+_bcol[k]+" at "+k);
+				if( k > _bptr[bi] && _bcol[k-1] >= _bcol[k] )
+					throw new RuntimeException("Wrong block column ordering: "
+						+ k + " "+_bcol[k-1]+" "+_bcol[k]);
+			}
+		}
+
+		//4. consistent number of non-zeros
+		if( _size != nnz )
+			throw new RuntimeException("Incorrect number of non-zeros: "+_size+" vs "+nnz);
+		long lnnz = 0;
+		for( int i=0; i<_rlen; i++ )
+			lnnz += _rnnz[i];
+		if( lnnz != _size )
+			throw new RuntimeException("Incorrect number of non-zeros per row: "+lnnz+" vs "+_size);
+
+		return true;
+	}
+
+	@Override
+	public int[] indexes(int r) {
+		int[] ret = new int[_rnnz[r]];
+		if( ret.length == 0 )
+			return ret;
+		final int bi = r / _blen, blen2 = _blen*_blen;
+		final int roff = (r % _blen) * _blen;
+		for( int k=_bptr[bi], pos=0; k<_bptr[bi+1]; k++ ) {
+			int aix = k*blen2+roff, coff = _bcol[k]*_blen;
+			for( int j=0; j<_blen; j++ )
+				if( _values[aix+j] != 0 )
+					ret[pos++] = coff + j;
+		}
+		return ret;
+	}
+
+	@Override
+	public double[] values(int r) {
+		double[] ret = new double[_rnnz[r]];
+		if( ret.length == 0 )
+			return ret;
+		final int bi = r / _blen, blen2 = _blen*_blen;
+		final int roff = (r % _blen) * _blen;
+		for( int k=_bptr[bi], pos=0; k<_bptr[bi+1]; k++ ) {
+			int aix = k*blen2+roff;
+			for( int j=0; j<_blen; j++ )
+				if( _values[aix+j] != 0 )
+					ret[pos++] = _values[aix+j];
+		}
+		return ret;
+	}
+
+	@Override
+	public int pos(int r) {
+		return 0;
+	}
+
+	@Override
+	public boolean set(int r, int c, double v) {
+		final int bi = r / _blen;
+		int k = searchBlock(bi, c / _blen);
+		if( k < 0 ) {
+			//early abort on zero (if no overwrite)
+			if( v == 0 ) return false;
+			k = insertBlock(bi, c / _blen, -(k+1));
+		}
+		int ix = k*_blen*_blen + (r % _blen)*_blen + c % _blen;
+		double old = _values[ix];
+		_values[ix] = v;
+		if( old == 0 && v != 0 ) {
+			_rnnz[r]++; _size++;
+			return true;
+		}
+		else if( old != 0 && v == 0 ) {
+			_rnnz[r]--; _size--;
+			return true;
+		}
+		return false;
+	}
+
+	@Override
+	public void set(int r, SparseRow row, boolean deep) {
+		reset(r, -1, -1);
+		if( row == null || row.isEmpty() )
+			return;
+		int alen = row.size();
+		int[] aix = row.indexes();
+		double[] avals = row.values();
+		for( int j=0; j<alen; j++ )
+			set(r, aix[j], avals[j]);
+	}
+
+	@Override
+	public boolean add(int r, int c, double v) {
+		return (v != 0) && set(r, c, get(r, c) + v);
+	}
+
+	@Override
+	public void append(int r, int c, double v) {
+		if( v != 0 )
+			set(r, c, v);
+	}
+
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int vix, int vlen) {
+		//delete existing values in range if necessary
+		if( !isEmpty(r) )
+			deleteIndexRange(r, cl, cu);
+		for( int i=vix; i<vix+vlen; i++ )
+			if( v[i] != 0 )
+				set(r, cl+i-vix, v[i]);
+	}
+
+	@Override
+	public void setIndexRange(int r, int cl, int cu, double[] v, int[] vix, int vpos, int vlen) {
+		//delete existing values in range if necessary
+		if( !isEmpty(r) )
+			deleteIndexRange(r, cl, cu);
+		for( int i=vpos; i<vpos+vlen; i++ )
+			set(r, cl+vix[i], v[i]);
+	}
+
+	@Override
+	public void deleteIndexRange(int r, int cl, int cu) {
+		if( isEmpty(r) || cl >= cu )
+			return;
+		final int bi = r / _blen, blen2 = _blen*_blen;
+		final int roff = (r % _blen) * _blen;
+		for( int k=_bptr[bi]; k<_bptr[bi+1]; k++ ) {
+			int coff = _bcol[k]*_blen;
+			if( coff+_blen <= cl || coff >= cu )
+				continue;
+			int aix = k*blen2+roff;
+			for( int j=Math.max(cl-coff, 0); j<Math.min(cu-coff, _blen); j++ )
+				if( _values[aix+j] != 0 ) {
+					_values[aix+j] = 0;
+					_rnnz[r]--; _size--;
+				}
+		}
+	}
+
+	@Override
+	public void sort() {
+		//do nothing, always sorted
+	}
+
+	@Override
+	public void sort(int r) {
+		//do nothing, always sorted
+	}
+
+	@Override
+	public double get(int r, int c) {
+		if( isEmpty(r) )
+			return 0;
+		int k = searchBlock(r / _blen, c / _blen);
+		return (k >= 0) ?
+			_values[k*_blen*_blen + (r % _blen)*_blen + c % _blen] : 0;
+	}
+
+	@Override
+	public SparseRow get(int r) {
+		if( isEmpty(r) )
+			return new SparseRowScalar();
+		int len = size(r);
+		SparseRowVector row = new SparseRowVector(len);
+		System.arraycopy(indexes(r), 0, row.indexes(), 0, len);
+		System.arraycopy(values(r), 0, row.values(), 0, len);
+		row.setSize(len);
+		return row;
+	}
+
+	@Override
+	public int posFIndexLTE(int r, int c) {
+		if( isEmpty(r) )
+			return -1;
+		int index = Arrays.binarySearch(indexes(r), 0, _rnnz[r], c);
+		return (index >= 0) ? index : Math.abs(index+1)-1;
+	}
+
+	@Override
+	public int posFIndexGTE(int r, int c) {
+		return isEmpty(r) ? -1 : posFIndexGTE(indexes(r), _rnnz[r], c);
+	}
+
+	@Override
+	public int posFIndexGT(int r, int c) {
+		if( isEmpty(r) )
+			return -1;
+		int[] aix = indexes(r);
+		int index = Arrays.binarySearch(aix, 0, _rnnz[r], c);
+		index = (index >= 0) ? index+1 : Math.abs(index+1);
+		return (index < _rnnz[r]) ? index : -1;
+	}
+
+	private static int posFIndexGTE(int[] aix, int len, int c) {
+		int index = Arrays.binarySearch(aix, 0, len, c);
+		if( index < 0 )
+			index = Math.abs(index+1);
+		return (index < len) ? index : -1;
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("SparseBlockBCSR: rlen=");
+		sb.append(numRows());
+		sb.append(", blen=");
+		sb.append(_blen);
+		sb.append(", nblocks=");
+		sb.append(getNumBlocks());
+		sb.append(", nnz=");
+		sb.append(size());
+		sb.append("\n");
+		for( int i=0; i<numRows(); i++ ) {
+			if( isEmpty(i) ) continue;
+			int[] aix = indexes(i);
+			double[] avals = values(i);
+			sb.append("row +");
+			sb.append(i);
+			sb.append(": ");
+			for( int j=0; j<aix.length; j++ ) {
+				sb.append(aix[j]);
+				sb.append(": ");
+				sb.append(avals[j]);
+				sb.append("\t");
+			}
+			sb.append("\n");
+		}
+		return sb.toString();
+	}
+
+	///////////////////
+	//internal block maintenance
+
+	private int searchBlock(int bi, int bj) {
+		return Arrays.binarySearch(_bcol, _bptr[bi], _bptr[bi+1], bj);
+	}
+
+	private int insertBlock(int bi, int bj, int k) {
+		final int blen2 = _blen*_blen;
+		final int nblocks = getNumBlocks();
+		//resize if necessary
+		if( nblocks == _bcol.length ) {
+			int newCap = (int)Math.max(nblocks+1, Math.ceil(nblocks*RESIZE_FACTOR1));
+			_bcol = Arrays.copyOf(_bcol, newCap);
+			_values = Arrays.copyOf(_values, newCap*blen2);
+		}
+		//shift right and insert empty block
+		System.arraycopy(_bcol, k, _bcol, k+1, nblocks-k);
+		System.arraycopy(_values, k*blen2, _values, (k+1)*blen2, (nblocks-k)*blen2);
+		_bcol[k] = bj;
+		Arrays.fill(_values, k*blen2, (k+1)*blen2, 0);
+		for( int i=bi+1; i<_bptr.length; i++ )
+			_bptr[i]++;
+		return k;
+	}
+}
@@ -23,6 +23,11 @@ import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 public abstract class SparseBlockFactory
 {
+	//minimum relative memory savings for converting read-only MCSR blocks into CSR
+	public static final double MCSR_TO_CSR_MIN_SAVINGS = 0.25;
+	//minimum number of non-zeros for converting read-only MCSR blocks into CSR
+	//(for tiny blocks, the conversion overhead is not amortized by the savings)
+	public static final long MCSR_TO_CSR_MIN_NNZ = 1024;
 
 	public static SparseBlock createSparseBlock(int rlen) {
 		return createSparseBlock(MatrixBlock.DEFAULT_SPARSEBLOCK, rlen);
@@ -33,6 +38,7 @@ public abstract class SparseBlockFactory
 			case MCSR: return new SparseBlockMCSR(rlen, -1);
 			case CSR: return new SparseBlockCSR(rlen);
 			case COO: return new SparseBlockCOO(rlen);
+			case BCSR: return new SparseBlockBCSR(rlen);
 			default:
 				throw new RuntimeException("Unexpected sparse block type: "+type.toString());
 		}
@@ -60,6 +66,7 @@ public abstract class SparseBlockFactory
 			case MCSR: return new SparseBlockMCSR(sblock);
 			case CSR: return new SparseBlockCSR(sblock);
 			case COO: return new SparseBlockCOO(sblock);
+			case BCSR: return new SparseBlockBCSR(sblock);
 			default:
 				throw new RuntimeException("Unexpected sparse block type: "+type.toString());
 		}
@@ -72,7 +79,32 @@ public abstract class SparseBlockFactory
 	public static SparseBlock.Type getSparseBlockType(SparseBlock sblock) {
 		return (sblock instanceof SparseBlockMCSR) ? SparseBlock.Type.MCSR :
 			(sblock instanceof SparseBlockCSR) ? SparseBlock.Type.CSR : 
-			(sblock instanceof SparseBlockCOO) ? SparseBlock.Type.COO : null;
+			(sblock instanceof SparseBlockCOO) ? SparseBlock.Type.COO :
+			(sblock instanceof SparseBlockBCSR) ? SparseBlock.Type.BCSR : null;
+	}
+
+	/**
+	 * Cost model for converting a sparse block that is not modified anymore
+	 * (e.g., a released intermediate) into CSR. The conversion requires a 
+	 * single pass over the non-zeros, which pays off if the CSR representation
+	 * saves a significant fraction of memory. This is especially the case for 
+	 * ultra-sparse blocks where the MCSR representation is dominated by the 
+	 * per-row objects and overallocated row capacities. Reads of the converted
+	 * block further benefit from contiguous arrays and shallow serialization.
+	 * 
+	 * @param sblock sparse block
+	 * @param nrows number of rows
+	 * @param nnz number of non-zeros
+	 * @return true if the conversion into CSR is beneficial
+	 */
+	public static boolean isCSRConversionBeneficial(SparseBlock sblock, long nrows, long nnz) {
+		//only MCSR blocks within the CSR constraints of max int non-zeros
+		if( !(sblock instanceof SparseBlockMCSR) || nnz < MCSR_TO_CSR_MIN_NNZ 
+			|| nnz >= Integer.MAX_VALUE )
+			return false;
+		long mcsrSize = ((SparseBlockMCSR)sblock).getExactSizeInMemory();
+		long csrSize = SparseBlockCSR.estimateSizeInMemory(nrows, 1, (double)nnz/nrows);
+		return csrSize <= (1-MCSR_TO_CSR_MIN_SAVINGS) * mcsrSize;
 	}
 
 	public static long estimateSizeSparseInMemory(SparseBlock.Type type, long nrows, long ncols, double sparsity) {
@@ -80,6 +112,7 @@ public abstract class SparseBlockFactory
 			case MCSR: return SparseBlockMCSR.estimateSizeInMemory(nrows, ncols, sparsity);
 			case CSR: return SparseBlockCSR.estimateSizeInMemory(nrows, ncols, sparsity);
 			case COO: return SparseBlockCOO.estimateSizeInMemory(nrows, ncols, sparsity);
+			case BCSR: return SparseBlockBCSR.estimateSizeInMemory(nrows, ncols, sparsity);
 			default:
 				throw new RuntimeException("Unexpected sparse block type: "+type.toString());
 		}
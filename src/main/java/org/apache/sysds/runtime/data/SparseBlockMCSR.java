@@ -122,6 +122,28 @@ public class SparseBlockMCSR extends SparseBlock
 		// robustness for long overflows
 		return (long) Math.min(size, Long.MAX_VALUE);
 	}
+	
+	/**
+	 * Get the exact in-memory size of this sparse block, including
+	 * the overallocation of sparse rows (i.e., their capacity).
+	 * 
+	 * @return in-memory size in bytes
+	 */
+	public long getExactSizeInMemory() {
+		double size = 16; //object
+		size += MemoryEstimates.objectArrayCost(_rows.length); //references
+		for( SparseRow row : _rows ) {
+			if( row instanceof SparseRowVector ) {
+				int cap = ((SparseRowVector)row).capacity();
+				size += 16 + 4*4; //object + 3 integers + padding
+				size += MemoryEstimates.intArrayCost(cap);
+				size += MemoryEstimates.doubleArrayCost(cap);
+			}
+			else if( row != null )
+				size += 16 + 4 + 8 + 4; //object + int + double + padding
+		}
+		return (long) Math.min(size, Long.MAX_VALUE);
+	}
 
 	///////////////////
 	//SparseBlock implementation
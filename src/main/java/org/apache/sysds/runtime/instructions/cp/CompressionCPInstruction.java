@@ -29,6 +29,7 @@ import org.apache.sysds.runtime.compress.SingletonLookupHashMap;
 import org.apache.sysds.runtime.compress.workload.WTreeRoot;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 
@@ -59,6 +60,11 @@ public class CompressionCPInstruction extends ComputationCPInstruction {
 
 	@Override
 	public void processInstruction(ExecutionContext ec) {
+		if(input1.isFrame()) {
+			processFrameCompression(ec);
+			return;
+		}
+
 		// Get matrix block input
 		final MatrixBlock in = ec.getMatrixInput(input1.getName());
 		final SingletonLookupHashMap m = SingletonLookupHashMap.getMap();
@@ -80,4 +86,14 @@ public class CompressionCPInstruction extends ComputationCPInstruction {
 		ec.releaseMatrixInput(input1.getName());
 		ec.setMatrixOutput(output.getName(), out);
 	}
+
+	private void processFrameCompression(ExecutionContext ec) {
+		// compress a copy because the input frame might be shared with other variables
+		final FrameBlock in = ec.getFrameInput(input1.getName());
+		final FrameBlock out = new FrameBlock(in);
+		out.compress(OptimizerUtils.getConstrainedNumThreads(-1));
+
+		ec.releaseFrameInput(input1.getName());
+		ec.setFrameOutput(output.getName(), out);
+	}
 }
@@ -23,6 +23,7 @@ import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.operators.Operator;
 
@@ -42,6 +43,14 @@ public class DeCompressionCPInstruction extends ComputationCPInstruction {
 
 	@Override
 	public void processInstruction(ExecutionContext ec) {
+		if(input1.isFrame()) {
+			FrameBlock in = ec.getFrameInput(input1.getName());
+			FrameBlock out = new FrameBlock(in); // copy decompresses all columns
+			ec.releaseFrameInput(input1.getName());
+			ec.setFrameOutput(output.getName(), out);
+			return;
+		}
+
 		// Get matrix block input
 		MatrixBlock in = ec.getMatrixInput(input1.getName());
 
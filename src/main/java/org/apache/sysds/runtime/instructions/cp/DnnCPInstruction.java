@@ -262,6 +262,35 @@ public class DnnCPInstruction extends UnaryCPInstruction {
 			CPOperand out3 = new CPOperand(parts[9]); // dBias
 			return new DnnCPInstruction(in1, in2, in3, in4, in5, in6, null, null, out, out2, out3, null, null, opcode, str, 0);
 		}
+		else if (opcode.equalsIgnoreCase("lstm")) {
+			InstructionUtils.checkNumFields(parts, 8);
+			CPOperand in1 = new CPOperand(parts[1]); // X
+			CPOperand in2 = new CPOperand(parts[2]); // W
+			CPOperand in3 = new CPOperand(parts[3]); // b
+			CPOperand in4 = new CPOperand(parts[4]); // out0
+			CPOperand in5 = new CPOperand(parts[5]); // c0
+			CPOperand in6 = new CPOperand(parts[6]); // return_sequences
+			CPOperand out = new CPOperand(parts[7]);  // out
+			CPOperand out2 = new CPOperand(parts[8]); // cy
+			return new DnnCPInstruction(in1, in2, in3, in4, in5, in6, null, null, out, out2, null, null, null, opcode, str, 0);
+		}
+		else if (opcode.equalsIgnoreCase("lstm_backward")) {
+			InstructionUtils.checkNumFields(parts, 13);
+			CPOperand in1 = new CPOperand(parts[1]); // X
+			CPOperand in2 = new CPOperand(parts[2]); // W
+			CPOperand in3 = new CPOperand(parts[3]); // b
+			CPOperand in4 = new CPOperand(parts[4]); // out0
+			CPOperand in5 = new CPOperand(parts[5]); // c0
+			CPOperand in6 = new CPOperand(parts[6]); // given_sequences
+			CPOperand in7 = new CPOperand(parts[7]); // dout
+			CPOperand in8 = new CPOperand(parts[8]); // dc
+			CPOperand out = new CPOperand(parts[9]);  // dX
+			CPOperand out2 = new CPOperand(parts[10]); // dW
+			CPOperand out3 = new CPOperand(parts[11]); // db
+			CPOperand out4 = new CPOperand(parts[12]); // dout0
+			CPOperand out5 = new CPOperand(parts[13]); // dc0
+			return new DnnCPInstruction(in1, in2, in3, in4, in5, in6, in7, in8, out, out2, out3, out4, out5, opcode, str, 0);
+		}
 		else {
 			throw new DMLRuntimeException("Unknown opcode while parsing a DnnCPInstruction: " + str);
 		}
@@ -395,6 +424,61 @@ public class DnnCPInstruction extends UnaryCPInstruction {
 	}
 	
 	
+	public void processLstmInstruction(ExecutionContext ec) {
+		MatrixBlock X = ec.getMatrixInput(input1.getName());
+		MatrixBlock W = ec.getMatrixInput(_in2.getName());
+		MatrixBlock b = ec.getMatrixInput(_in3.getName());
+		MatrixBlock out0 = ec.getMatrixInput(_in4.getName());
+		MatrixBlock c0 = ec.getMatrixInput(_in5.getName());
+		boolean returnSequences = ec.getScalarInput(_in6).getBooleanValue();
+		
+		int N = X.getNumRows();
+		int M = W.getNumColumns() / 4;
+		int T = X.getNumColumns() / Math.max(W.getNumRows() - M, 1);
+		MatrixBlock out = new MatrixBlock(N, returnSequences ? T*M : M, false).allocateBlock();
+		MatrixBlock cy = new MatrixBlock(N, M, false).allocateBlock();
+		
+		LibMatrixDNN.lstm(X, W, b, out0, c0, returnSequences, out, cy,
+			OptimizerUtils.getConstrainedNumThreads(-1));
+		
+		// release inputs/outputs
+		ec.releaseMatrixInput(input1.getName(), _in2.getName(),
+			_in3.getName(), _in4.getName(), _in5.getName());
+		ec.setMatrixOutput(output.getName(), out);
+		ec.setMatrixOutput(_out2.getName(), cy);
+	}
+	
+	public void processLstmBackwardInstruction(ExecutionContext ec) {
+		MatrixBlock X = ec.getMatrixInput(input1.getName());
+		MatrixBlock W = ec.getMatrixInput(_in2.getName());
+		MatrixBlock b = ec.getMatrixInput(_in3.getName());
+		MatrixBlock out0 = ec.getMatrixInput(_in4.getName());
+		MatrixBlock c0 = ec.getMatrixInput(_in5.getName());
+		boolean givenSequences = ec.getScalarInput(_in6).getBooleanValue();
+		MatrixBlock dout = ec.getMatrixInput(_in7.getName());
+		MatrixBlock dc = ec.getMatrixInput(_in8.getName());
+		
+		int N = X.getNumRows();
+		int M = W.getNumColumns() / 4;
+		MatrixBlock dX = new MatrixBlock(N, X.getNumColumns(), false).allocateBlock();
+		MatrixBlock dW = new MatrixBlock(W.getNumRows(), W.getNumColumns(), false).allocateBlock();
+		MatrixBlock db = new MatrixBlock(1, W.getNumColumns(), false).allocateBlock();
+		MatrixBlock dout0 = new MatrixBlock(N, M, false).allocateBlock();
+		MatrixBlock dc0 = new MatrixBlock(N, M, false).allocateBlock();
+		
+		LibMatrixDNN.lstmBackward(X, W, b, out0, c0, givenSequences, dout, dc,
+			dX, dW, db, dout0, dc0, OptimizerUtils.getConstrainedNumThreads(-1));
+		
+		// release inputs/outputs
+		ec.releaseMatrixInput(input1.getName(), _in2.getName(), _in3.getName(),
+			_in4.getName(), _in5.getName(), _in7.getName(), _in8.getName());
+		ec.setMatrixOutput(output.getName(), dX);
+		ec.setMatrixOutput(_out2.getName(), dW);
+		ec.setMatrixOutput(_out3.getName(), db);
+		ec.setMatrixOutput(_out4.getName(), dout0);
+		ec.setMatrixOutput(_out5.getName(), dc0);
+	}
+	
 	// Assumption: enableNative && NativeHelper.isNativeLibraryLoaded() is true
 	// This increases the number of native calls. For example:the cases where filter is sparse but input is dense
 	private static boolean isFilterSparse(MatrixBlock filter) {
@@ -430,6 +514,14 @@ public class DnnCPInstruction extends UnaryCPInstruction {
 			processBatchNorm2dBackwardInstruction(ec);
 			return;
 		}
+		else if (instOpcode.equalsIgnoreCase("lstm")) {
+			processLstmInstruction(ec);
+			return;
+		}
+		else if (instOpcode.equalsIgnoreCase("lstm_backward")) {
+			processLstmBackwardInstruction(ec);
+			return;
+		}
 		
 		// acquire inputs
 		MatrixBlock outputBlock = null;
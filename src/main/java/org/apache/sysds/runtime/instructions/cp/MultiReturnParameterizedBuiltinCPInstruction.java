@@ -25,6 +25,8 @@ import java.util.List;
 import org.apache.commons.lang3.tuple.Pair;
 import org.apache.sysds.common.Types.DataType;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
@@ -41,8 +43,8 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 	protected final ArrayList<CPOperand> _outputs;
 
 	private MultiReturnParameterizedBuiltinCPInstruction(Operator op, CPOperand input1, CPOperand input2,
-		ArrayList<CPOperand> outputs, String opcode, String istr) {
-		super(CPType.MultiReturnBuiltin, op, input1, input2, outputs.get(0), opcode, istr);
+		CPOperand input3, ArrayList<CPOperand> outputs, String opcode, String istr) {
+		super(CPType.MultiReturnBuiltin, op, input1, input2, input3, outputs.get(0), opcode, istr);
 		_outputs = outputs;
 	}
 
@@ -64,12 +66,14 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 		String opcode = parts[0];
 
 		if(opcode.equalsIgnoreCase("transformencode")) {
-			// one input and two outputs
+			// one input (and optional existing metadata) and two outputs
+			InstructionUtils.checkNumFields(parts, 4, 5);
 			CPOperand in1 = new CPOperand(parts[1]);
 			CPOperand in2 = new CPOperand(parts[2]);
-			outputs.add(new CPOperand(parts[3], ValueType.FP64, DataType.MATRIX));
-			outputs.add(new CPOperand(parts[4], ValueType.STRING, DataType.FRAME));
-			return new MultiReturnParameterizedBuiltinCPInstruction(null, in1, in2, outputs, opcode, str);
+			CPOperand in3 = (parts.length == 6) ? new CPOperand(parts[3]) : null;
+			outputs.add(new CPOperand(parts[parts.length - 2], ValueType.FP64, DataType.MATRIX));
+			outputs.add(new CPOperand(parts[parts.length - 1], ValueType.STRING, DataType.FRAME));
+			return new MultiReturnParameterizedBuiltinCPInstruction(null, in1, in2, in3, outputs, opcode, str);
 		}
 		else {
 			throw new DMLRuntimeException("Invalid opcode in MultiReturnBuiltin instruction: " + opcode);
@@ -87,9 +91,20 @@ public class MultiReturnParameterizedBuiltinCPInstruction extends ComputationCPI
 		// execute block transform encode
 		MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, colnames, fin.getNumColumns(), null);
 		// TODO: Assign #threads in compiler and pass via the instruction string
-		MatrixBlock data = encoder.encode(fin, OptimizerUtils.getTransformNumThreads()); // build and apply
-		FrameBlock meta = encoder.getMetaData(new FrameBlock(fin.getNumColumns(), ValueType.STRING), 
-				OptimizerUtils.getTransformNumThreads());
+		int k = OptimizerUtils.getTransformNumThreads();
+		MatrixBlock data;
+		if( input3 != null ) {
+			// incremental encode w.r.t. existing metadata
+			FrameBlock fmeta = ec.getFrameInput(input3.getName());
+			data = encoder.encodeIncremental(fin, fmeta, k);
+			ec.releaseFrameInput(input3.getName());
+		}
+		else {
+			boolean compressed = ConfigurationManager.getDMLConfig()
+				.getBooleanValue(DMLConfig.COMPRESSED_TRANSFORMENCODE);
+			data = encoder.encode(fin, k, compressed); // build and apply
+		}
+		FrameBlock meta = encoder.getMetaData(new FrameBlock(fin.getNumColumns(), ValueType.STRING), k);
 		meta.setColumnNames(colnames);
 
 		// release input and outputs
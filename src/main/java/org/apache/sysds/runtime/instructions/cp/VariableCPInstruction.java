@@ -32,6 +32,7 @@ import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.conf.CompilerConfig.ConfigType;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.lops.UnaryCP;
 import org.apache.sysds.runtime.DMLRuntimeException;
@@ -66,6 +67,7 @@ import org.apache.sysds.runtime.meta.MetaDataFormat;
 import org.apache.sysds.runtime.meta.TensorCharacteristics;
 import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.ProgramConverter;
 import org.apache.sysds.utils.Statistics;
 
@@ -311,6 +313,14 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		String opcode = parts[0];
 		VariableOperationCode voc = getVariableOperationCode(opcode);
 
+		//strip optional index range of partial reads (last operand)
+		IndexRange readRange = null;
+		if ( voc == VariableOperationCode.CreateVariable
+			&& parts[parts.length-1].startsWith(org.apache.sysds.lops.Data.READ_RANGE_PREFIX) ) {
+			readRange = parseReadRange(parts[parts.length-1]);
+			parts = Arrays.copyOf(parts, parts.length-1);
+		}
+
 		if ( voc == VariableOperationCode.CreateVariable ){
 			if ( parts.length < 5 )  //&& parts.length != 10 )
 				throw new DMLRuntimeException("Invalid number of operands in createvar instruction: " + str);
@@ -437,6 +447,8 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 						naStrings = parts[curPos+4];
 					fmtProperties = new FileFormatPropertiesCSV(hasHeader, delim, fill, fillValue, naStrings) ;
 				}
+				if ( readRange != null )
+					fmtProperties.setReadRange(readRange, parts[2]);
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
 					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
 			}
@@ -471,6 +483,12 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
 					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
 			}
+			else if ( readRange != null ) {
+				FileFormatProperties fmtProperties = new FileFormatProperties();
+				fmtProperties.setReadRange(readRange, parts[2]);
+				return new VariableCPInstruction(VariableOperationCode.CreateVariable,
+					in1, in2, in3, iimd, updateType, fmtProperties, schema, opcode, str);
+			}
 			else {
 				return new VariableCPInstruction(VariableOperationCode.CreateVariable, in1, in2, in3, iimd, updateType, schema, opcode, str);
 			}
@@ -697,6 +715,10 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 	}
 
 	private String createUniqueFilename(){
+		//partial reads are not backed by the source file
+		if( _formatProperties != null && _formatProperties.isReadRange() )
+			return OptimizerUtils.getUniqueTempFileName();
+		
 		//create new variable for symbol table and cache
 		//(existing objects gets cleared through rmvar instructions)
 		String fname = getInput2().getName();
@@ -713,7 +735,8 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 		obj.setMetaData((MetaData)metadata.clone());
 		obj.setPrivacyConstraints(getPrivacyConstraint());
 		obj.enableCleanup(!getInput1().getName()
-			.startsWith(org.apache.sysds.lops.Data.PREAD_PREFIX));
+			.startsWith(org.apache.sysds.lops.Data.PREAD_PREFIX)
+			|| (_formatProperties != null && _formatProperties.isReadRange()));
 		obj.setFileFormatProperties(_formatProperties);
 	}
 
@@ -1421,6 +1444,14 @@ public class VariableCPInstruction extends CPInstruction implements LineageTrace
 			|| opcode == VariableOperationCode.CastAsBooleanVariable;
 	}
 
+	private static IndexRange parseReadRange(String str) {
+		String[] ix = str.substring(org.apache.sysds.lops.Data.READ_RANGE_PREFIX.length()).split(",");
+		if( ix.length != 4 )
+			throw new DMLRuntimeException("Invalid read index range in createvar instruction: " + str);
+		return new IndexRange(Long.parseLong(ix[0]), Long.parseLong(ix[1]),
+			Long.parseLong(ix[2]), Long.parseLong(ix[3]));
+	}
+
 	public static String getUniqueFileName(String fname) {
 		return InstructionUtils.concatStrings(fname, "_", String.valueOf(_uniqueVarID.getNextID()));
 	}
@@ -196,7 +196,7 @@ public class FEDInstructionUtils {
 		}
 		else if (inst instanceof MultiReturnParameterizedBuiltinCPInstruction) {
 			MultiReturnParameterizedBuiltinCPInstruction minst = (MultiReturnParameterizedBuiltinCPInstruction) inst;
-			if(minst.getOpcode().equals("transformencode") && minst.input1.isFrame()) {
+			if(minst.getOpcode().equals("transformencode") && minst.input1.isFrame() && minst.input3 == null) {
 				CacheableData<?> fo = ec.getCacheableData(minst.input1);
 				if(fo.isFederatedExcept(FType.BROADCAST)) {
 					fedinst = MultiReturnParameterizedBuiltinFEDInstruction
@@ -174,10 +174,11 @@ public abstract class BinarySPInstruction extends ComputationSPInstruction {
 			Math.min(in1.getNumPartitions() + in2.getNumPartitions(),
 				2 * SparkUtils.getNumPreferredPartitions(mcOut));
 		
-		//execute binary operation
-		JavaPairRDD<MatrixIndexes,MatrixBlock> out = in1
-			.join(in2, numPrefPart)
-			.mapValues(new MatrixMatrixBinaryOpFunction(bop));
+		//execute binary operation (partition-local join if co-partitioned,
+		//which avoids the cogroup and preserves the common partitioner)
+		JavaPairRDD<MatrixIndexes,MatrixBlock> out = SparkUtils.isCoPartitioned(in1, in2) ?
+			SparkUtils.zipJoin(in1, in2).mapValues(new MatrixMatrixBinaryOpFunction(bop)) :
+			in1.join(in2, numPrefPart).mapValues(new MatrixMatrixBinaryOpFunction(bop));
 		
 		//set output RDD
 		sec.setRDDHandleForVariable(output.getName(), out);
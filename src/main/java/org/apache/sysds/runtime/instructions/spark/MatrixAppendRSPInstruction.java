@@ -24,6 +24,7 @@ import org.apache.spark.api.java.function.Function;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.instructions.cp.CPOperand;
+import org.apache.sysds.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.matrix.operators.Operator;
@@ -46,9 +47,9 @@ public class MatrixAppendRSPInstruction extends AppendRSPInstruction {
 		JavaPairRDD<MatrixIndexes,MatrixBlock> in2 = sec.getBinaryMatrixBlockRDDHandleForVariable( input2.getName() );
 		
 		//execute reduce-append operations (partitioning preserving)
-		JavaPairRDD<MatrixIndexes,MatrixBlock> out = in1
-			.join(in2)
-			.mapValues(new ReduceSideAppendFunction(_cbind));
+		JavaPairRDD<MatrixIndexes,MatrixBlock> out = SparkUtils.isCoPartitioned(in1, in2) ?
+			SparkUtils.zipJoin(in1, in2).mapValues(new ReduceSideAppendFunction(_cbind)) :
+			in1.join(in2).mapValues(new ReduceSideAppendFunction(_cbind));
 
 		//put output RDD handle into symbol table
 		updateBinaryAppendOutputDataCharacteristics(sec, _cbind);
@@ -31,6 +31,7 @@ import org.apache.sysds.runtime.functionobjects.SwapIndex;
 import org.apache.sysds.runtime.instructions.InstructionUtils;
 import org.apache.sysds.runtime.instructions.cp.CPOperand;
 import org.apache.sysds.runtime.instructions.spark.utils.RDDAggregateUtils;
+import org.apache.sysds.runtime.instructions.spark.utils.SparkUtils;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.matrix.data.OperationsOnMatrixValues;
@@ -77,8 +78,11 @@ public class ZipmmSPInstruction extends BinarySPInstruction {
 		JavaPairRDD<MatrixIndexes,MatrixBlock> in2 = sec.getBinaryMatrixBlockRDDHandleForVariable( input2.getName() ); //y
 		
 		//process core zipmm matrix multiply (in contrast to cpmm, the join over original indexes
-		//preserves the original partitioning and with that potentially unnecessary join shuffle)
-		JavaRDD<MatrixBlock> out = in1.join(in2).values()     // join over original indexes
+		//preserves the original partitioning and with that potentially unnecessary join shuffle;
+		//for co-partitioned inputs, we join partition-by-partition without cogroup)
+		JavaPairRDD<MatrixIndexes,Tuple2<MatrixBlock,MatrixBlock>> joined =
+			SparkUtils.isCoPartitioned(in1, in2) ? SparkUtils.zipJoin(in1, in2) : in1.join(in2);
+		JavaRDD<MatrixBlock> out = joined.values()           // join over original indexes
 				   .map(new ZipMultiplyFunction(_tRewrite));  // compute block multiplications, incl t(y)
 				   
 		//single-block aggregation (guaranteed by zipmm blocksize constraint)
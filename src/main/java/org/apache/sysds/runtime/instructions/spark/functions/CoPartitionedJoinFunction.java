@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.instructions.spark.functions;
+
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import scala.Tuple2;
+import scala.collection.JavaConversions;
+import scala.runtime.AbstractFunction2;
+
+/**
+ * Partition-local inner join of two co-partitioned pair RDDs, i.e., RDDs with
+ * equal partitioners where all matching keys reside in partitions of the same
+ * index. In contrast to a join over co-partitioned inputs (which still creates
+ * a cogroup with hash maps for both sides and iterable wrappers per key), this
+ * function only hashes the right partition and streams the left partition.
+ * Keys are required to be unique within each input (e.g., block indexes).
+ * 
+ * The function is used via {@code RDD.zipPartitions} with preserved partitioning
+ * (see {@code SparkUtils.zipJoin}), and hence operates on scala iterators.
+ */
+public class CoPartitionedJoinFunction<K, V1, V2> extends AbstractFunction2<scala.collection.Iterator<Tuple2<K, V1>>,
+	scala.collection.Iterator<Tuple2<K, V2>>, scala.collection.Iterator<Tuple2<K, Tuple2<V1, V2>>>> implements Serializable
+{
+	private static final long serialVersionUID = 3570413281094617531L;
+
+	@Override
+	public scala.collection.Iterator<Tuple2<K, Tuple2<V1, V2>>> apply(
+		scala.collection.Iterator<Tuple2<K, V1>> arg0, scala.collection.Iterator<Tuple2<K, V2>> arg1)
+	{
+		//build hash table over right partition
+		HashMap<K, V2> right = new HashMap<>();
+		Iterator<Tuple2<K, V2>> iter = JavaConversions.asJavaIterator(arg1);
+		while( iter.hasNext() ) {
+			Tuple2<K, V2> tmp = iter.next();
+			right.put(tmp._1(), tmp._2());
+		}
+		
+		//lazy probe with left partition
+		return JavaConversions.asScalaIterator(
+			new ProbeIterator(JavaConversions.asJavaIterator(arg0), right));
+	}
+	
+	private class ProbeIterator implements Iterator<Tuple2<K, Tuple2<V1, V2>>>
+	{
+		private final Iterator<Tuple2<K, V1>> _left;
+		private final HashMap<K, V2> _right;
+		private Tuple2<K, Tuple2<V1, V2>> _next = null;
+		
+		public ProbeIterator(Iterator<Tuple2<K, V1>> left, HashMap<K, V2> right) {
+			_left = left;
+			_right = right;
+			_next = findNext();
+		}
+		
+		@Override
+		public boolean hasNext() {
+			return _next != null;
+		}
+
+		@Override
+		public Tuple2<K, Tuple2<V1, V2>> next() {
+			if( _next == null )
+				throw new NoSuchElementException();
+			Tuple2<K, Tuple2<V1, V2>> ret = _next;
+			_next = findNext();
+			return ret;
+		}
+		
+		private Tuple2<K, Tuple2<V1, V2>> findNext() {
+			while( _left.hasNext() ) {
+				Tuple2<K, V1> tmp = _left.next();
+				V2 val = _right.get(tmp._1());
+				if( val != null )
+					return new Tuple2<>(tmp._1(), new Tuple2<>(tmp._2(), val));
+			}
+			return null;
+		}
+	}
+}
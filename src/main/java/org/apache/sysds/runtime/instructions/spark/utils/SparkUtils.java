@@ -26,9 +26,11 @@ import org.apache.spark.api.java.function.Function;
 import org.apache.spark.api.java.function.Function2;
 import org.apache.spark.api.java.function.PairFlatMapFunction;
 import org.apache.spark.api.java.function.VoidFunction;
+import org.apache.spark.rdd.RDD;
 import org.apache.spark.storage.StorageLevel;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.lops.Checkpoint;
+import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.controlprogram.caching.MatrixObject;
 import org.apache.sysds.runtime.controlprogram.context.ExecutionContext;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
@@ -38,6 +40,7 @@ import org.apache.sysds.runtime.data.BasicTensorBlock;
 import org.apache.sysds.runtime.data.TensorBlock;
 import org.apache.sysds.runtime.data.TensorIndexes;
 import org.apache.sysds.runtime.instructions.spark.data.IndexedMatrixValue;
+import org.apache.sysds.runtime.instructions.spark.functions.CoPartitionedJoinFunction;
 import org.apache.sysds.runtime.instructions.spark.functions.CopyBinaryCellFunction;
 import org.apache.sysds.runtime.instructions.spark.functions.CopyMatrixBlockFunction;
 import org.apache.sysds.runtime.instructions.spark.functions.CopyMatrixBlockPairFunction;
@@ -54,6 +57,8 @@ import org.apache.sysds.runtime.meta.DataCharacteristics;
 import org.apache.sysds.runtime.meta.MatrixCharacteristics;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import scala.Tuple2;
+import scala.reflect.ClassManifestFactory;
+import scala.reflect.ClassTag;
 
 import java.util.Iterator;
 import java.util.List;
@@ -124,6 +129,47 @@ public class SparkUtils
 		return !in.rdd().partitioner().isEmpty()
 			&& in.rdd().partitioner().get() instanceof HashPartitioner;
 	}
+
+	/**
+	 * Indicates if the two input RDDs are co-partitioned, i.e., both have a
+	 * partitioner and these partitioners are equal. In this case, all keys
+	 * with equal hash reside in partitions of the same index, which allows
+	 * joining the inputs partition-by-partition without shuffle.
+	 * 
+	 * @param in1 first input JavaPairRDD
+	 * @param in2 second input JavaPairRDD
+	 * @return true if inputs are co-partitioned
+	 */
+	public static boolean isCoPartitioned(JavaPairRDD<?,?> in1, JavaPairRDD<?,?> in2) {
+		return !in1.rdd().partitioner().isEmpty()
+			&& in1.rdd().partitioner().equals(in2.rdd().partitioner())
+			&& in1.getNumPartitions() == in2.getNumPartitions();
+	}
+	
+	/**
+	 * Joins two co-partitioned RDDs partition-by-partition via zipPartitions,
+	 * which avoids the shuffle and cogroup of a regular join and preserves the
+	 * partitioner of the first input for subsequent operations. Both inputs
+	 * are required to have unique keys.
+	 * 
+	 * @param in1 first input JavaPairRDD
+	 * @param in2 second input JavaPairRDD, co-partitioned with in1
+	 * @param <K> key type
+	 * @param <V1> value type of first input
+	 * @param <V2> value type of second input
+	 * @return joined JavaPairRDD with the partitioner of in1
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K,V1,V2> JavaPairRDD<K,Tuple2<V1,V2>> zipJoin(JavaPairRDD<K,V1> in1, JavaPairRDD<K,V2> in2) {
+		if( !isCoPartitioned(in1, in2) )
+			throw new DMLRuntimeException("Zip join requires co-partitioned inputs.");
+		ClassTag<Tuple2<K,V2>> ctIn2 = (ClassTag<Tuple2<K,V2>>) (ClassTag<?>) ClassManifestFactory.fromClass(Tuple2.class);
+		ClassTag<Tuple2<K,Tuple2<V1,V2>>> ctOut = (ClassTag<Tuple2<K,Tuple2<V1,V2>>>) (ClassTag<?>) ClassManifestFactory.fromClass(Tuple2.class);
+		ClassTag<Tuple2<V1,V2>> ctVal = (ClassTag<Tuple2<V1,V2>>) (ClassTag<?>) ClassManifestFactory.fromClass(Tuple2.class);
+		RDD<Tuple2<K,Tuple2<V1,V2>>> out = in1.rdd().zipPartitions(
+			in2.rdd(), true, new CoPartitionedJoinFunction<K,V1,V2>(), ctIn2, ctOut);
+		return new JavaPairRDD<>(out, in1.kClassTag(), ctVal);
+	}
 	
 	public static int getNumPreferredPartitions(DataCharacteristics dc, JavaPairRDD<?,?> in) {
 		if( !dc.dimsKnown(true) && in != null )
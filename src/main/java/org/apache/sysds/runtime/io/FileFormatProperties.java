@@ -19,11 +19,18 @@
 
 package org.apache.sysds.runtime.io;
 
+import org.apache.sysds.runtime.util.IndexRange;
+
 public class FileFormatProperties 
 {
 	private String description;
 	private final int _blen;
 	
+	//index range (0-based, inclusive) and source file of partial reads
+	//(i.e., right indexing pushed down into persistent reads)
+	private IndexRange _readRange = null;
+	private String _readSource = null;
+	
 	public FileFormatProperties() {
 		this(-1);
 	}
@@ -47,4 +54,21 @@ public class FileFormatProperties
 	public void setDescription(String description) {
 		this.description = description;
 	}
+	
+	public IndexRange getReadRange() {
+		return _readRange;
+	}
+	
+	public String getReadSource() {
+		return _readSource;
+	}
+	
+	public boolean isReadRange() {
+		return _readRange != null;
+	}
+	
+	public void setReadRange(IndexRange ixrange, String source) {
+		_readRange = ixrange;
+		_readSource = source;
+	}
 }
@@ -32,6 +32,7 @@ import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 /**
@@ -57,6 +58,25 @@ public abstract class FrameReader {
 		return readFrameFromHDFS(fname, getDefSchema(clen), getDefColNames(clen), rlen, clen);
 	}
 
+	/**
+	 * Reads the given index range of a frame, which allows readers to skip non-requested rows and columns (e.g., for
+	 * right indexing pushed into reads). Readers without support for partial reads raise an exception.
+	 * 
+	 * @param fname   file name
+	 * @param schema  schema of the index range
+	 * @param rlen    number of rows of the index range
+	 * @param clen    number of columns of the index range
+	 * @param ixrange index range (0-based, inclusive), or null for the entire frame
+	 * @return frame block of the given index range
+	 * @throws IOException if IOException occurs
+	 */
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, long rlen, long clen, IndexRange ixrange)
+		throws IOException, DMLRuntimeException {
+		if(ixrange == null)
+			return readFrameFromHDFS(fname, schema, rlen, clen);
+		throw new DMLRuntimeException("Partial reads not supported by " + getClass().getSimpleName() + ".");
+	}
+
 	public abstract FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen,
 		long clen) throws IOException, DMLRuntimeException;
 
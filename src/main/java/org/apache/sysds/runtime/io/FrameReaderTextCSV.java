@@ -21,6 +21,7 @@ package org.apache.sysds.runtime.io;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.Set;
 
 import org.apache.hadoop.fs.FileSystem;
@@ -40,6 +41,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.transform.TfUtils;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.InputStreamInputFormat;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
@@ -81,7 +83,33 @@ public class FrameReaderTextCSV extends FrameReader {
 		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
 
 		// core read (sequential/parallel)
-		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen);
+		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen, null);
+
+		return ret;
+	}
+
+	@Override
+	public final FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, long rlen, long clen, IndexRange ixrange)
+		throws IOException, DMLRuntimeException {
+		if(ixrange == null)
+			return readFrameFromHDFS(fname, schema, rlen, clen);
+		LOG.debug("readFrameFromHDFS csv " + ixrange);
+		// prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FileInputFormat.addInputPath(job, path);
+
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		// allocate output frame block of the index range
+		ValueType[] lschema = createOutputSchema(schema, clen);
+		String[] lnames = createOutputNames(null, clen);
+		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
+
+		// core read (sequential/parallel) of rows and columns in the index range
+		readCSVFrameFromHDFS(path, job, fs, ret, lschema, lnames, rlen, clen, ixrange);
 
 		return ret;
 	}
@@ -104,19 +132,48 @@ public class FrameReaderTextCSV extends FrameReader {
 	}
 
 	protected void readCSVFrameFromHDFS(Path path, JobConf job, FileSystem fs, FrameBlock dest, ValueType[] schema,
-		String[] names, long rlen, long clen) throws IOException {
+		String[] names, long rlen, long clen, IndexRange ixrange) throws IOException {
 		LOG.debug("readCSVFrameFromHDFS csv");
 		TextInputFormat informat = new TextInputFormat();
 		informat.configure(job);
 		InputSplit[] splits = informat.getSplits(job, 1);
 		splits = IOUtilFunctions.sortInputSplits(splits);
-		for(int i = 0, rpos = 0; i < splits.length; i++)
-			rpos = readCSVFrameFromInputSplit(splits[i], informat, job, dest, schema, names, rlen, clen, rpos, i == 0);
+		int rpos = 0;
+		for(int i = 0; i < splits.length && (ixrange == null || rpos <= ixrange.rowEnd); i++)
+			rpos = readCSVFrameFromInputSplit(splits[i], informat, job, dest, schema, names, rlen, clen, rpos, i == 0,
+				ixrange);
+		if(ixrange != null && rpos <= ixrange.rowEnd)
+			throw new IOException("Index range " + ixrange + " out of bounds of " + rpos + " rows in " + path + ".");
 	}
 
 	protected final int readCSVFrameFromInputSplit(InputSplit split, InputFormat<LongWritable, Text> informat,
 		JobConf job, FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen, int rl, boolean first)
 		throws IOException {
+		return readCSVFrameFromInputSplit(split, informat, job, dest, schema, names, rlen, clen, rl, first, null);
+	}
+
+	/**
+	 * Reads the rows of an input split into the given frame block. If an index range is given, rows before the range
+	 * are skipped without parsing, the read stops after the last row of the range, and only the columns of the range
+	 * are parsed; the row offset rl and the returned row position then refer to the rows of the entire file.
+	 * 
+	 * @param split    input split
+	 * @param informat input format
+	 * @param job      job configuration
+	 * @param dest     output frame block
+	 * @param schema   schema of the output frame block
+	 * @param names    column names of the output frame block
+	 * @param rlen     number of rows of the output frame block
+	 * @param clen     number of columns of the output frame block
+	 * @param rl       row position of the first row of the split
+	 * @param first    indicator for the first split (header handling)
+	 * @param ixrange  index range (0-based, inclusive), or null for the entire frame
+	 * @return row position after the last read row
+	 * @throws IOException if IOException occurs
+	 */
+	protected final int readCSVFrameFromInputSplit(InputSplit split, InputFormat<LongWritable, Text> informat,
+		JobConf job, FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen, int rl, boolean first,
+		IndexRange ixrange) throws IOException {
 		boolean hasHeader = _props.hasHeader();
 		boolean isFill = _props.isFill();
 		double dfillValue = _props.getFillValue();
@@ -131,50 +188,67 @@ public class FrameReaderTextCSV extends FrameReader {
 		int row = rl;
 		int col = -1;
 
+		// row offset and column range of partial reads
+		boolean range = (ixrange != null);
+		int roff = range ? (int) ixrange.rowStart : 0;
+		int cl = range ? (int) ixrange.colStart : 0;
+
 		// handle header if existing
 		if(first && hasHeader) {
 			reader.next(key, value); // read header
-			dest.setColumnNames(value.toString().split(delim));
+			String[] header = value.toString().split(delim);
+			dest.setColumnNames(range ? Arrays.copyOfRange(header, cl, (int) ixrange.colEnd + 1) : header);
 		}
 
 		// Read the data
 		boolean emptyValuesFound = false;
 		try {
-			while(reader.next(key, value)) // foreach line
+			while((!range || row <= ixrange.rowEnd) && reader.next(key, value)) // foreach line
 			{
 				String cellStr = value.toString().trim();
+				boolean meta = cellStr.startsWith(TfUtils.TXMTD_MVPREFIX) || cellStr.startsWith(TfUtils.TXMTD_NDPREFIX);
+
+				// skip rows before the index range without parsing
+				if(range && !meta && row < roff) {
+					row++;
+					continue;
+				}
+
 				emptyValuesFound = false;
-				col = 0;
 				String[] parts = IOUtilFunctions.splitCSV(cellStr, delim);
 
 				// parse frame meta data (missing values / num distinct)
 				if(parts[0].equals(TfUtils.TXMTD_MVPREFIX) || parts[0].equals(TfUtils.TXMTD_NDPREFIX)) {
 					if(parts[0].equals(TfUtils.TXMTD_MVPREFIX))
 						for(int j = 0; j < dest.getNumColumns(); j++)
-							dest.getColumnMetadata(j).setMvValue(parts[j + 1]);
+							dest.getColumnMetadata(j).setMvValue(parts[j + 1 + cl]);
 					else if(parts[0].equals(TfUtils.TXMTD_NDPREFIX))
 						for(int j = 0; j < dest.getNumColumns(); j++)
-							dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j + 1]));
+							dest.getColumnMetadata(j).setNumDistinct(Long.parseLong(parts[j + 1 + cl]));
 					continue;
 				}
 
-				for(String part : parts) // foreach cell
+				int cu = range ? Math.min((int) ixrange.colEnd, parts.length - 1) : parts.length - 1;
+				for(col = cl; col <= cu; col++) // foreach cell
 				{
-					part = part.trim();
+					String part = parts[col].trim();
 					if(part.isEmpty() || (naValues != null && naValues.contains(part))) {
 						if(isFill && dfillValue != 0)
-							dest.set(row, col, UtilFunctions.stringToObject(schema[col], sfillValue));
+							dest.set(row - roff, col - cl, UtilFunctions.stringToObject(schema[col - cl], sfillValue));
 						emptyValuesFound = true;
 					}
 					else {
-						dest.set(row, col, UtilFunctions.stringToObject(schema[col], part));
+						dest.set(row - roff, col - cl, UtilFunctions.stringToObject(schema[col - cl], part));
 					}
-					col++;
 				}
 
 				// sanity checks for empty values and number of columns
 				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, isFill, emptyValuesFound);
-				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
+				if(range && parts.length <= ixrange.colEnd)
+					throw new IOException("Invalid number of columns (" + parts.length + ", expected>" + ixrange.colEnd
+						+ ") found in delimited file for line: " + cellStr);
+				else if(!range)
+					IOUtilFunctions.checkAndRaiseErrorCSVNumColumns("", cellStr, parts, clen);
 				row++;
 			}
 		}
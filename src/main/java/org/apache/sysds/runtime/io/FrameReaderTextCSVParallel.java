@@ -41,6 +41,7 @@ import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.Pair;
 import org.apache.sysds.runtime.transform.TfUtils;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.IndexRange;
 
 /**
  * Multi-threaded frame text csv reader.
@@ -54,7 +55,7 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 
 	@Override
 	protected void readCSVFrameFromHDFS( Path path, JobConf job, FileSystem fs, 
-			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen) 
+			FrameBlock dest, ValueType[] schema, String[] names, long rlen, long clen, IndexRange ixrange) 
 		throws IOException
 	{
 		int numThreads = OptimizerUtils.getParallelTextReadParallelism();
@@ -69,24 +70,35 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 			ExecutorService pool = CommonThreadPool.get(
 				Math.min(numThreads, splits.length));
 			
-			//compute num rows per split
-			ArrayList<CountRowsTask> tasks = new ArrayList<>();
-			for( int i=0; i<splits.length; i++ )
-				tasks.add(new CountRowsTask(splits[i], informat, job, _props.hasHeader(), i==0));
-			List<Future<Long>> cret = pool.invokeAll(tasks);
-
-			//compute row offset per split via cumsum on row counts
+			//compute num rows per split and row offset per split via cumsum on row 
+			//counts (for partial reads, in waves until the end of the row range)
+			int wave = (ixrange == null) ? splits.length : numThreads;
 			long offset = 0;
 			List<Long> offsets = new ArrayList<>();
-			for( Future<Long> count : cret ) {
-				offsets.add(offset);
-				offset += count.get();
+			while( offsets.size() < splits.length && (ixrange == null || offset <= ixrange.rowEnd) ) {
+				int start = offsets.size();
+				ArrayList<CountRowsTask> tasks = new ArrayList<>();
+				for( int i=start; i<Math.min(start+wave, splits.length); i++ )
+					tasks.add(new CountRowsTask(splits[i], informat, job, _props.hasHeader(), i==0));
+				for( Future<Long> count : pool.invokeAll(tasks) ) {
+					offsets.add(offset);
+					offset += count.get();
+				}
+			}
+			if( ixrange != null && offset <= ixrange.rowEnd ) {
+				pool.shutdown();
+				throw new IOException("Index range "+ixrange+" out of bounds of "+offset+" rows in "+path+".");
 			}
 			
-			//read individual splits
+			//read individual splits (for partial reads, only splits overlapping
+			//the row range and the first split with the header)
 			ArrayList<ReadRowsTask> tasks2 = new ArrayList<>();
-			for( int i=0; i<splits.length; i++ )
-				tasks2.add( new ReadRowsTask(splits[i], informat, job, dest, offsets.get(i).intValue(), i==0));
+			for( int i=0; i<offsets.size(); i++ ) {
+				long rl = offsets.get(i);
+				long ru = (i < offsets.size()-1 ? offsets.get(i+1) : offset) - 1;
+				if( ixrange == null || (rl <= ixrange.rowEnd && ru >= ixrange.rowStart) || (i==0 && _props.hasHeader()) )
+					tasks2.add( new ReadRowsTask(splits[i], informat, job, dest, (int)rl, i==0, ixrange));
+			}
 			CommonThreadPool.invokeAndShutdown(pool, tasks2);
 		} 
 		catch (Exception e) {
@@ -178,10 +190,10 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 		private FrameBlock _dest = null;
 		private int _offset = -1;
 		private boolean _isFirstSplit = false;
-		
+		private IndexRange _ixrange = null;
 		
 		public ReadRowsTask(InputSplit split, TextInputFormat informat, JobConf job, 
-				FrameBlock dest, int offset, boolean first) 
+				FrameBlock dest, int offset, boolean first, IndexRange ixrange) 
 		{
 			_split = split;
 			_informat = informat;
@@ -189,6 +201,7 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 			_dest = dest;
 			_offset = offset;
 			_isFirstSplit = first;
+			_ixrange = ixrange;
 		}
 
 		@Override
@@ -196,7 +209,7 @@ public class FrameReaderTextCSVParallel extends FrameReaderTextCSV
 			throws Exception 
 		{
 			readCSVFrameFromInputSplit(_split, _informat, _job, _dest, _dest.getSchema(), 
-					_dest.getColumnNames(), _dest.getNumRows(), _dest.getNumColumns(), _offset, _isFirstSplit);
+					_dest.getColumnNames(), _dest.getNumRows(), _dest.getNumColumns(), _offset, _isFirstSplit, _ixrange);
 			return null;
 		}
 	}
@@ -39,6 +39,7 @@ import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 
 /**
  * Base class for all format-specific matrix readers. Every reader is required to implement the basic 
@@ -60,6 +61,28 @@ public abstract class MatrixReader
 
 	public abstract MatrixBlock readMatrixFromInputStream( InputStream is, long rlen, long clen, int blen, long estnnz) 
 		throws IOException, DMLRuntimeException;
+
+	/**
+	 * Reads the given index range of a matrix, which allows readers to skip
+	 * non-requested rows and columns (e.g., for right indexing pushed into reads).
+	 * Readers without support for partial reads raise an exception.
+	 * 
+	 * @param fname file name
+	 * @param rlen number of rows of the index range
+	 * @param clen number of columns of the index range
+	 * @param blen block size of the file
+	 * @param estnnz estimated number of non-zeros of the index range
+	 * @param ixrange index range (0-based, inclusive), or null for the entire matrix
+	 * @return matrix block of the given index range
+	 * @throws IOException if IOException occurs
+	 */
+	public MatrixBlock readMatrixFromHDFS( String fname, long rlen, long clen, int blen, long estnnz, IndexRange ixrange )
+		throws IOException, DMLRuntimeException
+	{
+		if( ixrange == null )
+			return readMatrixFromHDFS(fname, rlen, clen, blen, estnnz);
+		throw new DMLRuntimeException("Partial reads not supported by "+getClass().getSimpleName()+".");
+	}
 	
 	/**
 	 * NOTE: mallocDense controls if the output matrix blocks is fully allocated, this can be redundant
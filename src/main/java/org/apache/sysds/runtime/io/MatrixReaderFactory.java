@@ -24,6 +24,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.conf.CompilerConfig.ConfigType;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -62,6 +63,10 @@ public class MatrixReaderFactory {
 					new ReaderBinaryBlockParallel(false) : new ReaderBinaryBlock(false);
 				break;
 
+			case NATIVE:
+				reader = new ReaderNativeBinary(OptimizerUtils.getParallelBinaryReadParallelism());
+				break;
+
 			case HDF5:
 				reader = (par & mcsr) ? new ReaderHDF5Parallel(
 					new FileFormatPropertiesHDF5()) : new ReaderHDF5(new FileFormatPropertiesHDF5());
@@ -112,6 +117,10 @@ public class MatrixReaderFactory {
 					new ReaderBinaryBlockParallel(props.localFS) : new ReaderBinaryBlock(props.localFS);
 				break;
 
+			case NATIVE:
+				reader = new ReaderNativeBinary(OptimizerUtils.getParallelBinaryReadParallelism());
+				break;
+
 			case HDF5:
 				FileFormatPropertiesHDF5 fileFormatPropertiesHDF5 = props.formatProperties != null ? (FileFormatPropertiesHDF5) props.formatProperties : new FileFormatPropertiesHDF5();
 				reader = (par & mcsr) ? new ReaderHDF5Parallel(fileFormatPropertiesHDF5) : new ReaderHDF5(
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.io;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.common.Types.FileFormat;
 import org.apache.sysds.conf.CompilerConfig.ConfigType;
+import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 
 public class MatrixWriterFactory
@@ -77,6 +78,11 @@ public class MatrixWriterFactory
 					writer = new WriterBinaryBlock(replication);
 				break;
 
+			case NATIVE:
+				writer = new WriterNativeBinary(OptimizerUtils.getParallelBinaryWriteParallelism(),
+					ConfigurationManager.isNativeBinaryCompression());
+				break;
+
 			case HDF5:
 				if(props != null && !(props instanceof FileFormatPropertiesHDF5))
 					throw new DMLRuntimeException("Wrong type of file format properties for HDF5 writer.");
@@ -23,26 +23,45 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.lib.CLALibAppend;
+import org.apache.sysds.runtime.compress.lib.CLALibRBind;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.instructions.spark.data.IndexedMatrixValue;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 
 public class ReaderBinaryBlock extends MatrixReader
 {
 	protected boolean _localFS = false;
+	protected boolean _readCompressed = false;
 	
 	public ReaderBinaryBlock( boolean localFS )
 	{
 		_localFS = localFS;
+		_readCompressed = ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.COMPRESSED_BINARYBLOCK);
+	}
+	
+	public void setReadCompressed(boolean compressed) {
+		_readCompressed = compressed;
 	}
 	
 	public void setLocalFS(boolean flag) {
@@ -57,9 +76,6 @@ public class ReaderBinaryBlock extends MatrixReader
 		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
 			return new MatrixBlock((int)rlen, (int)clen, true);
 		
-		//allocate output matrix block
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, false, false);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -67,6 +83,14 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
+		
+		//read compressed blocks into a compressed matrix block
+		if( isCompressedBinaryBlock(path, job, fs) )
+			return prepareCompressedOutput(
+				readCompressedBinaryBlockMatrixFromHDFS(path, job, fs, rlen, clen, 1), 1);
+		
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, false, false);
 	
 		//core read 
 		readBinaryBlockMatrixFromHDFS(path, job, fs, ret, rlen, clen, blen);
@@ -79,6 +103,45 @@ public class ReaderBinaryBlock extends MatrixReader
 		return ret;
 	}
 	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz, IndexRange ixrange)
+		throws IOException, DMLRuntimeException
+	{
+		if( ixrange == null )
+			return readMatrixFromHDFS(fname, rlen, clen, blen, estnnz);
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//read compressed blocks of the index range and slice the index range
+		if( isCompressedBinaryBlock(path, job, fs) )
+			return prepareCompressedOutput(
+				readCompressedBinaryBlockRangeFromHDFS(path, job, fs, ixrange, blen, 1), 1);
+		
+		//allocate output matrix block of the index range
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, false, false);
+		
+		//core read (w/o deserialization of blocks outside the index range)
+		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
+			HDFSTool.addBinaryBlockSerializationFramework( job );
+		long lnnz = 0;
+		for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) )
+			lnnz += readBinaryBlockRangeFromHDFS(lpath, job, ret, ixrange, blen, false);
+		
+		//post-processing (sort if multiple column blocks)
+		ret.setNonZeros(lnnz);
+		if( ret.isInSparseFormat() && ixrange.colStart/blen != ixrange.colEnd/blen )
+			ret.sortSparseRows();
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
 	@Override
 	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz) 
 		throws IOException, DMLRuntimeException 
@@ -99,6 +162,13 @@ public class ReaderBinaryBlock extends MatrixReader
 		
 		//check existence and non-empty file
 		checkValidInputFile(fs, path);
+		
+		//read compressed blocks as individual blocks
+		if( isCompressedBinaryBlock(path, job, fs) ) {
+			for( Entry<MatrixIndexes, CompressedMatrixBlock> e : readCompressedBlocks(path, job, fs, null, -1, 1).entrySet() )
+				ret.add(new IndexedMatrixValue(e.getKey(), prepareCompressedOutput(e.getValue(), 1)));
+			return ret;
+		}
 	
 		//core read 
 		readBinaryBlockMatrixBlocksFromHDFS(path, job, fs, ret, rlen, clen, blen);
@@ -210,6 +280,251 @@ public class ReaderBinaryBlock extends MatrixReader
 		}
 	}
 	
+	/**
+	 * Decompresses a matrix read from compressed blocks, unless compressed reads are
+	 * enabled via sysds.compressed.binaryblock. Compressed binary block files are detected
+	 * independent of this flag, so files written with the flag remain readable without it.
+	 * 
+	 * @param ret matrix block read from compressed blocks
+	 * @param k degree of parallelism for decompression
+	 * @return the given matrix block, or its decompressed copy
+	 */
+	protected MatrixBlock prepareCompressedOutput( MatrixBlock ret, int k ) {
+		if( !_readCompressed && ret instanceof CompressedMatrixBlock )
+			return ((CompressedMatrixBlock) ret).decompress(k);
+		return ret;
+	}
+	
+	/**
+	 * Indicates if the given binary block input contains compressed blocks, which are
+	 * written for compressed matrices if enabled via sysds.compressed.binaryblock.
+	 * The probe only reads the header of the first sequence file and is therefore
+	 * applied to all binary block inputs, independent of the configuration.
+	 * 
+	 * @param path file path
+	 * @param job job configuration
+	 * @param fs file system
+	 * @return true if the value class of the sequence files is the compressed matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	protected static boolean isCompressedBinaryBlock( Path path, JobConf job, FileSystem fs )
+		throws IOException
+	{
+		Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		if( files.length == 0 )
+			return false;
+		SequenceFile.Reader reader = new SequenceFile
+			.Reader(job, SequenceFile.Reader.file(files[0]));
+		try {
+			return CompressedMatrixBlock.class.equals(reader.getValueClass());
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+	}
+	
+	/**
+	 * Reads a binary block input of compressed blocks into a compressed matrix block.
+	 * The compressed blocks of a row band are appended column-wise, and the row bands
+	 * are combined on their column groups, without decompressing the blocks.
+	 * 
+	 * @param path file path
+	 * @param job job configuration
+	 * @param fs file system
+	 * @param rlen number of rows (-1 if unknown)
+	 * @param clen number of columns (-1 if unknown)
+	 * @param k degree of parallelism for reading the files and combining the blocks
+	 * @return matrix block (compressed unless the row bands do not share their column groups)
+	 * @throws IOException if IOException occurs
+	 */
+	protected static MatrixBlock readCompressedBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs,
+		long rlen, long clen, int k ) 
+		throws IOException
+	{
+		Map<MatrixIndexes, CompressedMatrixBlock> blocks = readCompressedBlocks(path, job, fs, null, -1, k);
+		if( blocks.isEmpty() )
+			throw new IOException("Empty compressed binary block input: "+path.toString());
+		
+		//combine all blocks
+		int nrb = 0, ncb = 0;
+		for( MatrixIndexes ix : blocks.keySet() ) {
+			nrb = (int)Math.max(nrb, ix.getRowIndex());
+			ncb = (int)Math.max(ncb, ix.getColumnIndex());
+		}
+		MatrixBlock ret = combineCompressedBlocks(blocks, 1, nrb, 1, ncb, k);
+		
+		//bound check of the overall matrix
+		if( (rlen >= 0 && ret.getNumRows() != rlen) || (clen >= 0 && ret.getNumColumns() != clen) )
+			throw new IOException("Compressed binary block input of size ["+ret.getNumRows()+","+ret.getNumColumns()+"] " +
+				"does not match the overall matrix range [1:"+rlen+",1:"+clen+"].");
+		return ret;
+	}
+	
+	/**
+	 * Reads the given index range from a binary block input of compressed blocks. Only
+	 * the blocks that intersect the index range are deserialized and combined, and the
+	 * combined blocks are sliced to the index range.
+	 * 
+	 * @param path file path
+	 * @param job job configuration
+	 * @param fs file system
+	 * @param ixrange index range (0-based, inclusive)
+	 * @param blen block size
+	 * @param k degree of parallelism
+	 * @return matrix block of the index range
+	 * @throws IOException if IOException occurs
+	 */
+	protected static MatrixBlock readCompressedBinaryBlockRangeFromHDFS( Path path, JobConf job, FileSystem fs,
+		IndexRange ixrange, int blen, int k )
+		throws IOException
+	{
+		Map<MatrixIndexes, CompressedMatrixBlock> blocks = readCompressedBlocks(path, job, fs, ixrange, blen, k);
+		
+		//combine the blocks of the index range (1-based block indexes)
+		int rbl = (int)(ixrange.rowStart/blen) + 1, rbu = (int)(ixrange.rowEnd/blen) + 1;
+		int cbl = (int)(ixrange.colStart/blen) + 1, cbu = (int)(ixrange.colEnd/blen) + 1;
+		MatrixBlock tmp = combineCompressedBlocks(blocks, rbl, rbu, cbl, cbu, k);
+		
+		//slice the index range relative to the combined blocks
+		long roff = (long)(rbl-1)*blen, coff = (long)(cbl-1)*blen;
+		if( ixrange.rowEnd - roff >= tmp.getNumRows() || ixrange.colEnd - coff >= tmp.getNumColumns() )
+			throw new IOException("Index range "+ixrange+" out of compressed binary block input: "+path.toString());
+		return tmp.slice((int)(ixrange.rowStart-roff), (int)(ixrange.rowEnd-roff),
+			(int)(ixrange.colStart-coff), (int)(ixrange.colEnd-coff));
+	}
+	
+	private static Map<MatrixIndexes, CompressedMatrixBlock> readCompressedBlocks( Path path, JobConf job,
+		FileSystem fs, IndexRange ixrange, int blen, int k )
+		throws IOException
+	{
+		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
+			HDFSTool.addBinaryBlockSerializationFramework( job );
+		
+		//read all compressed blocks (of the index range, w/o reuse, since the blocks are kept)
+		Map<MatrixIndexes, CompressedMatrixBlock> blocks = new ConcurrentHashMap<>();
+		Path[] files = IOUtilFunctions.getSequenceFilePaths(fs, path);
+		List<ReadCompressedFileTask> tasks = new ArrayList<>();
+		for( Path lpath : files )
+			tasks.add(new ReadCompressedFileTask(lpath, job, blocks, ixrange, blen));
+		if( k > 1 && files.length > 1 ) {
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+			}
+			catch(Exception e) {
+				throw new IOException("Failed parallel read of compressed binary block input.", e);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		else {
+			for( ReadCompressedFileTask task : tasks )
+				task.call();
+		}
+		return blocks;
+	}
+	
+	/**
+	 * Combines the given range of compressed blocks (1-based, inclusive block indexes).
+	 * The compressed blocks of a row band are appended column-wise, and the row bands
+	 * are combined on their column groups, without decompressing the blocks.
+	 */
+	private static MatrixBlock combineCompressedBlocks( Map<MatrixIndexes, CompressedMatrixBlock> blocks,
+		int rbl, int rbu, int cbl, int cbu, int k )
+		throws IOException
+	{
+		CompressedMatrixBlock[] bands = new CompressedMatrixBlock[rbu-rbl+1];
+		for( int i=rbl; i<=rbu; i++ ) {
+			CompressedMatrixBlock band = null;
+			for( int j=cbl; j<=cbu; j++ ) {
+				CompressedMatrixBlock blk = blocks.get(new MatrixIndexes(i, j));
+				if( blk == null || (band != null && blk.getNumRows() != band.getNumRows())
+					|| (i > rbl && blk.getNumColumns() != blocks.get(new MatrixIndexes(rbl, j)).getNumColumns()) )
+					throw new IOException("Missing or misaligned compressed block ("+i+","+j+") in binary block input.");
+				band = (band == null) ? blk :
+					(CompressedMatrixBlock) CLALibAppend.append(band, blk, false);
+			}
+			bands[i-rbl] = band;
+		}
+		return CLALibRBind.rbindBands(bands, k);
+	}
+	
+	/**
+	 * Reads the given index range from a single sequence file into the output block
+	 * (of the size of the index range). Blocks outside the index range are skipped by
+	 * only reading their keys, which avoids the deserialization of their values.
+	 * 
+	 * @param path sequence file path
+	 * @param job job configuration
+	 * @param dest matrix block of the index range
+	 * @param ixrange index range (0-based, inclusive)
+	 * @param blen block size
+	 * @param sync synchronize sparse appends for concurrent readers
+	 * @return number of non-zeros read
+	 * @throws IOException if IOException occurs
+	 */
+	protected static long readBinaryBlockRangeFromHDFS( Path path, JobConf job, MatrixBlock dest, IndexRange ixrange, int blen, boolean sync )
+		throws IOException
+	{
+		boolean sparse = dest.isInSparseFormat();
+		MatrixIndexes key = new MatrixIndexes(); 
+		MatrixBlock value = getReuseBlock(blen, sparse);
+		long lnnz = 0;
+		
+		SequenceFile.Reader reader = new SequenceFile
+			.Reader(job, SequenceFile.Reader.file(path));
+		try
+		{
+			while( reader.next(key) )
+			{
+				//skip blocks outside the index range
+				long row_offset = (key.getRowIndex()-1)*blen;
+				long col_offset = (key.getColumnIndex()-1)*blen;
+				if( row_offset > ixrange.rowEnd || row_offset + blen <= ixrange.rowStart
+					|| col_offset > ixrange.colEnd || col_offset + blen <= ixrange.colStart )
+					continue;
+				reader.getCurrentValue(value);
+				if( value.isEmptyBlock(false) )
+					continue;
+				
+				//slice intersection of block and index range
+				int rl = (int)Math.max(ixrange.rowStart - row_offset, 0);
+				int ru = (int)Math.min(ixrange.rowEnd - row_offset, value.getNumRows()-1);
+				int cl = (int)Math.max(ixrange.colStart - col_offset, 0);
+				int cu = (int)Math.min(ixrange.colEnd - col_offset, value.getNumColumns()-1);
+				MatrixBlock part = (rl == 0 && cl == 0 && ru == value.getNumRows()-1
+					&& cu == value.getNumColumns()-1) ? value : value.slice(rl, ru, cl, cu);
+				if( part.isEmptyBlock(false) )
+					continue;
+				
+				//copy block to result (relative to the index range)
+				int rpos = (int)(row_offset + rl - ixrange.rowStart);
+				int cpos = (int)(col_offset + cl - ixrange.colStart);
+				if( sparse ) {
+					if( sync ) {
+						synchronized( dest ) {
+							dest.appendToSparse(part, rpos, cpos);
+						}
+					}
+					else
+						dest.appendToSparse(part, rpos, cpos);
+				}
+				else {
+					dest.copy(rpos, rpos+part.getNumRows()-1,
+						cpos, cpos+part.getNumColumns()-1, part, false);
+				}
+				lnnz += part.getNonZeros();
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(reader);
+		}
+		
+		return lnnz;
+	}
+	
 	private static void readBinaryBlockMatrixBlocksFromHDFS( Path path, JobConf job, FileSystem fs, Collection<IndexedMatrixValue> dest, long rlen, long clen, int blen )
 		throws IOException
 	{
@@ -252,4 +567,49 @@ public class ReaderBinaryBlock extends MatrixReader
 			}
 		}
 	}
+
+	private static class ReadCompressedFileTask implements Callable<Object>
+	{
+		private final Path _path;
+		private final JobConf _job;
+		private final Map<MatrixIndexes, CompressedMatrixBlock> _blocks;
+		private final IndexRange _ixrange;
+		private final int _blen;
+		
+		public ReadCompressedFileTask(Path path, JobConf job, Map<MatrixIndexes, CompressedMatrixBlock> blocks,
+			IndexRange ixrange, int blen)
+		{
+			_path = path;
+			_job = job;
+			_blocks = blocks;
+			_ixrange = ixrange;
+			_blen = blen;
+		}
+
+		@Override
+		public Object call() throws IOException {
+			MatrixIndexes key = new MatrixIndexes();
+			SequenceFile.Reader reader = new SequenceFile
+				.Reader(_job, SequenceFile.Reader.file(_path));
+			try {
+				while( reader.next(key) ) {
+					//skip blocks outside the index range (w/o deserialization)
+					if( _ixrange != null ) {
+						long row_offset = (key.getRowIndex()-1)*_blen;
+						long col_offset = (key.getColumnIndex()-1)*_blen;
+						if( row_offset > _ixrange.rowEnd || row_offset + _blen <= _ixrange.rowStart
+							|| col_offset > _ixrange.colEnd || col_offset + _blen <= _ixrange.colStart )
+							continue;
+					}
+					CompressedMatrixBlock value = new CompressedMatrixBlock();
+					reader.getCurrentValue(value);
+					_blocks.put(new MatrixIndexes(key), value);
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return null;
+		}
+	}
 }
@@ -31,24 +31,33 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockBuilder;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.HDFSTool;
+import org.apache.sysds.runtime.util.IndexRange;
 
 
 public class ReaderBinaryBlockParallel extends ReaderBinaryBlock 
 {	
 	private static int _numThreads = 1;
+	private boolean _compressOnRead = false;
 	
 	public ReaderBinaryBlockParallel( boolean localFS )
 	{
 		super(localFS);
 		_numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
+		_compressOnRead = ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.COMPRESSED_ONREAD);
+	}
+	
+	public void setCompressOnRead(boolean compress) {
+		_compressOnRead = compress;
 	}
 	
 	@Override
@@ -59,9 +68,6 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		if( RETURN_EMPTY_NNZ0 && estnnz == 0 )
 			return new MatrixBlock((int)rlen, (int)clen, true);
 		
-		//allocate output matrix block (incl block allocation for parallel)
-		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
-		
 		//prepare file access
 		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());	
 		Path path = new Path( (_localFS ? "file:///" : "") + fname); 
@@ -70,6 +76,18 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		//check existence and non-empty file
 		checkValidInputFile(fs, path); 
 		
+		//read compressed blocks into a compressed matrix block
+		if( isCompressedBinaryBlock(path, job, fs) )
+			return prepareCompressedOutput(
+				readCompressedBinaryBlockMatrixFromHDFS(path, job, fs, rlen, clen, _numThreads), _numThreads);
+		
+		//compress while reading, w/o materializing the uncompressed matrix
+		if( _compressOnRead && CompressedMatrixBlockBuilder.isApplicable(rlen, clen, blen) )
+			return readCompressedMatrixFromHDFS(fname, rlen, clen, blen);
+		
+		//allocate output matrix block (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
+		
 		//core read
 		int numThreads = OptimizerUtils.getParallelBinaryReadParallelism();
 		long numBlocks = (long)Math.ceil((double)rlen / blen);
@@ -84,6 +102,87 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 		return ret;
 	}
 
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz, IndexRange ixrange)
+		throws IOException, DMLRuntimeException
+	{
+		if( ixrange == null )
+			return readMatrixFromHDFS(fname, rlen, clen, blen, estnnz);
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//read compressed blocks of the index range and slice the index range
+		if( isCompressedBinaryBlock(path, job, fs) )
+			return prepareCompressedOutput(
+				readCompressedBinaryBlockRangeFromHDFS(path, job, fs, ixrange, blen, _numThreads), _numThreads);
+		
+		//allocate output matrix block of the index range (incl block allocation for parallel)
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
+		
+		//core read (w/o deserialization of blocks outside the index range)
+		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
+			HDFSTool.addBinaryBlockSerializationFramework( job );
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			ArrayList<ReadFileRangeTask> tasks = new ArrayList<>();
+			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) )
+				tasks.add(new ReadFileRangeTask(lpath, job, ret, ixrange, blen));
+			long lnnz = 0;
+			for( Future<Long> task : pool.invokeAll(tasks) )
+				lnnz += task.get();
+			
+			//post-processing (sort if multiple column blocks)
+			ret.setNonZeros(lnnz);
+			if( ret.isInSparseFormat() && ixrange.colStart/blen != ixrange.colEnd/blen )
+				sortSparseRowsParallel(ret, rlen, _numThreads, pool);
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel read of binary block input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		ret.examSparsity();
+		
+		return ret;
+	}
+
+	private MatrixBlock readCompressedMatrixFromHDFS(String fname, long rlen, long clen, int blen)
+		throws IOException, DMLRuntimeException
+	{
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( (_localFS ? "file:///" : "") + fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		checkValidInputFile(fs, path);
+		if( HDFSTool.USE_BINARYBLOCK_SERIALIZATION )
+			HDFSTool.addBinaryBlockSerializationFramework( job );
+		
+		//core read, encoding blocks directly into the column groups
+		CompressedMatrixBlockBuilder builder = new CompressedMatrixBlockBuilder(rlen, clen, blen, _numThreads);
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			ArrayList<ReadFileCompressTask> tasks = new ArrayList<>();
+			for( Path lpath : IOUtilFunctions.getSequenceFilePaths(fs, path) )
+				tasks.add(new ReadFileCompressTask(lpath, job, builder, rlen, clen, blen));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel compressed read of binary block input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		return builder.build();
+	}
+
 	private static void readBinaryBlockMatrixFromHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock dest,
 			long rlen, long clen, int blen, boolean syncBlock )
 		throws IOException, DMLRuntimeException
@@ -223,4 +322,75 @@ public class ReaderBinaryBlockParallel extends ReaderBinaryBlock
 			return lnnz;
 		}
 	}
+
+	private static class ReadFileCompressTask implements Callable<Object>
+	{
+		private final Path _path;
+		private final JobConf _job;
+		private final CompressedMatrixBlockBuilder _builder;
+		private final long _rlen, _clen;
+		private final int _blen;
+		
+		public ReadFileCompressTask(Path path, JobConf job, CompressedMatrixBlockBuilder builder, long rlen, long clen, int blen) {
+			_path = path;
+			_job = job;
+			_builder = builder;
+			_rlen = rlen;
+			_clen = clen;
+			_blen = blen;
+		}
+		
+		@Override
+		public Object call() throws Exception {
+			MatrixIndexes key = new MatrixIndexes();
+			MatrixBlock value = new MatrixBlock();
+			SequenceFile.Reader reader = new SequenceFile
+				.Reader(_job, SequenceFile.Reader.file(_path));
+			try {
+				while( reader.next(key, value) ) {
+					int row_offset = (int)(key.getRowIndex()-1)*_blen;
+					int col_offset = (int)(key.getColumnIndex()-1)*_blen;
+					int rows = value.getNumRows();
+					int cols = value.getNumColumns();
+					
+					//bound check per block
+					if( row_offset + rows < 0 || row_offset + rows > _rlen 
+						|| col_offset + cols<0 || col_offset + cols > _clen ) {
+						throw new IOException("Matrix block ["+(row_offset+1)+":"
+							+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+							"out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+					}
+					
+					//encode block (incl empty blocks to complete row bands)
+					_builder.appendBlock(value, row_offset, col_offset);
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return null;
+		}
+	}
+
+	private static class ReadFileRangeTask implements Callable<Long>
+	{
+		private final Path _path;
+		private final JobConf _job;
+		private final MatrixBlock _dest;
+		private final IndexRange _ixrange;
+		private final int _blen;
+		
+		public ReadFileRangeTask(Path path, JobConf job, MatrixBlock dest, IndexRange ixrange, int blen) {
+			_path = path;
+			_job = job;
+			_dest = dest;
+			_ixrange = ixrange;
+			_blen = blen;
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			return readBinaryBlockRangeFromHDFS(_path, _job, _dest, _ixrange, _blen, true);
+		}
+	}
 }
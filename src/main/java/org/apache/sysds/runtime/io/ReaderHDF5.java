@@ -33,8 +33,11 @@ import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.io.hdf5.H5;
+import org.apache.sysds.runtime.io.hdf5.H5ChunkedDataset;
+import org.apache.sysds.runtime.io.hdf5.H5ChunkedDataset.H5Chunk;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
 import org.apache.sysds.runtime.io.hdf5.H5ContiguousDataset;
+import org.apache.sysds.runtime.io.hdf5.H5ObjectHeader;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
@@ -129,7 +132,18 @@ public class ReaderHDF5 extends MatrixReader {
 		bis.mark(0);
 		long lnnz = 0;
 		H5RootObject rootObject = H5.H5Fopen(bis);
-		H5ContiguousDataset contiguousDataset = H5.H5Dopen(rootObject, datasetName);
+		H5ObjectHeader header = H5.H5Oopen(rootObject, datasetName);
+
+		//chunked datasets are read chunk-wise into the rows [row, rlen)
+		if(rootObject.getDataLayoutClass() == H5Constants.CHUNKED_LAYOUT) {
+			H5ChunkedDataset chunkedDataset = new H5ChunkedDataset(rootObject, header);
+			List<H5Chunk> chunks = chunkedDataset.getChunks();
+			lnnz = readChunksFromHDF5(chunkedDataset, chunks, 0, chunks.size(),
+				dest, row, (int) rlen, rootObject.getDimensions()[1]);
+			IOUtilFunctions.closeSilently(bis);
+			return lnnz;
+		}
+		H5ContiguousDataset contiguousDataset = new H5ContiguousDataset(rootObject, header);
 
 		int[] dims = rootObject.getDimensions();
 		int ncol = dims[1];
@@ -150,6 +164,56 @@ public class ReaderHDF5 extends MatrixReader {
 		return lnnz;
 	}
 
+	/**
+	 * Reads the given range of chunks of a chunked dataset into the dense output block,
+	 * where only the rows [rl, ru) are copied. Tasks over disjoint rows can safely
+	 * call this method concurrently if the root object of the dataset uses positional reads.
+	 *
+	 * @param dataset chunked dataset
+	 * @param chunks  chunks of the dataset, sorted by row offsets
+	 * @param from    index of first chunk (inclusive)
+	 * @param to      index of last chunk (exclusive)
+	 * @param dest    dense output matrix block
+	 * @param rl      row lower bound (inclusive)
+	 * @param ru      row upper bound (exclusive)
+	 * @param clen    number of columns
+	 * @return number of non-zeros
+	 */
+	protected static long readChunksFromHDF5(H5ChunkedDataset dataset, List<H5Chunk> chunks, int from, int to,
+		MatrixBlock dest, int rl, int ru, int clen) {
+		DenseBlock denseBlock = dest.getDenseBlock();
+		int crows = dataset.getChunkRows();
+		int ccols = dataset.getChunkCols();
+		double[] data = new double[crows * ccols];
+		long lnnz = 0;
+		for(int k = from; k < to; k++) {
+			H5Chunk chunk = chunks.get(k);
+			int r0 = (int) chunk.getRowOffset();
+			int c0 = (int) chunk.getColOffset();
+			int rs = Math.max(r0, rl);
+			int re = Math.min(r0 + crows, ru);
+			int clen2 = Math.min(c0 + ccols, clen) - c0;
+			if(rs >= re || clen2 <= 0)
+				continue;
+
+			//read and decode chunk, copy w/o padding of boundary chunks
+			H5.H5Dread(dataset, chunk, data);
+			for(int i = rs; i < re; i++) {
+				double[] avals = denseBlock.values(i);
+				int apos = denseBlock.pos(i, c0);
+				int off = (i - r0) * ccols;
+				for(int j = 0; j < clen2; j++) {
+					double v = data[off + j];
+					if(v != 0) {
+						avals[apos + j] = v;
+						lnnz++;
+					}
+				}
+			}
+		}
+		return lnnz;
+	}
+
 	public static MatrixBlock computeHDF5Size(List<Path> files, FileSystem fs, String datasetName)
 		throws IOException, DMLRuntimeException {
 		int nrow = 0;
@@ -158,7 +222,7 @@ public class ReaderHDF5 extends MatrixReader {
 
 			BufferedInputStream bis = new BufferedInputStream(fs.open(files.get(fileNo)));
 			H5RootObject rootObject = H5.H5Fopen(bis);
-			H5.H5Dopen(rootObject, datasetName);
+			H5.H5Oopen(rootObject, datasetName);
 
 			int[] dims = rootObject.getDimensions();
 			nrow += dims[0];
@@ -19,6 +19,7 @@
 
 package org.apache.sysds.runtime.io;
 
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.hadoop.fs.FileSystem;
 import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.mapred.FileInputFormat;
@@ -27,7 +28,12 @@ import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.io.hdf5.H5;
+import org.apache.sysds.runtime.io.hdf5.H5ChunkedDataset;
+import org.apache.sysds.runtime.io.hdf5.H5ChunkedDataset.H5Chunk;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
+import org.apache.sysds.runtime.io.hdf5.H5ObjectHeader;
+import org.apache.sysds.runtime.io.hdf5.H5RootObject;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import java.io.BufferedInputStream;
@@ -66,6 +72,18 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
+		// read chunked datasets in parallel over chunks (positional reads w/o full file buffering)
+		FSDataInputStream in = fs.open(path);
+		try {
+			H5RootObject rootObject = H5.H5Fopen(in);
+			H5ObjectHeader header = H5.H5Oopen(rootObject, _props.getDatasetName());
+			if(rootObject.getDataLayoutClass() == H5Constants.CHUNKED_LAYOUT)
+				return readChunkedMatrixFromHDF5(rootObject, new H5ChunkedDataset(rootObject, header));
+		}
+		finally {
+			IOUtilFunctions.closeSilently(in);
+		}
+
 		// allocate output matrix block
 		ArrayList<Path> files = new ArrayList<>();
 		files.add(path);
@@ -101,6 +119,55 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 		return src;
 	}
 
+	private MatrixBlock readChunkedMatrixFromHDF5(H5RootObject rootObject, H5ChunkedDataset dataset)
+		throws IOException
+	{
+		// allocate output matrix block
+		int rlen = rootObject.getDimensions()[0];
+		int clen = rootObject.getDimensions()[1];
+		MatrixBlock dest = createOutputMatrixBlock(rlen, clen, rlen, (long) rlen * clen, true, false);
+		List<H5Chunk> chunks = dataset.getChunks();
+		if(chunks.isEmpty())
+			return dest;
+
+		// create and execute tasks over disjoint ranges of chunk rows, which
+		// allows writing directly into the dense block rows w/o synchronization
+		int crows = dataset.getChunkRows();
+		int ncr = (int) Math.ceil((double) rlen / crows);
+		int k = Math.min(_numThreads, ncr);
+		long blklen = (long) Math.ceil((double) ncr / k) * crows;
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<ReadHDF5ChunksTask> tasks = new ArrayList<>();
+			int pos = 0;
+			for(int i = 0; i < k & pos < chunks.size(); i++) {
+				long ru = (i + 1) * blklen;
+				int end = pos;
+				while(end < chunks.size() && chunks.get(end).getRowOffset() < ru)
+					end++;
+				if(end > pos)
+					tasks.add(new ReadHDF5ChunksTask(dataset, chunks, pos, end, dest, rlen, clen));
+				pos = end;
+			}
+
+			// wait until all tasks have been executed and check for exceptions
+			long lnnz = 0;
+			for(Future<Long> task : pool.invokeAll(tasks))
+				lnnz += task.get();
+			dest.setNonZeros(lnnz);
+		}
+		catch(Exception e) {
+			throw new IOException("Failed parallel read of HDF5 input.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		// finally check if change of sparse/dense block representation required
+		dest.examSparsity();
+		return dest;
+	}
+
 	@Override
 	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
 		throws IOException, DMLRuntimeException {
@@ -130,4 +197,31 @@ public class ReaderHDF5Parallel extends ReaderHDF5 {
 			return null;
 		}
 	}
+
+	private static class ReadHDF5ChunksTask implements Callable<Long> {
+
+		private final H5ChunkedDataset _dataset;
+		private final List<H5Chunk> _chunks;
+		private final int _from;
+		private final int _to;
+		private final MatrixBlock _dest;
+		private final int _rlen;
+		private final int _clen;
+
+		public ReadHDF5ChunksTask(H5ChunkedDataset dataset, List<H5Chunk> chunks, int from, int to,
+			MatrixBlock dest, int rlen, int clen) {
+			_dataset = dataset;
+			_chunks = chunks;
+			_from = from;
+			_to = to;
+			_dest = dest;
+			_rlen = rlen;
+			_clen = clen;
+		}
+
+		@Override
+		public Long call() {
+			return readChunksFromHDF5(_dataset, _chunks, _from, _to, _dest, 0, _rlen, _clen);
+		}
+	}
 }
@@ -0,0 +1,257 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataInput;
+import org.apache.sysds.runtime.data.SparseBlockMCSR;
+import org.apache.sysds.runtime.io.WriterNativeBinary.IndexEntry;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+import net.jpountz.lz4.LZ4FastDecompressor;
+import net.jpountz.lz4.LZ4Factory;
+
+/**
+ * Reader for the native local binary block format (see WriterNativeBinary).
+ * The block index footer allows reading all blocks in parallel via positional
+ * reads (or memory-mapped reads for large blocks) without any Hadoop sequence
+ * file or Writable overheads. Tasks are formed over disjoint ranges of block
+ * rows, which makes synchronization and final sorting of sparse rows unnecessary.
+ */
+public class ReaderNativeBinary extends MatrixReader
+{
+	//min block size for memory-mapped instead of positional reads
+	private static final int MIN_MMAP_SIZE = 1024 * 1024;
+
+	private final int _numThreads;
+
+	public ReaderNativeBinary(int numThreads) {
+		_numThreads = Math.max(numThreads, 1);
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		File file = WriterNativeBinary.getLocalFile(fname);
+		if( !file.exists() )
+			throw new IOException("File " + fname + " does not exist on local file system.");
+
+		try( RandomAccessFile raf = new RandomAccessFile(file, "r"); FileChannel channel = raf.getChannel() ) {
+			//read header and block index
+			ByteBuffer header = readFully(channel, 0, WriterNativeBinary.HEADER_SIZE);
+			if( header.getInt() != WriterNativeBinary.MAGIC )
+				throw new IOException("Invalid native binary block file: " + fname);
+			int version = header.getInt();
+			if( version != WriterNativeBinary.VERSION )
+				throw new IOException("Unsupported native binary block version: " + version);
+			long frlen = header.getLong();
+			long fclen = header.getLong();
+			int fblen = header.getInt();
+			if( (rlen >= 0 && rlen != frlen) || (clen >= 0 && clen != fclen) ) {
+				throw new IOException("Mismatching dimensions of native binary block file "
+					+ fname + ": [" + frlen + "x" + fclen + "] vs [" + rlen + "x" + clen + "].");
+			}
+			IndexEntry[] index = readIndex(channel, fname);
+
+			//allocate output matrix block (incl block allocation for parallel)
+			long lnnz = 0;
+			for( IndexEntry e : index )
+				lnnz += e.nnz;
+			MatrixBlock ret = createOutputMatrixBlock(frlen, fclen, fblen, lnnz, true, true);
+			if( index.length == 0 )
+				return ret;
+
+			//core read sequential/parallel
+			readBlocks(channel, index, ret, frlen, fclen, fblen);
+
+			//finally check if change of sparse/dense block representation required
+			ret.setNonZeros(lnnz);
+			ret.examSparsity();
+			return ret;
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		throw new DMLRuntimeException("Not implemented yet.");
+	}
+
+	private void readBlocks(FileChannel channel, IndexEntry[] index, MatrixBlock dest, long rlen, long clen, int blen)
+		throws IOException
+	{
+		//sort blocks by block row and column, which keeps appended sparse rows sorted
+		Arrays.sort(index, Comparator.comparingLong((IndexEntry e) -> e.rix).thenComparingLong(e -> e.cix));
+
+		//determine degree of parallelism (concurrent sparse appends require MCSR)
+		int nrb = (int)Math.ceil((double)rlen / blen);
+		int k = (dest.isInSparseFormat() && !(dest.getSparseBlock() instanceof SparseBlockMCSR)) ?
+			1 : Math.min(_numThreads, nrb);
+
+		if( k <= 1 ) {
+			new ReadBlocksTask(channel, index, 0, index.length, dest, rlen, clen, blen).call();
+			return;
+		}
+
+		//parallel read over disjoint ranges of block rows
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<ReadBlocksTask> tasks = new ArrayList<>();
+			int blklen = (int)Math.ceil((double)nrb / k);
+			int pos = 0;
+			for( int i=0; i<k & pos<index.length; i++ ) {
+				long bru = (long)(i+1) * blklen; //exclusive, 1-based
+				int end = pos;
+				while( end < index.length && index[end].rix <= bru )
+					end++;
+				if( end > pos )
+					tasks.add(new ReadBlocksTask(channel, index, pos, end, dest, rlen, clen, blen));
+				pos = end;
+			}
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of native binary block input.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static IndexEntry[] readIndex(FileChannel channel, String fname)
+		throws IOException
+	{
+		long size = channel.size();
+		ByteBuffer trailer = readFully(channel, size - WriterNativeBinary.TRAILER_SIZE, WriterNativeBinary.TRAILER_SIZE);
+		long footer = trailer.getLong();
+		if( trailer.getInt() != WriterNativeBinary.MAGIC )
+			throw new IOException("Invalid or incomplete native binary block file: " + fname);
+		ByteBuffer buff = readFully(channel, footer, (int)(size - WriterNativeBinary.TRAILER_SIZE - footer));
+		IndexEntry[] ret = new IndexEntry[buff.getInt()];
+		for( int i=0; i<ret.length; i++ ) {
+			ret[i] = new IndexEntry(buff.getLong(), buff.getLong(), buff.getLong(),
+				buff.getLong(), buff.getInt(), buff.getInt(), buff.get() != 0);
+			buff.getLong(); //reserved
+		}
+		return ret;
+	}
+
+	private static ByteBuffer readFully(FileChannel channel, long pos, int len)
+		throws IOException
+	{
+		ByteBuffer buff = ByteBuffer.allocate(len);
+		while( buff.hasRemaining() ) {
+			int n = channel.read(buff, pos + buff.position());
+			if( n < 0 )
+				throw new IOException("Unexpected end of native binary block file.");
+		}
+		buff.flip();
+		return buff;
+	}
+
+	private static class ReadBlocksTask implements Callable<Object>
+	{
+		private final FileChannel _channel;
+		private final IndexEntry[] _index;
+		private final int _rl, _ru;
+		private final MatrixBlock _dest;
+		private final long _rlen, _clen;
+		private final int _blen;
+
+		public ReadBlocksTask(FileChannel channel, IndexEntry[] index, int rl, int ru, MatrixBlock dest, long rlen, long clen, int blen) {
+			_channel = channel;
+			_index = index;
+			_rl = rl;
+			_ru = ru;
+			_dest = dest;
+			_rlen = rlen;
+			_clen = clen;
+			_blen = blen;
+		}
+
+		@Override
+		public Object call() throws IOException {
+			boolean sparse = _dest.isInSparseFormat();
+			MatrixBlock value = ReaderBinaryBlock.getReuseBlock(_blen, sparse);
+			LZ4FastDecompressor decompressor = null;
+			byte[] cbuff = new byte[0];
+
+			for( int i=_rl; i<_ru; i++ ) {
+				IndexEntry e = _index[i];
+
+				//read (and decompress) serialized block
+				byte[] raw = new byte[e.rawLength];
+				if( e.compressed && cbuff.length < e.length )
+					cbuff = new byte[e.length];
+				byte[] data = e.compressed ? cbuff : raw;
+				if( e.length >= MIN_MMAP_SIZE )
+					_channel.map(MapMode.READ_ONLY, e.offset, e.length).get(data, 0, e.length);
+				else
+					readFully(_channel, e.offset, e.length).get(data, 0, e.length);
+				if( e.compressed ) {
+					if( decompressor == null )
+						decompressor = LZ4Factory.fastestInstance().fastDecompressor();
+					decompressor.decompress(data, 0, raw, 0, e.rawLength);
+				}
+				value.readFields(new CacheDataInput(raw));
+
+				int row_offset = (int)(e.rix-1)*_blen;
+				int col_offset = (int)(e.cix-1)*_blen;
+				int rows = value.getNumRows();
+				int cols = value.getNumColumns();
+
+				//bound check per block
+				if( row_offset + rows < 0 || row_offset + rows > _rlen
+					|| col_offset + cols<0 || col_offset + cols > _clen ) {
+					throw new IOException("Matrix block ["+(row_offset+1)+":"
+						+(row_offset+rows)+","+(col_offset+1)+":"+(col_offset+cols)+"] " +
+						"out of overall matrix range [1:"+_rlen+",1:"+_clen+"].");
+				}
+
+				//copy block to result (disjoint rows, no synchronization)
+				if( sparse )
+					_dest.appendToSparse(value, row_offset, col_offset);
+				else
+					_dest.copy(row_offset, row_offset+rows-1,
+						col_offset, col_offset+cols-1, value, false);
+			}
+			return null;
+		}
+	}
+}
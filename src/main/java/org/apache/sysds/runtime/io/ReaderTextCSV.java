@@ -38,6 +38,7 @@ import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 public class ReaderTextCSV extends MatrixReader
@@ -76,6 +77,42 @@ public class ReaderTextCSV extends MatrixReader
 		return ret;
 	}
 	
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz, IndexRange ixrange)
+		throws IOException, DMLRuntimeException
+	{
+		if( ixrange == null )
+			return readMatrixFromHDFS(fname, rlen, clen, blen, estnnz);
+		
+		//allocate output matrix block of the index range
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, (int)rlen, estnnz, true, false);
+		
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path( fname );
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		
+		//check existence and non-empty file
+		checkValidInputFile(fs, path);
+		
+		//core read (parse only rows and columns of the index range)
+		long lnnz = 0;
+		MutableInt row = new MutableInt(0);
+		List<Path> files = getFilePaths(fs, path);
+		for(int fileNo=0; fileNo<files.size() && row.intValue()<=ixrange.rowEnd; fileNo++) {
+			lnnz += readCSVMatrixRangeFromInputStream(fs.open(files.get(fileNo)), path.toString(), ret, row, ixrange,
+				_props.hasHeader(), _props.getDelim(), _props.isFill(), _props.getFillValue(), fileNo==0, _props.getNAStrings());
+		}
+		if( row.intValue() <= ixrange.rowEnd )
+			throw new IOException("Index range "+ixrange+" out of bounds of "+row.intValue()+" rows in "+fname+".");
+		
+		//finally check if change of sparse/dense block representation required
+		ret.setNonZeros( lnnz );
+		ret.examSparsity();
+		
+		return ret;
+	}
+	
 	@Override
 	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz) 
 		throws IOException, DMLRuntimeException 
@@ -100,14 +137,7 @@ public class ReaderTextCSV extends MatrixReader
 		throws IOException, DMLRuntimeException
 	{
 		//prepare file paths in alphanumeric order
-		ArrayList<Path> files=new ArrayList<>();
-		if(fs.getFileStatus(path).isDirectory()) {
-			for(FileStatus stat: fs.listStatus(path, IOUtilFunctions.hiddenFileFilter))
-				files.add(stat.getPath());
-			Collections.sort(files);
-		}
-		else
-			files.add(path);
+		List<Path> files = getFilePaths(fs, path);
 
 		//determine matrix size via additional pass if required
 		if ( dest == null ) {
@@ -218,6 +248,81 @@ public class ReaderTextCSV extends MatrixReader
 		return lnnz;
 	}
 
+	private static long readCSVMatrixRangeFromInputStream( InputStream is, String srcInfo, MatrixBlock dest, MutableInt rowPos,
+			IndexRange ixrange, boolean hasHeader, String delim, boolean fill, double fillValue, boolean first, HashSet<String> naStrings )
+		throws IOException
+	{
+		boolean sparse = dest.isInSparseFormat();
+		DenseBlock a = sparse ? null : dest.getDenseBlock();
+		int rl = (int)ixrange.rowStart, ru = (int)ixrange.rowEnd;
+		int cl = (int)ixrange.colStart, cu = (int)ixrange.colEnd;
+		String value = null;
+		int row = rowPos.intValue();
+		long lnnz = 0;
+		
+		BufferedReader br = new BufferedReader(new InputStreamReader(is));
+		if(first && hasHeader ) 
+			br.readLine(); //ignore header
+		
+		try
+		{
+			//skip rows before and stop after the index range
+			while( row <= ru && (value=br.readLine())!=null ) //foreach line
+			{
+				if( row++ < rl )
+					continue;
+				String cellStr = value.toString().trim();
+				boolean emptyValuesFound = false;
+				String[] parts = IOUtilFunctions.split(cellStr, delim);
+				if( parts.length <= cu ) {
+					throw new IOException("Invalid number of columns (" + parts.length + ", expected>" + cu + ") "
+						+ "found in delimited file (" + srcInfo + ") for line: " + cellStr);
+				}
+				
+				//parse only cells of the column range
+				for( int j=cl; j<=cu; j++ ) {
+					String part = parts[j].trim();
+					double cellValue = 0;
+					if ( part.isEmpty() ) {
+						emptyValuesFound = true;
+						cellValue = fillValue;
+					}
+					else {
+						cellValue = UtilFunctions.parseToDouble(part, naStrings);
+					}
+					if ( cellValue != 0 ) {
+						if( sparse )
+							dest.appendValue(row-1-rl, j-cl, cellValue);
+						else
+							a.set(row-1-rl, j-cl, cellValue);
+						lnnz++;
+					}
+				}
+				
+				//sanity check for empty values
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, fill, emptyValuesFound);
+			}
+		}
+		finally {
+			IOUtilFunctions.closeSilently(br);
+		}
+		
+		rowPos.setValue(row);
+		return lnnz;
+	}
+	
+	private static List<Path> getFilePaths(FileSystem fs, Path path) throws IOException {
+		ArrayList<Path> files=new ArrayList<>();
+		if(fs.getFileStatus(path).isDirectory()) {
+			for(FileStatus stat: fs.listStatus(path, IOUtilFunctions.hiddenFileFilter))
+				files.add(stat.getPath());
+			Collections.sort(files);
+		}
+		else
+			files.add(path);
+		return files;
+	}
+
 	private static MatrixBlock computeCSVSize( List<Path> files, JobConf job, FileSystem fs, boolean hasHeader, String delim, boolean fill, double fillValue) 
 		throws IOException, DMLRuntimeException 
 	{		
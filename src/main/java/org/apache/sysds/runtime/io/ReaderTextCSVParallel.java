@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.io;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
@@ -38,14 +39,17 @@ import org.apache.hadoop.mapred.RecordReader;
 import org.apache.hadoop.mapred.Reporter;
 import org.apache.hadoop.mapred.TextInputFormat;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockBuilder;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseRow;
 import org.apache.sysds.runtime.io.IOUtilFunctions.CountRowsTask;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.IndexRange;
 import org.apache.sysds.runtime.util.UtilFunctions;
 
 /**
@@ -65,10 +69,16 @@ public class ReaderTextCSVParallel extends MatrixReader {
 	protected int _rLen;
 	protected int _cLen;
 	protected JobConf _job;
+	protected boolean _compressOnRead;
 
 	public ReaderTextCSVParallel(FileFormatPropertiesCSV props) {
 		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
 		_props = props;
+		_compressOnRead = ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.COMPRESSED_ONREAD);
+	}
+
+	public void setCompressOnRead(boolean compress) {
+		_compressOnRead = compress;
 	}
 
 	@Override
@@ -92,9 +102,17 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		// check existence and non-empty file
 		checkValidInputFile(fs, path);
 
+		// First Read Pass (count rows/cols, determine offsets)
+		computeCSVSize(splits, path, rlen, clen, -1);
+
+		// compress while reading, w/o materializing the uncompressed matrix
+		if(_compressOnRead && CompressedMatrixBlockBuilder.isApplicable(_rLen, _cLen, blen))
+			return checkNumRows(readCSVMatrixCompressedFromHDFS(splits), rlen);
+
 		// allocate output matrix block
-		// First Read Pass (count rows/cols, determine offsets, allocate matrix block)
-		MatrixBlock ret = computeCSVSizeAndCreateOutputMatrixBlock(splits, path, rlen, clen, blen, estnnz);
+		// need to allocate sparse as well since lock-free insert into target
+		long estnnz2 = (estnnz < 0) ? (long) _rLen * _cLen : estnnz;
+		MatrixBlock ret = createOutputMatrixBlock(_rLen, _cLen, blen, estnnz2, true, true);
 
 		// Second Read Pass (read, parse strings, append to matrix block)
 		readCSVMatrixFromHDFS(splits, path, ret);
@@ -104,11 +122,73 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		// - nnz explicitly maintained in parallel for the individual splits
 		ret.examSparsity();
 
+		return checkNumRows(ret, rlen);
+	}
+
+	private static MatrixBlock checkNumRows(MatrixBlock ret, long rlen) {
 		// sanity check for parallel row count (since determined internally)
 		if(rlen >= 0 && rlen != ret.getNumRows())
 			throw new DMLRuntimeException("Read matrix inconsistent with given meta data: " + "expected nrow=" + rlen
 				+ ", real nrow=" + ret.getNumRows());
+		return ret;
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz, IndexRange ixrange)
+		throws IOException, DMLRuntimeException {
+		if(ixrange == null)
+			return readMatrixFromHDFS(fname, rlen, clen, blen, estnnz);
+		_bLen = blen;
 
+		// prepare file access
+		_job = new JobConf(ConfigurationManager.getCachedJobConf());
+
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, _job);
+
+		FileInputFormat.addInputPath(_job, path);
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(_job);
+
+		InputSplit[] splits = informat.getSplits(_job, _numThreads);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+
+		// check existence and non-empty file
+		checkValidInputFile(fs, path);
+
+		// First Read Pass (count cols and rows of splits up to the end of the row range, validate index range)
+		int numSplits = computeCSVSize(splits, path, -1, -1, ixrange.rowEnd);
+		if((numSplits == splits.length && ixrange.rowEnd >= _rLen) || ixrange.colEnd >= _cLen)
+			throw new DMLRuntimeException("Index range " + ixrange + " out of bounds of read matrix [" + _rLen + "x"
+				+ _cLen + "].");
+
+		// allocate output matrix block of the index range
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen, blen, estnnz, true, true);
+
+		// Second Read Pass (read only splits overlapping the row range, parse only the column range)
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			ArrayList<CSVReadRangeTask> tasks = new ArrayList<>();
+			for(int i = 0; i < numSplits; i++) {
+				int rl = _offsets.getOffsetPerSplit(i);
+				int ru = rl + _offsets.getLenghtPerSplit(i) - 1;
+				if(rl <= ixrange.rowEnd && ru >= ixrange.rowStart)
+					tasks.add(new CSVReadRangeTask(splits[i], informat, ret, i, ixrange));
+			}
+			long lnnz = 0;
+			for(Future<Long> rt : pool.invokeAll(tasks))
+				lnnz += rt.get();
+			ret.setNonZeros(lnnz);
+		}
+		catch(Exception e) {
+			throw new IOException("Thread pool issue, while parallel read.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		// post-processing (change of sparse/dense block representation)
+		ret.examSparsity();
 		return ret;
 	}
 
@@ -157,8 +237,46 @@ public class ReaderTextCSVParallel extends MatrixReader {
 		}
 	}
 
-	private MatrixBlock computeCSVSizeAndCreateOutputMatrixBlock(InputSplit[] splits,
-		Path path, long rlen, long clen, int blen, long estnnz) throws IOException, DMLRuntimeException {
+	private MatrixBlock readCSVMatrixCompressedFromHDFS(InputSplit[] splits) throws IOException {
+		// the input path is already registered with the job by the caller
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(_job);
+
+		CompressedMatrixBlockBuilder builder = new CompressedMatrixBlockBuilder(_rLen, _cLen, _bLen, _numThreads);
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			// create read tasks for all splits, which encode row bands into the builder
+			ArrayList<Callable<Long>> tasks = new ArrayList<>();
+			for(int i = 0; i < splits.length; i++)
+				tasks.add(new CSVReadCompressTask(splits[i], informat, builder, i));
+			for(Future<Long> rt : pool.invokeAll(tasks))
+				rt.get();
+		}
+		catch(Exception e) {
+			throw new IOException("Thread pool issue, while parallel compressed read.", e);
+		}
+		finally {
+			pool.shutdown();
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Computes the number of columns and the row offsets of the splits. If a max row is given, the rows are counted
+	 * in waves of splits (in order of their offsets) until the split that contains the max row, and the remaining
+	 * splits are not counted.
+	 * 
+	 * @param splits sorted input splits
+	 * @param path   file path
+	 * @param rlen   number of rows from the meta data, or -1 if unknown
+	 * @param clen   number of columns from the meta data, or -1 if unknown
+	 * @param maxRow 0-based max row index that needs to be read, or -1 for all rows
+	 * @return number of counted splits
+	 * @throws IOException         if the count of rows fails
+	 * @throws DMLRuntimeException if the meta data dimensions are too small
+	 */
+	private int computeCSVSize(InputSplit[] splits, Path path, long rlen, long clen, long maxRow)
+		throws IOException, DMLRuntimeException {
 		_rLen = 0;
 		_cLen = 0;
 
@@ -180,32 +298,34 @@ public class ReaderTextCSVParallel extends MatrixReader {
 			IOUtilFunctions.closeSilently(reader);
 		}
 
-		// count rows in parallel per split
+		// count rows in parallel per split (all splits at once, or in waves up to the max row)
+		_offsets = new SplitOffsetInfos(splits.length);
+		final int wave = (maxRow < 0) ? splits.length : _numThreads;
+		int i = 0;
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
 		try {
-			ExecutorService pool = CommonThreadPool.get(_numThreads);
-			ArrayList<CountRowsTask> tasks = new ArrayList<>();
-			boolean hasHeader = _props.hasHeader();
-			for(InputSplit split : splits) {
-				tasks.add(new CountRowsTask(split, informat, _job, hasHeader));
-				hasHeader = false;
-			}
-
-			// collect row counts for offset computation
-			// early error notify in case not all tasks successful
-			_offsets = new SplitOffsetInfos(tasks.size());
-			int i = 0;
-			for(Future<Long> rc : pool.invokeAll(tasks)) {
-				int lnrow = (int) rc.get().longValue(); // incl error handling
-				_offsets.setOffsetPerSplit(i, _rLen);
-				_offsets.setLenghtPerSplit(i, lnrow);
-				_rLen = _rLen + lnrow;
-				i++;
+			while(i < splits.length && (maxRow < 0 || _rLen <= maxRow)) {
+				ArrayList<CountRowsTask> tasks = new ArrayList<>();
+				for(int j = i; j < Math.min(i + wave, splits.length); j++)
+					tasks.add(new CountRowsTask(splits[j], informat, _job, j == 0 && _props.hasHeader()));
+
+				// collect row counts for offset computation
+				// early error notify in case not all tasks successful
+				for(Future<Long> rc : pool.invokeAll(tasks)) {
+					int lnrow = (int) rc.get().longValue(); // incl error handling
+					_offsets.setOffsetPerSplit(i, _rLen);
+					_offsets.setLenghtPerSplit(i, lnrow);
+					_rLen = _rLen + lnrow;
+					i++;
+				}
 			}
-			pool.shutdown();
 		}
 		catch(Exception e) {
 			throw new IOException("Thread pool Error " + e.getMessage(), e);
 		}
+		finally {
+			pool.shutdown();
+		}
 
 		// robustness for wrong dimensions which are already compiled into the plan
 		if((rlen != -1 && _rLen != rlen) || (clen != -1 && _cLen != clen)) {
@@ -222,11 +342,7 @@ public class ReaderTextCSVParallel extends MatrixReader {
 				_cLen = (int) clen;
 			}
 		}
-
-		// allocate target matrix block based on given size;
-		// need to allocate sparse as well since lock-free insert into target
-		long estnnz2 = (estnnz < 0) ? (long) _rLen * _cLen : estnnz;
-		return createOutputMatrixBlock(_rLen, _cLen, blen, estnnz2, true, true);
+		return i;
 	}
 
 	private static class SplitOffsetInfos {
@@ -530,4 +646,113 @@ public class ReaderTextCSVParallel extends MatrixReader {
 			return nnz;
 		}
 	}
+
+	private class CSVReadCompressTask extends CSVReadTask {
+		private final CompressedMatrixBlockBuilder _builder;
+
+		public CSVReadCompressTask(InputSplit split, TextInputFormat informat, CompressedMatrixBlockBuilder builder,
+			int splitCount) {
+			super(split, informat, null, splitCount);
+			_builder = builder;
+		}
+
+		protected long parse(RecordReader<LongWritable, Text> reader, LongWritable key, Text value) throws IOException {
+			// parse row bands of blen rows into a reused dense buffer, and encode full bands
+			final MatrixBlock band = new MatrixBlock(_bLen, _cLen, false);
+			band.allocateDenseBlock();
+			final double[] avals = band.getDenseBlockValues();
+			int bandOffset = _row;
+			int pos = 0;
+			long nnz = 0;
+			double cellValue = 0;
+			boolean noFillEmpty = false;
+			while(reader.next(key, value)) { // foreach line
+				final String cellStr = value.toString().trim();
+				final String[] parts = IOUtilFunctions.split(cellStr, _props.getDelim());
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _cLen);
+				final int apos = pos * _cLen;
+				for(_col = 0; _col < _cLen; _col++) { // foreach cell
+					String part = parts[_col].trim();
+					if(part.isEmpty()) {
+						noFillEmpty |= !_props.isFill();
+						cellValue = _props.getFillValue();
+					}
+					else
+						cellValue = UtilFunctions.parseToDouble(part, _props.getNAStrings());
+					if(cellValue != 0) {
+						avals[apos + _col] = cellValue;
+						nnz++;
+					}
+				}
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _props.isFill(), noFillEmpty);
+				_row++;
+				if(++pos == _bLen) {
+					_builder.appendRows(band, bandOffset);
+					Arrays.fill(avals, 0);
+					bandOffset = _row;
+					pos = 0;
+				}
+			}
+			if(pos > 0)
+				_builder.appendRows(band.slice(0, pos - 1), bandOffset);
+			return nnz;
+		}
+	}
+
+	private class CSVReadRangeTask extends CSVReadTask {
+		private final IndexRange _ixrange;
+
+		public CSVReadRangeTask(InputSplit split, TextInputFormat informat, MatrixBlock dest, int splitCount,
+			IndexRange ixrange) {
+			super(split, informat, dest, splitCount);
+			_ixrange = ixrange;
+		}
+
+		protected long parse(RecordReader<LongWritable, Text> reader, LongWritable key, Text value) throws IOException {
+			final boolean sparse = _dest.isInSparseFormat();
+			final SparseBlock sb = sparse ? _dest.getSparseBlock() : null;
+			final DenseBlock a = sparse ? null : _dest.getDenseBlock();
+			final int rl = (int) _ixrange.rowStart, ru = (int) _ixrange.rowEnd;
+			final int cl = (int) _ixrange.colStart, cu = (int) _ixrange.colEnd;
+			long nnz = 0;
+			double cellValue = 0;
+			boolean noFillEmpty = false;
+			while(_row <= ru && reader.next(key, value)) { // foreach line
+				if(_row < rl) { // skip rows before the index range w/o parsing
+					_row++;
+					continue;
+				}
+				final String cellStr = value.toString().trim();
+				final String[] parts = IOUtilFunctions.split(cellStr, _props.getDelim());
+				IOUtilFunctions.checkAndRaiseErrorCSVNumColumns(_split.toString(), cellStr, parts, _cLen);
+				for(_col = cl; _col <= cu; _col++) { // foreach cell of the column range
+					String part = parts[_col].trim();
+					if(part.isEmpty()) {
+						noFillEmpty |= !_props.isFill();
+						cellValue = _props.getFillValue();
+					}
+					else
+						cellValue = UtilFunctions.parseToDouble(part, _props.getNAStrings());
+
+					if(cellValue != 0) {
+						if(sparse)
+							sb.append(_row - rl, _col - cl, cellValue);
+						else
+							a.set(_row - rl, _col - cl, cellValue);
+						nnz++;
+					}
+				}
+				IOUtilFunctions.checkAndRaiseErrorCSVEmptyField(cellStr, _props.isFill(), noFillEmpty);
+				_row++;
+			}
+			return nnz;
+		}
+
+		@Override
+		protected void verifyRows(Text value) throws IOException {
+			// early-terminated splits are only verified if fully read
+			if(_row <= _ixrange.rowEnd)
+				super.verifyRows(value);
+		}
+	}
 }
@@ -26,7 +26,10 @@ import org.apache.hadoop.fs.Path;
 import org.apache.hadoop.io.SequenceFile;
 import org.apache.hadoop.mapred.JobConf;
 import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.lib.CLALibSlice;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.util.HDFSTool;
@@ -34,9 +37,15 @@ import org.apache.sysds.runtime.util.HDFSTool;
 public class WriterBinaryBlock extends MatrixWriter
 {
 	protected int _replication = -1;
+	protected boolean _writeCompressed = false;
 	
 	public WriterBinaryBlock( int replication ) {
 		_replication  = replication;
+		_writeCompressed = ConfigurationManager.getDMLConfig().getBooleanValue(DMLConfig.COMPRESSED_BINARYBLOCK);
+	}
+	
+	public void setWriteCompressed(boolean compressed) {
+		_writeCompressed = compressed;
 	}
 
 	@Override
@@ -104,19 +113,23 @@ public class WriterBinaryBlock extends MatrixWriter
 		int rlen = src.getNumRows();
 		int clen = src.getNumColumns();
 		
+		//keep compressed matrices compressed on disk, w/ compressed blocks as values
+		boolean compressed = _writeCompressed && src instanceof CompressedMatrixBlock;
+		Class<? extends MatrixBlock> valueClass = compressed ? CompressedMatrixBlock.class : MatrixBlock.class;
+		
 		// 1) create sequence file writer, with right replication factor 
 		// (config via MRConfigurationNames.DFS_REPLICATION not possible since sequence file internally calls fs.getDefaultReplication())
 		SequenceFile.Writer writer = null;
 		if( _replication > 0 ) //if replication specified (otherwise default)
 		{
 			//copy of SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class), except for replication
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class,
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, valueClass,
 				job.getInt(HDFSTool.IO_FILE_BUFFER_SIZE, 4096),
 				(short)_replication, fs.getDefaultBlockSize(), null, new SequenceFile.Metadata());	
 		}
 		else	
 		{
-			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, MatrixBlock.class);
+			writer = new SequenceFile.Writer(fs, job, path, MatrixIndexes.class, valueClass);
 		}
 		
 		try
@@ -137,6 +150,10 @@ public class WriterBinaryBlock extends MatrixWriter
 				indexes.setIndexes(1, 1);
 				writer.append(indexes, src);
 			}
+			else if( compressed ) //general case of compressed blocks
+			{
+				writeCompressedBlocksToSequenceFile(writer, (CompressedMatrixBlock)src, blen, rl, ru);
+			}
 			else //general case
 			{
 				//initialize blocks for reuse (at most 4 different blocks required)
@@ -173,6 +190,35 @@ public class WriterBinaryBlock extends MatrixWriter
 		}
 	}
 
+	private static void writeCompressedBlocksToSequenceFile( SequenceFile.Writer writer, CompressedMatrixBlock src, int blen, int rl, int ru )
+		throws IOException
+	{
+		int rlen = src.getNumRows();
+		int clen = src.getNumColumns();
+		
+		//slice the column blocks once (w/o copying the column groups), and select the
+		//rows of each block on the column groups of the column blocks (w/o decompression)
+		CompressedMatrixBlock[] colBlocks = new CompressedMatrixBlock[(int)Math.ceil(clen/(double)blen)];
+		for( int blockCol = 0; blockCol < colBlocks.length; blockCol++ ) {
+			int col_offset = blockCol*blen;
+			int maxCol = Math.min(blen, clen - col_offset);
+			colBlocks[blockCol] = CLALibSlice.sliceCompressed(src, 0, rlen-1, col_offset, col_offset+maxCol-1, 1);
+		}
+		
+		MatrixIndexes indexes = new MatrixIndexes();
+		for(int blockRow = rl/blen; blockRow < (int)Math.ceil(ru/(double)blen); blockRow++) {
+			int row_offset = blockRow*blen;
+			int maxRow = Math.min(blen, rlen - row_offset);
+			for( int blockCol = 0; blockCol < colBlocks.length; blockCol++ ) {
+				CompressedMatrixBlock cblock = colBlocks[blockCol];
+				MatrixBlock block = CLALibSlice.sliceCompressed(cblock, row_offset, row_offset+maxRow-1,
+					0, cblock.getNumColumns()-1, 1);
+				indexes.setIndexes(blockRow+1, blockCol+1);
+				writer.append(indexes, block);
+			}
+		}
+	}
+
 	@SuppressWarnings("deprecation")
 	protected final void writeDiagBinaryBlockMatrixToHDFS( Path path, JobConf job, FileSystem fs, MatrixBlock src, long rlen, long clen, int blen ) 
 		throws IOException, DMLRuntimeException
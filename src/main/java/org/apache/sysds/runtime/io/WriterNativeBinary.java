@@ -0,0 +1,326 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.LocalFileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.fs.RawLocalFileSystem;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.caching.CacheDataOutput;
+import org.apache.sysds.runtime.matrix.data.LibMatrixReorg;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.HDFSTool;
+
+import net.jpountz.lz4.LZ4Compressor;
+import net.jpountz.lz4.LZ4Factory;
+
+/**
+ * Writer for the native local binary block format, which stores all blocks of a
+ * matrix in a single local file without Hadoop sequence file framing and Writable
+ * overheads. The file consists of a header page, the serialized non-empty blocks
+ * (each starting at a page-aligned offset and optionally LZ4 compressed), and a
+ * block index footer, which allows readers to directly access individual blocks
+ * via positional or memory-mapped reads:
+ *
+ * [header | block 1 | ... | block n | num blocks, index entries | footer offset, magic]
+ *
+ * Blocks are serialized in parallel, where tasks reserve their (aligned) file
+ * ranges via an atomic offset and write via positional writes.
+ */
+public class WriterNativeBinary extends MatrixWriter
+{
+	public static final int MAGIC = 0x5344534E; //"SDSN"
+	public static final int VERSION = 1;
+	public static final int PAGE_SIZE = 4096;
+	public static final int HEADER_SIZE = 32;       //magic, version, rlen, clen, blen, flags
+	public static final int INDEX_ENTRY_SIZE = 49;  //rix, cix, offset, nnz, length, raw length, compressed
+	public static final int TRAILER_SIZE = 12;      //footer offset, magic
+	public static final int FLAG_COMPRESSION = 1;
+
+	//min compression ratio to store a block in compressed form
+	private static final double MIN_COMPRESSION_RATIO = 1.1;
+
+	private final int _numThreads;
+	private final boolean _compress;
+
+	public WriterNativeBinary(int numThreads, boolean compress) {
+		_numThreads = Math.max(numThreads, 1);
+		_compress = compress;
+	}
+
+	@Override
+	public void writeMatrixToHDFS(MatrixBlock src, String fname, long rlen, long clen, int blen, long nnz, boolean diag)
+		throws IOException, DMLRuntimeException
+	{
+		//bound check for src block
+		if( src.getNumRows() > rlen || src.getNumColumns() > clen ) {
+			throw new IOException("Matrix block [1:"+src.getNumRows()+",1:"+src.getNumColumns()+"] " +
+				"out of overall matrix range [1:"+rlen+",1:"+clen+"].");
+		}
+
+		//expand vectors to diagonal matrices (sparse)
+		if( diag )
+			src = LibMatrixReorg.diag(src, new MatrixBlock((int)rlen, (int)clen, true));
+
+		//if the file already exists, remove it.
+		File file = getLocalFile(fname);
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+
+		//core write sequential/parallel
+		try( RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel() ) {
+			AtomicLong offset = new AtomicLong(PAGE_SIZE); //blocks start after header page
+			List<IndexEntry> index = writeBlocks(channel, offset, src, rlen, clen, blen);
+			writeHeader(channel, rlen, clen, blen, _compress);
+			raf.setLength(writeFooter(channel, offset.get(), index));
+		}
+	}
+
+	@Override
+	public void writeEmptyMatrixToHDFS(String fname, long rlen, long clen, int blen)
+		throws IOException, DMLRuntimeException
+	{
+		File file = getLocalFile(fname);
+		HDFSTool.deleteFileIfExistOnHDFS(fname);
+		try( RandomAccessFile raf = new RandomAccessFile(file, "rw"); FileChannel channel = raf.getChannel() ) {
+			writeHeader(channel, rlen, clen, blen, false);
+			raf.setLength(writeFooter(channel, PAGE_SIZE, new ArrayList<>()));
+		}
+	}
+
+	/**
+	 * Obtains the local file for the given file name, which is required
+	 * to reside on the local file system.
+	 *
+	 * @param fname file name (optionally with file scheme)
+	 * @return local file
+	 * @throws IOException if not a local file
+	 */
+	public static File getLocalFile(String fname) throws IOException {
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path);
+		if( !(fs instanceof LocalFileSystem || fs instanceof RawLocalFileSystem) )
+			throw new IOException("Native binary format only supported on the local file system: " + fname);
+		return new File(path.toUri().getPath());
+	}
+
+	private List<IndexEntry> writeBlocks(FileChannel channel, AtomicLong offset, MatrixBlock src, long rlen, long clen, int blen)
+		throws IOException
+	{
+		int nrb = (int)Math.ceil((double)rlen / blen);
+		int k = Math.min(_numThreads, nrb);
+
+		//sequential write of all blocks (e.g., single block row)
+		if( k <= 1 || src.isEmptyBlock(false) )
+			return new WriteBlocksTask(channel, offset, src, rlen, clen, blen, 0, nrb).call();
+
+		//parallel write over disjoint ranges of block rows
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<WriteBlocksTask> tasks = new ArrayList<>();
+			int blklen = (int)Math.ceil((double)nrb / k);
+			for( int i=0; i<k & i*blklen<nrb; i++ )
+				tasks.add(new WriteBlocksTask(channel, offset, src,
+					rlen, clen, blen, i*blklen, Math.min((i+1)*blklen, nrb)));
+			List<IndexEntry> ret = new ArrayList<>();
+			for( Future<List<IndexEntry>> task : pool.invokeAll(tasks) )
+				ret.addAll(task.get());
+			return ret;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel write of native binary block output.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	private static void writeHeader(FileChannel channel, long rlen, long clen, int blen, boolean compress)
+		throws IOException
+	{
+		ByteBuffer buff = ByteBuffer.allocate(HEADER_SIZE);
+		buff.putInt(MAGIC);
+		buff.putInt(VERSION);
+		buff.putLong(rlen);
+		buff.putLong(clen);
+		buff.putInt(blen);
+		buff.putInt(compress ? FLAG_COMPRESSION : 0);
+		buff.flip();
+		writeFully(channel, buff, 0);
+	}
+
+	private static long writeFooter(FileChannel channel, long pos, List<IndexEntry> index)
+		throws IOException
+	{
+		ByteBuffer buff = ByteBuffer.allocate(4 + index.size() * INDEX_ENTRY_SIZE + TRAILER_SIZE);
+		buff.putInt(index.size());
+		for( IndexEntry e : index ) {
+			buff.putLong(e.rix);
+			buff.putLong(e.cix);
+			buff.putLong(e.offset);
+			buff.putLong(e.nnz);
+			buff.putInt(e.length);
+			buff.putInt(e.rawLength);
+			buff.put((byte)(e.compressed ? 1 : 0));
+			buff.putLong(0); //reserved
+		}
+		buff.putLong(pos);
+		buff.putInt(MAGIC);
+		buff.flip();
+		int len = buff.remaining();
+		writeFully(channel, buff, pos);
+		return pos + len;
+	}
+
+	private static void writeFully(FileChannel channel, ByteBuffer buff, long pos)
+		throws IOException
+	{
+		while( buff.hasRemaining() )
+			pos += channel.write(buff, pos);
+	}
+
+	protected static long alignToPage(long len) {
+		return (len + PAGE_SIZE - 1) / PAGE_SIZE * PAGE_SIZE;
+	}
+
+	/**
+	 * Entry of the block index footer, describing the position and
+	 * (compressed) length of a single serialized block.
+	 */
+	protected static class IndexEntry {
+		protected final long rix;
+		protected final long cix;
+		protected final long offset;
+		protected final long nnz;
+		protected final int length;
+		protected final int rawLength;
+		protected final boolean compressed;
+
+		protected IndexEntry(long rix, long cix, long offset, long nnz, int length, int rawLength, boolean compressed) {
+			this.rix = rix;
+			this.cix = cix;
+			this.offset = offset;
+			this.nnz = nnz;
+			this.length = length;
+			this.rawLength = rawLength;
+			this.compressed = compressed;
+		}
+	}
+
+	private class WriteBlocksTask implements Callable<List<IndexEntry>>
+	{
+		private final FileChannel _channel;
+		private final AtomicLong _offset;
+		private final MatrixBlock _src;
+		private final long _rlen, _clen;
+		private final int _blen, _brl, _bru;
+
+		public WriteBlocksTask(FileChannel channel, AtomicLong offset, MatrixBlock src, long rlen, long clen, int blen, int brl, int bru) {
+			_channel = channel;
+			_offset = offset;
+			_src = src;
+			_rlen = rlen;
+			_clen = clen;
+			_blen = blen;
+			_brl = brl;
+			_bru = bru;
+		}
+
+		@Override
+		public List<IndexEntry> call() throws IOException {
+			List<IndexEntry> ret = new ArrayList<>();
+			if( _src.isEmptyBlock(false) )
+				return ret;
+
+			LZ4Compressor compressor = _compress ?
+				LZ4Factory.fastestInstance().fastCompressor() : null;
+			byte[] rbuff = new byte[0];
+			byte[] cbuff = new byte[0];
+
+			//initialize blocks for reuse (at most 4 different blocks required)
+			boolean single = _rlen <= _blen && _clen <= _blen;
+			MatrixBlock[] blocks = single ? null : createMatrixBlocksForReuse(
+				_rlen, _clen, _blen, _src.isInSparseFormat(), _src.getNonZeros());
+
+			int ncb = (int)Math.ceil((double)_clen / _blen);
+			for( int blockRow = _brl; blockRow < _bru; blockRow++ )
+				for( int blockCol = 0; blockCol < ncb; blockCol++ ) {
+					int rl = blockRow * _blen;
+					int cl = blockCol * _blen;
+					int maxRow = (int)Math.min(_blen, _rlen - rl);
+					int maxCol = (int)Math.min(_blen, _clen - cl);
+
+					//get reuse matrix block and copy submatrix to block
+					MatrixBlock block = _src;
+					if( !single ) {
+						block = getMatrixBlockForReuse(blocks, maxRow, maxCol, _blen);
+						_src.slice(rl, rl+maxRow-1, cl, cl+maxCol-1, block);
+					}
+
+					//serialize and write non-empty blocks
+					if( !block.isEmptyBlock(false) ) {
+						int rawLength = (int)block.getExactSizeOnDisk();
+						if( rbuff.length < rawLength )
+							rbuff = new byte[rawLength];
+						block.write(new CacheDataOutput(rbuff));
+
+						//optional block compression (if beneficial)
+						byte[] data = rbuff;
+						int length = rawLength;
+						if( compressor != null ) {
+							int maxLength = compressor.maxCompressedLength(rawLength);
+							if( cbuff.length < maxLength )
+								cbuff = new byte[maxLength];
+							int clength = compressor.compress(rbuff, 0, rawLength, cbuff, 0, maxLength);
+							if( clength * MIN_COMPRESSION_RATIO < rawLength ) {
+								data = cbuff;
+								length = clength;
+							}
+						}
+
+						//reserve page-aligned file range and write block
+						long pos = _offset.getAndAdd(alignToPage(length));
+						writeFully(_channel, ByteBuffer.wrap(data, 0, length), pos);
+						ret.add(new IndexEntry(blockRow+1, blockCol+1, pos,
+							block.getNonZeros(), length, rawLength, data == cbuff));
+					}
+
+					//reset block for later reuse
+					if( !single )
+						block.reset();
+				}
+
+			return ret;
+		}
+	}
+}
@@ -19,6 +19,7 @@
 
 package org.apache.sysds.runtime.io.hdf5;
 
+import org.apache.hadoop.fs.FSDataInputStream;
 import org.apache.sysds.runtime.io.hdf5.message.H5SymbolTableMessage;
 
 import java.io.*;
@@ -109,8 +110,39 @@ public class H5 {
 		}
 	}
 
+	// Open a File for positional reads, which avoids buffering the entire file
+	public static H5RootObject H5Fopen(FSDataInputStream in) {
+		H5RootObject rootObject = H5Fopen(new BufferedInputStream(in, H5Constants.STATIC_HEADER_SIZE));
+		rootObject.setPositionedReadable(in);
+		return rootObject;
+	}
+
 	// Open a Data Space
 	public static H5ContiguousDataset H5Dopen(H5RootObject rootObject, String datasetName) {
+		try {
+			final H5ObjectHeader header = H5Oopen(rootObject, datasetName);
+			if(rootObject.getDataLayoutClass() == H5Constants.CHUNKED_LAYOUT) {
+				throw new H5RuntimeException("The dataset '" + datasetName + "' is chunked!");
+			}
+			return new H5ContiguousDataset(rootObject, header);
+		}
+		catch(Exception exception) {
+			throw new H5RuntimeException(exception);
+		}
+	}
+
+	// Open a chunked Data Space
+	public static H5ChunkedDataset H5DopenChunked(H5RootObject rootObject, String datasetName) {
+		try {
+			return new H5ChunkedDataset(rootObject, H5Oopen(rootObject, datasetName));
+		}
+		catch(Exception exception) {
+			throw new H5RuntimeException(exception);
+		}
+	}
+
+	// Open the Object Header of a Data Space (incl. space, type, and layout information)
+	public static H5ObjectHeader H5Oopen(H5RootObject rootObject, String datasetName) {
 		try {
 			H5SymbolTableEntry symbolTableEntry = new H5SymbolTableEntry(rootObject,
 				rootObject.getSuperblock().rootGroupSymbolTableAddress - rootObject.getSuperblock().baseAddressByte);
@@ -136,9 +168,7 @@ public class H5 {
 				throw new H5RuntimeException("The dataset name '" + datasetName + "' not found!");
 			}
 
-			final H5ObjectHeader header = new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
-			final H5ContiguousDataset contiguousDataset = new H5ContiguousDataset(rootObject, header);
-			return contiguousDataset;
+			return new H5ObjectHeader(rootObject, symbolTableEntry.getObjectHeaderAddress());
 
 		}
 		catch(Exception exception) {
@@ -205,4 +235,8 @@ public class H5 {
 		dataset.getDataType().getDoubleDataType().fillData(buffer, data);
 	}
 
+	public static void H5Dread(H5ChunkedDataset dataset, H5ChunkedDataset.H5Chunk chunk, double[] data) {
+		dataset.readChunk(chunk, data);
+	}
+
 }
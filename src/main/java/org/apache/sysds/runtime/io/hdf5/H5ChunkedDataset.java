@@ -0,0 +1,259 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.io.hdf5;
+
+import org.apache.sysds.runtime.io.hdf5.message.H5DataLayoutMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5DataTypeMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage;
+import org.apache.sysds.runtime.io.hdf5.message.H5FilterPipelineMessage.H5Filter;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Chunked dataset, where the data is stored in fixed-size (and optionally filtered)
+ * chunks indexed by a version 1 B-tree. The chunk index is read once on open, while
+ * the chunks are read and decoded independently, which allows reading disjoint
+ * chunks in parallel if the root object uses positional reads.
+ */
+public class H5ChunkedDataset {
+
+	private static final int RAW_DATA_CHUNK_NODE = 1;
+
+	private final H5RootObject rootObject;
+	private final H5DataLayoutMessage dataLayoutMessage;
+	private final H5DataTypeMessage dataTypeMessage;
+	private final List<H5Filter> filters;
+	private final List<H5Chunk> chunks;
+
+	public H5ChunkedDataset(H5RootObject rootObject, H5ObjectHeader objectHeader) {
+
+		this.rootObject = rootObject;
+		this.dataLayoutMessage = objectHeader.getMessageOfType(H5DataLayoutMessage.class);
+		this.dataTypeMessage = objectHeader.getMessageOfType(H5DataTypeMessage.class);
+		this.filters = objectHeader.hasMessageOfType(H5FilterPipelineMessage.class) ?
+			objectHeader.getMessageOfType(H5FilterPipelineMessage.class).getFilters() : new ArrayList<>();
+
+		if(!dataLayoutMessage.isChunked()) {
+			throw new H5RuntimeException("Dataset is not chunked.");
+		}
+		if(rootObject.getRank() != 2 || dataLayoutMessage.getChunkDimensions().length != 2) {
+			throw new H5RuntimeException("Just support Matrix!");
+		}
+		for(H5Filter filter : filters) {
+			if(filter.getId() != H5Constants.FILTER_DEFLATE && filter.getId() != H5Constants.FILTER_SHUFFLE &&
+				filter.getId() != H5Constants.FILTER_FLETCHER32) {
+				throw new H5RuntimeException("Unsupported filter id = " + filter.getId());
+			}
+		}
+
+		// Read the chunk index, sorted by row and column offsets
+		chunks = new ArrayList<>();
+		if(dataLayoutMessage.getAddress() != H5Constants.UNDEFINED_ADDRESS) {
+			readChunkIndex(dataLayoutMessage.getAddress());
+		}
+		chunks.sort(Comparator.comparingLong(H5Chunk::getRowOffset).thenComparingLong(H5Chunk::getColOffset));
+	}
+
+	private void readChunkIndex(long address) {
+		final int sizeOfOffsets = rootObject.getSuperblock().sizeOfOffsets;
+		ByteBuffer header = H5BTree.readHeaderAndValidateSignature(rootObject, address);
+
+		// Node type and level
+		final int nodeType = Byte.toUnsignedInt(header.get());
+		final int nodeLevel = Byte.toUnsignedInt(header.get());
+		if(nodeType != RAW_DATA_CHUNK_NODE) {
+			throw new H5RuntimeException("B tree type is not raw data chunk. Type is: " + nodeType);
+		}
+
+		// Entries used (the sibling addresses are not required for a depth-first traversal)
+		header = rootObject.readBufferFromAddress(address + 6, 2);
+		final int entriesUsed = Utils.readBytesAsUnsignedInt(header, 2);
+
+		// Keys: chunk size, filter mask, and offsets of all dimensions incl. the element size
+		final int dimensionality = dataLayoutMessage.getChunkDimensions().length + 1;
+		final int keyBytes = 8 + 8 * dimensionality;
+		final long keysAddress = address + 8L + 2L * sizeOfOffsets;
+		final ByteBuffer keysAndPointersBuffer = rootObject.readBufferFromAddress(keysAddress,
+			entriesUsed * (keyBytes + sizeOfOffsets) + keyBytes);
+
+		for(int i = 0; i < entriesUsed; i++) {
+			final int chunkSize = Utils.readBytesAsUnsignedInt(keysAndPointersBuffer, 4);
+			final int filterMask = keysAndPointersBuffer.getInt();
+			final long rowOffset = Utils.readBytesAsUnsignedLong(keysAndPointersBuffer, 8);
+			final long colOffset = Utils.readBytesAsUnsignedLong(keysAndPointersBuffer, 8);
+			keysAndPointersBuffer.position(keysAndPointersBuffer.position() + 8 * (dimensionality - 2));
+			final long childAddress = Utils.readBytesAsUnsignedLong(keysAndPointersBuffer, sizeOfOffsets);
+
+			if(nodeLevel > 0) {
+				readChunkIndex(childAddress);
+			}
+			else {
+				chunks.add(new H5Chunk(rowOffset, colOffset, chunkSize, filterMask, childAddress));
+			}
+		}
+	}
+
+	/**
+	 * Reads and decodes the given chunk into the given row-major array of chunk size.
+	 * This method is thread-safe if the root object uses positional reads.
+	 *
+	 * @param chunk chunk of this dataset
+	 * @param data  output array of length chunk rows times chunk columns
+	 */
+	public void readChunk(H5Chunk chunk, double[] data) {
+		ByteBuffer raw = rootObject.readBufferFromAddressNoOrder(chunk.getAddress(), chunk.getSize());
+		ByteBuffer buffer = ByteBuffer.wrap(decodeChunk(chunk, raw.array()));
+		buffer.order(dataTypeMessage.getDoubleDataType().getOrder());
+		dataTypeMessage.getDoubleDataType().fillData(buffer, data);
+	}
+
+	private byte[] decodeChunk(H5Chunk chunk, byte[] raw) {
+		final int elementSize = dataLayoutMessage.getChunkElementSize();
+		final int length = getChunkRows() * getChunkCols() * elementSize;
+
+		// Apply the filters in reverse order, except the ones skipped for this chunk
+		byte[] data = raw;
+		for(int i = filters.size() - 1; i >= 0; i--) {
+			if((chunk.getFilterMask() & (1 << i)) != 0) {
+				continue;
+			}
+			H5Filter filter = filters.get(i);
+			switch(filter.getId()) {
+				case H5Constants.FILTER_DEFLATE:
+					data = inflate(data, length);
+					break;
+				case H5Constants.FILTER_SHUFFLE:
+					data = unshuffle(data, filter.getClientData().length > 0 ? filter.getClientData()[0] : elementSize);
+					break;
+				case H5Constants.FILTER_FLETCHER32:
+					// Skip trailing checksum
+					data = Arrays.copyOf(data, data.length - 4);
+					break;
+				default:
+					throw new H5RuntimeException("Unsupported filter id = " + filter.getId());
+			}
+		}
+		if(data.length < length) {
+			throw new H5RuntimeException("Invalid chunk size after decoding: " + data.length + " < " + length);
+		}
+		return data;
+	}
+
+	private static byte[] inflate(byte[] in, int length) {
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(in);
+			byte[] out = new byte[length];
+			int pos = 0;
+			while(!inflater.finished() && pos < length) {
+				int n = inflater.inflate(out, pos, length - pos);
+				if(n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					break;
+				}
+				pos += n;
+			}
+			return (pos == length) ? out : Arrays.copyOf(out, pos);
+		}
+		catch(DataFormatException e) {
+			throw new H5RuntimeException("Failed to inflate chunk", e);
+		}
+		finally {
+			inflater.end();
+		}
+	}
+
+	private static byte[] unshuffle(byte[] in, int elementSize) {
+		// Shuffled data stores all first bytes of all elements, then all second bytes, etc
+		if(elementSize <= 1) {
+			return in;
+		}
+		int n = in.length / elementSize;
+		byte[] out = new byte[in.length];
+		for(int b = 0; b < elementSize; b++) {
+			int off = b * n;
+			for(int i = 0; i < n; i++) {
+				out[i * elementSize + b] = in[off + i];
+			}
+		}
+		// Copy leftover bytes that were not shuffled
+		int tail = n * elementSize;
+		System.arraycopy(in, tail, out, tail, in.length - tail);
+		return out;
+	}
+
+	public List<H5Chunk> getChunks() {
+		return Collections.unmodifiableList(chunks);
+	}
+
+	public int getChunkRows() {
+		return dataLayoutMessage.getChunkDimensions()[0];
+	}
+
+	public int getChunkCols() {
+		return dataLayoutMessage.getChunkDimensions()[1];
+	}
+
+	public H5DataTypeMessage getDataType() {
+		return dataTypeMessage;
+	}
+
+	public static class H5Chunk {
+		private final long rowOffset;
+		private final long colOffset;
+		private final int size;
+		private final int filterMask;
+		private final long address;
+
+		public H5Chunk(long rowOffset, long colOffset, int size, int filterMask, long address) {
+			this.rowOffset = rowOffset;
+			this.colOffset = colOffset;
+			this.size = size;
+			this.filterMask = filterMask;
+			this.address = address;
+		}
+
+		public long getRowOffset() {
+			return rowOffset;
+		}
+
+		public long getColOffset() {
+			return colOffset;
+		}
+
+		public int getSize() {
+			return size;
+		}
+
+		public int getFilterMask() {
+			return filterMask;
+		}
+
+		public long getAddress() {
+			return address;
+		}
+	}
+}
@@ -19,6 +19,8 @@
 
 package org.apache.sysds.runtime.io.hdf5;
 
+import org.apache.hadoop.fs.PositionedReadable;
+
 import java.io.BufferedInputStream;
 import java.io.BufferedOutputStream;
 import java.io.IOException;
@@ -30,6 +32,7 @@ public class H5RootObject {
 
 	protected BufferedInputStream bufferedInputStream;
 	protected BufferedOutputStream bufferedOutputStream;
+	protected PositionedReadable positionedReadable;
 	protected H5Superblock superblock;
 	protected int rank;
 	protected long row;
@@ -55,9 +58,7 @@ public class H5RootObject {
 		ByteBuffer bb = ByteBuffer.allocate(length);
 		try {
 			byte[] b = new byte[length];
-			bufferedInputStream.reset();
-			bufferedInputStream.skip(address);
-			bufferedInputStream.read(b);
+			readBytesFromAddress(address, b);
 			bb.put(b);
 		}
 		catch(IOException e) {
@@ -72,9 +73,7 @@ public class H5RootObject {
 		ByteBuffer bb = ByteBuffer.allocate(length);
 		try {
 			byte[] b = new byte[length];
-			bufferedInputStream.reset();
-			bufferedInputStream.skip(address);
-			bufferedInputStream.read(b);
+			readBytesFromAddress(address, b);
 			bb.put(b);
 		}
 		catch(IOException e) {
@@ -84,6 +83,18 @@ public class H5RootObject {
 		return bb;
 	}
 
+	private void readBytesFromAddress(long address, byte[] b) throws IOException {
+		if(positionedReadable != null) {
+			// thread-safe positional read w/o full file buffering
+			positionedReadable.readFully(address, b);
+		}
+		else {
+			bufferedInputStream.reset();
+			bufferedInputStream.skip(address);
+			bufferedInputStream.read(b);
+		}
+	}
+
 	public BufferedInputStream getBufferedInputStream() {
 		return bufferedInputStream;
 	}
@@ -92,6 +103,14 @@ public class H5RootObject {
 		this.bufferedInputStream = bufferedInputStream;
 	}
 
+	public PositionedReadable getPositionedReadable() {
+		return positionedReadable;
+	}
+
+	public void setPositionedReadable(PositionedReadable positionedReadable) {
+		this.positionedReadable = positionedReadable;
+	}
+
 	public BufferedOutputStream getBufferedOutputStream() {
 		return bufferedOutputStream;
 	}
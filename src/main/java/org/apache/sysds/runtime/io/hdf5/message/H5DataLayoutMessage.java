@@ -23,6 +23,7 @@ package org.apache.sysds.runtime.io.hdf5.message;
 import org.apache.sysds.runtime.io.hdf5.H5BufferBuilder;
 import org.apache.sysds.runtime.io.hdf5.H5Constants;
 import org.apache.sysds.runtime.io.hdf5.H5RootObject;
+import org.apache.sysds.runtime.io.hdf5.H5RuntimeException;
 import org.apache.sysds.runtime.io.hdf5.Utils;
 
 import java.nio.ByteBuffer;
@@ -32,13 +33,47 @@ public class H5DataLayoutMessage extends H5Message {
 
 	private final long address;
 	private final long size;
+	private int[] chunkDimensions;
+	private int chunkElementSize;
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, ByteBuffer bb) {
 		super(rootObject, flags);
 		rootObject.setDataLayoutVersion(bb.get());
-		rootObject.setDataLayoutClass(bb.get());
-		this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
-		this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+		if(rootObject.getDataLayoutVersion() < 3) {
+			// Version 1 and 2: dimensionality, layout class, reserved bytes, address and dimensions
+			int dimensionality = Byte.toUnsignedInt(bb.get());
+			rootObject.setDataLayoutClass(bb.get());
+			bb.position(bb.position() + 5);
+			this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+			this.size = -1;
+			if(rootObject.getDataLayoutClass() == H5Constants.CHUNKED_LAYOUT)
+				readChunkDimensions(bb, dimensionality);
+		}
+		else {
+			rootObject.setDataLayoutClass(bb.get());
+			switch(rootObject.getDataLayoutClass()) {
+				case H5Constants.CONTIGUOUS_LAYOUT:
+					this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+					this.size = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfLengths);
+					break;
+				case H5Constants.CHUNKED_LAYOUT:
+					// Dimensionality is the rank + 1, where the last dimension is the element size
+					int dimensionality = Byte.toUnsignedInt(bb.get());
+					this.address = Utils.readBytesAsUnsignedLong(bb, rootObject.getSuperblock().sizeOfOffsets);
+					this.size = -1;
+					readChunkDimensions(bb, dimensionality);
+					break;
+				default:
+					throw new H5RuntimeException("Unsupported data layout class = " + rootObject.getDataLayoutClass());
+			}
+		}
+	}
+
+	private void readChunkDimensions(ByteBuffer bb, int dimensionality) {
+		chunkDimensions = new int[dimensionality - 1];
+		for(int i = 0; i < chunkDimensions.length; i++)
+			chunkDimensions[i] = Utils.readBytesAsUnsignedInt(bb, 4);
+		chunkElementSize = Utils.readBytesAsUnsignedInt(bb, 4);
 	}
 
 	public H5DataLayoutMessage(H5RootObject rootObject, BitSet flags, long address, long size) {
@@ -75,4 +110,16 @@ public class H5DataLayoutMessage extends H5Message {
 		return size;
 	}
 
+	public boolean isChunked() {
+		return rootObject.getDataLayoutClass() == H5Constants.CHUNKED_LAYOUT;
+	}
+
+	public int[] getChunkDimensions() {
+		return chunkDimensions;
+	}
+
+	public int getChunkElementSize() {
+		return chunkElementSize;
+	}
+
 }
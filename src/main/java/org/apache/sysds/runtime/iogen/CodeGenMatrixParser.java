@@ -0,0 +1,41 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.iogen;
+
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+
+/**
+ * Base class of generated matrix parsers (see ReaderCodeGen), which are
+ * specialized for the delimiters and patterns of an inferred format.
+ * Generated parsers are stateless and hence, safe to use concurrently.
+ */
+public abstract class CodeGenMatrixParser {
+
+	/**
+	 * Parses a single line and appends its non-zero values to the output block.
+	 *
+	 * @param line input line
+	 * @param row  row index of the line (ignored for row-irregular formats)
+	 * @param dest output matrix block
+	 * @param clen number of columns
+	 * @return number of non-zeros
+	 */
+	public abstract long parse(String line, int row, MatrixBlock dest, int clen);
+}
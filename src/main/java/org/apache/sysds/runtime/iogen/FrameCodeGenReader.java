@@ -0,0 +1,181 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.iogen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.io.FrameReader;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.InputStreamInputFormat;
+
+/**
+ * Multi-threaded frame reader for inferred formats, which parses the lines of
+ * all file splits in parallel via a generated and compiled parser (see ReaderCodeGen).
+ * Row offsets are obtained as in MatrixCodeGenReader, while row-irregular
+ * formats are read sequentially because cells of a row may span multiple splits.
+ */
+public class FrameCodeGenReader extends FrameReader
+{
+	private final CustomProperties _props;
+	private final CodeGenFrameParser _parser;
+	private final int _numThreads;
+
+	public FrameCodeGenReader(CustomProperties props) {
+		_props = props;
+		_parser = ReaderCodeGen.compileFrameParser(props);
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+	}
+
+	@Override
+	public FrameBlock readFrameFromHDFS(String fname, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		if( clen < 0 )
+			throw new IOException("Unknown number of columns for generated reader of file " + fname + ".");
+
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FileInputFormat.addInputPath(job, path);
+		checkValidInputFile(fs, path);
+
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = informat.getSplits(job, _numThreads);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			//compute row offsets per split and number of rows
+			long[] offsets = MatrixCodeGenReader.computeRowOffsets(_props, pool, splits, informat, job, rlen <= 0);
+			if( rlen <= 0 )
+				rlen = offsets[splits.length];
+
+			//allocate output frame block
+			ValueType[] lschema = createOutputSchema(schema, clen);
+			String[] lnames = createOutputNames(names, clen);
+			FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
+
+			//core read (sequential/parallel)
+			ArrayList<ReadTask> tasks = new ArrayList<>();
+			for( int i=0; i<splits.length; i++ )
+				tasks.add(new ReadTask(splits[i], informat, job, ret, lschema, (int)offsets[i], (int)clen));
+			if( _props.getRowPattern() != CustomProperties.GRPattern.Regular ) {
+				for( ReadTask task : tasks )
+					task.call();
+			}
+			else {
+				for( Future<Object> task : pool.invokeAll(tasks) )
+					task.get();
+			}
+			return ret;
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of generated reader input.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Override
+	public FrameBlock readFrameFromInputStream(InputStream is, ValueType[] schema, String[] names, long rlen, long clen)
+		throws IOException, DMLRuntimeException
+	{
+		if( rlen < 0 || clen < 0 )
+			throw new IOException("Unknown dimensions for generated reader of input stream.");
+
+		//allocate output frame block
+		ValueType[] lschema = createOutputSchema(schema, clen);
+		String[] lnames = createOutputNames(names, clen);
+		FrameBlock ret = createOutputFrameBlock(lschema, lnames, rlen);
+
+		//core read (sequential)
+		InputStreamInputFormat informat = new InputStreamInputFormat(is);
+		InputSplit split = informat.getSplits(null, 1)[0];
+		new ReadTask(split, informat, null, ret, lschema, 0, (int)clen).call();
+		return ret;
+	}
+
+	private class ReadTask implements Callable<Object>
+	{
+		private final InputSplit _split;
+		private final InputFormat<LongWritable, Text> _informat;
+		private final JobConf _job;
+		private final FrameBlock _dest;
+		private final ValueType[] _schema;
+		private final int _rl;
+		private final int _clen;
+
+		public ReadTask(InputSplit split, InputFormat<LongWritable, Text> informat, JobConf job,
+			FrameBlock dest, ValueType[] schema, int rl, int clen)
+		{
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_dest = dest;
+			_schema = schema;
+			_rl = rl;
+			_clen = clen;
+		}
+
+		@Override
+		public Object call() throws IOException {
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			int row = _rl;
+			try {
+				while( reader.next(key, value) )
+					_parser.parse(value.toString(), row++, _dest, _schema, _clen);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return null;
+		}
+	}
+}
@@ -43,8 +43,17 @@ public abstract class GenerateReader {
 
 	protected static ReaderMapping readerMapping;
 
+	//generate specialized, compiled and multi-threaded readers (otherwise interpreted readers)
+	public static final boolean DEFAULT_CODEGEN = true;
+
+	protected final boolean codegen;
+
 	public GenerateReader(SampleProperties sampleProperties) throws Exception {
+		this(sampleProperties, DEFAULT_CODEGEN);
+	}
 
+	public GenerateReader(SampleProperties sampleProperties, boolean codegen) throws Exception {
+		this.codegen = codegen;
 		readerMapping = sampleProperties.getDataType().isMatrix() ? new ReaderMapping.MatrixReaderMapping(
 			sampleProperties.getSampleRaw(), sampleProperties.getSampleMatrix()) : new ReaderMapping.FrameReaderMapping(
 			sampleProperties.getSampleRaw(), sampleProperties.getSampleFrame());
@@ -63,6 +72,14 @@ public abstract class GenerateReader {
 			super(new SampleProperties(sampleRaw, sampleMatrix));
 		}
 
+		public GenerateReaderMatrix(SampleProperties sampleProperties, boolean codegen) throws Exception {
+			super(sampleProperties, codegen);
+		}
+
+		public GenerateReaderMatrix(String sampleRaw, MatrixBlock sampleMatrix, boolean codegen) throws Exception {
+			super(new SampleProperties(sampleRaw, sampleMatrix), codegen);
+		}
+
 		public MatrixReader getReader() throws Exception {
 
 			boolean isMapped = readerMapping != null && readerMapping.isMapped();
@@ -74,7 +91,10 @@ public abstract class GenerateReader {
 				throw new Exception("The file format couldn't recognize!!");
 			}
 			// 2. Generate a Matrix Reader:
-			if(ffp.getRowPattern().equals(CustomProperties.GRPattern.Regular)) {
+			if(codegen) {
+				matrixReader = new MatrixCodeGenReader(ffp);
+			}
+			else if(ffp.getRowPattern().equals(CustomProperties.GRPattern.Regular)) {
 				if(ffp.getColPattern().equals(CustomProperties.GRPattern.Regular)) {
 					matrixReader = new MatrixGenerateReader.MatrixReaderRowRegularColRegular(ffp);
 				}
@@ -103,6 +123,14 @@ public abstract class GenerateReader {
 			super(new SampleProperties(sampleRaw, sampleFrame));
 		}
 
+		public GenerateReaderFrame(SampleProperties sampleProperties, boolean codegen) throws Exception {
+			super(sampleProperties, codegen);
+		}
+
+		public GenerateReaderFrame(String sampleRaw, FrameBlock sampleFrame, boolean codegen) throws Exception {
+			super(new SampleProperties(sampleRaw, sampleFrame), codegen);
+		}
+
 		public FrameReader getReader() throws Exception {
 
 			boolean isMapped = readerMapping != null && readerMapping.isMapped();
@@ -114,7 +142,10 @@ public abstract class GenerateReader {
 				throw new Exception("The file format couldn't recognize!!");
 			}
 			// 2. Generate a Frame Reader:
-			if(ffp.getRowPattern().equals(CustomProperties.GRPattern.Regular)) {
+			if(codegen) {
+				frameReader = new FrameCodeGenReader(ffp);
+			}
+			else if(ffp.getRowPattern().equals(CustomProperties.GRPattern.Regular)) {
 				if(ffp.getColPattern().equals(CustomProperties.GRPattern.Regular)) {
 					frameReader = new FrameGenerateReader.FrameReaderRowRegularColRegular(ffp);
 				}
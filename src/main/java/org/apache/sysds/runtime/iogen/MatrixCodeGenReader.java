@@ -0,0 +1,267 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.iogen;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapred.FileInputFormat;
+import org.apache.hadoop.mapred.InputFormat;
+import org.apache.hadoop.mapred.InputSplit;
+import org.apache.hadoop.mapred.JobConf;
+import org.apache.hadoop.mapred.RecordReader;
+import org.apache.hadoop.mapred.Reporter;
+import org.apache.hadoop.mapred.TextInputFormat;
+import org.apache.sysds.conf.ConfigurationManager;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.io.IOUtilFunctions;
+import org.apache.sysds.runtime.io.IOUtilFunctions.CountRowsTask;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.InputStreamInputFormat;
+
+/**
+ * Multi-threaded matrix reader for inferred formats, which parses the lines of
+ * all file splits in parallel via a generated and compiled parser (see ReaderCodeGen).
+ * For row-regular formats, a first pass counts the rows per split to obtain the
+ * row offsets of each split. For row-irregular formats, a first pass obtains the
+ * max row index if the number of rows is unknown; since cells of a row may span
+ * multiple splits, sparse outputs are read sequentially.
+ */
+public class MatrixCodeGenReader extends MatrixReader
+{
+	private final CustomProperties _props;
+	private final CodeGenMatrixParser _parser;
+	private final int _numThreads;
+
+	public MatrixCodeGenReader(CustomProperties props) {
+		_props = props;
+		_parser = ReaderCodeGen.compileMatrixParser(props);
+		_numThreads = OptimizerUtils.getParallelTextReadParallelism();
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromHDFS(String fname, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		if( clen < 0 )
+			throw new IOException("Unknown number of columns for generated reader of file " + fname + ".");
+
+		//prepare file access
+		JobConf job = new JobConf(ConfigurationManager.getCachedJobConf());
+		Path path = new Path(fname);
+		FileSystem fs = IOUtilFunctions.getFileSystem(path, job);
+		FileInputFormat.addInputPath(job, path);
+		checkValidInputFile(fs, path);
+
+		TextInputFormat informat = new TextInputFormat();
+		informat.configure(job);
+		InputSplit[] splits = informat.getSplits(job, _numThreads);
+		splits = IOUtilFunctions.sortInputSplits(splits);
+
+		ExecutorService pool = CommonThreadPool.get(_numThreads);
+		try {
+			//compute row offsets per split and number of rows
+			long[] offsets = computeRowOffsets(_props, pool, splits, informat, job, rlen < 0);
+			if( rlen < 0 )
+				rlen = offsets[splits.length];
+
+			//allocate output matrix block (incl block allocation for parallel)
+			MatrixBlock ret = createOutputMatrixBlock(rlen, clen,
+				(blen > 0) ? blen : ConfigurationManager.getBlocksize(),
+				(estnnz < 0) ? rlen * clen : estnnz, true, true);
+
+			//core read (sequential/parallel)
+			boolean rowIrregular = _props.getRowPattern() != CustomProperties.GRPattern.Regular;
+			ArrayList<ReadTask> tasks = new ArrayList<>();
+			for( int i=0; i<splits.length; i++ )
+				tasks.add(new ReadTask(splits[i], informat, job, ret, (int)offsets[i], (int)clen));
+			if( rowIrregular && ret.isInSparseFormat() ) {
+				for( ReadTask task : tasks )
+					task.call();
+			}
+			else {
+				for( Future<Long> task : pool.invokeAll(tasks) )
+					task.get();
+			}
+
+			//post-processing (appends of labels and irregular rows are unordered)
+			if( ret.isInSparseFormat() && (rowIrregular || _props.getColPattern() != CustomProperties.GRPattern.Regular) )
+				ret.sortSparseRows();
+			//nnz recomputed after the join because the parsers append w/o nnz maintenance
+			ret.recomputeNonZeros();
+			ret.examSparsity();
+			return ret;
+		}
+		catch(IOException ex) {
+			throw ex;
+		}
+		catch(Exception ex) {
+			throw new IOException("Failed parallel read of generated reader input.", ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+	}
+
+	@Override
+	public MatrixBlock readMatrixFromInputStream(InputStream is, long rlen, long clen, int blen, long estnnz)
+		throws IOException, DMLRuntimeException
+	{
+		if( rlen < 0 || clen < 0 )
+			throw new IOException("Unknown dimensions for generated reader of input stream.");
+
+		//allocate output matrix block
+		MatrixBlock ret = createOutputMatrixBlock(rlen, clen,
+			(blen > 0) ? blen : ConfigurationManager.getBlocksize(),
+			(estnnz < 0) ? rlen * clen : estnnz, true, false);
+
+		//core read (sequential)
+		InputStreamInputFormat informat = new InputStreamInputFormat(is);
+		InputSplit split = informat.getSplits(null, 1)[0];
+		long lnnz = new ReadTask(split, informat, null, ret, 0, (int)clen).call();
+
+		if( ret.isInSparseFormat() )
+			ret.sortSparseRows();
+		ret.setNonZeros(lnnz);
+		ret.examSparsity();
+		return ret;
+	}
+
+	/**
+	 * Computes the row offsets of all splits and the total number of rows,
+	 * which is stored at position splits.length of the returned array.
+	 *
+	 * @param props format properties
+	 * @param pool thread pool
+	 * @param splits sorted input splits
+	 * @param informat input format
+	 * @param job job configuration
+	 * @param nrow if true, compute the number of rows of row-irregular formats
+	 * @return array of row offsets
+	 * @throws Exception if the count of rows fails
+	 */
+	protected static long[] computeRowOffsets(CustomProperties props, ExecutorService pool,
+		InputSplit[] splits, TextInputFormat informat, JobConf job, boolean nrow) throws Exception
+	{
+		long[] ret = new long[splits.length + 1];
+		if( props.getRowPattern() == CustomProperties.GRPattern.Regular ) {
+			//row offsets as prefix sums of rows per split
+			List<CountRowsTask> tasks = new ArrayList<>();
+			for( InputSplit split : splits )
+				tasks.add(new CountRowsTask(split, informat, job));
+			List<Future<Long>> rt = pool.invokeAll(tasks);
+			for( int i=0; i<splits.length; i++ )
+				ret[i+1] = ret[i] + rt.get(i).get();
+		}
+		else if( nrow ) {
+			//number of rows via max row index (row offsets via explicit indexes)
+			List<MaxRowIndexTask> tasks = new ArrayList<>();
+			for( InputSplit split : splits )
+				tasks.add(new MaxRowIndexTask(split, informat, job, props.getDelim()));
+			long max = Long.MIN_VALUE;
+			for( Future<Long> task : pool.invokeAll(tasks) )
+				max = Math.max(max, task.get());
+			ret[splits.length] = (max == Long.MIN_VALUE) ? 0 : max - props.getFirstRowIndex() + 1;
+		}
+		return ret;
+	}
+
+	private class ReadTask implements Callable<Long>
+	{
+		private final InputSplit _split;
+		private final InputFormat<LongWritable, Text> _informat;
+		private final JobConf _job;
+		private final MatrixBlock _dest;
+		private final int _rl;
+		private final int _clen;
+
+		public ReadTask(InputSplit split, InputFormat<LongWritable, Text> informat, JobConf job, MatrixBlock dest, int rl, int clen) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_dest = dest;
+			_rl = rl;
+			_clen = clen;
+		}
+
+		@Override
+		public Long call() throws IOException {
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			long lnnz = 0;
+			int row = _rl;
+			try {
+				while( reader.next(key, value) )
+					lnnz += _parser.parse(value.toString(), row++, _dest, _clen);
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return lnnz;
+		}
+	}
+
+	protected static class MaxRowIndexTask implements Callable<Long>
+	{
+		private final InputSplit _split;
+		private final TextInputFormat _informat;
+		private final JobConf _job;
+		private final String _delim;
+
+		public MaxRowIndexTask(InputSplit split, TextInputFormat informat, JobConf job, String delim) {
+			_split = split;
+			_informat = informat;
+			_job = job;
+			_delim = delim;
+		}
+
+		@Override
+		public Long call() throws IOException {
+			RecordReader<LongWritable, Text> reader = _informat.getRecordReader(_split, _job, Reporter.NULL);
+			LongWritable key = new LongWritable();
+			Text value = new Text();
+			FastStringTokenizer st = new FastStringTokenizer(_delim);
+			long max = Long.MIN_VALUE;
+			try {
+				while( reader.next(key, value) ) {
+					st.reset(value.toString());
+					max = Math.max(max, st.nextInt());
+				}
+			}
+			finally {
+				IOUtilFunctions.closeSilently(reader);
+			}
+			return max;
+		}
+	}
+}
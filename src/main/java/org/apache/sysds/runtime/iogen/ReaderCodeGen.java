@@ -0,0 +1,381 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.iogen;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.codegen.CodegenUtils;
+import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
+
+/**
+ * Code generator for readers of inferred formats. Instead of interpreting the
+ * format properties per line (see MatrixGenerateReader and FrameGenerateReader),
+ * we emit a parser that inlines the delimiters, NA strings, and index offsets of
+ * the given format, compile it via the codegen compiler infrastructure, and cache
+ * the compiled class by its source code. The generated parsers replicate the
+ * tokenization semantics of FastStringTokenizer, where consecutive delimiters are
+ * skipped but still advance the column index.
+ */
+public class ReaderCodeGen {
+
+	private static final String MATRIX_TEMPLATE =
+		  "package codegen;\n"
+		+ "import org.apache.sysds.runtime.iogen.CodeGenMatrixParser;\n"
+		+ "import org.apache.sysds.runtime.matrix.data.MatrixBlock;\n"
+		+ "import org.apache.sysds.runtime.util.UtilFunctions;\n"
+		+ "\n"
+		+ "public final class %TMP% extends CodeGenMatrixParser {\n"
+		+ "  public long parse(String line, int row, MatrixBlock dest, int clen) {\n"
+		+ "%BODY%"
+		+ "  }\n"
+		+ "}\n";
+
+	private static final String FRAME_TEMPLATE =
+		  "package codegen;\n"
+		+ "import org.apache.sysds.common.Types.ValueType;\n"
+		+ "import org.apache.sysds.runtime.iogen.CodeGenFrameParser;\n"
+		+ "import org.apache.sysds.runtime.matrix.data.FrameBlock;\n"
+		+ "import org.apache.sysds.runtime.util.UtilFunctions;\n"
+		+ "\n"
+		+ "public final class %TMP% extends CodeGenFrameParser {\n"
+		+ "  public void parse(String line, int row, FrameBlock dest, ValueType[] schema, int clen) {\n"
+		+ "%BODY%"
+		+ "  }\n"
+		+ "}\n";
+
+	private static final IDSequence _seqID = new IDSequence();
+
+	//cache of compiled parser classes by generated source code
+	private static final ConcurrentHashMap<String, Class<?>> _cache = new ConcurrentHashMap<>();
+
+	public static CodeGenMatrixParser compileMatrixParser(CustomProperties props) {
+		return (CodeGenMatrixParser) createInstance(compile(generateMatrixParser(props)));
+	}
+
+	public static CodeGenFrameParser compileFrameParser(CustomProperties props) {
+		return (CodeGenFrameParser) createInstance(compile(generateFrameParser(props)));
+	}
+
+	public static String generateMatrixParser(CustomProperties props) {
+		String body;
+		if(props.getRowPattern() == CustomProperties.GRPattern.Regular) {
+			body = (props.getColPattern() == CustomProperties.GRPattern.Regular) ?
+				genMatrixRowRegularColRegular(props) : genMatrixRowRegularColIrregular(props);
+		}
+		else
+			body = genMatrixRowIrregular(props);
+		return MATRIX_TEMPLATE.replace("%BODY%", body);
+	}
+
+	public static String generateFrameParser(CustomProperties props) {
+		String body;
+		if(props.getRowPattern() == CustomProperties.GRPattern.Regular) {
+			body = (props.getColPattern() == CustomProperties.GRPattern.Regular) ?
+				genFrameRowRegularColRegular(props) : genFrameRowRegularColIrregular(props);
+		}
+		else
+			body = genFrameRowIrregular(props);
+		return FRAME_TEMPLATE.replace("%BODY%", body);
+	}
+
+	public static void clearCache() {
+		_cache.clear();
+	}
+
+	private static Class<?> compile(String src) {
+		return _cache.computeIfAbsent(src, k -> {
+			String name = "IOGEN" + _seqID.getNextID();
+			return CodegenUtils.compileClass("codegen." + name, k.replace("%TMP%", name));
+		});
+	}
+
+	private static Object createInstance(Class<?> cla) {
+		try {
+			return cla.getDeclaredConstructor().newInstance();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed to instantiate generated reader " + cla.getName() + ".", ex);
+		}
+	}
+
+	////////////////////////////
+	// Matrix parser bodies
+
+	private static String genMatrixRowRegularColRegular(CustomProperties props) {
+		String delim = props.getDelim();
+		StringBuilder sb = new StringBuilder();
+		sb.append("    long lnnz = 0;\n");
+		sb.append("    int len = line.length();\n");
+		sb.append("    int pos = 0;\n");
+		sb.append("    int col = 0;\n");
+		sb.append("    while( pos < len ) {\n");
+		sb.append("      if( " + genStartsWith("line", delim, "pos") + " ) {\n");
+		sb.append("        pos += " + delim.length() + ";\n");
+		sb.append("        col++;\n");
+		sb.append("        continue;\n");
+		sb.append("      }\n");
+		sb.append(genTokenEnd("line", delim, "pos", "len", "end", "      "));
+		sb.append("      String tok = line.substring(pos, end);\n");
+		sb.append("      pos = end;\n");
+		if(hasNaStrings(props))
+			sb.append("      if( " + genIsNaString("tok", props.getNaStrings()) + " ) continue;\n");
+		sb.append("      double v = Double.parseDouble(tok);\n");
+		sb.append("      if( v != 0 ) {\n");
+		sb.append("        dest.appendValuePlain(row, col, v);\n");
+		sb.append("        lnnz++;\n");
+		sb.append("      }\n");
+		sb.append("    }\n");
+		sb.append("    return lnnz;\n");
+		return sb.toString();
+	}
+
+	private static String genMatrixRowRegularColIrregular(CustomProperties props) {
+		String delim = props.getDelim();
+		int firstCol = props.getFirstColIndex();
+		StringBuilder sb = new StringBuilder();
+		sb.append("    long lnnz = 0;\n");
+		sb.append("    int len = line.length();\n");
+		sb.append("    int pos = 0;\n");
+		sb.append("    boolean label = true;\n");
+		sb.append("    while( pos < len ) {\n");
+		sb.append("      if( " + genStartsWith("line", delim, "pos") + " ) {\n");
+		sb.append("        pos += " + delim.length() + ";\n");
+		sb.append("        continue;\n");
+		sb.append("      }\n");
+		sb.append(genTokenEnd("line", delim, "pos", "len", "end", "      "));
+		sb.append("      String tok = line.substring(pos, end);\n");
+		sb.append("      pos = end;\n");
+		sb.append("      if( label ) {\n");
+		sb.append("        double v = UtilFunctions.parseToDouble(tok, null);\n");
+		sb.append("        if( v != 0 ) {\n");
+		sb.append("          dest.appendValuePlain(row, clen - " + (firstCol + 1) + ", v);\n");
+		sb.append("          lnnz++;\n");
+		sb.append("        }\n");
+		sb.append("        label = false;\n");
+		sb.append("        continue;\n");
+		sb.append("      }\n");
+		sb.append(genIndexValuePair(props, "        "));
+		sb.append("      if( val != null ) {\n");
+		sb.append("        double v = Double.parseDouble(val);\n");
+		sb.append("        if( v != 0 ) {\n");
+		sb.append("          dest.appendValuePlain(row, col - " + firstCol + ", v);\n");
+		sb.append("          lnnz++;\n");
+		sb.append("        }\n");
+		sb.append("      }\n");
+		sb.append("    }\n");
+		sb.append("    return lnnz;\n");
+		return sb.toString();
+	}
+
+	private static String genMatrixRowIrregular(CustomProperties props) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(genRowColValueTriple(props));
+		sb.append("    if( val == null || " + genIsNaString("val", props.getNaStrings()) + " )\n");
+		sb.append("      return 0;\n");
+		sb.append("    double v = Double.parseDouble(val);\n");
+		sb.append("    if( v == 0 )\n");
+		sb.append("      return 0;\n");
+		sb.append("    dest.appendValuePlain(ri - " + props.getFirstRowIndex() + ", ci - " + props.getFirstColIndex() + ", v);\n");
+		sb.append("    return 1;\n");
+		return sb.toString();
+	}
+
+	////////////////////////////
+	// Frame parser bodies
+
+	private static String genFrameRowRegularColRegular(CustomProperties props) {
+		String delim = props.getDelim();
+		StringBuilder sb = new StringBuilder();
+		sb.append("    int len = line.length();\n");
+		sb.append("    int pos = 0;\n");
+		sb.append("    int col = 0;\n");
+		sb.append("    while( pos < len ) {\n");
+		sb.append("      if( " + genStartsWith("line", delim, "pos") + " ) {\n");
+		sb.append("        pos += " + delim.length() + ";\n");
+		sb.append("        col++;\n");
+		sb.append("        continue;\n");
+		sb.append("      }\n");
+		sb.append(genTokenEnd("line", delim, "pos", "len", "end", "      "));
+		sb.append("      String tok = line.substring(pos, end);\n");
+		sb.append("      pos = end;\n");
+		if(hasNaStrings(props))
+			sb.append("      if( " + genIsNaString("tok", props.getNaStrings()) + " ) continue;\n");
+		sb.append("      dest.set(row, col, UtilFunctions.stringToObject(schema[col], tok));\n");
+		sb.append("    }\n");
+		return sb.toString();
+	}
+
+	private static String genFrameRowRegularColIrregular(CustomProperties props) {
+		String delim = props.getDelim();
+		int firstCol = props.getFirstColIndex();
+		StringBuilder sb = new StringBuilder();
+		sb.append("    int len = line.length();\n");
+		sb.append("    int pos = 0;\n");
+		sb.append("    boolean label = true;\n");
+		sb.append("    while( pos < len ) {\n");
+		sb.append("      if( " + genStartsWith("line", delim, "pos") + " ) {\n");
+		sb.append("        pos += " + delim.length() + ";\n");
+		sb.append("        continue;\n");
+		sb.append("      }\n");
+		sb.append(genTokenEnd("line", delim, "pos", "len", "end", "      "));
+		sb.append("      String tok = line.substring(pos, end);\n");
+		sb.append("      pos = end;\n");
+		sb.append("      if( label ) {\n");
+		sb.append("        int lcol = clen - " + (firstCol + 1) + ";\n");
+		sb.append("        dest.set(row, lcol, UtilFunctions.stringToObject(schema[lcol], tok));\n");
+		sb.append("        label = false;\n");
+		sb.append("        continue;\n");
+		sb.append("      }\n");
+		sb.append(genIndexValuePair(props, "        "));
+		sb.append("      if( val != null )\n");
+		sb.append("        dest.set(row, col - " + firstCol + ", UtilFunctions.stringToObject(schema[col - "
+			+ firstCol + "], val));\n");
+		sb.append("    }\n");
+		return sb.toString();
+	}
+
+	private static String genFrameRowIrregular(CustomProperties props) {
+		StringBuilder sb = new StringBuilder();
+		sb.append(genRowColValueTriple(props));
+		sb.append("    if( val != null )\n");
+		sb.append("      dest.set(ri - " + props.getFirstRowIndex() + ", ci - " + props.getFirstColIndex()
+			+ ", UtilFunctions.stringToObject(schema[ci - " + props.getFirstColIndex() + "], val));\n");
+		return sb.toString();
+	}
+
+	////////////////////////////
+	// Common code fragments
+
+	private static String genIndexValuePair(CustomProperties props, String indent) {
+		// parses 'tok' into column index 'col' and value 'val', where a pair w/o
+		// index delimiter yields "0" and a pair w/ trailing delimiters yields null
+		String idelim = props.getIndexDelim();
+		String in = indent.substring(2);
+		StringBuilder sb = new StringBuilder();
+		sb.append(in + "int tlen = tok.length();\n");
+		sb.append(in + "int p = 0;\n");
+		sb.append(in + "while( p < tlen && " + genStartsWith("tok", idelim, "p") + " )\n");
+		sb.append(in + "  p += " + idelim.length() + ";\n");
+		sb.append(in + "int e = " + genIndexOf("tok", idelim, "p") + ";\n");
+		sb.append(in + "int col = Integer.parseInt(e < 0 ? tok.substring(p) : tok.substring(p, e));\n");
+		sb.append(in + "String val = \"0\";\n");
+		sb.append(in + "if( e >= 0 ) {\n");
+		sb.append(in + "  p = e;\n");
+		sb.append(in + "  while( p < tlen && " + genStartsWith("tok", idelim, "p") + " )\n");
+		sb.append(in + "    p += " + idelim.length() + ";\n");
+		sb.append(in + "  e = " + genIndexOf("tok", idelim, "p") + ";\n");
+		sb.append(in + "  val = (p >= tlen) ? null : (e < 0) ? tok.substring(p) : tok.substring(p, e);\n");
+		sb.append(in + "}\n");
+		return sb.toString();
+	}
+
+	private static String genRowColValueTriple(CustomProperties props) {
+		// parses the first three tokens into row index 'ri', column index 'ci', and
+		// value 'val', where a line w/o third token yields "0" (or null on trailing
+		// delimiters) in order to replicate the semantics of FastStringTokenizer
+		String delim = props.getDelim();
+		StringBuilder sb = new StringBuilder();
+		sb.append("    int len = line.length();\n");
+		sb.append("    int pos = 0;\n");
+		sb.append("    int n = 0;\n");
+		sb.append("    int ri = 0;\n");
+		sb.append("    int ci = 0;\n");
+		sb.append("    String val = null;\n");
+		sb.append("    boolean eol = false;\n");
+		sb.append("    while( pos < len && n < 3 ) {\n");
+		sb.append("      if( " + genStartsWith("line", delim, "pos") + " ) {\n");
+		sb.append("        pos += " + delim.length() + ";\n");
+		sb.append("        continue;\n");
+		sb.append("      }\n");
+		sb.append(genTokenEnd("line", delim, "pos", "len", "end", "      "));
+		sb.append("      eol = (end == len);\n");
+		sb.append("      String tok = line.substring(pos, end);\n");
+		sb.append("      pos = end;\n");
+		sb.append("      if( n == 0 )\n");
+		sb.append("        ri = Integer.parseInt(tok);\n");
+		sb.append("      else if( n == 1 )\n");
+		sb.append("        ci = Integer.parseInt(tok);\n");
+		sb.append("      else\n");
+		sb.append("        val = tok;\n");
+		sb.append("      n++;\n");
+		sb.append("    }\n");
+		sb.append("    if( n == 2 && eol )\n");
+		sb.append("      val = \"0\";\n");
+		return sb.toString();
+	}
+
+	private static String genTokenEnd(String var, String delim, String pos, String len, String end, String indent) {
+		return indent + "int " + end + " = " + genIndexOf(var, delim, pos) + ";\n"
+			+ indent + "if( " + end + " < 0 ) " + end + " = " + len + ";\n";
+	}
+
+	private static String genStartsWith(String var, String delim, String pos) {
+		return (delim.length() == 1) ?
+			var + ".charAt(" + pos + ") == " + toCharLiteral(delim.charAt(0)) :
+			var + ".startsWith(" + toStringLiteral(delim) + ", " + pos + ")";
+	}
+
+	private static String genIndexOf(String var, String delim, String pos) {
+		return var + ".indexOf(" + ((delim.length() == 1) ?
+			toCharLiteral(delim.charAt(0)) : toStringLiteral(delim)) + ", " + pos + ")";
+	}
+
+	private static boolean hasNaStrings(CustomProperties props) {
+		return props.getNaStrings() != null && !props.getNaStrings().isEmpty();
+	}
+
+	private static String genIsNaString(String var, Set<String> naStrings) {
+		if(naStrings == null || naStrings.isEmpty())
+			return "false";
+		StringBuilder sb = new StringBuilder();
+		for(String na : naStrings) {
+			if(sb.length() > 0)
+				sb.append(" || ");
+			sb.append(toStringLiteral(na) + ".equals(" + var + ")");
+		}
+		return sb.toString();
+	}
+
+	private static String toStringLiteral(String str) {
+		StringBuilder sb = new StringBuilder("\"");
+		for(int i = 0; i < str.length(); i++)
+			sb.append(escape(str.charAt(i)));
+		return sb.append('"').toString();
+	}
+
+	private static String toCharLiteral(char c) {
+		return "'" + escape(c) + "'";
+	}
+
+	private static String escape(char c) {
+		switch(c) {
+			case '\\': return "\\\\";
+			case '"':  return "\\\"";
+			case '\'': return "\\'";
+			case '\t': return "\\t";
+			case '\n': return "\\n";
+			case '\r': return "\\r";
+			default:
+				return (c < 32 || c > 126) ? String.format("\\u%04x", (int) c) : String.valueOf(c);
+		}
+	}
+}
@@ -33,6 +33,12 @@ public class DnnParameters implements Serializable
 {
 	private static final long serialVersionUID = -212362627205772829L;
 	
+	// minimum number of input and output channels for Winograd convolution
+	private static final int WINOGRAD_MIN_CHANNELS = 8;
+	
+	// maximum product of input and output channels for direct convolution
+	private static final int DIRECT_MAX_CHANNELS = 128;
+	
 	public int N, C, H, W, K, R, S, P, Q;
 	public int stride_h, stride_w, pad_h, pad_w;
 	public int numThreads;
@@ -40,6 +46,18 @@ public class DnnParameters implements Serializable
 	// Optional variables used by ConvolutionCPInstruction
 	public boolean enableNative = false;
 	
+	/**
+	 * Java-based conv2d algorithms: im2col followed by matrix multiplication,
+	 * direct convolution without im2col intermediates, and Winograd F(2x2,3x3)
+	 * for 3x3 filters with stride 1.
+	 */
+	public enum ConvAlgorithm {
+		IM2COL, DIRECT, WINOGRAD
+	}
+	
+	// Optional forced conv2d algorithm (by default chosen via getConv2dAlgorithm)
+	public ConvAlgorithm convAlgorithm = null;
+	
 	public MatrixBlock input1; public MatrixBlock input2; public MatrixBlock output;
 	
 	public MatrixBlock bias;
@@ -151,6 +169,43 @@ public class DnnParameters implements Serializable
 			&& pad_h==0 && pad_w==0);
 	}
 	
+	/**
+	 * Selects the conv2d algorithm for conv2d (forward) or conv2d_backward_data.
+	 * Direct and Winograd convolutions require dense inputs and a dense output
+	 * (all in contiguous dense blocks), because they operate on the dense image
+	 * layout. Winograd is used for 3x3 filters with stride 1 and sufficiently many
+	 * channels to amortize the input and output transforms; direct convolution is
+	 * used for small (but not 1x1) filters with unit column stride and few channels,
+	 * which allows vectorized accumulation into output rows. All other cases use
+	 * im2col, whose blocked matrix multiplication is faster for many channels and
+	 * needs no im2col copy for 1x1 filters.
+	 * 
+	 * @param bwdData true for conv2d_backward_data, false for conv2d
+	 * @return conv2d algorithm
+	 */
+	public ConvAlgorithm getConv2dAlgorithm(boolean bwdData) {
+		//images (dout for backward data) and filter, see LibMatrixDNN
+		MatrixBlock images = bwdData ? input2 : input1;
+		MatrixBlock filter = bwdData ? input1 : input2;
+		if( !isDenseContiguous(images) || !isDenseContiguous(filter) || !isDenseContiguous(output) )
+			return ConvAlgorithm.IM2COL;
+		boolean winograd = R == 3 && S == 3 && stride_h == 1 && stride_w == 1
+			&& (!bwdData || (pad_h <= 2 && pad_w <= 2));
+		if( convAlgorithm != null ) //forced, if applicable
+			return (convAlgorithm == ConvAlgorithm.WINOGRAD && !winograd) ?
+				ConvAlgorithm.DIRECT : convAlgorithm;
+		if( winograd && C >= WINOGRAD_MIN_CHANNELS && K >= WINOGRAD_MIN_CHANNELS )
+			return ConvAlgorithm.WINOGRAD;
+		boolean direct = R <= 5 && S <= 5 && R*S > 1 && stride_w == 1
+			&& (long) C * K <= DIRECT_MAX_CHANNELS;
+		return direct ? ConvAlgorithm.DIRECT : ConvAlgorithm.IM2COL;
+	}
+	
+	private static boolean isDenseContiguous(MatrixBlock mb) {
+		return mb != null && !mb.isInSparseFormat() && mb.getDenseBlock() != null
+			&& mb.getDenseBlock().isContiguous();
+	}
+	
 	public boolean isAllOnes(Integer...params) {
 		boolean ret = true;
 		for(int param : params)
@@ -58,6 +58,8 @@ import org.apache.sysds.api.DMLException;
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.codegen.CodegenUtils;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysds.runtime.functionobjects.ValueComparisonFunction;
@@ -88,6 +90,9 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	//internal configuration
 	private static final boolean REUSE_RECODE_MAPS = true;
 
+	//offset of serialized column value types to indicate compressed columns
+	private static final byte COMPRESSED_TYPE_OFFSET = 64;
+
 	/** The number of rows of the FrameBlock */
 	private int _numRows = -1;
 
@@ -428,7 +433,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	 * @param val value to set at specified position
 	 */
 	public void set(int r, int c, Object val) {
-		_coldata[c].set(r, UtilFunctions.objectToObject(_schema[c], val));
+		getUncompressedColumn(c).set(r, UtilFunctions.objectToObject(_schema[c], val));
 		_msize = -1;
 	}
 
@@ -444,7 +449,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		}
 		if(_coldata != null) {
 			for( int i=0; i < _coldata.length; i++ )
-				_coldata[i].reset(nrow);
+				getUncompressedColumn(i).reset(nrow);
 		}
 		_msize = -1;
 	}
@@ -463,7 +468,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	public void appendRow(Object[] row) {
 		ensureAllocatedColumns(0);
 		for( int j=0; j<row.length; j++ )
-			_coldata[j].append(row[j]);
+			getUncompressedColumn(j).append(row[j]);
 		_numRows++;
 	}
 
@@ -476,7 +481,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	public void appendRow(String[] row) {
 		ensureAllocatedColumns(0);
 		for( int j=0; j<row.length; j++ )
-			_coldata[j].append(row[j]);
+			getUncompressedColumn(j).append(row[j]);
 		_numRows++;
 	}
 
@@ -609,6 +614,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	}
 
 	public void appendColumn(ValueType vt, Array col) {
+		col = uncompressed(col);
 		switch (vt) {
 			case STRING:
 				appendColumn(((StringArray) col).get());
@@ -634,12 +640,13 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	}
 
 	public Object getColumnData(int c) {
+		Array col = getUncompressedColumn(c);
 		switch(_schema[c]) {
-			case STRING:  return ((StringArray)_coldata[c])._data;
-			case BOOLEAN: return ((BooleanArray)_coldata[c])._data;
-			case INT64:   return ((LongArray)_coldata[c])._data;
-			case INT32:   return ((IntegerArray)_coldata[c])._data;
-			case FP64:    return ((DoubleArray)_coldata[c])._data;
+			case STRING:  return ((StringArray)col)._data;
+			case BOOLEAN: return ((BooleanArray)col)._data;
+			case INT64:   return ((LongArray)col)._data;
+			case INT32:   return ((IntegerArray)col)._data;
+			case FP64:    return ((DoubleArray)col)._data;
 			default:      return null;
 	 	}
 	}
@@ -669,9 +676,9 @@ public class FrameBlock implements CacheBlock, Externalizable {
 	public byte[] getIndexAsBytes(int c, int r){
 		switch(_schema[c]){
 			case STRING:
-				String[] col = ((StringArray)_coldata[c])._data;
-				if(col[r] != null)
-					return col[r].getBytes();
+				String val = (String)_coldata[c].get(r);
+				if(val != null)
+					return val.getBytes();
 				else
 					return null;
 			default:
@@ -683,35 +690,35 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		final int nRow = getNumRows();
 		switch(_schema[c]){
 			case INT64:
-				long[] colLong = ((LongArray)_coldata[c])._data;
+				long[] colLong = ((LongArray)uncompressed(_coldata[c]))._data;
 				ByteBuffer longBuffer = ByteBuffer.allocate(8 * nRow);
 				longBuffer.order(ByteOrder.LITTLE_ENDIAN);
 				for(int i = 0; i <  nRow; i++)
 					longBuffer.putLong(colLong[i]);
 				return longBuffer.array();
 			case INT32:
-				int[] colInt = ((IntegerArray)_coldata[c])._data;
+				int[] colInt = ((IntegerArray)uncompressed(_coldata[c]))._data;
 				ByteBuffer intBuffer = ByteBuffer.allocate(4 *  nRow);
 				intBuffer.order(ByteOrder.LITTLE_ENDIAN);
 				for(int i = 0; i < nRow; i++)
 					intBuffer.putInt(colInt[i]);
 				return intBuffer.array();
 			case FP64:
-				double[] colDouble = ((DoubleArray)_coldata[c])._data;
+				double[] colDouble = ((DoubleArray)uncompressed(_coldata[c]))._data;
 				ByteBuffer doubleBuffer = ByteBuffer.allocate(8 * nRow);
 				doubleBuffer.order(ByteOrder.nativeOrder());
 				for(int i = 0; i < nRow; i++)
 					doubleBuffer.putDouble(colDouble[i]);
 				return doubleBuffer.array();
 			case FP32:
-				float[] colFloat = ((FloatArray)_coldata[c])._data;
+				float[] colFloat = ((FloatArray)uncompressed(_coldata[c]))._data;
 				ByteBuffer floatBuffer = ByteBuffer.allocate(8 * nRow);
 				floatBuffer.order(ByteOrder.nativeOrder());
 				for(int i = 0; i < nRow; i++)
 					floatBuffer.putDouble(colFloat[i]);
 				return floatBuffer.array();
 			case BOOLEAN:
-				boolean[] colBool = ((BooleanArray)_coldata[c])._data;
+				boolean[] colBool = ((BooleanArray)uncompressed(_coldata[c]))._data;
 				// over allocating here.. we could maybe bit pack?
 				ByteBuffer booleanBuffer = ByteBuffer.allocate(nRow);
 				booleanBuffer.order(ByteOrder.nativeOrder());
@@ -734,6 +741,77 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		_msize = -1;
 	}
 
+	/**
+	 * Compresses all columns with few distinct values in place, where
+	 * single-valued columns are represented as constants, and columns with
+	 * repeated values are dictionary-encoded (distinct values and a mapping
+	 * of rows to dictionary positions). Columns that do not benefit from
+	 * compression remain unchanged. Compressed columns are read-only and
+	 * transparently decompressed on updates.
+	 *
+	 * @param k degree of parallelism
+	 */
+	public void compress(int k) {
+		if( _coldata == null || _numRows == 0 )
+			return;
+		int ncol = getNumColumns();
+		if( k <= 1 || ncol == 1 ) {
+			for( int j=0; j<ncol; j++ )
+				_coldata[j] = compressArray(_schema[j], _coldata[j], _numRows);
+		}
+		else {
+			ExecutorService pool = CommonThreadPool.get(Math.min(k, ncol));
+			try {
+				ArrayList<CompressColumnTask> tasks = new ArrayList<>();
+				for( int j=0; j<ncol; j++ )
+					tasks.add(new CompressColumnTask(_schema[j], _coldata[j], _numRows));
+				List<Future<Array>> ret = pool.invokeAll(tasks);
+				for( int j=0; j<ncol; j++ )
+					_coldata[j] = ret.get(j).get();
+			}
+			catch(ExecutionException | InterruptedException e) {
+				throw new DMLRuntimeException("Failed parallel frame compression.", e);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		_msize = -1;
+	}
+
+	/**
+	 * Decompresses all compressed columns in place.
+	 */
+	public void decompress() {
+		for( int j=0; _coldata!=null && j<_coldata.length; j++ )
+			getUncompressedColumn(j);
+	}
+
+	/**
+	 * Indicates if the given column is compressed.
+	 *
+	 * @param c column index, 0-based
+	 * @return true if the column is compressed
+	 */
+	public boolean isColumnCompressed(int c) {
+		return _coldata != null && _coldata[c] instanceof CompressedArray;
+	}
+
+	/**
+	 * Gets the column data and replaces a compressed column by its
+	 * decompressed array, which is necessary before any update.
+	 *
+	 * @param c column index, 0-based
+	 * @return uncompressed column array
+	 */
+	private Array getUncompressedColumn(int c) {
+		if( _coldata[c] instanceof CompressedArray ) {
+			_coldata[c] = ((CompressedArray<?>)_coldata[c]).decompress();
+			_msize = -1;
+		}
+		return _coldata[c];
+	}
+
 	/**
 	 * Get a row iterator over the frame where all fields are encoded
 	 * as strings independent of their value types.
@@ -884,6 +962,8 @@ public class FrameBlock implements CacheBlock, Externalizable {
 			byte type = (byte)_schema[j].ordinal();
 			if( _coldata == null || _coldata[j] == null )
 				type *= -1; //negative to indicate non-existence
+			else if( _coldata[j] instanceof CompressedArray )
+				type += COMPRESSED_TYPE_OFFSET; //offset to indicate compression
 			out.writeByte(type);
 			if( !isDefaultMeta ) {
 				out.writeUTF(getColumnName(j));
@@ -914,12 +994,15 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		//read columns (value type, meta, data)
 		for( int j=0; j<numCols; j++ ) {
 			byte type = in.readByte();
-			ValueType vt = ValueType.values()[Math.abs(type)];
+			boolean compressed = type >= COMPRESSED_TYPE_OFFSET;
+			ValueType vt = ValueType.values()[compressed ? type - COMPRESSED_TYPE_OFFSET : Math.abs(type)];
 			String name = isDefaultMeta ? createColName(j) : in.readUTF();
 			long ndistinct = isDefaultMeta ? 0 : in.readLong();
 			String mvvalue = isDefaultMeta ? null : in.readUTF();
 			Array arr = null;
-			if( type > 0 ) { //non-empty column
+			if( compressed )
+				arr = readCompressedArray(in, vt, _numRows);
+			else if( type > 0 ) { //non-empty column
 				switch( vt ) {
 					case STRING:  arr = new StringArray(new String[_numRows]); break;
 					case BOOLEAN: arr = new BooleanArray(new boolean[_numRows]); break;
@@ -983,6 +1066,10 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		//data array (overhead and entries)
 		size += 8 + 32 + clen * (16+4+8+32);
 		for( int j=0; j<clen; j++ ) {
+			if( _coldata[j] instanceof CompressedArray ) {
+				size += ((CompressedArray<?>)_coldata[j]).getInMemorySize();
+				continue;
+			}
 			switch( _schema[j] ) {
 				case BOOLEAN: size += _numRows; break;
 				case INT64:
@@ -1014,6 +1101,10 @@ public class FrameBlock implements CacheBlock, Externalizable {
 				size += 8;
 				size += IOUtilFunctions.getUTFSize(_colmeta[j].getMvValue());
 			}
+			if( _coldata[j] instanceof CompressedArray ) {
+				size += ((CompressedArray<?>)_coldata[j]).getExactSerializedSize();
+				continue;
+			}
 			switch( _schema[j] ) {
 				case BOOLEAN: size += _numRows; break;
 				case INT64:
@@ -1068,6 +1159,125 @@ public class FrameBlock implements CacheBlock, Externalizable {
 			+ 32 + value.length();     //char array
 	}
 
+	private static long getInMemoryArraySize(ValueType vt, Array<?> arr) {
+		long size = 16 + 4 + 8 + 32; //object, size, ref, array header
+		switch( vt ) {
+			case BOOLEAN: return size + arr._size;
+			case INT32:
+			case FP32: return size + 4L * arr._size;
+			case INT64:
+			case FP64: return size + 8L * arr._size;
+			case STRING:
+				size += 8L * arr._size;
+				for( int i=0; i<arr._size; i++ )
+					size += getInMemoryStringSize((String)arr.get(i));
+				return size;
+			default:
+				throw new DMLRuntimeException("Unsupported value type: " + vt);
+		}
+	}
+
+	private static long getExactSerializedArraySize(ValueType vt, Array<?> arr) {
+		switch( vt ) {
+			case BOOLEAN: return arr._size;
+			case INT32:
+			case FP32: return 4L * arr._size;
+			case INT64:
+			case FP64: return 8L * arr._size;
+			case STRING:
+				long size = 0;
+				for( int i=0; i<arr._size; i++ )
+					size += IOUtilFunctions.getUTFSize((String)arr.get(i));
+				return size;
+			default:
+				throw new DMLRuntimeException("Unsupported value type: " + vt);
+		}
+	}
+
+	private static Array allocateArray(ValueType vt, int numRows) {
+		switch( vt ) {
+			case STRING:  return new StringArray(new String[numRows]);
+			case BOOLEAN: return new BooleanArray(new boolean[numRows]);
+			case INT32:   return new IntegerArray(new int[numRows]);
+			case INT64:   return new LongArray(new long[numRows]);
+			case FP32:    return new FloatArray(new float[numRows]);
+			case FP64:    return new DoubleArray(new double[numRows]);
+			default: throw new DMLRuntimeException("Unsupported value type: " + vt);
+		}
+	}
+
+	private static Array uncompressed(Array arr) {
+		return (arr instanceof CompressedArray) ?
+			((CompressedArray<?>)arr).decompress() : arr;
+	}
+
+	private static Array copyUncompressed(Array arr) {
+		//decompression already creates a new array
+		return (arr instanceof CompressedArray) ?
+			((CompressedArray<?>)arr).decompress() : arr.clone();
+	}
+
+	/**
+	 * Compresses the given column array into a constant or dictionary-encoded
+	 * array if the compressed size is smaller than the uncompressed size.
+	 *
+	 * @param vt value type of the column
+	 * @param arr column array
+	 * @param numRows number of rows
+	 * @return compressed array, or the input if not beneficial
+	 */
+	@SuppressWarnings("unchecked")
+	private static Array compressArray(ValueType vt, Array arr, int numRows) {
+		if( arr == null || arr instanceof CompressedArray || numRows == 0 )
+			return arr;
+
+		//map distinct values to codes in order of appearance (w/ early abort)
+		HashMap<Object, Integer> dict = new HashMap<>();
+		int[] codes = new int[numRows];
+		int maxDistinct = numRows / 2;
+		for( int i=0; i<numRows; i++ ) {
+			Object val = arr.get(i);
+			Integer code = dict.get(val);
+			if( code == null ) {
+				if( dict.size() >= maxDistinct && numRows > 1 )
+					return arr;
+				code = dict.size();
+				dict.put(val, code);
+			}
+			codes[i] = code;
+		}
+		Array values = allocateArray(vt, dict.size());
+		for( Map.Entry<Object, Integer> e : dict.entrySet() )
+			values.set(e.getValue(), e.getKey());
+		if( dict.size() == 1 )
+			return new ConstArray<>(vt, values, numRows);
+
+		//dictionary encoding only if smaller than the uncompressed array
+		long usize = getInMemoryArraySize(vt, arr);
+		long csize = getInMemoryArraySize(vt, values) + MapToFactory.estimateInMemorySize(numRows, dict.size());
+		if( csize >= usize )
+			return arr;
+		AMapToData map = MapToFactory.create(numRows, dict.size());
+		for( int i=0; i<numRows; i++ )
+			map.set(i, codes[i]);
+		return new DDCArray<>(vt, values, map);
+	}
+
+	private static Array readCompressedArray(DataInput in, ValueType vt, int numRows) throws IOException {
+		byte atype = in.readByte();
+		if( atype == 1 ) { //ddc
+			Array dict = allocateArray(vt, in.readInt());
+			dict.readFields(in);
+			return new DDCArray<>(vt, dict, MapToFactory.readIn(in));
+		}
+		else if( atype == 2 ) { //const
+			Array value = allocateArray(vt, 1);
+			value.readFields(in);
+			return new ConstArray<>(vt, value, numRows);
+		}
+		throw new IOException("Unsupported compressed frame column type: " + atype);
+	}
+
 	/**
 	 *  This method performs the value comparison on two frames
 	 *  if the values in both frames are equal, not equal, less than, greater than, less than/greater than and equal to
@@ -1185,11 +1395,12 @@ public class FrameBlock implements CacheBlock, Externalizable {
 
 		//copy data to output and partial overwrite w/ rhs
 		for( int j=0; j<getNumColumns(); j++ ) {
-			Array tmp = _coldata[j].clone();
-			if( j>=cl && j<=cu ) {
+			boolean update = j>=cl && j<=cu;
+			Array tmp = update ? copyUncompressed(_coldata[j]) : _coldata[j].clone();
+			if( update ) {
 				//fast-path for homogeneous column schemas
 				if( _schema[j]==rhsFrame._schema[j-cl] )
-					tmp.set(rl, ru, rhsFrame._coldata[j-cl]);
+					tmp.set(rl, ru, uncompressed(rhsFrame._coldata[j-cl]));
 				//general-path for heterogeneous column schemas
 				else {
 					for( int i=rl; i<=ru; i++ )
@@ -1269,10 +1480,10 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		//copy output data
 		else {
 			for( int j=cl; j<=cu; j++ ) {
-				if( ret._coldata[j-cl] == null )
+				if( ret._coldata[j-cl] == null || _coldata[j] instanceof CompressedArray )
 					ret._coldata[j-cl] = _coldata[j].slice(rl,ru);
 				else
-					ret._coldata[j-cl].set(0, ru-rl, _coldata[j], rl);
+					ret.getUncompressedColumn(j-cl).set(0, ru-rl, _coldata[j], rl);
 			}
 		}
 		return ret;
@@ -1370,7 +1581,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 			//concatenate data (deep copy first, append second)
 			ret._coldata = new Array[getNumColumns()];
 			for( int j=0; j<getNumColumns(); j++ )
-				ret._coldata[j] = _coldata[j].clone();
+				ret._coldata[j] = copyUncompressed(_coldata[j]);
 			Iterator<Object[]> iter = that.getObjectRowIterator(_schema);
 			while( iter.hasNext() )
 				ret.appendRow(iter.next());
@@ -1391,7 +1602,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		for( int j=cl; j<=cu; j++ ) {
 			//special case: column memcopy
 			if( _schema[j].equals(src._schema[j-cl]) )
-				_coldata[j].set(rl, ru, src._coldata[j-cl]);
+				getUncompressedColumn(j).set(rl, ru, uncompressed(src._coldata[j-cl]));
 			//general case w/ schema transformation
 			else
 				for( int i=rl; i<=ru; i++ ) {
@@ -1465,7 +1676,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		for( int j=0; j<getNumColumns(); j++ ) {
 			//special case: copy non-zeros of column
 			if( _schema[j].equals(that._schema[j]) )
-				_coldata[j].setNz(0, _numRows-1, that._coldata[j]);
+				getUncompressedColumn(j).setNz(0, _numRows-1, uncompressed(that._coldata[j]));
 			//general case w/ schema transformation
 			else {
 				for( int i=0; i<_numRows; i++ ) {
@@ -2078,6 +2289,156 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		}
 	}
 
+	/**
+	 * Base class for read-only compressed column arrays. Updates are not
+	 * supported in place; instead, the frame block replaces a compressed
+	 * column by its decompressed array before any modification.
+	 */
+	private abstract static class CompressedArray<T> extends Array<T> {
+		protected final ValueType _vt;
+		//distinct values as a typed array, shared on slice and clone
+		protected final Array<T> _dict;
+
+		protected CompressedArray(ValueType vt, Array<T> dict, int size) {
+			_vt = vt;
+			_dict = dict;
+			_size = size;
+		}
+		public abstract int getArrayType();
+		public abstract long getInMemorySize();
+		public abstract long getExactSerializedSize();
+
+		@SuppressWarnings("unchecked")
+		public Array<T> decompress() {
+			Array<T> ret = allocateArray(_vt, _size);
+			for( int i=0; i<_size; i++ )
+				ret.set(i, get(i));
+			return ret;
+		}
+		@Override
+		public void set(int index, T value) {
+			throw new DMLRuntimeException("Invalid update of compressed frame column.");
+		}
+		@Override
+		public void set(int rl, int ru, Array value) {
+			throw new DMLRuntimeException("Invalid update of compressed frame column.");
+		}
+		@Override
+		public void set(int rl, int ru, Array value, int rlSrc) {
+			throw new DMLRuntimeException("Invalid update of compressed frame column.");
+		}
+		@Override
+		public void setNz(int rl, int ru, Array value) {
+			throw new DMLRuntimeException("Invalid update of compressed frame column.");
+		}
+		@Override
+		public void append(String value) {
+			throw new DMLRuntimeException("Invalid append to compressed frame column.");
+		}
+		@Override
+		public void append(T value) {
+			throw new DMLRuntimeException("Invalid append to compressed frame column.");
+		}
+		@Override
+		public void reset(int size) {
+			throw new DMLRuntimeException("Invalid reset of compressed frame column.");
+		}
+	}
+
+	/**
+	 * Dictionary-encoded column array, i.e., a typed array of distinct values
+	 * and a mapping of rows to value positions (as used by DDC column groups).
+	 */
+	private static class DDCArray<T> extends CompressedArray<T> {
+		private final AMapToData _map;
+
+		public DDCArray(ValueType vt, Array<T> dict, AMapToData map) {
+			super(vt, dict, map.size());
+			_map = map;
+		}
+		@Override
+		public T get(int index) {
+			return _dict.get(_map.getIndex(index));
+		}
+		@Override
+		public int getArrayType() {
+			return 1;
+		}
+		@Override
+		public long getInMemorySize() {
+			return 16 + 8 + 8 + getInMemoryArraySize(_vt, _dict) + _map.getInMemorySize();
+		}
+		@Override
+		public long getExactSerializedSize() {
+			return 1 + 4 + getExactSerializedArraySize(_vt, _dict) + _map.getExactSizeOnDisk();
+		}
+		@Override
+		public void write(DataOutput out) throws IOException {
+			out.writeByte(getArrayType());
+			out.writeInt(_dict._size);
+			_dict.write(out);
+			_map.write(out);
+		}
+		@Override
+		public void readFields(DataInput in) throws IOException {
+			throw new IOException("Compressed frame columns are deserialized via readCompressedArray.");
+		}
+		@Override
+		public Array clone() {
+			//shallow copy, safe because compressed arrays are never modified
+			return new DDCArray<>(_vt, _dict, _map);
+		}
+		@Override
+		public Array slice(int rl, int ru) {
+			AMapToData map = MapToFactory.create(ru-rl+1, _map.getUnique());
+			for( int i=rl; i<=ru; i++ )
+				map.set(i-rl, _map.getIndex(i));
+			return new DDCArray<>(_vt, _dict, map);
+		}
+	}
+
+	/**
+	 * Constant column array, i.e., a single value repeated for all rows.
+	 */
+	private static class ConstArray<T> extends CompressedArray<T> {
+		public ConstArray(ValueType vt, Array<T> value, int size) {
+			super(vt, value, size);
+		}
+		@Override
+		public T get(int index) {
+			return _dict.get(0);
+		}
+		@Override
+		public int getArrayType() {
+			return 2;
+		}
+		@Override
+		public long getInMemorySize() {
+			return 16 + 8 + 8 + 4 + getInMemoryArraySize(_vt, _dict);
+		}
+		@Override
+		public long getExactSerializedSize() {
+			return 1 + getExactSerializedArraySize(_vt, _dict);
+		}
+		@Override
+		public void write(DataOutput out) throws IOException {
+			out.writeByte(getArrayType());
+			_dict.write(out);
+		}
+		@Override
+		public void readFields(DataInput in) throws IOException {
+			throw new IOException("Compressed frame columns are deserialized via readCompressedArray.");
+		}
+		@Override
+		public Array clone() {
+			return new ConstArray<>(_vt, _dict, _size);
+		}
+		@Override
+		public Array slice(int rl, int ru) {
+			return new ConstArray<>(_vt, _dict, ru-rl+1);
+		}
+	}
+
 	public static class ColumnMetadata implements Serializable {
 		private static final long serialVersionUID = -90094082422100311L;
 
@@ -2164,6 +2525,24 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		return fb;
 	}
 
+	private static class CompressColumnTask implements Callable<Array>
+	{
+		private final ValueType _vt;
+		private final Array _arr;
+		private final int _rows;
+
+		protected CompressColumnTask(ValueType vt, Array arr, int rows) {
+			_vt = vt;
+			_arr = arr;
+			_rows = rows;
+		}
+
+		@Override
+		public Array call() {
+			return compressArray(_vt, _arr, _rows);
+		}
+	}
+
 	private static class DetectValueTypeTask implements Callable<String>
 	{
 		private final Array _obj;
@@ -2357,7 +2736,7 @@ public class FrameBlock implements CacheBlock, Externalizable {
 		double[] maxColLength = new double[this.getNumColumns()];
 
 		for(int k = 0; k < this.getNumColumns(); k++) {
-			String[] data = ((StringArray) this.getColumn(k))._data;
+			String[] data = ((StringArray) uncompressed(this.getColumn(k)))._data;
 
 			double minLength = Arrays.stream(data).filter(Objects::nonNull).mapToDouble(String::length).min().orElse(Double.NaN);
 			double maxLength = Arrays.stream(data).filter(Objects::nonNull).mapToDouble(String::length).max().orElse(Double.NaN);
@@ -33,6 +33,7 @@ import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockBCSR;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
@@ -133,7 +134,8 @@ public class LibMatrixBincell {
 		
 		//fallback to singlet-threaded for special cases
 		if( m1.isEmpty() || !op.sparseSafe 
-			|| ret.getLength() < PAR_NUMCELL_THRESHOLD2 ) {
+			|| ret.getLength() < PAR_NUMCELL_THRESHOLD2
+			|| (m1.sparse && m1.sparseBlock instanceof SparseBlockBCSR) ) {
 			bincellOp(m1, ret, op);
 			return;
 		}
@@ -1306,7 +1308,13 @@ public class LibMatrixBincell {
 			|| Builtin.isBuiltinCode(op.fn, BuiltinCode.MIN));
 		long lnnz = 0;
 		
-		if( m1.sparse ) //SPARSE <- SPARSE
+		if( m1.sparse && m1.sparseBlock instanceof SparseBlockBCSR && rl==0 && ru==m1.rlen ) 
+		{
+			//SPARSE <- SPARSE (block-sparse, w/ dense processing per block)
+			ret.sparseBlock = ((SparseBlockBCSR)m1.sparseBlock).apply(v -> op.executeScalar(v));
+			lnnz = (ret.nonZeros = ret.sparseBlock.size());
+		}
+		else if( m1.sparse ) //SPARSE <- SPARSE
 		{
 			//allocate sparse row structure
 			ret.allocateSparseRowsBlock();
@@ -32,6 +32,7 @@ import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.functionobjects.KahanPlus;
 import org.apache.sysds.runtime.instructions.cp.KahanObject;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNNLSTM.LstmParameters;
 import org.apache.sysds.runtime.util.CommonThreadPool;
 import org.apache.sysds.runtime.util.DnnUtils;
 
@@ -126,6 +127,80 @@ public class LibMatrixDNN {
 		outputBlock.examSparsity();
 	}
 	
+	/**
+	 * Computes the forward pass of an LSTM layer with M neurons over entire sequences
+	 * (see scripts/nn/layers/lstm.dml for the semantics).
+	 * 
+	 * @param X inputs of shape (N, T*D)
+	 * @param W weights of shape (D+M, 4M)
+	 * @param b biases of shape (1, 4M)
+	 * @param out0 outputs from previous timestep of shape (N, M)
+	 * @param c0 initial cell state of shape (N, M)
+	 * @param returnSequences if true, return outputs of all timesteps (N, T*M), otherwise (N, M)
+	 * @param out output block
+	 * @param cy cell state for final timestep of shape (N, M)
+	 * @param numThreads number of threads
+	 */
+	public static void lstm(MatrixBlock X, MatrixBlock W, MatrixBlock b, MatrixBlock out0, MatrixBlock c0,
+		boolean returnSequences, MatrixBlock out, MatrixBlock cy, int numThreads)
+	{
+		LstmParameters params = new LstmParameters(X, W, b, out0, c0, returnSequences, null, null);
+		checkInputsLstm(X, W, b, out0, c0, params);
+		params.out = out;
+		params.cy = cy;
+		int k = OptimizerUtils.getConstrainedNumThreads(numThreads);
+		long nnz = execute(LibMatrixDNNLSTM.getLstmWorkers(params, k), k, params.N);
+		
+		//post-processing: maintain nnz
+		out.setNonZeros(nnz);
+		out.examSparsity();
+		cy.recomputeNonZeros();
+		cy.examSparsity();
+	}
+	
+	/**
+	 * Computes the backward pass of an LSTM layer with M neurons over entire sequences,
+	 * which recomputes the forward pass internally (see scripts/nn/layers/lstm.dml).
+	 * 
+	 * @param X inputs of shape (N, T*D)
+	 * @param W weights of shape (D+M, 4M)
+	 * @param b biases of shape (1, 4M)
+	 * @param out0 outputs from previous timestep of shape (N, M)
+	 * @param c0 initial cell state of shape (N, M)
+	 * @param givenSequences if true, dout is given for all timesteps (N, T*M), otherwise (N, M)
+	 * @param dout gradient wrt outputs
+	 * @param dc gradient wrt cell state of final timestep (N, M)
+	 * @param dX gradient wrt X of shape (N, T*D)
+	 * @param dW gradient wrt W of shape (D+M, 4M)
+	 * @param db gradient wrt b of shape (1, 4M)
+	 * @param dout0 gradient wrt out0 of shape (N, M)
+	 * @param dc0 gradient wrt c0 of shape (N, M)
+	 * @param numThreads number of threads
+	 */
+	public static void lstmBackward(MatrixBlock X, MatrixBlock W, MatrixBlock b, MatrixBlock out0, MatrixBlock c0,
+		boolean givenSequences, MatrixBlock dout, MatrixBlock dc, MatrixBlock dX, MatrixBlock dW, MatrixBlock db,
+		MatrixBlock dout0, MatrixBlock dc0, int numThreads)
+	{
+		LstmParameters params = new LstmParameters(X, W, b, out0, c0, givenSequences, dout, dc);
+		checkInputsLstm(X, W, b, out0, c0, params);
+		checkOrThrowException("Incorrect input to lstm_backward: Number of rows of dout != batch size",
+			dout.getNumRows(), params.N);
+		checkOrThrowException("Incorrect input to lstm_backward: Number of columns of dout",
+			dout.getNumColumns(), givenSequences ? (long)params.T*params.M : params.M);
+		params.dX = dX; params.dW = dW; params.db = db;
+		params.dout0 = dout0; params.dc0 = dc0;
+		int k = OptimizerUtils.getConstrainedNumThreads(numThreads);
+		long nnz = execute(LibMatrixDNNLSTM.getLstmBackwardWorkers(params, k), k, params.N);
+		
+		//post-processing: maintain nnz
+		dX.setNonZeros(nnz);
+		for( MatrixBlock mb : new MatrixBlock[] {dX, dW, db, dout0, dc0} ) {
+			if( mb != dX )
+				mb.recomputeNonZeros();
+			mb.examSparsity();
+		}
+	}
+	
 	public static void pooling(MatrixBlock input, MatrixBlock output, DnnParameters params, PoolingType poolType) {
 		params.input1 = input;
 		params.output = output;
@@ -659,7 +734,11 @@ public class LibMatrixDNN {
 	 * @param params convolution parameters
 	 */
 	private static long execute(ArrayList<Callable<Long>> tasks, DnnParameters params) {
-		int k = OptimizerUtils.getConstrainedNumThreads(params.numThreads);
+		return execute(tasks, params.numThreads, params.N);
+	}
+	
+	private static long execute(ArrayList<Callable<Long>> tasks, int numThreads, int N) {
+		int k = OptimizerUtils.getConstrainedNumThreads(numThreads);
 		long lnnz = 0;
 		try {
 			if(k == 1) {
@@ -670,7 +749,7 @@ public class LibMatrixDNN {
 				}
 			}
 			else {
-				ExecutorService pool = CommonThreadPool.get( Math.min(k, params.N) );
+				ExecutorService pool = CommonThreadPool.get( Math.min(k, N) );
 				List<Future<Long>> taskret = pool.invokeAll(tasks);
 				pool.shutdown();
 				for( Future<Long> task : taskret )
@@ -742,6 +821,20 @@ public class LibMatrixDNN {
 			throw new DMLRuntimeException("Only positive strides supported:" + params.stride_h + ", " + params.stride_w);
 	}
 	
+	private static void checkInputsLstm(MatrixBlock X, MatrixBlock W, MatrixBlock b,
+		MatrixBlock out0, MatrixBlock c0, LstmParameters params)
+	{
+		if( W.getNumColumns() % 4 != 0 || params.D <= 0 || X.getNumColumns() % params.D != 0 )
+			throw new DMLRuntimeException("Incorrect input to lstm: Expected W of shape (D+M, 4M) and X of shape (N, T*D), "
+				+ "but found W: [" + W.getNumRows() + " x " + W.getNumColumns() + "], X: [" + X.getNumRows() + " x " + X.getNumColumns() + "]");
+		checkOrThrowException("Incorrect input to lstm: Number of columns of b != 4M", b.getNumColumns(), 4L*params.M);
+		checkOrThrowException("Incorrect input to lstm: Number of columns of out0 != M", out0.getNumColumns(), params.M);
+		checkOrThrowException("Incorrect input to lstm: Number of columns of c0 != M", c0.getNumColumns(), params.M);
+		if( out0.getNumRows() < params.N || c0.getNumRows() < params.N )
+			throw new DMLRuntimeException("Incorrect input to lstm: Number of rows of out0 and c0 "
+				+ "must be at least the batch size " + params.N);
+	}
+	
 	/**
 	 * This method computes start and end indexes required for max_pool and max_pool_backward operations.
 	 * This speeds up the performance of max_pool and  max_pool_backward
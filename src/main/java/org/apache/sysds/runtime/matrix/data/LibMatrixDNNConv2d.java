@@ -25,6 +25,7 @@ import java.util.concurrent.Callable;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.matrix.data.DnnParameters.ConvAlgorithm;
 import org.apache.sysds.runtime.matrix.data.LibMatrixDNNRotate180.Rotate180Worker;
 import org.apache.sysds.utils.NativeHelper;
 import org.apache.sysds.utils.Statistics;
@@ -48,6 +49,19 @@ public class LibMatrixDNNConv2d
 		int k = OptimizerUtils.getConstrainedNumThreads(params.numThreads);
 		int taskSize = (int)(Math.ceil((double)params.N / k / 2));
 		
+		//direct or winograd convolution w/o im2col intermediates for dense inputs
+		ConvAlgorithm algo = params.getConv2dAlgorithm(false);
+		if( algo != ConvAlgorithm.IM2COL ) {
+			double[] U = (algo == ConvAlgorithm.WINOGRAD) ? LibMatrixDNNWinograd
+				.transformFilter(params.input2.getDenseBlockValues(), params.K, params.C, false) : null;
+			for(int i = 0; i*taskSize < params.N; i++) {
+				int rl = i*taskSize, ru = Math.min((i+1)*taskSize, params.N);
+				ret.add(algo == ConvAlgorithm.WINOGRAD ?
+					new WinogradConv2d(rl, ru, params, U) : new DirectConv2d(rl, ru, params));
+			}
+			return ret;
+		}
+		
 		MatrixBlock in1 = params.input1;
 		boolean isEmptyDenseInput = !in1.isInSparseFormat() && in1.denseBlock == null;
 		boolean isTransPref = in1.sparse && !params.input2.sparse && !params.output.sparse &&
@@ -137,6 +151,20 @@ public class LibMatrixDNNConv2d
 		if( applyNative )
 			Statistics.numNativeSparseConv2dBwdDataCalls.increment();
 		
+		//direct or winograd convolution w/o rotate and col2im intermediates for dense inputs
+		ConvAlgorithm algo = !applyNative ? params.getConv2dAlgorithm(true) : ConvAlgorithm.IM2COL;
+		if( algo != ConvAlgorithm.IM2COL ) {
+			double[] U = (algo == ConvAlgorithm.WINOGRAD) ? LibMatrixDNNWinograd
+				.transformFilter(params.input1.getDenseBlockValues(), params.K, params.C, true) : null;
+			for(int i = 0; i*taskSize < params.N; i++) {
+				int rl = i*taskSize, ru = Math.min((i+1)*taskSize, params.N);
+				ret.add(algo == ConvAlgorithm.WINOGRAD ?
+					new WinogradConv2dBackwardData(rl, ru, params, U) :
+					new DirectConv2dBackwardData(rl, ru, params));
+			}
+			return ret;
+		}
+		
 		for(int i = 0; i*taskSize < params.N; i++) {
 			//note: we prefer the java backend for sparse filters because the native 
 			//implementation simply converts the sparse filters into dense rows
@@ -307,6 +335,93 @@ public class LibMatrixDNNConv2d
 		}
 	}
 	
+	/**
+	 * Performs a direct convolution over dense inputs without im2col intermediates, 
+	 * by accumulating scaled input rows into output rows for every filter cell. The
+	 * loop order keeps the output rows of the current filter in cache, while the 
+	 * inner loop over output columns is a vectorizable axpy for unit column stride.
+	 */
+	private static class DirectConv2d implements Callable<Long> 
+	{
+		private final int _rl, _ru; 
+		private final DnnParameters _params;
+		
+		public DirectConv2d(int rl, int ru, DnnParameters params) {
+			_rl = rl; _ru = ru;
+			_params = params;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, H = _params.H, W = _params.W, K = _params.K;
+			final int R = _params.R, S = _params.S, P = _params.P, Q = _params.Q;
+			final int CHW = C*H*W, PQ = P*Q, CRS = C*R*S;
+			double[] a = _params.input1.getDenseBlockValues();
+			double[] f = _params.input2.getDenseBlockValues();
+			double[] c = _params.output.getDenseBlockValues();
+			
+			for(int n = _rl; n < _ru; n++) {
+				int aix = n*CHW, cix = n*K*PQ;
+				Arrays.fill(c, cix, cix+K*PQ, 0);
+				for(int k = 0; k < K; k++)
+					for(int ch = 0; ch < C; ch++)
+						for(int r = 0; r < R; r++)
+							for(int s = 0; s < S; s++) {
+								double w = f[k*CRS + (ch*R+r)*S + s];
+								if( w != 0 )
+									directConv2dCell(w, a, aix + ch*H*W, c, cix + k*PQ, r, s, _params);
+							}
+				
+				// Add bias to current row if necessary, always dense
+				if(_params.bias != null)
+					addBias(n, c, _params.bias.getDenseBlockValues(), K, PQ);
+			}
+			
+			//multi-threaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+	
+	/**
+	 * Performs a Winograd F(2x2,3x3) convolution over dense inputs with 3x3
+	 * filters and stride 1, see LibMatrixDNNWinograd.
+	 */
+	private static class WinogradConv2d implements Callable<Long> 
+	{
+		private final int _rl, _ru; 
+		private final DnnParameters _params;
+		private final double[] _U;
+		
+		public WinogradConv2d(int rl, int ru, DnnParameters params, double[] U) {
+			_rl = rl; _ru = ru;
+			_params = params;
+			_U = U;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, H = _params.H, W = _params.W;
+			final int K = _params.K, P = _params.P, Q = _params.Q;
+			final int TB = LibMatrixDNNWinograd.getTileBlockSize(C, K);
+			double[] a = _params.input1.getDenseBlockValues();
+			double[] c = _params.output.getDenseBlockValues();
+			double[] V = new double[16*C*TB];
+			double[] M = new double[16*K*TB];
+			
+			for(int n = _rl; n < _ru; n++) {
+				LibMatrixDNNWinograd.conv2d(a, n*C*H*W, C, H, W, _params.pad_h, _params.pad_w,
+					_U, K, c, n*K*P*Q, P, Q, V, M, TB);
+				
+				// Add bias to current row if necessary, always dense
+				if(_params.bias != null)
+					addBias(n, c, _params.bias.getDenseBlockValues(), K, P*Q);
+			}
+			
+			//multi-threaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+	
 	/**
 	 * This operator is used only if native is enabled, filter is dense and input is sparse
 	 */
@@ -412,6 +527,84 @@ public class LibMatrixDNNConv2d
 		}
 	}
 	
+	/**
+	 * Performs conv2d backward data via a direct convolution over dense inputs
+	 * without rotate180 and col2im intermediates, by scattering scaled dout rows
+	 * into the output image for every filter cell.
+	 */
+	private static class DirectConv2dBackwardData implements Callable<Long> 
+	{
+		private final int _rl, _ru; 
+		private final DnnParameters _params;
+		
+		public DirectConv2dBackwardData(int rl, int ru, DnnParameters params) {
+			_rl = rl; _ru = ru;
+			_params = params;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, H = _params.H, W = _params.W, K = _params.K;
+			final int R = _params.R, S = _params.S, P = _params.P, Q = _params.Q;
+			final int CHW = C*H*W, PQ = P*Q, CRS = C*R*S;
+			double[] f = _params.input1.getDenseBlockValues();
+			double[] dout = _params.input2.getDenseBlockValues();
+			double[] c = _params.output.getDenseBlockValues();
+			
+			for(int n = _rl; n < _ru; n++) {
+				int dix = n*K*PQ, cix = n*CHW;
+				Arrays.fill(c, cix, cix+CHW, 0);
+				for(int k = 0; k < K; k++)
+					for(int ch = 0; ch < C; ch++)
+						for(int r = 0; r < R; r++)
+							for(int s = 0; s < S; s++) {
+								double w = f[k*CRS + (ch*R+r)*S + s];
+								if( w != 0 )
+									directConv2dBackwardDataCell(w, dout, dix + k*PQ, c, cix + ch*H*W, r, s, _params);
+							}
+			}
+			
+			//multi-threaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+	
+	/**
+	 * Performs conv2d backward data for 3x3 filters with stride 1 via a Winograd
+	 * F(2x2,3x3) convolution of dout with the rotated, channel-swapped filter and
+	 * complementary padding (2-pad), see LibMatrixDNNWinograd.
+	 */
+	private static class WinogradConv2dBackwardData implements Callable<Long> 
+	{
+		private final int _rl, _ru; 
+		private final DnnParameters _params;
+		private final double[] _U;
+		
+		public WinogradConv2dBackwardData(int rl, int ru, DnnParameters params, double[] U) {
+			_rl = rl; _ru = ru;
+			_params = params;
+			_U = U;
+		}
+
+		@Override
+		public Long call() throws Exception {
+			final int C = _params.C, H = _params.H, W = _params.W;
+			final int K = _params.K, P = _params.P, Q = _params.Q;
+			final int TB = LibMatrixDNNWinograd.getTileBlockSize(K, C);
+			double[] dout = _params.input2.getDenseBlockValues();
+			double[] c = _params.output.getDenseBlockValues();
+			double[] V = new double[16*K*TB];
+			double[] M = new double[16*C*TB];
+			
+			for(int n = _rl; n < _ru; n++)
+				LibMatrixDNNWinograd.conv2d(dout, n*K*P*Q, K, P, Q, 2-_params.pad_h, 2-_params.pad_w,
+					_U, C, c, n*C*H*W, H, W, V, M, TB);
+			
+			//multi-threaded nnz maintenance of current working set
+			return _params.output.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+	
 	//BACKWARD FILTER
 	
 	/**
@@ -585,6 +778,60 @@ public class LibMatrixDNNConv2d
 		}
 	}
 	
+	// c[k,p,q] += w * a[ch, p*stride_h-pad_h+r, q*stride_w-pad_w+s] for a single image and filter cell
+	private static void directConv2dCell(double w, double[] a, int aix, double[] c, int cix, int r, int s, DnnParameters params) {
+		final int H = params.H, W = params.W, P = params.P, Q = params.Q;
+		final int sh = params.stride_h, sw = params.stride_w;
+		final int ph = params.pad_h, pw = params.pad_w;
+		//valid output column range (input columns within image)
+		if( W - 1 + pw - s < 0 )
+			return;
+		int qmin = Math.max(0, (pw - s + sw - 1) / sw);
+		int qmax = Math.min(Q - 1, (W - 1 + pw - s) / sw);
+		int len = qmax - qmin + 1;
+		if( len <= 0 )
+			return;
+		for(int p = 0; p < P; p++) {
+			int h = p*sh - ph + r;
+			if( h < 0 || h >= H )
+				continue;
+			int ai = aix + h*W + qmin*sw - pw + s;
+			int ci = cix + p*Q + qmin;
+			if( sw == 1 )
+				LibMatrixMult.vectMultiplyAdd(w, a, c, ai, ci, len);
+			else
+				for(int j = 0; j < len; j++)
+					c[ci+j] += w * a[ai+j*sw];
+		}
+	}
+	
+	// c[ch, p*stride_h-pad_h+r, q*stride_w-pad_w+s] += w * dout[k,p,q] for a single image and filter cell
+	private static void directConv2dBackwardDataCell(double w, double[] dout, int dix, double[] c, int cix, int r, int s, DnnParameters params) {
+		final int H = params.H, W = params.W, P = params.P, Q = params.Q;
+		final int sh = params.stride_h, sw = params.stride_w;
+		final int ph = params.pad_h, pw = params.pad_w;
+		//valid dout column range (output columns within image)
+		if( W - 1 + pw - s < 0 )
+			return;
+		int qmin = Math.max(0, (pw - s + sw - 1) / sw);
+		int qmax = Math.min(Q - 1, (W - 1 + pw - s) / sw);
+		int len = qmax - qmin + 1;
+		if( len <= 0 )
+			return;
+		for(int p = 0; p < P; p++) {
+			int h = p*sh - ph + r;
+			if( h < 0 || h >= H )
+				continue;
+			int di = dix + p*Q + qmin;
+			int ci = cix + h*W + qmin*sw - pw + s;
+			if( sw == 1 )
+				LibMatrixMult.vectMultiplyAdd(w, dout, c, di, ci, len);
+			else
+				for(int j = 0; j < len; j++)
+					c[ci+j*sw] += w * dout[di+j];
+		}
+	}
+	
 	private static void addBias(int r, double [] out, double [] bias, int K, int PQ) {
 		for(int k=0, cix=r*K*PQ; k<K; k++, cix+=PQ)
 			LibMatrixMult.vectAddInPlace(bias[k], out, cix, PQ);
@@ -0,0 +1,313 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.concurrent.Callable;
+
+import org.apache.sysds.runtime.util.DataConverter;
+
+/**
+ * This class contains the CPU kernels for the lstm and lstm_backward builtins,
+ * which process entire sequences instead of per-timestep operations in DML (see
+ * scripts/nn/layers/lstm.dml for the reference semantics and the CuDNN-based
+ * GPU counterpart in LibMatrixCuDNNRnnAlgorithm). Sequences are independent,
+ * so we parallelize over blocks of rows (sequences), where each task iterates
+ * over all timesteps with preallocated gate buffers and fused gate activations.
+ * The gate order is input, forget, output, and g (ifog), with W of shape
+ * (D+M, 4M) and b of shape (1, 4M).
+ */
+public class LibMatrixDNNLSTM 
+{
+	//number of rows (sequences) processed together to reuse weight rows
+	private static final int ROW_BLOCK_SIZE = 32;
+	
+	/**
+	 * Factory method that returns list of callable tasks for the lstm forward pass.
+	 * 
+	 * @param params lstm inputs and outputs
+	 * @param k number of threads
+	 * @return list of callable tasks
+	 */
+	public static ArrayList<Callable<Long>> getLstmWorkers(LstmParameters params, int k) {
+		ArrayList<Callable<Long>> ret = new ArrayList<>();
+		int taskSize = (int)(Math.ceil((double)params.N / k));
+		for(int i = 0; i*taskSize < params.N; i++)
+			ret.add(new LstmForward(i*taskSize, Math.min((i+1)*taskSize, params.N), params));
+		return ret;
+	}
+	
+	/**
+	 * Factory method that returns list of callable tasks for the lstm backward pass.
+	 * 
+	 * @param params lstm inputs and outputs
+	 * @param k number of threads
+	 * @return list of callable tasks
+	 */
+	public static ArrayList<Callable<Long>> getLstmBackwardWorkers(LstmParameters params, int k) {
+		ArrayList<Callable<Long>> ret = new ArrayList<>();
+		int taskSize = (int)(Math.ceil((double)params.N / k));
+		for(int i = 0; i*taskSize < params.N; i++)
+			ret.add(new LstmBackward(i*taskSize, Math.min((i+1)*taskSize, params.N), params));
+		return ret;
+	}
+	
+	/**
+	 * Container of dense lstm inputs and outputs, shared by all tasks.
+	 */
+	public static class LstmParameters 
+	{
+		public final int N, T, D, M;
+		public final boolean returnSequences;
+		//dense inputs (null if empty, except W)
+		public final double[] X, W, b, out0, c0, dout, dc;
+		//outputs: forward (out, cy), backward (dX, dW, db, dout0, dc0)
+		public MatrixBlock out, cy, dX, dW, db, dout0, dc0;
+		
+		public LstmParameters(MatrixBlock X, MatrixBlock W, MatrixBlock b, MatrixBlock out0,
+			MatrixBlock c0, boolean returnSequences, MatrixBlock dout, MatrixBlock dc)
+		{
+			M = W.getNumColumns() / 4;
+			D = W.getNumRows() - M;
+			N = X.getNumRows();
+			T = X.getNumColumns() / D;
+			this.returnSequences = returnSequences;
+			this.X = getDenseValues(X, true);
+			this.W = getDenseValues(W, false);
+			this.b = getDenseValues(b, true);
+			this.out0 = getDenseValues(out0, true);
+			this.c0 = getDenseValues(c0, true);
+			this.dout = getDenseValues(dout, true);
+			this.dc = getDenseValues(dc, true);
+		}
+		
+		private static double[] getDenseValues(MatrixBlock mb, boolean allowNull) {
+			return (mb == null) ? null : DataConverter.convertToDoubleVector(mb, false, allowNull);
+		}
+	}
+	
+	/**
+	 * Forward pass over a range of sequences, optionally with caches of 
+	 * gates, cell states, and outputs of all timesteps for the backward pass.
+	 */
+	private static class LstmForward implements Callable<Long> 
+	{
+		protected final int _rl, _ru;
+		protected final LstmParameters _params;
+		
+		//preallocated buffers for a row block
+		protected final double[] _ifog, _h, _c;
+		
+		public LstmForward(int rl, int ru, LstmParameters params) {
+			_rl = rl; _ru = ru;
+			_params = params;
+			int nb = Math.min(ROW_BLOCK_SIZE, ru-rl);
+			_ifog = new double[nb*4*params.M];
+			_h = new double[nb*params.M];
+			_c = new double[nb*params.M];
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			final int T = _params.T, M = _params.M;
+			double[] out = _params.out.getDenseBlockValues();
+			double[] cy = _params.cy.getDenseBlockValues();
+			for(int bl = _rl; bl < _ru; bl += ROW_BLOCK_SIZE) {
+				int bu = Math.min(bl + ROW_BLOCK_SIZE, _ru);
+				initStates(bl, bu);
+				for(int t = 0; t < T; t++) {
+					computeGates(bl, bu, t);
+					updateStates(bl, bu);
+					if( _params.returnSequences )
+						for(int n = bl; n < bu; n++)
+							System.arraycopy(_h, (n-bl)*M, out, n*T*M + t*M, M);
+				}
+				if( !_params.returnSequences )
+					System.arraycopy(_h, 0, out, bl*M, (bu-bl)*M);
+				System.arraycopy(_c, 0, cy, bl*M, (bu-bl)*M);
+			}
+			return _params.out.recomputeNonZeros(_rl, _ru-1);
+		}
+		
+		// fused gate activations and state updates: i,f,o = sigmoid(.), g = tanh(.),
+		// c = f*c_prev + i*g, and h = o*tanh(c)
+		protected void updateStates(int bl, int bu) {
+			final int M = _params.M, M4 = 4*M;
+			for(int n = 0; n < bu-bl; n++) {
+				int gix = n*M4, six = n*M;
+				for(int j = 0; j < 3*M; j++)
+					_ifog[gix+j] = 1 / (1 + Math.exp(-_ifog[gix+j]));
+				for(int j = 3*M; j < M4; j++)
+					_ifog[gix+j] = Math.tanh(_ifog[gix+j]);
+				for(int j = 0; j < M; j++) {
+					double c = _ifog[gix+M+j] * _c[six+j] + _ifog[gix+j] * _ifog[gix+3*M+j];
+					_c[six+j] = c;
+					_h[six+j] = _ifog[gix+2*M+j] * Math.tanh(c);
+				}
+			}
+		}
+		
+		protected void initStates(int bl, int bu) {
+			final int M = _params.M;
+			if( _params.out0 != null )
+				System.arraycopy(_params.out0, bl*M, _h, 0, (bu-bl)*M);
+			else
+				Arrays.fill(_h, 0);
+			if( _params.c0 != null )
+				System.arraycopy(_params.c0, bl*M, _c, 0, (bu-bl)*M);
+			else
+				Arrays.fill(_c, 0);
+		}
+		
+		// ifog = cbind(X_t, h) %*% W + b, with weight rows reused across the row block
+		protected void computeGates(int bl, int bu, int t) {
+			final int D = _params.D, M = _params.M, M4 = 4*M, TD = _params.T*D;
+			final double[] X = _params.X, W = _params.W;
+			for(int n = 0; n < bu-bl; n++) {
+				if( _params.b != null )
+					System.arraycopy(_params.b, 0, _ifog, n*M4, M4);
+				else
+					Arrays.fill(_ifog, n*M4, (n+1)*M4, 0);
+			}
+			if( X != null )
+				for(int d = 0; d < D; d++)
+					for(int n = bl, xix = bl*TD+t*D+d; n < bu; n++, xix += TD) {
+						double xval = X[xix];
+						if( xval != 0 )
+							LibMatrixMult.vectMultiplyAdd(xval, W, _ifog, d*M4, (n-bl)*M4, M4);
+					}
+			for(int m = 0; m < M; m++)
+				for(int n = 0; n < bu-bl; n++) {
+					double hval = _h[n*M+m];
+					if( hval != 0 )
+						LibMatrixMult.vectMultiplyAdd(hval, W, _ifog, (D+m)*M4, n*M4, M4);
+				}
+		}
+	}
+	
+	/**
+	 * Backward pass over a range of sequences, which recomputes the forward pass
+	 * with caches for the row block, and aggregates the weight and bias gradients 
+	 * into thread-local buffers that are merged into the shared outputs at the end.
+	 */
+	private static class LstmBackward extends LstmForward
+	{
+		public LstmBackward(int rl, int ru, LstmParameters params) {
+			super(rl, ru, params);
+		}
+		
+		@Override
+		public Long call() throws Exception {
+			final int T = _params.T, D = _params.D, M = _params.M;
+			final int M4 = 4*M, TD = T*D, TM = T*M;
+			final int nb = Math.min(ROW_BLOCK_SIZE, _ru-_rl);
+			final double[] X = _params.X, W = _params.W, dout = _params.dout;
+			
+			//preallocated caches and gradient buffers
+			double[] cIfog = new double[T*nb*M4];
+			double[] cC = new double[T*nb*M];
+			double[] cH = new double[T*nb*M];
+			double[] difog = new double[nb*M4];
+			double[] dh = new double[nb*M];
+			double[] dct = new double[nb*M];
+			double[] dW = new double[(D+M)*M4];
+			double[] db = new double[M4];
+			double[] dX = _params.dX.getDenseBlockValues();
+			
+			for(int bl = _rl; bl < _ru; bl += ROW_BLOCK_SIZE) {
+				int bu = Math.min(bl + ROW_BLOCK_SIZE, _ru);
+				int len = bu - bl;
+				
+				//recompute forward pass with caches
+				initStates(bl, bu);
+				for(int t = 0; t < T; t++) {
+					computeGates(bl, bu, t);
+					updateStates(bl, bu);
+					System.arraycopy(_ifog, 0, cIfog, t*nb*M4, len*M4);
+					System.arraycopy(_c, 0, cC, t*nb*M, len*M);
+					System.arraycopy(_h, 0, cH, t*nb*M, len*M);
+				}
+				
+				//backward pass in reverse timestep order
+				Arrays.fill(dh, 0);
+				if( _params.dc != null )
+					System.arraycopy(_params.dc, bl*M, dct, 0, len*M);
+				else
+					Arrays.fill(dct, 0);
+				for(int t = T-1; t >= 0; t--) {
+					for(int n = 0; n < len; n++) {
+						int gix = t*nb*M4 + n*M4, six = t*nb*M + n*M;
+						for(int j = 0; j < M; j++) {
+							double doutt = dh[n*M+j] + (dout == null ? 0 : _params.returnSequences ?
+								dout[(bl+n)*TM + t*M + j] : (t == T-1) ? dout[(bl+n)*M + j] : 0);
+							double i = cIfog[gix+j], f = cIfog[gix+M+j];
+							double o = cIfog[gix+2*M+j], g = cIfog[gix+3*M+j];
+							double tc = Math.tanh(cC[six+j]);
+							double cprev = (t > 0) ? cC[six-nb*M+j] :
+								(_params.c0 != null) ? _params.c0[(bl+n)*M+j] : 0;
+							double dc = dct[n*M+j] + o * (1 - tc*tc) * doutt;
+							difog[n*M4+j]       = i * (1-i) * g * dc;           //di_raw
+							difog[n*M4+M+j]     = f * (1-f) * cprev * dc;       //df_raw
+							difog[n*M4+2*M+j]   = o * (1-o) * tc * doutt;       //do_raw
+							difog[n*M4+3*M+j]   = (1 - g*g) * i * dc;           //dg_raw
+							dct[n*M+j] = f * dc;                                //dc_prev
+						}
+					}
+					
+					//dW += t(cbind(X_t, h_prev)) %*% difog, db += colSums(difog)
+					for(int n = 0; n < len; n++) {
+						int xix = (bl+n)*TD + t*D;
+						if( X != null )
+							for(int d = 0; d < D; d++)
+								if( X[xix+d] != 0 )
+									LibMatrixMult.vectMultiplyAdd(X[xix+d], difog, dW, n*M4, d*M4, M4);
+						for(int m = 0; m < M; m++) {
+							double hprev = (t > 0) ? cH[(t-1)*nb*M + n*M + m] :
+								(_params.out0 != null) ? _params.out0[(bl+n)*M+m] : 0;
+							if( hprev != 0 )
+								LibMatrixMult.vectMultiplyAdd(hprev, difog, dW, n*M4, (D+m)*M4, M4);
+						}
+						LibMatrixMult.vectAdd(difog, db, n*M4, 0, M4);
+					}
+					
+					//dinput = difog %*% t(W), split into dX_t and dh_prev
+					for(int n = 0; n < len; n++) {
+						int dxix = (bl+n)*TD + t*D;
+						for(int d = 0; d < D; d++)
+							dX[dxix+d] = LibMatrixMult.dotProduct(difog, W, n*M4, d*M4, M4);
+						for(int m = 0; m < M; m++)
+							dh[n*M+m] = LibMatrixMult.dotProduct(difog, W, n*M4, (D+m)*M4, M4);
+					}
+				}
+				
+				//gradients wrt initial states
+				System.arraycopy(dh, 0, _params.dout0.getDenseBlockValues(), bl*M, len*M);
+				System.arraycopy(dct, 0, _params.dc0.getDenseBlockValues(), bl*M, len*M);
+			}
+			
+			//merge thread-local weight and bias gradients
+			synchronized( _params ) {
+				LibMatrixMult.vectAdd(dW, _params.dW.getDenseBlockValues(), 0, 0, dW.length);
+				LibMatrixMult.vectAdd(db, _params.db.getDenseBlockValues(), 0, 0, db.length);
+			}
+			return _params.dX.recomputeNonZeros(_rl, _ru-1);
+		}
+	}
+}
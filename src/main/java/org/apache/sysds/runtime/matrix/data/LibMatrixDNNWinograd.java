@@ -0,0 +1,218 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+package org.apache.sysds.runtime.matrix.data;
+
+import java.util.Arrays;
+
+/**
+ * This class contains the Winograd F(2x2,3x3) kernels for 3x3 convolutions with
+ * stride 1, which compute 2x2 output tiles from 4x4 input tiles with 16 instead
+ * of 36 multiplications per input channel. Filters are transformed once per
+ * operation (U = G g G^T), input tiles per image (V = B^T d B), and the
+ * element-wise products are aggregated over channels as 16 small matrix
+ * multiplications over blocks of tiles, followed by the output transform
+ * (Y = A^T M A). The tile blocking bounds the temporary buffers per thread,
+ * which avoids the large im2col intermediates.
+ */
+public class LibMatrixDNNWinograd 
+{
+	//max number of cells per temporary buffer (16 x channels x tiles)
+	private static final int BUFFER_SIZE = 1 << 16;
+	
+	/**
+	 * Transforms a 3x3 filter of shape [K x C*3*3] into the Winograd domain
+	 * of shape [16 x Ko x Ci]. For backward data, the filter is rotated by 180
+	 * degrees and the channels are swapped (Ko=C, Ci=K), which turns the
+	 * backward data operation into a forward convolution over dout.
+	 * 
+	 * @param f dense filter values
+	 * @param K number of filters
+	 * @param C number of input channels
+	 * @param bwdData true if transformed for backward data
+	 * @return transformed filter
+	 */
+	public static double[] transformFilter(double[] f, int K, int C, boolean bwdData) {
+		final int Ko = bwdData ? C : K, Ci = bwdData ? K : C;
+		double[] U = new double[16*Ko*Ci];
+		double[] g = new double[9];
+		double[] tmp = new double[12];
+		for(int k = 0; k < K; k++)
+			for(int c = 0; c < C; c++) {
+				//get (rotated) 3x3 filter
+				int off = (k*C+c)*9;
+				for(int i = 0; i < 9; i++)
+					g[i] = bwdData ? f[off+8-i] : f[off+i];
+				//tmp = G g
+				for(int j = 0; j < 3; j++) {
+					double g0 = g[j], g1 = g[3+j], g2 = g[6+j];
+					tmp[j] = g0;
+					tmp[3+j] = 0.5 * (g0 + g1 + g2);
+					tmp[6+j] = 0.5 * (g0 - g1 + g2);
+					tmp[9+j] = g2;
+				}
+				//U = tmp G^T
+				int ko = bwdData ? c : k, ci = bwdData ? k : c;
+				for(int i = 0; i < 4; i++) {
+					double t0 = tmp[i*3], t1 = tmp[i*3+1], t2 = tmp[i*3+2];
+					U[((i*4  )*Ko+ko)*Ci+ci] = t0;
+					U[((i*4+1)*Ko+ko)*Ci+ci] = 0.5 * (t0 + t1 + t2);
+					U[((i*4+2)*Ko+ko)*Ci+ci] = 0.5 * (t0 - t1 + t2);
+					U[((i*4+3)*Ko+ko)*Ci+ci] = t2;
+				}
+			}
+		return U;
+	}
+	
+	/**
+	 * Returns the number of tiles that are processed together, such
+	 * that the temporary buffers do not exceed the buffer size.
+	 * 
+	 * @param Ci number of input channels
+	 * @param Ko number of output channels
+	 * @return number of tiles per block
+	 */
+	public static int getTileBlockSize(int Ci, int Ko) {
+		return Math.max(1, BUFFER_SIZE / (16 * Math.max(Ci, Ko)));
+	}
+	
+	/**
+	 * Computes the 3x3 stride-1 convolution of a single image with the
+	 * transformed filter, overwriting the output image.
+	 * 
+	 * @param in dense input values
+	 * @param inPos offset of the image in the input
+	 * @param Ci number of input channels
+	 * @param Hin input height
+	 * @param Win input width
+	 * @param pad_h padding height
+	 * @param pad_w padding width
+	 * @param U transformed filter [16 x Ko x Ci]
+	 * @param Ko number of output channels
+	 * @param out dense output values
+	 * @param outPos offset of the image in the output
+	 * @param Hout output height
+	 * @param Wout output width
+	 * @param V temporary buffer of size 16*Ci*TB
+	 * @param M temporary buffer of size 16*Ko*TB
+	 * @param TB number of tiles per block
+	 */
+	public static void conv2d(double[] in, int inPos, int Ci, int Hin, int Win, int pad_h, int pad_w,
+		double[] U, int Ko, double[] out, int outPos, int Hout, int Wout, double[] V, double[] M, int TB)
+	{
+		final int tilesW = (Wout + 1) / 2;
+		final int T = ((Hout + 1) / 2) * tilesW;
+		final int HWin = Hin * Win, HWout = Hout * Wout;
+		double[] d = new double[16];
+		
+		for(int bt = 0; bt < T; bt += TB) {
+			final int nt = Math.min(TB, T - bt);
+			
+			//input transform V = B^T d B for all tiles and channels
+			for(int t = 0; t < nt; t++) {
+				int h0 = ((bt+t) / tilesW) * 2 - pad_h;
+				int w0 = ((bt+t) % tilesW) * 2 - pad_w;
+				for(int c = 0; c < Ci; c++) {
+					loadTile(in, inPos + c*HWin, Hin, Win, h0, w0, d);
+					transformInputTile(d, V, c*TB + t, Ci*TB);
+				}
+			}
+			
+			//channel aggregation M_e = U_e %*% V_e for all 16 tile elements
+			Arrays.fill(M, 0, 16*Ko*TB, 0);
+			for(int e = 0; e < 16; e++) {
+				for(int ko = 0; ko < Ko; ko++) {
+					int uix = (e*Ko+ko)*Ci, mix = (e*Ko+ko)*TB;
+					for(int ci = 0; ci < Ci; ci++) {
+						double u = U[uix+ci];
+						if( u != 0 )
+							LibMatrixMult.vectMultiplyAdd(u, V, M, (e*Ci+ci)*TB, mix, nt);
+					}
+				}
+			}
+			
+			//output transform Y = A^T M A for all tiles and output channels
+			for(int ko = 0; ko < Ko; ko++)
+				for(int t = 0; t < nt; t++) {
+					int h0 = ((bt+t) / tilesW) * 2;
+					int w0 = ((bt+t) % tilesW) * 2;
+					transformOutputTile(M, ko*TB + t, Ko*TB, out,
+						outPos + ko*HWout, Hout, Wout, h0, w0);
+				}
+		}
+	}
+	
+	private static void loadTile(double[] in, int pos, int H, int W, int h0, int w0, double[] d) {
+		if( h0 >= 0 && w0 >= 0 && h0 + 4 <= H && w0 + 4 <= W ) {
+			for(int i = 0, ix = pos + h0*W + w0; i < 4; i++, ix += W)
+				System.arraycopy(in, ix, d, i*4, 4);
+			return;
+		}
+		//boundary tiles with zero padding
+		for(int i = 0; i < 4; i++) {
+			int h = h0 + i;
+			for(int j = 0; j < 4; j++) {
+				int w = w0 + j;
+				d[i*4+j] = (h >= 0 && h < H && w >= 0 && w < W) ?
+					in[pos + h*W + w] : 0;
+			}
+		}
+	}
+	
+	private static void transformInputTile(double[] d, double[] V, int pos, int estride) {
+		//tmp = B^T d, row-wise
+		double t00 = d[0]-d[8],  t01 = d[1]-d[9],  t02 = d[2]-d[10],  t03 = d[3]-d[11];
+		double t10 = d[4]+d[8],  t11 = d[5]+d[9],  t12 = d[6]+d[10],  t13 = d[7]+d[11];
+		double t20 = d[8]-d[4],  t21 = d[9]-d[5],  t22 = d[10]-d[6],  t23 = d[11]-d[7];
+		double t30 = d[4]-d[12], t31 = d[5]-d[13], t32 = d[6]-d[14],  t33 = d[7]-d[15];
+		//V = tmp B, column-wise
+		V[pos]            = t00-t02; V[pos+estride]    = t01+t02;
+		V[pos+2*estride]  = t02-t01; V[pos+3*estride]  = t01-t03;
+		V[pos+4*estride]  = t10-t12; V[pos+5*estride]  = t11+t12;
+		V[pos+6*estride]  = t12-t11; V[pos+7*estride]  = t11-t13;
+		V[pos+8*estride]  = t20-t22; V[pos+9*estride]  = t21+t22;
+		V[pos+10*estride] = t22-t21; V[pos+11*estride] = t21-t23;
+		V[pos+12*estride] = t30-t32; V[pos+13*estride] = t31+t32;
+		V[pos+14*estride] = t32-t31; V[pos+15*estride] = t31-t33;
+	}
+	
+	private static void transformOutputTile(double[] M, int pos, int estride,
+		double[] out, int outPos, int H, int W, int h0, int w0)
+	{
+		//tmp = A^T M, row-wise
+		double t00 = M[pos]           + M[pos+4*estride]  + M[pos+8*estride];
+		double t01 = M[pos+estride]   + M[pos+5*estride]  + M[pos+9*estride];
+		double t02 = M[pos+2*estride] + M[pos+6*estride]  + M[pos+10*estride];
+		double t03 = M[pos+3*estride] + M[pos+7*estride]  + M[pos+11*estride];
+		double t10 = M[pos+4*estride] - M[pos+8*estride]  - M[pos+12*estride];
+		double t11 = M[pos+5*estride] - M[pos+9*estride]  - M[pos+13*estride];
+		double t12 = M[pos+6*estride] - M[pos+10*estride] - M[pos+14*estride];
+		double t13 = M[pos+7*estride] - M[pos+11*estride] - M[pos+15*estride];
+		//Y = tmp A, with partial tiles at the boundaries
+		int ix = outPos + h0*W + w0;
+		boolean col2 = w0 + 1 < W;
+		out[ix] = t00+t01+t02;
+		if( col2 )
+			out[ix+1] = t01-t02-t03;
+		if( h0 + 1 < H ) {
+			out[ix+W] = t10+t11+t12;
+			if( col2 )
+				out[ix+W+1] = t11-t12-t13;
+		}
+	}
+}
@@ -44,6 +44,7 @@ import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.data.SparseBlock.Type;
+import org.apache.sysds.runtime.data.SparseBlockBCSR;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
@@ -1206,7 +1207,11 @@ public class LibMatrixMult
 		final int cd = m2.rlen;
 		final long xsp = (long)m*cd/m1.nonZeros;
 
-		if( LOW_LEVEL_OPTIMIZATION ) {
+		if( LOW_LEVEL_OPTIMIZATION && !pm2 && a instanceof SparseBlockBCSR
+			&& b.isContiguous() && c.isContiguous() ) { //BLOCK-SPARSE MATRIX-MATRIX
+			matrixMultBlockSparseDense((SparseBlockBCSR)a, b.valuesAt(0), c.valuesAt(0), n, cd, rl, ru);
+		}
+		else if( LOW_LEVEL_OPTIMIZATION ) {
 			if( m==1 && n==1 ) {            //DOT PRODUCT
 				if( !a.isEmpty(0) )
 					c.set(0, 0, dotProduct(a.values(0), b.values(0), a.indexes(0), a.pos(0), 0, a.size(0)));
@@ -1250,6 +1255,34 @@ public class LibMatrixMult
 		}
 	}
 	
+	private static void matrixMultBlockSparseDense(SparseBlockBCSR a, double[] b, double[] c, int n, int cd, int rl, int ru) {
+		final int blen = a.getBlockSize(), blen2 = blen*blen;
+		final int[] bptr = a.blockRowPointers();
+		final int[] bcol = a.blockColumnIndexes();
+		final double[] avals = a.blockValues();
+		
+		//process row partition [rl,ru) in block rows, where each
+		//stored block is multiplied with a blen x n panel of B
+		for( int bi=rl/blen; bi*blen<ru; bi++ ) {
+			int il = Math.max(rl, bi*blen), iu = Math.min(ru, (bi+1)*blen);
+			for( int k=bptr[bi]; k<bptr[bi+1]; k++ ) {
+				int bk = bcol[k]*blen, klen = Math.min(blen, cd-bk);
+				for( int i=il; i<iu; i++ ) {
+					//dense micro-kernel: block row times panel of B
+					int aix = k*blen2 + (i-bi*blen)*blen, cix = i*n, j = 0;
+					for( ; j<klen-3; j+=4 )
+						vectMultiplyAdd4(avals[aix+j], avals[aix+j+1], avals[aix+j+2], avals[aix+j+3],
+							b, c, (bk+j)*n, (bk+j+1)*n, (bk+j+2)*n, (bk+j+3)*n, cix, n);
+					for( ; j<klen-1; j+=2 )
+						vectMultiplyAdd2(avals[aix+j], avals[aix+j+1],
+							b, c, (bk+j)*n, (bk+j+1)*n, cix, n);
+					if( j<klen )
+						vectMultiplyAdd(avals[aix+j], b, c, (bk+j)*n, cix, n);
+				}
+			}
+		}
+	}
+	
 	private static void matrixMultSparseDenseMVShortRHS(SparseBlock a, DenseBlock b, DenseBlock c, int cd, int rl, int ru) {
 		double[] bvals = b.valuesAt(0);
 		double[] cvals = c.valuesAt(0);
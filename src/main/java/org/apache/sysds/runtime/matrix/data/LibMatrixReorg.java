@@ -40,6 +40,7 @@ import org.apache.sysds.runtime.controlprogram.caching.MatrixObject.UpdateType;
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockBCSR;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseRowVector;
 import org.apache.sysds.runtime.functionobjects.DiagIndex;
@@ -164,6 +165,12 @@ public class LibMatrixReorg {
 			return out;
 		}
 		
+		//block-sparse transpose (w/o conversion into rows)
+		if( in.sparse && out.sparse && in.sparseBlock instanceof SparseBlockBCSR ) {
+			out.sparseBlock = ((SparseBlockBCSR)in.sparseBlock).transpose(in.clen);
+			return out;
+		}
+		
 		// Timing time = new Timing(true);
 		
 		//allocate output arrays (if required)
@@ -205,7 +212,8 @@ public class LibMatrixReorg {
 			|| (SHALLOW_COPY_REORG && !in.sparse && !out.sparse && (in.rlen == 1 || in.clen == 1))
 			|| (in.sparse && !out.sparse && in.rlen == 1) || (!in.sparse && out.sparse && in.rlen == 1)
 			|| (in.sparse && out.sparse && in.nonZeros < Math.max(in.rlen, in.clen)) //ultra-sparse
-			|| (!in.sparse && out.sparse) ) {
+			|| (!in.sparse && out.sparse)
+			|| (in.sparse && out.sparse && in.sparseBlock instanceof SparseBlockBCSR) ) {
 			return transpose(in, out);
 		}
 		// set meta data and allocate output arrays (if required)
@@ -54,6 +54,7 @@ import org.apache.sysds.runtime.controlprogram.parfor.stat.InfrastructureAnalyze
 import org.apache.sysds.runtime.data.DenseBlock;
 import org.apache.sysds.runtime.data.DenseBlockFactory;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockBCSR;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockFactory;
@@ -134,6 +135,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 	public static final double MAX_SHALLOW_SERIALIZE_OVERHEAD = 2; //2x size of serialized
 	//flag if MCSR blocks that do not qualify for shallow serialize should be converted to CSR
 	public static final boolean CONVERT_MCSR_TO_CSR_ON_DEEP_SERIALIZE = true;
+	//flag if MCSR blocks should be converted to CSR when becoming read-only (if beneficial)
+	public static final boolean CONVERT_MCSR_TO_CSR_ON_READ_ONLY = true;
 	//basic header (int rlen, int clen, byte type)
 	public static final int HEADER_SIZE = 9;
 	
@@ -1978,6 +1981,14 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 					cleanupBlock(false, true); //reuse dense
 					readDenseBlock(in); //always dense in-mem if dense on disk
 					break;
+				case BLOCK_SPARSE_BLOCK:
+					nonZeros = readNnzInfo( in, false );
+					sparse = true;
+					cleanupBlock(true, true);
+					sparseBlock = SparseBlockBCSR.read(rlen, in);
+					if( !evalSparseFormatInMemory(rlen, clen, nonZeros) )
+						sparseToDense();
+					break;
 				case EMPTY_BLOCK:
 					sparse = true;
 					cleanupBlock(true, !(sparseBlock instanceof SparseBlockCSR));
@@ -1985,6 +1996,12 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 						sparseBlock.reset();
 					nonZeros = 0;
 					break;
+				case COMPRESSED_BLOCK:
+					//read compressed block and decompress into this block
+					CompressedMatrixBlock cmb = new CompressedMatrixBlock(rlen, clen);
+					cmb.readCompressedFields(in);
+					copyShallow(cmb.decompress());
+					break;
 			}
 		}
 		catch(DMLRuntimeException ex)
@@ -2145,6 +2162,8 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				writeEmptyBlock(out);
 			else if( isUltraSparseSerialize(sparseDst) ) 
 				writeSparseToUltraSparse(out); 
+			else if( sparseDst && isBlockSparseSerialize() )
+				writeBlockSparseBlock(out);
 			else if( sparseDst ) 
 				writeSparseBlock(out);
 			else
@@ -2226,6 +2245,20 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		}
 	}
 
+	private void writeBlockSparseBlock(DataOutput out) 
+		throws IOException 
+	{
+		out.writeByte( BlockType.BLOCK_SPARSE_BLOCK.ordinal() );
+		writeNnzInfo( out, false );
+		((SparseBlockBCSR)sparseBlock).write(out);
+	}
+	
+	private boolean isBlockSparseSerialize() {
+		//write blocks only if smaller than the row-wise sparse representation
+		return sparseBlock instanceof SparseBlockBCSR
+			&& ((SparseBlockBCSR)sparseBlock).getExactSizeOnDisk() < 4L*rlen + 12L*nonZeros;
+	}
+
 	private void writeSparseToUltraSparse(DataOutput out) 
 		throws IOException 
 	{
@@ -2493,6 +2526,9 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 				return HEADER_SIZE; //empty block
 			else if( nonZeros<lrlen && sparseDst )
 				return estimateSizeUltraSparseOnDisk(lrlen, lclen, nonZeros); //ultra sparse block
+			else if( sparseDst && isBlockSparseSerialize() )
+				return HEADER_SIZE + ((lrlen*lclen > Integer.MAX_VALUE) ? 8 : 4)
+					+ ((SparseBlockBCSR)sparseBlock).getExactSizeOnDisk(); //block sparse block
 			else if( sparseDst )
 				return estimateSizeSparseOnDisk(lrlen, lclen, nonZeros); //sparse block
 			else 
@@ -2750,6 +2786,23 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 			SparseBlock.Type.CSR, sparseBlock, false);
 	}
 	
+	/**
+	 * Converts the sparse block of a matrix block that is not modified anymore
+	 * into CSR, if beneficial according to the cost model in
+	 * {@link SparseBlockFactory#isCSRConversionBeneficial(SparseBlock, long, long)}.
+	 * 
+	 * @return saved in-memory size in bytes, or 0 if not converted
+	 */
+	public long compactReadOnlySparseBlock() {
+		if( !sparse || sparseBlock == null
+			|| !SparseBlockFactory.isCSRConversionBeneficial(sparseBlock, rlen, nonZeros) )
+			return 0;
+		long size = ((SparseBlockMCSR)sparseBlock).getExactSizeInMemory();
+		sparseBlock = SparseBlockFactory.copySparseBlock(
+			SparseBlock.Type.CSR, sparseBlock, false);
+		return size - SparseBlockCSR.estimateSizeInMemory(rlen, clen, getSparsity());
+	}
+	
 	@Override
 	public void compactEmptyBlock() {
 		if( isEmptyBlock(false) && isAllocated() )
@@ -2858,7 +2911,13 @@ public class MatrixBlock extends MatrixValue implements CacheBlock, Externalizab
 		final int m = rlen;
 		final int n = clen;
 		
-		if( sparse && ret.sparse ) //SPARSE <- SPARSE
+		if( sparse && ret.sparse && sparseBlock instanceof SparseBlockBCSR ) 
+		{
+			//SPARSE <- SPARSE (block-sparse, w/ dense processing per block)
+			ret.sparseBlock = ((SparseBlockBCSR)sparseBlock).apply(op.fn::execute);
+			ret.nonZeros = ret.sparseBlock.size();
+		}
+		else if( sparse && ret.sparse ) //SPARSE <- SPARSE
 		{
 			ret.allocateSparseRowsBlock();
 			SparseBlock a = sparseBlock;
@@ -23,11 +23,16 @@ import java.io.Externalizable;
 import java.io.IOException;
 import java.io.ObjectInput;
 import java.io.ObjectOutput;
+import java.util.ArrayList;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysds.common.Types.ValueType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 
 /**
  * Base class for all transform decoders providing both a row and block
@@ -38,6 +43,9 @@ public abstract class Decoder implements Externalizable
 {	
 	private static final long serialVersionUID = -1732411001366177787L;
 	
+	//min number of rows per task of multi-threaded decode
+	private static final int MIN_PAR_ROWS = 1024;
+	
 	protected ValueType[] _schema;
 	protected int[] _colList;
 	protected String[] _colnames = null;
@@ -66,7 +74,60 @@ public abstract class Decoder implements Externalizable
 	 * 
 	 * @return returns given output frame block for convenience
 	 */
-	public abstract FrameBlock decode(MatrixBlock in, FrameBlock out);
+	public FrameBlock decode(MatrixBlock in, FrameBlock out) {
+		out.ensureAllocatedColumns(in.getNumRows());
+		decode(in, out, 0, in.getNumRows());
+		return out;
+	}
+	
+	/**
+	 * Multi-threaded block decode API converting a matrix block into a frame
+	 * block. The rows are decoded in disjoint row ranges, each of which applies
+	 * all decoders in order (which preserves dependencies between decoders such
+	 * as dummycode before recode on the same columns).
+	 * 
+	 * @param in input matrix block
+	 * @param out output frame block
+	 * @param k degree of parallelism
+	 * 
+	 * @return returns given output frame block for convenience
+	 */
+	public FrameBlock decode(MatrixBlock in, FrameBlock out, int k) {
+		int nrow = in.getNumRows();
+		k = Math.min(k, (int)Math.ceil((double)nrow / MIN_PAR_ROWS));
+		if( k <= 1 )
+			return decode(in, out);
+		
+		//pre-allocate output columns for thread-safe row-range updates
+		out.ensureAllocatedColumns(nrow);
+		ExecutorService pool = CommonThreadPool.get(k);
+		try {
+			ArrayList<DecodeTask> tasks = new ArrayList<>();
+			int blklen = (int)Math.ceil((double)nrow / k);
+			for( int i=0; i<k & i*blklen<nrow; i++ )
+				tasks.add(new DecodeTask(this, in, out, i*blklen, Math.min((i+1)*blklen, nrow)));
+			for( Future<Object> task : pool.invokeAll(tasks) )
+				task.get();
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException(ex);
+		}
+		finally {
+			pool.shutdown();
+		}
+		return out;
+	}
+	
+	/**
+	 * Row-range decode API converting the rows [rl, ru) of a matrix block into
+	 * the same rows of the given, already allocated frame block.
+	 * 
+	 * @param in input matrix block
+	 * @param out output frame block (with allocated columns)
+	 * @param rl row lower bound (inclusive)
+	 * @param ru row upper bound (exclusive)
+	 */
+	public abstract void decode(MatrixBlock in, FrameBlock out, int rl, int ru);
 	
 	/**
 	 * Returns a new Decoder that only handles a sub range of columns. The sub-range refers to the columns after
@@ -149,4 +210,26 @@ public abstract class Decoder implements Externalizable
 			_schema[j] = ValueType.values()[in.readByte()];
 		}
 	}
+
+	private static class DecodeTask implements Callable<Object>
+	{
+		private final Decoder _decoder;
+		private final MatrixBlock _in;
+		private final FrameBlock _out;
+		private final int _rl, _ru;
+		
+		protected DecodeTask(Decoder decoder, MatrixBlock in, FrameBlock out, int rl, int ru) {
+			_decoder = decoder;
+			_in = in;
+			_out = out;
+			_rl = rl;
+			_ru = ru;
+		}
+		
+		@Override
+		public Object call() {
+			_decoder.decode(_in, _out, _rl, _ru);
+			return null;
+		}
+	}
 }
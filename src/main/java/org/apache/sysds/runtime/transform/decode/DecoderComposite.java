@@ -50,10 +50,9 @@ public class DecoderComposite extends Decoder
 	public DecoderComposite() { super(null, null); }
 
 	@Override
-	public FrameBlock decode(MatrixBlock in, FrameBlock out) {
+	public void decode(MatrixBlock in, FrameBlock out, int rl, int ru) {
 		for( Decoder decoder : _decoders )
-			out = decoder.decode(in, out);
-		return out;
+			decoder.decode(in, out, rl, ru);
 	}
 	
 	@Override
@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 import org.apache.sysds.runtime.util.UtilFunctions;
@@ -48,18 +49,41 @@ public class DecoderDummycode extends Decoder
 	}
 
 	@Override
-	public FrameBlock decode(MatrixBlock in, FrameBlock out) {
-		//TODO perf (exploit sparse representation for better asymptotic behavior)
-		out.ensureAllocatedColumns(in.getNumRows());
-		for( int i=0; i<in.getNumRows(); i++ )
-			for( int j=0; j<_colList.length; j++ )
-				for( int k=_clPos[j]; k<_cuPos[j]; k++ )
-					if( in.quickGetValue(i, k-1) != 0 ) {
-						int col = _colList[j] - 1;
-						out.set(i, col, UtilFunctions.doubleToObject(
-							out.getSchema()[col], k-_clPos[j]+1));
-					}
-		return out;
+	public void decode(MatrixBlock in, FrameBlock out, int rl, int ru) {
+		if( in.isInSparseFormat() ) {
+			//exploit sparse representation (merge of sorted row indexes and column ranges)
+			SparseBlock sblock = in.getSparseBlock();
+			if( sblock == null )
+				return;
+			for( int i=rl; i<ru; i++ ) {
+				if( sblock.isEmpty(i) )
+					continue;
+				int apos = sblock.pos(i);
+				int alen = sblock.size(i);
+				int[] aix = sblock.indexes(i);
+				double[] avals = sblock.values(i);
+				for( int j=0, k=apos; j<_colList.length & k<apos+alen; j++ ) {
+					while( k<apos+alen && aix[k] < _clPos[j]-1 )
+						k++;
+					for( ; k<apos+alen && aix[k] < _cuPos[j]-1; k++ )
+						if( avals[k] != 0 )
+							setCode(out, i, j, aix[k]+1);
+				}
+			}
+		}
+		else {
+			for( int i=rl; i<ru; i++ )
+				for( int j=0; j<_colList.length; j++ )
+					for( int k=_clPos[j]; k<_cuPos[j]; k++ )
+						if( in.quickGetValue(i, k-1) != 0 )
+							setCode(out, i, j, k);
+		}
+	}
+	
+	private void setCode(FrameBlock out, int i, int j, int k) {
+		int col = _colList[j] - 1;
+		out.set(i, col, UtilFunctions.doubleToObject(
+			out.getSchema()[col], k-_clPos[j]+1));
 	}
 	
 	@Override
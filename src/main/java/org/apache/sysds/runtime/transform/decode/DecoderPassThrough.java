@@ -51,10 +51,9 @@ public class DecoderPassThrough extends Decoder
 	public DecoderPassThrough() { super(null, null); }
 
 	@Override
-	public FrameBlock decode(MatrixBlock in, FrameBlock out) {
-		out.ensureAllocatedColumns(in.getNumRows());
+	public void decode(MatrixBlock in, FrameBlock out, int rl, int ru) {
 		int clen = Math.min(_colList.length, out.getNumColumns());
-		for( int i=0; i<in.getNumRows(); i++ ) {
+		for( int i=rl; i<ru; i++ ) {
 			for( int j=0; j<clen; j++ ) {
 				int srcColID = _srcCols[j];
 				int tgtColID = _colList[j];
@@ -63,7 +62,6 @@ public class DecoderPassThrough extends Decoder
 					UtilFunctions.doubleToObject(_schema[tgtColID-1], val));
 			}
 		}
-		return out;
 	}
 	
 	@Override
@@ -46,6 +46,7 @@ public class DecoderRecode extends Decoder
 	private static final long serialVersionUID = -3784249774608228805L;
 
 	private HashMap<Long, Object>[] _rcMaps = null;
+	private Object[][] _rcLookup = null;
 	private boolean _onOut = false;
 
 	public DecoderRecode() { super(null, null); }
@@ -56,29 +57,51 @@ public class DecoderRecode extends Decoder
 	}
 
 	@Override
-	public FrameBlock decode(MatrixBlock in, FrameBlock out) {
+	public void decode(MatrixBlock in, FrameBlock out, int rl, int ru) {
 		if( _onOut ) { //recode on output (after dummy)
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			for( int i=rl; i<ru; i++ ) {
 				for( int j=0; j<_colList.length; j++ ) {
 					int colID = _colList[j];
 					double val = UtilFunctions.objectToDouble(
 							out.getSchema()[colID-1], out.get(i, colID-1));
-					long key = UtilFunctions.toLong(val);
-					out.set(i, colID-1, _rcMaps[j].get(key));
+					out.set(i, colID-1, lookup(j, UtilFunctions.toLong(val)));
 				}
 			}
 		}
 		else { //recode on input (no dummy)
-			out.ensureAllocatedColumns(in.getNumRows());
-			for( int i=0; i<in.getNumRows(); i++ ) {
+			for( int i=rl; i<ru; i++ ) {
 				for( int j=0; j<_colList.length; j++ ) {
 					double val = in.quickGetValue(i, _colList[j]-1);
-					long key = UtilFunctions.toLong(val);
-					out.set(i, _colList[j]-1, _rcMaps[j].get(key));
+					out.set(i, _colList[j]-1, lookup(j, UtilFunctions.toLong(val)));
 				}
 			}
 		}
-		return out;
+	}
+	
+	private Object lookup(int j, long key) {
+		//reverse lookup array for dense codes, map otherwise
+		Object[] lookup = _rcLookup[j];
+		return (lookup != null) ? ((key > 0 && key < lookup.length) ? lookup[(int)key] : null) :
+			_rcMaps[j].get(key);
+	}
+	
+	private static Object[][] createLookupArrays(HashMap<Long, Object>[] maps) {
+		Object[][] ret = new Object[maps.length][];
+		for( int j=0; j<maps.length; j++ ) {
+			long max = 0;
+			boolean valid = true;
+			for( Long key : maps[j].keySet() ) {
+				max = Math.max(max, key);
+				valid &= key > 0;
+			}
+			//codes are usually dense in [1, #distinct], otherwise fallback to map
+			if( !valid || max > 2L * maps[j].size() + 16 )
+				continue;
+			ret[j] = new Object[(int)max + 1];
+			for( Entry<Long, Object> e : maps[j].entrySet() )
+				ret[j][e.getKey().intValue()] = e.getValue();
+		}
+		return ret;
 	}
 
 	@Override
@@ -104,6 +127,7 @@ public class DecoderRecode extends Decoder
 		DecoderRecode subRangeDecoder = new DecoderRecode(
 			Arrays.copyOfRange(_schema, colStart - 1, colEnd - 1), _onOut, colList);
 		subRangeDecoder._rcMaps = rcMaps.toArray(new HashMap[0]);
+		subRangeDecoder._rcLookup = createLookupArrays(subRangeDecoder._rcMaps);
 		return subRangeDecoder;
 	}
 
@@ -123,6 +147,7 @@ public class DecoderRecode extends Decoder
 			}
 			_rcMaps[j] = map;
 		}
+		_rcLookup = createLookupArrays(_rcMaps);
 	}
 	
 	/**
@@ -169,5 +194,6 @@ public class DecoderRecode extends Decoder
 				maps.put(in.readLong(), in.readUTF());
 			_rcMaps[i] = maps;
 		}
+		_rcLookup = createLookupArrays(_rcMaps);
 	}
 }
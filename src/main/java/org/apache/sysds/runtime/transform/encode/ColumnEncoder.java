@@ -194,6 +194,17 @@ public abstract class ColumnEncoder implements Encoder, Comparable<ColumnEncoder
 		return colID == _colID;
 	}
 
+	/**
+	 * Incremental build of internal data structures for new rows, which extends the
+	 * meta data obtained via initMetaData without changing the codes of existing
+	 * meta data. Encoders without data-dependent meta data simply build from the new rows.
+	 *
+	 * @param in input block of new rows
+	 */
+	public void buildIncremental(CacheBlock in) {
+		build(in);
+	}
+
 	/**
 	 * Allocates internal data structures for partial build.
 	 */
@@ -94,6 +94,14 @@ public class ColumnEncoderBin extends ColumnEncoder {
 			Statistics.incTransformBinningBuildTime(System.nanoTime()-t0);
 	}
 
+	@Override
+	public void buildIncremental(CacheBlock in) {
+		// keep existing bin boundaries, because recomputed equi-width
+		// bins would change the codes of already encoded rows
+		if(_binMaxs == null)
+			build(in);
+	}
+
 	protected double getCode(CacheBlock in, int row){
 		// find the right bucket for a single row
 		if( _binMins.length == 0 || _binMaxs.length == 0 ) {
@@ -105,6 +105,13 @@ public class ColumnEncoderComposite extends ColumnEncoder {
 			columnEncoder.build(in);
 	}
 
+	@Override
+	public void buildIncremental(CacheBlock in) {
+		for(ColumnEncoder columnEncoder : _columnEncoders)
+			columnEncoder.buildIncremental(in);
+		updateAllDCEncoders();
+	}
+
 	@Override
 	public List<DependencyTask<?>> getApplyTasks(CacheBlock in, MatrixBlock out, int outputCol) {
 		List<DependencyTask<?>> tasks = new ArrayList<>();
@@ -144,6 +144,20 @@ public class ColumnEncoderRecode extends ColumnEncoder {
 		}
 	}
 
+	@Override
+	public void buildIncremental(CacheBlock in) {
+		if(!isApplicable())
+			return;
+		// append codes for new tokens (w/o sorting, which would change existing codes),
+		// on a copy because the initial map might be cached by the meta data frame
+		_rcdMap = new HashMap<>(_rcdMap);
+		for(int row = 0; row < in.getNumRows(); row++) {
+			String key = in.getString(row, _colID - 1);
+			if(key != null && !key.isEmpty() && !_rcdMap.containsKey(key))
+				putCode(_rcdMap, key);
+		}
+	}
+
 	@Override
 	public Callable<Object> getBuildTask(CacheBlock in) {
 		return new ColumnRecodeBuildTask(this, in);
@@ -0,0 +1,216 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.runtime.transform.encode;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupEmpty;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupUncompressed;
+import org.apache.sysds.runtime.compress.colgroup.dictionary.Dictionary;
+import org.apache.sysds.runtime.compress.colgroup.mapping.AMapToData;
+import org.apache.sysds.runtime.compress.colgroup.mapping.MapToFactory;
+import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+
+/**
+ * Transform-apply into a compressed matrix block. After the build phase, the codes of recoded and binned columns
+ * already are dense mappings to a known number of distinct values, which allows constructing the column groups
+ * directly without any compression planning (sampling, estimation, co-coding):
+ * 
+ * - recoded, binned and feature-hashed columns map to single-column DDC groups with dictionary 1..R, and
+ * 
+ * - dummycoded columns map to multi-column DDC groups with an R x R identity dictionary (one-hot encoding),
+ * 
+ * where missing values (NaN codes) map to an additional dictionary entry. Pass-through columns, and one-hot columns
+ * whose identity dictionary would exceed the size of the sparse one-hot output, are applied into uncompressed
+ * column groups.
+ */
+public class CompressedEncode {
+	protected static final Log LOG = LogFactory.getLog(CompressedEncode.class.getName());
+
+	private CompressedEncode() {
+		// private constructor for static class
+	}
+
+	/**
+	 * Apply the given (already built) encoder to the input and construct a compressed output.
+	 * 
+	 * @param enc The multi column encoder, after the build phase
+	 * @param in  The input frame or matrix
+	 * @param k   The parallelization degree
+	 * @return A compressed matrix block of the encoded data
+	 */
+	public static MatrixBlock encode(MultiColumnEncoder enc, CacheBlock in, int k) {
+		final List<ColumnEncoderComposite> encoders = enc.getColumnEncoders();
+		final int nRow = in.getNumRows();
+		final int nCol = in.getNumColumns() + enc.getNumExtraCols();
+		if(encoders.size() != in.getNumColumns())
+			throw new DMLRuntimeException("Not every column in has a CompositeEncoder. Please make sure every column "
+				+ "has a encoder or slice the input accordingly");
+
+		// output column offsets, shifted by the extra columns of dummycoding
+		final List<EncodeTask> tasks = new ArrayList<>(encoders.size());
+		int offset = 0;
+		for(ColumnEncoderComposite c : encoders) {
+			final int w = getNumOutputCols(c);
+			if(w > 0)
+				tasks.add(new EncodeTask(c, in, c._colID - 1 + offset, w));
+			offset += w - 1;
+		}
+
+		final List<AColGroup> groups = new ArrayList<>(tasks.size());
+		try {
+			if(k > 1 && tasks.size() > 1) {
+				ExecutorService pool = CommonThreadPool.get(k);
+				try {
+					for(Future<AColGroup> f : pool.invokeAll(tasks))
+						groups.add(f.get());
+				}
+				finally {
+					pool.shutdown();
+				}
+			}
+			else {
+				for(EncodeTask t : tasks)
+					groups.add(t.call());
+			}
+		}
+		catch(Exception ex) {
+			throw new DMLRuntimeException("Failed compressed transform-encode", ex);
+		}
+
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(nRow, nCol);
+		ret.allocateColGroupList(groups);
+		ret.recomputeNonZeros();
+		if(LOG.isDebugEnabled())
+			LOG.debug("Compressed transform-encode into " + groups.size() + " column groups: " + ret.getInMemorySize());
+		return ret;
+	}
+
+	private static int getNumOutputCols(ColumnEncoderComposite c) {
+		return c.hasEncoder(ColumnEncoderDummycode.class) ? //
+			c.getEncoder(ColumnEncoderDummycode.class).getDomainSize() : 1;
+	}
+
+	private static AColGroup encodeColumn(ColumnEncoderComposite c, CacheBlock in, int outCol, int w) {
+		final int nRow = in.getNumRows();
+		final int[] colIndexes = new int[w];
+		for(int i = 0; i < w; i++)
+			colIndexes[i] = outCol + i;
+
+		final ColumnEncoder first = c.getEncoders().get(0);
+		final boolean dc = c.hasEncoder(ColumnEncoderDummycode.class);
+		if(!dc && first instanceof ColumnEncoderPassThrough)
+			return applyUncompressed(c, in, colIndexes);
+
+		// obtain codes (1..R or NaN) and validate them against the domain
+		final double[] codes = first.getCodeCol(in, 0, -1);
+		int nDistinct = dc ? w : 0;
+		boolean containsNaN = false;
+		for(double v : codes) {
+			if(Double.isNaN(v))
+				containsNaN = true;
+			else if(v < 1 || v != (int) v || (dc && v > w))
+				return applyUncompressed(c, in, colIndexes);
+			else if(!dc)
+				nDistinct = Math.max(nDistinct, (int) v);
+		}
+		if(nDistinct == 0)
+			return containsNaN ? applyUncompressed(c, in, colIndexes) : new ColGroupEmpty(colIndexes);
+
+		// one-hot identity dictionary only if smaller than the sparse one-hot representation
+		if(dc && (long) w * (w + (containsNaN ? 1 : 0)) * 8 > (long) nRow * 12)
+			return applySparseOneHot(codes, nRow, colIndexes);
+
+		final int nVal = nDistinct + (containsNaN ? 1 : 0);
+		final AMapToData map = MapToFactory.create(nRow, nVal);
+		final int[] counts = new int[nVal];
+		for(int i = 0; i < nRow; i++) {
+			final int code = Double.isNaN(codes[i]) ? nDistinct : (int) codes[i] - 1;
+			map.set(i, code);
+			counts[code]++;
+		}
+		return ColGroupDDC.create(colIndexes, nRow, createDictionary(nDistinct, w, dc, containsNaN), map, counts);
+	}
+
+	private static Dictionary createDictionary(int nDistinct, int nCol, boolean identity, boolean containsNaN) {
+		final int nVal = nDistinct + (containsNaN ? 1 : 0);
+		final double[] values = new double[nVal * nCol];
+		if(identity) {
+			// missing values are encoded as the all-zero row
+			for(int i = 0; i < nDistinct; i++)
+				values[i * nCol + i] = 1;
+		}
+		else {
+			for(int i = 0; i < nDistinct; i++)
+				values[i] = i + 1;
+			if(containsNaN)
+				values[nDistinct] = Double.NaN;
+		}
+		return new Dictionary(values);
+	}
+
+	private static AColGroup applySparseOneHot(double[] codes, int nRow, int[] colIndexes) {
+		MatrixBlock tmp = new MatrixBlock(nRow, colIndexes.length, true);
+		for(int i = 0; i < nRow; i++)
+			if(!Double.isNaN(codes[i]))
+				tmp.appendValue(i, (int) codes[i] - 1, 1);
+		return ColGroupUncompressed.create(colIndexes, tmp);
+	}
+
+	private static AColGroup applyUncompressed(ColumnEncoderComposite c, CacheBlock in, int[] colIndexes) {
+		MatrixBlock tmp = new MatrixBlock(in.getNumRows(), colIndexes.length, false);
+		tmp.allocateDenseBlock();
+		c.apply(in, tmp, 0);
+		tmp.recomputeNonZeros();
+		tmp.examSparsity();
+		return ColGroupUncompressed.create(colIndexes, tmp);
+	}
+
+	private static class EncodeTask implements Callable<AColGroup> {
+		private final ColumnEncoderComposite _encoder;
+		private final CacheBlock _in;
+		private final int _outCol;
+		private final int _nCol;
+
+		protected EncodeTask(ColumnEncoderComposite encoder, CacheBlock in, int outCol, int nCol) {
+			_encoder = encoder;
+			_in = in;
+			_outCol = outCol;
+			_nCol = nCol;
+		}
+
+		@Override
+		public AColGroup call() {
+			return encodeColumn(_encoder, _in, _outCol, _nCol);
+		}
+	}
+}
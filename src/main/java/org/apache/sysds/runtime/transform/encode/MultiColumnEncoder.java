@@ -134,6 +134,34 @@ public class MultiColumnEncoder implements Encoder {
 		return out;
 	}
 
+	/**
+	 * Build and apply the encoders, where the output is optionally constructed directly as a compressed matrix block
+	 * with column groups derived from the recode, bin and dummycode domains (see CompressedEncode). Encoders with
+	 * legacy encoders (omit, mv-impute) fall back to the uncompressed output.
+	 * 
+	 * @param in         The input frame or matrix
+	 * @param k          The parallelization degree
+	 * @param compressed If the output should be compressed
+	 * @return The encoded matrix block
+	 */
+	public MatrixBlock encode(CacheBlock in, int k, boolean compressed) {
+		if(!compressed || hasLegacyEncoder())
+			return encode(in, k);
+		try {
+			long t0 = System.nanoTime();
+			build(in, k);
+			long t1 = System.nanoTime();
+			LOG.debug("Elapsed time for build phase: "+ ((double) t1 - t0) / 1000000 + " ms");
+			MatrixBlock out = CompressedEncode.encode(this, in, k);
+			LOG.debug("Elapsed time for compressed apply phase: "+ ((double) System.nanoTime() - t1) / 1000000 + " ms");
+			return out;
+		}
+		catch(Exception ex) {
+			LOG.error("Failed compressed transform-encode frame with \n" + this);
+			throw ex;
+		}
+	}
+
 	private List<DependencyTask<?>> getEncodeTasks(CacheBlock in, MatrixBlock out, DependencyThreadPool pool) {
 		List<DependencyTask<?>> tasks = new ArrayList<>();
 		List<DependencyTask<?>> applyTAgg = null;
@@ -231,6 +259,53 @@ public class MultiColumnEncoder implements Encoder {
 		pool.shutdown();
 	}
 
+	/**
+	 * Incrementally encodes new rows w.r.t. existing transform meta data (e.g., obtained
+	 * via getMetaData from a previous encode). Recode maps are extended by the distinct
+	 * tokens of the new rows, where new codes are appended after the existing codes,
+	 * which keeps previously encoded rows valid without rescanning them. Bin boundaries
+	 * and imputation values are reused from the meta data. Only the new rows are encoded,
+	 * and the extended meta data is available via getMetaData afterwards.
+	 *
+	 * @param in   input block of new rows
+	 * @param meta existing transform meta data
+	 * @param k    degree of parallelism
+	 * @return encoded matrix of the new rows
+	 */
+	public MatrixBlock encodeIncremental(CacheBlock in, FrameBlock meta, int k) {
+		if(hasLegacyEncoder() && !(in instanceof FrameBlock))
+			throw new DMLRuntimeException("LegacyEncoders do not support non FrameBlock Inputs");
+		_meta = null;
+		initMetaData(meta);
+		buildIncremental(in, k);
+		if(_legacyOmit != null)
+			_legacyOmit.build((FrameBlock) in);
+		return apply(in, k);
+	}
+
+	public void buildIncremental(CacheBlock in, int k) {
+		if(k > 1 && _columnEncoders.size() > 1) {
+			ExecutorService pool = CommonThreadPool.get(k);
+			try {
+				ArrayList<ColumnIncrementalBuildTask> tasks = new ArrayList<>();
+				for(ColumnEncoderComposite columnEncoder : _columnEncoders)
+					tasks.add(new ColumnIncrementalBuildTask(columnEncoder, in));
+				for(Future<Object> task : pool.invokeAll(tasks))
+					task.get();
+			}
+			catch(Exception ex) {
+				throw new DMLRuntimeException(ex);
+			}
+			finally {
+				pool.shutdown();
+			}
+		}
+		else {
+			for(ColumnEncoderComposite columnEncoder : _columnEncoders)
+				columnEncoder.buildIncremental(in);
+		}
+	}
+
 	public void legacyBuild(FrameBlock in) {
 		if(_legacyOmit != null)
 			_legacyOmit.build(in);
@@ -950,4 +1025,20 @@ public class MultiColumnEncoder implements Encoder {
 		}
 	}
 
+	private static class ColumnIncrementalBuildTask implements Callable<Object> {
+		private final ColumnEncoder _colEncoder;
+		private final CacheBlock _input;
+
+		protected ColumnIncrementalBuildTask(ColumnEncoder encoder, CacheBlock input) {
+			_colEncoder = encoder;
+			_input = input;
+		}
+
+		@Override
+		public Object call() throws Exception {
+			_colEncoder.buildIncremental(_input);
+			return null;
+		}
+	}
+
 }
@@ -22,23 +22,42 @@ package org.apache.sysds.runtime.transform.tokenize;
 import org.apache.commons.logging.Log;
 import org.apache.commons.logging.LogFactory;
 import org.apache.sysds.common.Types;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.CommonThreadPool;
 
 import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 public class Tokenizer implements Serializable {
 
     private static final long serialVersionUID = 7155673772374114577L;
     protected static final Log LOG = LogFactory.getLog(Tokenizer.class.getName());
 
+    // Default number of documents per batch of the internal token representation (bounded memory)
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
     private final TokenizerPre tokenizerPre;
     private final TokenizerPost tokenizerPost;
+    private final int batchSize;
 
-    protected Tokenizer(TokenizerPre tokenizerPre, TokenizerPost tokenizerPost) {
-
+    protected Tokenizer(TokenizerPre tokenizerPre, TokenizerPost tokenizerPost, int batchSize) {
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException("Batch size {batch_size=" + batchSize + "} must be positive.");
+        }
         this.tokenizerPre = tokenizerPre;
         this.tokenizerPost = tokenizerPost;
+        this.batchSize = batchSize;
     }
 
     public Types.ValueType[] getSchema() {
@@ -54,10 +73,214 @@ public class Tokenizer implements Serializable {
     }
 
     public FrameBlock tokenize(FrameBlock in, FrameBlock out) {
-        // First convert to internal representation
-        List<DocumentToTokens> documentsToTokenList = tokenizerPre.tokenizePre(in);
-        // Then convert to output representation
-        return tokenizerPost.tokenizePost(documentsToTokenList, out);
+        // Process documents in batches to bound the size of the internal representation
+        for (int rl = 0; rl < in.getNumRows(); rl += batchSize) {
+            int ru = Math.min(rl + batchSize, in.getNumRows());
+            // First convert to internal representation
+            List<DocumentToTokens> documentsToTokenList = tokenizerPre.tokenizePre(in, rl, ru);
+            // Then convert to output representation
+            tokenizerPost.tokenizePost(documentsToTokenList, out);
+        }
+        return out;
+    }
+
+    /**
+     * Tokenizes the given documents directly into a sparse bag-of-words matrix with
+     * one row per document and token counts as values. For the hash representation,
+     * the columns are the hash buckets (computed from the token characters without
+     * creating substrings); for the count representation, the columns are the
+     * alphabetically sorted vocabulary of all documents, obtained by merging
+     * per-thread token counts. The id columns are not part of the output.
+     *
+     * @param in input frame of documents
+     * @param k degree of parallelism
+     * @return bag-of-words matrix
+     */
+    public MatrixBlock tokenizeToMatrix(FrameBlock in, int k) {
+        int nrow = in.getNumRows();
+        Map<String, Integer> dict = null;
+        int ncol;
+        if (tokenizerPost instanceof TokenizerPostHash) {
+            ncol = ((TokenizerPostHash) tokenizerPost).getNumFeatures();
+        } else if (tokenizerPost instanceof TokenizerPostCount) {
+            dict = createDictionary(in, k);
+            ncol = dict.size();
+        } else {
+            throw new DMLRuntimeException("Bag-of-words output not supported for "
+                + tokenizerPost.getClass().getSimpleName() + ".");
+        }
+
+        MatrixBlock out = new MatrixBlock(nrow, ncol, true);
+        if (nrow == 0 || ncol == 0) {
+            return out;
+        }
+        out.allocateSparseRowsBlock();
+
+        // Parallel tokenization over disjoint row ranges (no synchronization)
+        int blklen = (int) Math.ceil((double) nrow / k);
+        List<BagOfWordsTask> tasks = new ArrayList<>();
+        for (int rl = 0; rl < nrow; rl += blklen) {
+            tasks.add(new BagOfWordsTask(in, out, dict, ncol, rl, Math.min(rl + blklen, nrow)));
+        }
+        long nnz = 0;
+        for (Future<Long> task : execute(tasks, k)) {
+            try {
+                nnz += task.get();
+            } catch (Exception ex) {
+                throw new DMLRuntimeException(ex);
+            }
+        }
+        out.setNonZeros(nnz);
+        out.examSparsity();
+        return out;
+    }
+
+    private Map<String, Integer> createDictionary(FrameBlock in, int k) {
+        // Count tokens per row range, then merge the per-thread count maps
+        int nrow = in.getNumRows();
+        int blklen = Math.max((int) Math.ceil((double) nrow / k), 1);
+        List<CountTokensTask> tasks = new ArrayList<>();
+        for (int rl = 0; rl < nrow; rl += blklen) {
+            tasks.add(new CountTokensTask(in, rl, Math.min(rl + blklen, nrow)));
+        }
+        Map<String, Long> counts = new TreeMap<>();
+        for (Future<Map<String, Long>> task : execute(tasks, k)) {
+            try {
+                task.get().forEach((key, value) -> counts.merge(key, value, Long::sum));
+            } catch (Exception ex) {
+                throw new DMLRuntimeException(ex);
+            }
+        }
+        // Column ids w.r.t. alphabetically sorted tokens
+        Map<String, Integer> dict = new HashMap<>();
+        for (String token : counts.keySet()) {
+            dict.put(token, dict.size());
+        }
+        return dict;
+    }
+
+    private static <T> List<Future<T>> execute(List<? extends Callable<T>> tasks, int k) {
+        ExecutorService pool = CommonThreadPool.get(Math.min(k, tasks.size()));
+        try {
+            return pool.invokeAll(tasks);
+        } catch (InterruptedException ex) {
+            throw new DMLRuntimeException(ex);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    /**
+     * Computes the hash of the given character range, which is equivalent to
+     * text.substring(start, end).hashCode() but w/o substring allocation.
+     *
+     * @param text document text
+     * @param start start position (inclusive)
+     * @param end end position (exclusive)
+     * @return string hash code of the range
+     */
+    public static int hashToken(String text, int start, int end) {
+        int h = 0;
+        for (int i = start; i < end; i++) {
+            h = 31 * h + text.charAt(i);
+        }
+        return h;
+    }
+
+    /**
+     * Maps a token hash to its feature bucket in [0, numFeatures). All hashing
+     * tokenizer outputs use this function to obtain consistent feature indexes.
+     *
+     * @param hash token hash code
+     * @param numFeatures number of hash buckets
+     * @return non-negative bucket index
+     */
+    public static int hashBucket(int hash, int numFeatures) {
+        return Math.floorMod(hash, numFeatures);
+    }
+
+    private class CountTokensTask implements Callable<Map<String, Long>> {
+        private final FrameBlock _in;
+        private final int _rl;
+        private final int _ru;
+
+        protected CountTokensTask(FrameBlock in, int rl, int ru) {
+            _in = in;
+            _rl = rl;
+            _ru = ru;
+        }
+
+        @Override
+        public Map<String, Long> call() {
+            Map<String, Long> counts = new HashMap<>();
+            for (int i = _rl; i < _ru; i++) {
+                tokenizerPre.forEachToken(_in, i, (text, start, end) ->
+                    counts.merge(text.substring(start, end), 1L, Long::sum));
+            }
+            return counts;
+        }
+    }
+
+    private class BagOfWordsTask implements Callable<Long> {
+        private final FrameBlock _in;
+        private final MatrixBlock _out;
+        private final Map<String, Integer> _dict;
+        private final int _ncol;
+        private final int _rl;
+        private final int _ru;
+
+        // Reused buffer of column indexes per document
+        private int[] _cols = new int[64];
+        private int _len = 0;
+
+        protected BagOfWordsTask(FrameBlock in, MatrixBlock out, Map<String, Integer> dict, int ncol, int rl, int ru) {
+            _in = in;
+            _out = out;
+            _dict = dict;
+            _ncol = ncol;
+            _rl = rl;
+            _ru = ru;
+        }
+
+        @Override
+        public Long call() {
+            SparseBlock sb = _out.getSparseBlock();
+            long nnz = 0;
+            for (int i = _rl; i < _ru; i++) {
+                _len = 0;
+                tokenizerPre.forEachToken(_in, i, this::appendToken);
+                if (_len == 0) {
+                    continue;
+                }
+                // Count tokens via sorted column indexes (sorted sparse row)
+                Arrays.sort(_cols, 0, _len);
+                int distinct = 1;
+                for (int j = 1; j < _len; j++) {
+                    distinct += (_cols[j] != _cols[j - 1]) ? 1 : 0;
+                }
+                sb.allocate(i, distinct);
+                for (int j = 0; j < _len; ) {
+                    int j2 = j + 1;
+                    while (j2 < _len && _cols[j2] == _cols[j]) {
+                        j2++;
+                    }
+                    sb.append(i, _cols[j], j2 - j);
+                    j = j2;
+                }
+                nnz += distinct;
+            }
+            return nnz;
+        }
+
+        private void appendToken(String text, int start, int end) {
+            int col = (_dict != null) ?
+                _dict.get(text.substring(start, end)) :
+                hashBucket(hashToken(text, start, end), _ncol);
+            if (_len == _cols.length) {
+                _cols = Arrays.copyOf(_cols, 2 * _len);
+            }
+            _cols[_len++] = col;
+        }
     }
 
     static class Token {
@@ -72,6 +295,11 @@ public class Tokenizer implements Serializable {
         }
     }
 
+    @FunctionalInterface
+    public interface TokenConsumer {
+        void accept(String text, int start, int end);
+    }
+
     static class DocumentToTokens {
         List<Object> keys;
         List<Tokenizer.Token> tokens;
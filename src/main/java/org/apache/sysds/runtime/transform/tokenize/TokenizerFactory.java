@@ -67,6 +67,12 @@ public class TokenizerFactory {
                 wideFormat = jSpec.getBoolean("format_wide");
             }
 
+            // number of documents per batch of the internal token representation
+            int batchSize = Tokenizer.DEFAULT_BATCH_SIZE;
+            if (jSpec.has("batch_size")) {
+                batchSize = jSpec.getInt("batch_size");
+            }
+
             TokenizerPre tokenizerPre;
             TokenizerPost tokenizerPost;
 
@@ -99,7 +105,7 @@ public class TokenizerFactory {
                     throw new IllegalArgumentException("Output representation {out=" + out + "} is not supported.");
             }
 
-            tokenizer = new Tokenizer(tokenizerPre, tokenizerPost);
+            tokenizer = new Tokenizer(tokenizerPre, tokenizerPost, batchSize);
         }
         catch(Exception ex) {
             throw new DMLRuntimeException(ex);
@@ -67,8 +67,8 @@ public class TokenizerPostHash implements TokenizerPost{
 			List<Object> keys = docToToken.keys;
 			List<Tokenizer.Token> tokenList = docToToken.tokens;
 			// Transform to hashes
-			List<Integer> hashList = tokenList.stream().map(token -> token.textToken.hashCode() %
-				params.num_features).collect(Collectors.toList());
+			List<Integer> hashList = tokenList.stream().map(token -> Tokenizer.hashBucket(
+				token.textToken.hashCode(), params.num_features)).collect(Collectors.toList());
 			// Counting the hashes
 			Map<Integer, Long> hashCounts = hashList.stream().collect(Collectors.groupingBy(Function.identity(),
 				Collectors.counting()));
@@ -117,6 +117,10 @@ public class TokenizerPostHash implements TokenizerPost{
 		out.appendRow(row);
 	}
 
+	public int getNumFeatures() {
+		return params.num_features;
+	}
+
 	@Override
 	public Types.ValueType[] getOutSchema() {
 		if (wideFormat) {
@@ -25,5 +25,19 @@ import java.io.Serializable;
 import java.util.List;
 
 public interface TokenizerPre extends Serializable {
-    List<Tokenizer.DocumentToTokens> tokenizePre(FrameBlock in);
+    default List<Tokenizer.DocumentToTokens> tokenizePre(FrameBlock in) {
+        return tokenizePre(in, 0, in.getNumRows());
+    }
+
+    List<Tokenizer.DocumentToTokens> tokenizePre(FrameBlock in, int rl, int ru);
+
+    /**
+     * Streams the tokens of the given row as character ranges of the row's text,
+     * which avoids materializing token objects and substrings per document.
+     *
+     * @param in input frame
+     * @param row row index (0-based)
+     * @param consumer consumer of token ranges
+     */
+    void forEachToken(FrameBlock in, int row, Tokenizer.TokenConsumer consumer);
 }
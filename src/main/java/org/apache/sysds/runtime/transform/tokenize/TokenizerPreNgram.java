@@ -85,8 +85,21 @@ public class TokenizerPreNgram implements TokenizerPre {
     }
 
     @Override
-    public List<Tokenizer.DocumentToTokens> tokenizePre(FrameBlock in) {
-        List<Tokenizer.DocumentToTokens> docToWordTokens = tokenizerPreWhitespaceSplit.tokenizePre(in);
+    public void forEachToken(FrameBlock in, int row, Tokenizer.TokenConsumer consumer) {
+        // Same n-grams as wordTokenToNgrams but as ranges of the row's text
+        tokenizerPreWhitespaceSplit.forEachToken(in, row, (text, start, end) -> {
+            int tokenLen = end - start;
+            int startPos = params.minGram - params.maxGram;
+            int endPos = Math.max(tokenLen - params.minGram, startPos);
+            for (int i = startPos; i <= endPos; i++) {
+                consumer.accept(text, start + Math.max(i, 0), start + Math.min(i + params.maxGram, tokenLen));
+            }
+        });
+    }
+
+    @Override
+    public List<Tokenizer.DocumentToTokens> tokenizePre(FrameBlock in, int rl, int ru) {
+        List<Tokenizer.DocumentToTokens> docToWordTokens = tokenizerPreWhitespaceSplit.tokenizePre(in, rl, ru);
 
         List<Tokenizer.DocumentToTokens> docToNgramTokens = new ArrayList<>();
         for (Tokenizer.DocumentToTokens docToTokens: docToWordTokens) {
@@ -27,12 +27,15 @@ import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
 
 public class TokenizerPreWhitespaceSplit implements TokenizerPre {
 
     private static final long serialVersionUID = 539127244034913364L;
 
     private final Params params;
+    private final Pattern pattern;
 
     private final List<Integer> idCols;
     private final int tokenizeCol;
@@ -54,6 +57,7 @@ public class TokenizerPreWhitespaceSplit implements TokenizerPre {
         this.idCols = idCols;
         this.tokenizeCol = tokenizeCol;
         this.params = new Params(params);
+        this.pattern = Pattern.compile(this.params.regex);
     }
 
     public List<Tokenizer.Token> splitToTokens(String text) {
@@ -68,11 +72,53 @@ public class TokenizerPreWhitespaceSplit implements TokenizerPre {
         return tokenList;
     }
 
+    public void forEachWord(String text, Tokenizer.TokenConsumer consumer) {
+        // Same tokens as String.split (incl removed trailing empty tokens) but w/o substrings
+        Matcher matcher = pattern.matcher(text);
+        int pos = 0;
+        int numEmpty = 0;
+        boolean match = false;
+        while (matcher.find()) {
+            if (matcher.end() == 0) {
+                continue; // zero-width match at the beginning
+            }
+            match = true;
+            numEmpty = acceptWord(text, pos, matcher.start(), numEmpty, consumer);
+            pos = matcher.end();
+        }
+        if (!match) {
+            consumer.accept(text, 0, text.length());
+        } else {
+            acceptWord(text, pos, text.length(), numEmpty, consumer);
+        }
+    }
+
+    private static int acceptWord(String text, int start, int end, int numEmpty, Tokenizer.TokenConsumer consumer) {
+        // Defer empty tokens until the next non-empty token
+        if (start == end) {
+            return numEmpty + 1;
+        }
+        for (int i = 0; i < numEmpty; i++) {
+            consumer.accept(text, start, start);
+        }
+        consumer.accept(text, start, end);
+        return 0;
+    }
+
+    @Override
+    public void forEachToken(FrameBlock in, int row, Tokenizer.TokenConsumer consumer) {
+        // Convert index value to Java (0-based) from DML (1-based)
+        Object text = in.get(row, tokenizeCol - 1);
+        if (text != null) {
+            forEachWord(text.toString(), consumer);
+        }
+    }
+
     @Override
-    public List<Tokenizer.DocumentToTokens> tokenizePre(FrameBlock in) {
+    public List<Tokenizer.DocumentToTokens> tokenizePre(FrameBlock in, int rl, int ru) {
         List<Tokenizer.DocumentToTokens> documentsToTokenList = new ArrayList<>();
 
-        Iterator<String[]> iterator = in.getStringRowIterator();
+        Iterator<String[]> iterator = in.getStringRowIterator(rl, ru);
         iterator.forEachRemaining(s -> {
             // Convert index value to Java (0-based) from DML (1-based)
             String text = s[tokenizeCol - 1];
@@ -232,7 +232,8 @@ public class DataConverter {
 		MatrixBlock ret = null;
 		try {
 			MatrixReader reader = MatrixReaderFactory.createMatrixReader(prop);
-			ret = reader.readMatrixFromHDFS(prop.path, prop.rlen, prop.clen, prop.blen, prop.expectedNnz);
+			ret = reader.readMatrixFromHDFS(prop.path, prop.rlen, prop.clen, prop.blen, prop.expectedNnz,
+				prop.formatProperties != null ? prop.formatProperties.getReadRange() : null);
 		}
 		catch(DMLRuntimeException rex)
 		{
@@ -22,6 +22,7 @@ package org.apache.sysds.runtime.util;
 import java.io.BufferedInputStream;
 import java.io.DataInput;
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
@@ -38,10 +39,12 @@ import java.util.HashMap;
 
 import org.apache.hadoop.io.Writable;
 import org.apache.sysds.api.DMLScript;
+import org.apache.sysds.common.Types.BlockType;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.conf.DMLConfig;
 import org.apache.sysds.lops.Lop;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
 import org.apache.sysds.runtime.controlprogram.caching.CacheBlock;
 import org.apache.sysds.runtime.controlprogram.parfor.util.IDSequence;
 import org.apache.sysds.runtime.io.IOUtilFunctions;
@@ -102,7 +105,8 @@ public class LocalFileUtils
 		return (FrameBlock) readWritableFromLocal(fname, new FrameBlock());
 	}
 	
-	/** Reads a matrix/frame block from local file system.
+	/** Reads a matrix/frame block from local file system. Compressed matrix blocks
+	 * (e.g., evicted compressed matrices) are read as compressed matrix blocks.
 	 * 
 	 * @param fname file name to read
 	 * @param matrix if true, read matrix. if false, read frame.
@@ -110,9 +114,29 @@ public class LocalFileUtils
 	 * @throws IOException if IOException occurs
 	 */
 	public static CacheBlock readCacheBlockFromLocal(String fname, boolean matrix) throws IOException {
+		if( matrix && isCompressedBlockFile(fname) )
+			return (CacheBlock) readWritableFromLocal(fname, new CompressedMatrixBlock());
 		return (CacheBlock) readWritableFromLocal(fname, matrix?new MatrixBlock():new FrameBlock());
 	}
 	
+	/**
+	 * Indicates if the given local file contains a serialized compressed matrix
+	 * block, by peeking into the block type of the header (int rlen, int clen, byte type).
+	 * 
+	 * @param fname file name to check
+	 * @return true if the file contains a compressed matrix block
+	 * @throws IOException if IOException occurs
+	 */
+	public static boolean isCompressedBlockFile(String fname) throws IOException {
+		try( DataInputStream in = new DataInputStream(new FileInputStream(fname)) ) {
+			in.skipBytes(8); //rlen, clen
+			return in.readByte() == BlockType.COMPRESSED_BLOCK.ordinal();
+		}
+		catch(EOFException ex) {
+			return false;
+		}
+	}
+	
 	/**
 	 * Reads an arbitrary writable from local file system, using a fused buffered reader
 	 * with special support for matrix blocks.
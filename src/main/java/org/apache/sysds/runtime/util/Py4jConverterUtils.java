@@ -19,17 +19,36 @@
 
 package org.apache.sysds.runtime.util;
 
+import java.io.IOException;
+import java.io.RandomAccessFile;
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.util.EnumSet;
+import java.util.Set;
 
 import org.apache.sysds.common.Types;
 import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.data.DenseBlock;
+import org.apache.sysds.runtime.data.SparseBlock;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
 
 /**
  * Utils for converting python data to java.
  */
 public class Py4jConverterUtils {
+	//max size of memory-mapped regions per mapping (1GB)
+	private static final long MAX_MAPPING_SIZE = 1L << 30;
+
 	public static MatrixBlock convertPy4JArrayToMB(byte[] data, int rlen, int clen) {
 		return convertPy4JArrayToMB(data, rlen, clen, false, Types.ValueType.FP64);
 	}
@@ -74,73 +93,244 @@ public class Py4jConverterUtils {
 
 	public static MatrixBlock convertPy4JArrayToMB(byte[] data, int rlen, int clen, boolean isSparse,
 		Types.ValueType valueType) {
-		MatrixBlock mb = new MatrixBlock(rlen, clen, isSparse, -1);
 		if(isSparse) {
 			throw new DMLRuntimeException("Convertion to sparse format not supported");
 		}
-		else {
-			long limit = (long) rlen * clen;
-			if(limit > Integer.MAX_VALUE)
-				throw new DMLRuntimeException(
-					"Dense NumPy array of size " + limit + " cannot be converted to MatrixBlock");
-			double[] denseBlock = new double[(int) limit];
-			ByteBuffer buf = ByteBuffer.wrap(data);
-			buf.order(ByteOrder.nativeOrder());
-
-			switch(valueType) {
-				case UINT8:
-					for(int i = 0; i< limit; i++)
-						denseBlock[i] = buf.get() & 0xFF;
-					break;
-				case INT32:
-					for(int i = 0; i < limit; i++)
-						denseBlock[i] = buf.getInt();
-					break;
-				case FP32:
-					for(int i = 0; i < limit; i++)
-						denseBlock[i] = buf.getFloat();
-					break;
-				case FP64:
-					for(int i = 0; i < limit; i++)
-						denseBlock[i] = buf.getDouble();
-					break;
-				default:
-					throw new DMLRuntimeException("Unsupported value type: " + valueType.name());
+		long limit = (long) rlen * clen;
+		if(limit > Integer.MAX_VALUE)
+			throw new DMLRuntimeException(
+				"Dense NumPy array of size " + limit + " cannot be converted to MatrixBlock");
+		MatrixBlock mb = allocateDenseOrSparse(rlen, clen, false);
+		ByteBuffer buf = ByteBuffer.wrap(data);
+		buf.order(ByteOrder.nativeOrder());
+		copyToDenseBlock(buf, mb.getDenseBlock(), 0, rlen, clen, valueType);
+		mb.recomputeNonZeros();
+		mb.examSparsity();
+		return mb;
+	}
+
+	/**
+	 * Copies a chunk of rows of a dense NumPy array into an allocated dense
+	 * matrix block (see allocateDenseOrSparse). This allows streaming large
+	 * arrays in multiple calls instead of a single large byte array.
+	 * After the last chunk, the caller is responsible for maintaining the
+	 * number of non-zeros (e.g., via recomputeNonZeros).
+	 *
+	 * @param mb the allocated dense target matrix block
+	 * @param data the serialized rows rl to ru (exclusive) in native byte order
+	 * @param rl row lower (inclusive)
+	 * @param ru row upper (exclusive)
+	 * @param valueType value type of the NumPy array
+	 */
+	public static void convertPy4JArrayToMB(MatrixBlock mb, byte[] data, int rl, int ru, Types.ValueType valueType) {
+		if(mb.isInSparseFormat() || mb.getDenseBlock() == null)
+			throw new DMLRuntimeException("Chunked NumPy conversion requires an allocated dense matrix block.");
+		int clen = mb.getNumColumns();
+		if((long) (ru - rl) * clen * getTypeSize(valueType) > data.length)
+			throw new DMLRuntimeException("Invalid NumPy array chunk of " + data.length
+				+ " bytes for rows [" + rl + "," + ru + ") with " + clen + " columns.");
+		ByteBuffer buf = ByteBuffer.wrap(data);
+		buf.order(ByteOrder.nativeOrder());
+		copyToDenseBlock(buf, mb.getDenseBlock(), rl, ru, clen, valueType);
+	}
+
+	/**
+	 * Reads a dense NumPy array from a memory-mapped file (e.g., a file in
+	 * shared memory /dev/shm written via numpy.memmap) into a matrix block.
+	 * In contrast to the Py4J byte array exchange, the data is neither copied
+	 * through the gateway socket nor materialized as an intermediate byte array.
+	 *
+	 * @param fname file name of the row-major array in native byte order
+	 * @param rlen number of rows
+	 * @param clen number of columns
+	 * @param valueType value type of the NumPy array
+	 * @return matrix block
+	 */
+	public static MatrixBlock convertMappedFileToMB(String fname, int rlen, int clen, Types.ValueType valueType) {
+		MatrixBlock mb = allocateDenseOrSparse(rlen, clen, false);
+		int typeSize = getTypeSize(valueType);
+		try(RandomAccessFile file = new RandomAccessFile(fname, "r"); FileChannel channel = file.getChannel()) {
+			long len = (long) rlen * clen * typeSize;
+			if(channel.size() < len)
+				throw new DMLRuntimeException("Memory-mapped NumPy array " + fname + " of size " + channel.size()
+					+ " too small for " + rlen + " x " + clen + " " + valueType.name() + " values.");
+			int blen = getRowsPerMapping(clen, typeSize);
+			for(int rl = 0; rl < rlen; rl += blen) {
+				int ru = Math.min(rl + blen, rlen);
+				MappedByteBuffer buf = channel.map(MapMode.READ_ONLY,
+					(long) rl * clen * typeSize, (long) (ru - rl) * clen * typeSize);
+				buf.order(ByteOrder.nativeOrder());
+				copyToDenseBlock(buf, mb.getDenseBlock(), rl, ru, clen, valueType);
 			}
-			mb.init(denseBlock, rlen, clen);
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to read memory-mapped NumPy array " + fname + ".", ex);
 		}
 		mb.recomputeNonZeros();
 		mb.examSparsity();
 		return mb;
 	}
 
-	public static byte[] convertMBtoPy4JDenseArr(MatrixBlock mb) {
-		byte[] ret = null;
-		if(mb.isInSparseFormat()) {
-			mb.sparseToDense();
+	/**
+	 * Writes a matrix block as dense row-major FP64 array in native byte order
+	 * into a memory-mapped file (e.g., a file in shared memory /dev/shm), which
+	 * can be directly mapped as NumPy array via numpy.memmap. Sparse blocks are
+	 * written without converting the given block to dense.
+	 *
+	 * @param mb matrix block
+	 * @param fname file name of the output file (created with owner-only permissions, or overwritten)
+	 */
+	public static void convertMBtoMappedFile(MatrixBlock mb, String fname) {
+		int rlen = mb.getNumRows();
+		int clen = mb.getNumColumns();
+		int typeSize = Double.BYTES;
+		try(FileChannel channel = openOwnerOnly(Paths.get(fname))) {
+			//extend the truncated file to obtain zero-initialized content
+			long len = (long) rlen * clen * typeSize;
+			if(len > 0)
+				channel.write(ByteBuffer.allocate(1), len - 1);
+			int blen = getRowsPerMapping(clen, typeSize);
+			for(int rl = 0; rl < rlen; rl += blen) {
+				int ru = Math.min(rl + blen, rlen);
+				MappedByteBuffer buf = channel.map(MapMode.READ_WRITE,
+					(long) rl * clen * typeSize, (long) (ru - rl) * clen * typeSize);
+				buf.order(ByteOrder.nativeOrder());
+				copyFromMatrixBlock(mb, buf.asDoubleBuffer(), rl, ru);
+				buf.force();
+			}
+		}
+		catch(IOException ex) {
+			throw new DMLRuntimeException("Failed to write memory-mapped NumPy array " + fname + ".", ex);
 		}
+	}
+
+	private static FileChannel openOwnerOnly(Path path) throws IOException {
+		Set<StandardOpenOption> options = EnumSet.of(StandardOpenOption.CREATE, StandardOpenOption.READ,
+			StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+		//shared memory files are readable by other users with default permissions
+		if(path.getFileSystem().supportedFileAttributeViews().contains("posix"))
+			return FileChannel.open(path, options,
+				PosixFilePermissions.asFileAttribute(PosixFilePermissions.fromString("rw-------")));
+		return FileChannel.open(path, options);
+	}
 
-		long limit = mb.getNumRows() * mb.getNumColumns();
+	public static byte[] convertMBtoPy4JDenseArr(MatrixBlock mb) {
+		long limit = (long) mb.getNumRows() * mb.getNumColumns();
 		int times = Double.SIZE / Byte.SIZE;
 		if(limit > Integer.MAX_VALUE / times)
 			throw new DMLRuntimeException("MatrixBlock of size " + limit + " cannot be converted to dense numpy array");
-		ret = new byte[(int) (limit * times)];
+		return convertMBtoPy4JDenseArr(mb, 0, mb.getNumRows());
+	}
+
+	/**
+	 * Serializes a chunk of rows of a matrix block into a dense row-major FP64
+	 * byte array in native byte order. This allows streaming large matrices in
+	 * multiple calls instead of a single large byte array.
+	 *
+	 * @param mb matrix block
+	 * @param rl row lower (inclusive)
+	 * @param ru row upper (exclusive)
+	 * @return byte array of the dense rows rl to ru
+	 */
+	public static byte[] convertMBtoPy4JDenseArr(MatrixBlock mb, int rl, int ru) {
+		long limit = (long) (ru - rl) * mb.getNumColumns();
+		int times = Double.SIZE / Byte.SIZE;
+		if(limit > Integer.MAX_VALUE / times)
+			throw new DMLRuntimeException("MatrixBlock chunk of size " + limit + " cannot be converted to dense numpy array");
+		byte[] ret = new byte[(int) (limit * times)];
+		ByteBuffer buf = ByteBuffer.wrap(ret);
+		buf.order(ByteOrder.nativeOrder());
+		copyFromMatrixBlock(mb, buf.asDoubleBuffer(), rl, ru);
+		return ret;
+	}
 
-		double[] denseBlock = mb.getDenseBlockValues();
-		if(mb.isEmptyBlock()) {
-			for(int i = 0; i < limit; i++) {
-				ByteBuffer.wrap(ret, i * times, times).order(ByteOrder.nativeOrder()).putDouble(0);
+	private static void copyToDenseBlock(ByteBuffer buf, DenseBlock db, int rl, int ru, int clen,
+		Types.ValueType valueType) {
+		switch(valueType) {
+			case UINT8:
+				for(int i = rl; i < ru; i++) {
+					double[] c = db.values(i);
+					int pos = db.pos(i);
+					for(int j = 0; j < clen; j++)
+						c[pos + j] = buf.get() & 0xFF;
+				}
+				break;
+			case INT32: {
+				IntBuffer ibuf = buf.asIntBuffer();
+				for(int i = rl; i < ru; i++) {
+					double[] c = db.values(i);
+					int pos = db.pos(i);
+					for(int j = 0; j < clen; j++)
+						c[pos + j] = ibuf.get();
+				}
+				break;
+			}
+			case FP32: {
+				FloatBuffer fbuf = buf.asFloatBuffer();
+				for(int i = rl; i < ru; i++) {
+					double[] c = db.values(i);
+					int pos = db.pos(i);
+					for(int j = 0; j < clen; j++)
+						c[pos + j] = fbuf.get();
+				}
+				break;
 			}
+			case FP64: {
+				//bulk copy of entire rows
+				DoubleBuffer dbuf = buf.asDoubleBuffer();
+				for(int i = rl; i < ru; i++)
+					dbuf.get(db.values(i), db.pos(i), clen);
+				break;
+			}
+			default:
+				throw new DMLRuntimeException("Unsupported value type: " + valueType.name());
 		}
-		else if(denseBlock == null) {
-			throw new DMLRuntimeException("Error while dealing with empty blocks.");
+	}
+
+	private static void copyFromMatrixBlock(MatrixBlock mb, DoubleBuffer out, int rl, int ru) {
+		//note: output buffer is zero-initialized, so only non-zeros are written
+		if(mb.isEmptyBlock())
+			return;
+		int clen = mb.getNumColumns();
+		if(mb.isInSparseFormat()) {
+			SparseBlock sb = mb.getSparseBlock();
+			for(int i = rl; i < ru; i++) {
+				if(sb.isEmpty(i))
+					continue;
+				int apos = sb.pos(i);
+				int alen = sb.size(i);
+				int[] aix = sb.indexes(i);
+				double[] avals = sb.values(i);
+				int off = (i - rl) * clen;
+				for(int k = apos; k < apos + alen; k++)
+					out.put(off + aix[k], avals[k]);
+			}
 		}
 		else {
-			for(int i = 0; i < denseBlock.length; i++) {
-				ByteBuffer.wrap(ret, i * times, times).order(ByteOrder.nativeOrder()).putDouble(denseBlock[i]);
-			}
+			DenseBlock db = mb.getDenseBlock();
+			if(db == null)
+				throw new DMLRuntimeException("Error while dealing with empty blocks.");
+			for(int i = rl; i < ru; i++)
+				out.put(db.values(i), db.pos(i), clen);
 		}
+	}
 
-		return ret;
+	private static int getTypeSize(Types.ValueType valueType) {
+		switch(valueType) {
+			case UINT8: return 1;
+			case INT32:
+			case FP32: return 4;
+			case FP64: return 8;
+			default:
+				throw new DMLRuntimeException("Unsupported value type: " + valueType.name());
+		}
+	}
+
+	private static int getRowsPerMapping(int clen, int typeSize) {
+		//bound mapped regions to fit into the int-indexed byte buffers
+		long rowSize = (long) Math.max(clen, 1) * typeSize;
+		if(rowSize > MAX_MAPPING_SIZE)
+			throw new DMLRuntimeException("Row of " + clen + " columns too large for memory-mapped NumPy exchange.");
+		return (int) (MAX_MAPPING_SIZE / rowSize);
 	}
 }
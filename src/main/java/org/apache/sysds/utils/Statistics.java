@@ -25,6 +25,7 @@ import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.hops.OptimizerUtils;
 import org.apache.sysds.runtime.controlprogram.caching.CacheStatistics;
+import org.apache.sysds.runtime.controlprogram.caching.CacheableData;
 import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedRequest.RequestType;
 import org.apache.sysds.runtime.controlprogram.federated.FederatedStatistics;
@@ -145,6 +146,9 @@ public class Statistics
 	private static long parforOptCount = 0; //count
 	private static long parforInitTime = 0; //in milli sec
 	private static long parforMergeTime = 0; //in milli sec
+	private static long parforNumSteals = 0; //count
+	private static long parforNumFailedSteals = 0; //count
+	private static long parforIdleTime = 0; //in nano sec
 
 	private static final LongAdder lTotalUIPVar = new LongAdder();
 	private static final LongAdder lTotalLix = new LongAdder();
@@ -421,6 +425,12 @@ public class Statistics
 	public static synchronized void incrementParForMergeTime( long time ) {
 		parforMergeTime += time;
 	}
+	
+	public static synchronized void incrementParForStealing( long steals, long failedSteals, long idleTime ) {
+		parforNumSteals += steals;
+		parforNumFailedSteals += failedSteals;
+		parforIdleTime += idleTime;
+	}
 
 	public static synchronized void incFederated(RequestType rqt){
 		switch (rqt) {
@@ -514,6 +524,9 @@ public class Statistics
 		parforOptTime = 0;
 		parforInitTime = 0;
 		parforMergeTime = 0;
+		parforNumSteals = 0;
+		parforNumFailedSteals = 0;
+		parforIdleTime = 0;
 		
 		sparkCtxCreateTime = 0;
 		sparkBroadcast.reset();
@@ -1146,6 +1159,10 @@ public class Statistics
 			sb.append("Cache hits (Mem/Li/WB/FS/HDFS):\t" + CacheStatistics.displayHits() + ".\n");
 			sb.append("Cache writes (Li/WB/FS/HDFS):\t" + CacheStatistics.displayWrites() + ".\n");
 			sb.append("Cache times (ACQr/m, RLS, EXP):\t" + CacheStatistics.displayTime() + " sec.\n");
+			if( CacheStatistics.getSparseConversions() > 0 )
+				sb.append("Sparse conv (num, sec, MB):\t" + CacheStatistics.displaySparseConversions() + ".\n");
+			if( CacheableData.isUMMEnabled() )
+				sb.append("UMM (pin/buff MB, evict#/sec):\t" + CacheStatistics.displayUMM() + ".\n");
 			if (DMLScript.JMLC_MEM_STATISTICS)
 				sb.append("Max size of live objects:\t" + byteCountToDisplaySize(getSizeofPinnedObjects()) + " ("  + getNumPinnedObjects() + " total objects)" + "\n");
 			sb.append("HOP DAGs recompiled (PRED, SB):\t" + getHopRecompiledPredDAGs() + "/" + getHopRecompiledSBDAGs() + ".\n");
@@ -1218,6 +1235,10 @@ public class Statistics
 				sb.append("ParFor result merge time:\t" + String.format("%.3f", ((double)getParforMergeTime())/1000) + " sec.\n");
 				sb.append("ParFor total update in-place:\t" + lTotalUIPVar + "/" + lTotalLixUIP + "/" + lTotalLix + "\n");
 			}
+			if( parforNumSteals > 0 || parforIdleTime > 0 ) {
+				sb.append("ParFor steals (num/failed):\t" + parforNumSteals + "/" + parforNumFailedSteals + ".\n");
+				sb.append("ParFor steal idle time:\t\t" + String.format("%.3f", ((double)parforIdleTime)/1000000000) + " sec.\n");
+			}
 			if( federatedReadCount.longValue() > 0){
 				sb.append("Federated I/O (Read, Put, Get):\t" + 
 					federatedReadCount.longValue() + "/" +
@@ -19,11 +19,22 @@
 #
 # -------------------------------------------------------------
 
+import os
+import tempfile
+import uuid
 
 import numpy as np
 import pandas as pd
 from py4j.java_gateway import JavaClass, JavaGateway, JavaObject, JVMView
 
+# Arrays of at least this size (in bytes) are exchanged via memory-mapped
+# files in shared memory instead of byte arrays through the Py4J socket.
+# Set to None to disable the memory-mapped exchange.
+SHARED_MEMORY_THRESHOLD = 1024 * 1024
+# Max size (in bytes) of byte arrays per call for the chunked exchange,
+# which is used if the memory-mapped exchange is disabled.
+CHUNK_SIZE = 64 * 1024 * 1024
+
 
 def numpy_to_matrix_block(sds: 'SystemDSContext', np_arr: np.array):
     """Converts a given numpy array, to internal matrix block representation.
@@ -54,12 +65,32 @@ def numpy_to_matrix_block(sds: 'SystemDSContext', np_arr: np.array):
     else:
         arr = np_arr.ravel().astype(np.float64)
         value_type = jvm.org.apache.sysds.common.Types.ValueType.FP64
-    buf = bytearray(arr.tobytes())
 
     # Send data to java.
     try:
         j_class: JavaClass = jvm.org.apache.sysds.runtime.util.Py4jConverterUtils
-        return j_class.convertPy4JArrayToMB(buf, rows, cols, value_type)
+        if _use_shared_memory(arr.nbytes):
+            path = _create_shared_memory_file()
+            try:
+                with open(path, "wb") as f:
+                    arr.tofile(f)
+                return j_class.convertMappedFileToMB(path, rows, cols, value_type)
+            finally:
+                os.remove(path)
+        elif arr.nbytes > CHUNK_SIZE:
+            mb = j_class.allocateDenseOrSparse(rows, cols, False)
+            arr = arr.reshape((rows, cols))
+            blen = max(CHUNK_SIZE // max(cols * arr.itemsize, 1), 1)
+            for rl in range(0, rows, blen):
+                ru = min(rl + blen, rows)
+                buf = bytearray(arr[rl:ru].tobytes())
+                j_class.convertPy4JArrayToMB(mb, buf, rl, ru, value_type)
+            mb.recomputeNonZeros()
+            mb.examSparsity()
+            return mb
+        else:
+            buf = bytearray(arr.tobytes())
+            return j_class.convertPy4JArrayToMB(buf, rows, cols, value_type)
     except Exception as e:
         sds.exception_and_close(e)
 
@@ -72,14 +103,52 @@ def matrix_block_to_numpy(jvm: JVMView, mb: JavaObject):
     """
     num_ros = mb.getNumRows()
     num_cols = mb.getNumColumns()
-    buf = jvm.org.apache.sysds.runtime.util.Py4jConverterUtils.convertMBtoPy4JDenseArr(
-        mb
-    )
+    nbytes = num_ros * num_cols * np.dtype(np.float64).itemsize
+    j_class: JavaClass = jvm.org.apache.sysds.runtime.util.Py4jConverterUtils
+    if _use_shared_memory(nbytes):
+        path = _create_shared_memory_file()
+        try:
+            j_class.convertMBtoMappedFile(mb, path)
+            if os.name == "posix":
+                # map without copy; the mapping stays valid after removing the file
+                return np.asarray(np.memmap(path, dtype=np.float64, mode="c",
+                                            shape=(num_ros, num_cols)))
+            return np.fromfile(path, dtype=np.float64).reshape((num_ros, num_cols))
+        finally:
+            os.remove(path)
+    elif nbytes > CHUNK_SIZE:
+        ret = np.empty((num_ros, num_cols), dtype=np.float64)
+        blen = max(CHUNK_SIZE // max(num_cols * ret.itemsize, 1), 1)
+        for rl in range(0, num_ros, blen):
+            ru = min(rl + blen, num_ros)
+            buf = j_class.convertMBtoPy4JDenseArr(mb, rl, ru)
+            ret[rl:ru] = np.frombuffer(buf, dtype=np.float64).reshape((ru - rl, num_cols))
+        return ret
+    buf = j_class.convertMBtoPy4JDenseArr(mb)
     return np.frombuffer(buf, count=num_ros * num_cols, dtype=np.float64).reshape(
         (num_ros, num_cols)
     )
 
 
+def _use_shared_memory(nbytes: int) -> bool:
+    return SHARED_MEMORY_THRESHOLD is not None and 0 < nbytes \
+        and SHARED_MEMORY_THRESHOLD <= nbytes
+
+
+def _create_shared_memory_file() -> str:
+    """Creates a new empty file with a unique name in shared memory (/dev/shm)
+    if available, otherwise in the temporary directory. Python and the JVM run
+    on the same host, so both processes can map this file. The file is created
+    exclusively and readable and writable by the owner only, because shared
+    memory is visible to all users."""
+    shm = "/dev/shm"
+    path = shm if os.path.isdir(shm) and os.access(shm, os.W_OK) \
+        else tempfile.gettempdir()
+    path = os.path.join(path, "systemds_" + uuid.uuid4().hex + ".bin")
+    os.close(os.open(path, os.O_CREAT | os.O_EXCL | os.O_WRONLY, 0o600))
+    return path
+
+
 def pandas_to_frame_block(sds: "SystemDSContext", pd_df: pd.DataFrame):
     """Converts a given numpy array, to internal matrix block representation.
 
@@ -20,11 +20,16 @@
 # -------------------------------------------------------------
 
 
+import os
+import stat
+import tempfile
 import unittest
+import uuid
 
 import numpy as np
 from py4j.java_gateway import JVMView
 from systemds.context import SystemDSContext
+from systemds.utils import converters
 from systemds.utils.converters import (
     matrix_block_to_numpy, numpy_to_matrix_block)
 
@@ -72,6 +77,53 @@ class Test_MatrixBlockConverter(unittest.TestCase):
         array = np.array([rng.standard_normal(n) for x in range(k)])
         self.convert_back_and_forth(array)
 
+    def test_shared_memory_nxk(self):
+        rng = np.random.default_rng(seed=7)
+        array = rng.standard_normal((1000, 200))
+        self.convert_back_and_forth(array)
+
+    def test_shared_memory_float32(self):
+        rng = np.random.default_rng(seed=7)
+        array = rng.standard_normal((1000, 200)).astype(np.float32)
+        self.convert_back_and_forth(array)
+
+    def test_shared_memory_sparse(self):
+        array = np.zeros((1000, 200))
+        array[7, 3] = 1.5
+        array[999, 199] = -2
+        self.convert_back_and_forth(array)
+
+    def test_chunked_nxk(self):
+        threshold = converters.SHARED_MEMORY_THRESHOLD
+        chunk_size = converters.CHUNK_SIZE
+        try:
+            converters.SHARED_MEMORY_THRESHOLD = None
+            converters.CHUNK_SIZE = 1024
+            rng = np.random.default_rng(seed=7)
+            array = rng.standard_normal((1000, 21))
+            self.convert_back_and_forth(array)
+            self.convert_back_and_forth(array.astype(np.int32))
+        finally:
+            converters.SHARED_MEMORY_THRESHOLD = threshold
+            converters.CHUNK_SIZE = chunk_size
+
+    @unittest.skipIf(os.name != "posix", "requires POSIX file permissions")
+    def test_shared_memory_file_permissions(self):
+        path = converters._create_shared_memory_file()
+        try:
+            self.assertEqual(0o600, stat.S_IMODE(os.stat(path).st_mode))
+        finally:
+            os.remove(path)
+        # files created by the JVM
+        path = os.path.join(tempfile.gettempdir(), "systemds_" + uuid.uuid4().hex + ".bin")
+        mb = numpy_to_matrix_block(self.sds, np.ones((10, 3)))
+        try:
+            self.sds.java_gateway.jvm.org.apache.sysds.runtime.util.Py4jConverterUtils \
+                .convertMBtoMappedFile(mb, path)
+            self.assertEqual(0o600, stat.S_IMODE(os.stat(path).st_mode))
+        finally:
+            os.remove(path)
+
     def convert_back_and_forth(self, array):
         matrix_block = numpy_to_matrix_block(self.sds, array)
         # use the ability to call functions on matrix_block.
@@ -27,35 +27,66 @@ import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Random;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.sysds.common.Types.CorrectionLocationType;
+import org.apache.sysds.lops.WeightedCrossEntropy.WCeMMType;
+import org.apache.sysds.lops.WeightedDivMM.WDivMMType;
+import org.apache.sysds.lops.WeightedSigmoid.WSigmoidType;
+import org.apache.sysds.lops.WeightedSquaredLoss.WeightsType;
 import org.apache.sysds.runtime.DMLRuntimeException;
 import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockBuilder;
 import org.apache.sysds.runtime.compress.CompressionSettingsBuilder;
 import org.apache.sysds.runtime.compress.CompressionStatistics;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup;
 import org.apache.sysds.runtime.compress.colgroup.AColGroup.CompressionType;
+import org.apache.sysds.runtime.compress.lib.CLALibRemoveEmpty;
+import org.apache.sysds.runtime.functionobjects.CM;
+import org.apache.sysds.runtime.functionobjects.IntegerDivide;
 import org.apache.sysds.runtime.functionobjects.KahanPlus;
 import org.apache.sysds.runtime.functionobjects.Minus;
 import org.apache.sysds.runtime.functionobjects.Minus1Multiply;
 import org.apache.sysds.runtime.functionobjects.MinusMultiply;
+import org.apache.sysds.runtime.functionobjects.Modulus;
 import org.apache.sysds.runtime.functionobjects.Multiply;
 import org.apache.sysds.runtime.functionobjects.Plus;
 import org.apache.sysds.runtime.functionobjects.PlusMultiply;
 import org.apache.sysds.runtime.functionobjects.ReduceAll;
+import org.apache.sysds.runtime.instructions.InstructionUtils;
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.io.WriterTextCSV;
+import org.apache.sysds.runtime.matrix.data.CTableMap;
 import org.apache.sysds.runtime.matrix.data.LibMatrixCountDistinct;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
 import org.apache.sysds.runtime.matrix.operators.AggregateOperator;
 import org.apache.sysds.runtime.matrix.operators.AggregateTernaryOperator;
 import org.apache.sysds.runtime.matrix.operators.AggregateUnaryOperator;
 import org.apache.sysds.runtime.matrix.operators.BinaryOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator;
+import org.apache.sysds.runtime.matrix.operators.CMOperator.AggregateOperationTypes;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator;
 import org.apache.sysds.runtime.matrix.operators.CountDistinctOperator.CountDistinctTypes;
+import org.apache.sysds.runtime.matrix.operators.Operator;
+import org.apache.sysds.runtime.matrix.operators.QuaternaryOperator;
 import org.apache.sysds.runtime.matrix.operators.RightScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.ScalarOperator;
 import org.apache.sysds.runtime.matrix.operators.TernaryOperator;
+import org.apache.sysds.runtime.util.CommonThreadPool;
+import org.apache.sysds.runtime.util.LocalFileUtils;
 import org.apache.sysds.test.TestUtils;
 import org.apache.sysds.test.component.compress.TestConstants.MatrixTypology;
 import org.apache.sysds.test.component.compress.TestConstants.OverLapping;
@@ -707,6 +738,591 @@ public class CompressedMatrixTest extends AbstractCompressedUnaryTests {
 		}
 	}
 
+	@Test
+	public void testRBind() {
+		testRBind(TestUtils.round(TestUtils.generateTestMatrixBlock(rows / 4, cols, min, max, sparsity, 13)));
+	}
+
+	@Test
+	public void testRBindNewValues() {
+		testRBind(TestUtils.round(TestUtils.generateTestMatrixBlock(rows / 4, cols, min - 3, max + 3, sparsity, 13)));
+	}
+
+	@Test
+	public void testRBindManyDistinctValues() {
+		testRBind(TestUtils.generateTestMatrixBlock(rows / 4, cols, -1000, 1000, 1.0, 13));
+	}
+
+	@Test
+	public void testRBindMultiple() {
+		MatrixBlock[] right = new MatrixBlock[3];
+		for(int i = 0; i < right.length; i++)
+			right[i] = TestUtils.round(TestUtils.generateTestMatrixBlock(rows / 4, cols, min, max, sparsity, 13 + i));
+		testRBind(right);
+	}
+
+	public void testRBind(MatrixBlock... right) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock expected = mb.append(right, null, false);
+			MatrixBlock actual = cmb.append(right, null, false);
+			assertEquals(bufferedToString, expected.getNumRows(), actual.getNumRows());
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testRepeatedRBind() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock expected = mb;
+			MatrixBlock actual = cmb;
+			for(int i = 0; i < 3; i++) {
+				MatrixBlock right = TestUtils.round(TestUtils.generateTestMatrixBlock(50, cols, min, max, sparsity, 13 + i));
+				expected = expected.append(right, null, false);
+				actual = actual.append(right, null, false);
+			}
+			assertEquals(bufferedToString, expected.getNumRows(), actual.getNumRows());
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testRemoveEmptyRows() {
+		testRemoveEmptyRows(null);
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSelect() {
+		testRemoveEmptyRows(TestUtils.round(TestUtils.generateTestMatrixBlock(rows, 1, 1, 1, 0.3, 13)));
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSelectFew() {
+		testRemoveEmptyRows(TestUtils.round(TestUtils.generateTestMatrixBlock(rows, 1, 1, 1, 0.01, 13)));
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSelectNone() {
+		testRemoveEmptyRows(new MatrixBlock(rows, 1, true));
+	}
+
+	@Test
+	public void testRemoveEmptyRowsSelectAll() {
+		testRemoveEmptyRows(new MatrixBlock(rows, 1, 1.0));
+	}
+
+	public void testRemoveEmptyRows(MatrixBlock select) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock expected = mb.removeEmptyOperations(new MatrixBlock(), true, true, select);
+			MatrixBlock actual = cmb.removeEmptyOperations(new MatrixBlock(), true, true, select);
+			if(select != null && select.getNonZeros() > 0)
+				assertTrue(bufferedToString, actual instanceof CompressedMatrixBlock);
+			assertEquals(bufferedToString, expected.getNumRows(), actual.getNumRows());
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testSelectRowsArbitraryOrder() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			// unsorted row indexes with duplicates
+			Random r = new Random(13);
+			int[] sel = new int[rows / 3];
+			for(int i = 0; i < sel.length; i++)
+				sel[i] = r.nextInt(rows);
+			MatrixBlock expected = new MatrixBlock(sel.length, cols, false);
+			for(int i = 0; i < sel.length; i++)
+				for(int j = 0; j < cols; j++)
+					expected.quickSetValue(i, j, mb.quickGetValue(sel[i], j));
+
+			MatrixBlock actual = CLALibRemoveEmpty.selectRows((CompressedMatrixBlock) cmb, sel, 4);
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testGroupedAggSum() {
+		testGroupedAgg("sum", mb, null, -1);
+	}
+
+	@Test
+	public void testGroupedAggSumColumn() {
+		testGroupedAgg("sum", mb.slice(0, rows - 1, 0, 0), null, -1);
+	}
+
+	@Test
+	public void testGroupedAggSumCompressedTarget() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			Operator op = InstructionUtils.parseGroupedAggOperator("sum", null);
+			MatrixBlock expected = getGroups(mb, 0, 10).groupedAggOperations(getGroups(mb, cols - 1, 6), null,
+				new MatrixBlock(), -1, op, 1);
+			MatrixBlock actual = getGroups(cmb, 0, 10).groupedAggOperations(getGroups(cmb, cols - 1, 6), null,
+				new MatrixBlock(), -1, op, 1);
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testGroupedAggSumWeights() {
+		testGroupedAgg("sum", mb.slice(0, rows - 1, 0, 0), vectorRows, 12);
+	}
+
+	@Test
+	public void testGroupedAggCount() {
+		testGroupedAgg("count", mb.slice(0, rows - 1, 0, 0), null, -1);
+	}
+
+	public void testGroupedAgg(String fn, MatrixBlock target, MatrixBlock weights, int ngroups) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			Operator op = InstructionUtils.parseGroupedAggOperator(fn, null);
+			MatrixBlock expected = getGroups(mb, 0, 10).groupedAggOperations(target, weights, new MatrixBlock(),
+				ngroups, op, 1);
+			MatrixBlock actual = getGroups(cmb, 0, 10).groupedAggOperations(target, weights, new MatrixBlock(),
+				ngroups, op, 1);
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testCTableCompressedPair() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock expected = new MatrixBlock(10, 6, false);
+			getGroups(mb, 0, 10).ctableOperations(null, getGroups(mb, cols - 1, 6), 1.0, false, null, expected);
+			MatrixBlock actual = new MatrixBlock(10, 6, false);
+			getGroups(cmb, 0, 10).ctableOperations(null, getGroups(cmb, cols - 1, 6), 1.0, false, null, actual);
+			compareResultMatrices(expected, actual, 1);
+			assertEquals(bufferedToString, expected.getNonZeros(), actual.getNonZeros());
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testCTableUncompressedSecond() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock groups2 = getGroups(mb, cols - 1, 6);
+			CTableMap expected = new CTableMap();
+			getGroups(mb, 0, 10).ctableOperations(null, groups2, 2.0, false, expected, null);
+			CTableMap actual = new CTableMap();
+			getGroups(cmb, 0, 10).ctableOperations(null, groups2, 2.0, false, actual, null);
+			compareResultMatrices(expected.toMatrixBlock(10, 6), actual.toMatrixBlock(10, 6), 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testCTableScalars() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock expected = new MatrixBlock(10, 3, false);
+			getGroups(mb, 0, 10).ctableOperations(null, 2, 1.5, null, expected);
+			MatrixBlock actual = new MatrixBlock(10, 3, false);
+			getGroups(cmb, 0, 10).ctableOperations(null, 2, 1.5, null, actual);
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testCTableWeights() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock expected = new MatrixBlock(10, 3, false);
+			getGroups(mb, 0, 10).ctableOperations(null, 3, vectorRows, null, expected);
+			MatrixBlock actual = new MatrixBlock(10, 3, false);
+			getGroups(cmb, 0, 10).ctableOperations(null, 3, vectorRows, null, actual);
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testCTableMatrixWeights() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock expected = new MatrixBlock(10, 6, false);
+			getGroups(mb, 0, 10).ctableOperations(null, getGroups(mb, cols - 1, 6), vectorRows, null, expected);
+			MatrixBlock actual = new MatrixBlock(10, 6, false);
+			getGroups(cmb, 0, 10).ctableOperations(null, getGroups(cmb, cols - 1, 6), vectorRows, null, actual);
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testCTableSeq() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock expected = getGroups(mb, 0, 10).ctableSeqOperations(getGroups(mb, cols - 1, 6), 2.0,
+				new MatrixBlock(rows, 6, false));
+			MatrixBlock actual = getGroups(cmb, 0, 10).ctableSeqOperations(getGroups(cmb, cols - 1, 6), 2.0,
+				new MatrixBlock(rows, 6, false));
+			assertEquals(bufferedToString, expected.getNumColumns(), actual.getNumColumns());
+			assertEquals(bufferedToString, expected.getNonZeros(), actual.getNonZeros());
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testCTableSeqUncompressedSecond() {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock groups2 = getGroups(mb, cols - 1, 6);
+			MatrixBlock expected = getGroups(mb, 0, 10).ctableSeqOperations(groups2, 1.0,
+				new MatrixBlock(rows, 6, false));
+			MatrixBlock actual = getGroups(cmb, 0, 10).ctableSeqOperations(groups2, 1.0,
+				new MatrixBlock(rows, 6, false));
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testCTableSeqIndexesLeft() {
+		testCTableSeqIndexes(true);
+	}
+
+	@Test
+	public void testCTableSeqIndexesRight() {
+		testCTableSeqIndexes(false);
+	}
+
+	public void testCTableSeqIndexes(boolean left) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixIndexes ix = new MatrixIndexes(3, 1);
+			CTableMap expected = new CTableMap();
+			getGroups(mb, 0, 10).ctableOperations(null, ix, 1.5, left, rows, expected, null);
+			CTableMap actual = new CTableMap();
+			getGroups(cmb, 0, 10).ctableOperations(null, ix, 1.5, left, rows, actual, null);
+			final int nr = left ? 3 * rows : 10;
+			final int nc = left ? 10 : 3 * rows;
+			compareResultMatrices(expected.toMatrixBlock(nr, nc), actual.toMatrixBlock(nr, nc), 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testSortQuantiles() {
+		testSortQuantiles(null);
+	}
+
+	@Test
+	public void testSortQuantilesWeights() {
+		testSortQuantiles(TestUtils.round(TestUtils.generateTestMatrixBlock(rows, 1, 1, 4, 1.0, 3)));
+	}
+
+	public void testSortQuantiles(MatrixBlock weights) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			final double[] quantiles = {0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 1.0};
+			MatrixBlock qs = new MatrixBlock(quantiles.length, 1, false);
+			for(int i = 0; i < quantiles.length; i++)
+				qs.quickSetValue(i, 0, quantiles[i]);
+
+			MatrixBlock sorted1 = mb.slice(0, rows - 1, 0, 0).sortOperations(weights, new MatrixBlock());
+			MatrixBlock sorted2 = cmb.slice(0, rows - 1, 0, 0).sortOperations(weights, new MatrixBlock());
+			assertTrue(bufferedToString, sorted2.getNumRows() <= sorted1.getNumRows());
+			compareResultMatrices(sorted1.pickValues(qs, new MatrixBlock()), sorted2.pickValues(qs, new MatrixBlock()), 1);
+			compareScalarResult(sorted1.median(), sorted2.median());
+			compareScalarResult(sorted1.interQuartileMean(), sorted2.interQuartileMean());
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testCentralMoments() {
+		testCentralMoments(null);
+	}
+
+	@Test
+	public void testCentralMomentsWeights() {
+		testCentralMoments(TestUtils.round(TestUtils.generateTestMatrixBlock(rows, 1, 1, 4, 1.0, 3)));
+	}
+
+	public void testCentralMoments(MatrixBlock weights) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock in1 = mb.slice(0, rows - 1, 0, 0);
+			MatrixBlock in2 = cmb.slice(0, rows - 1, 0, 0);
+			for(AggregateOperationTypes type : new AggregateOperationTypes[] {AggregateOperationTypes.MEAN,
+				AggregateOperationTypes.VARIANCE, AggregateOperationTypes.CM3}) {
+				CMOperator op = new CMOperator(CM.getCMFnObject(type), type);
+				double expected = (weights != null ? in1.cmOperations(op, weights) : in1.cmOperations(op))
+					.getRequiredResult(op);
+				double actual = (weights != null ? in2.cmOperations(op, weights) : in2.cmOperations(op))
+					.getRequiredResult(op);
+				compareScalarResult(expected, actual);
+			}
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testWSLossNone() {
+		testQuaternaryScalar(new QuaternaryOperator(WeightsType.NONE), null, 1);
+	}
+
+	@Test
+	public void testWSLossNoneParallel() {
+		testQuaternaryScalar(new QuaternaryOperator(WeightsType.NONE), null, 4);
+	}
+
+	@Test
+	public void testWSLossPost() {
+		testQuaternaryScalar(new QuaternaryOperator(WeightsType.POST), matrixRowsCols, 4);
+	}
+
+	@Test
+	public void testWCeMMBasic() {
+		testQuaternaryScalar(new QuaternaryOperator(WCeMMType.BASIC), null, 4);
+	}
+
+	@Test
+	public void testWSigmoidBasic() {
+		testQuaternaryMatrix(new QuaternaryOperator(WSigmoidType.BASIC), null, 4);
+	}
+
+	@Test
+	public void testWDivMMLeft() {
+		testQuaternaryMatrix(new QuaternaryOperator(WDivMMType.DIV_LEFT), null, 4);
+	}
+
+	@Test
+	public void testWDivMMMultMinus4Right() {
+		testQuaternaryMatrix(new QuaternaryOperator(WDivMMType.MULT_MINUS_4_RIGHT), matrixRowsCols, 1);
+	}
+
+	public void testQuaternaryScalar(QuaternaryOperator qop, MatrixBlock w, int k) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock U = TestUtils.generateTestMatrixBlock(rows, 5, 0.1, 1, 1.0, 3);
+			MatrixBlock V = TestUtils.generateTestMatrixBlock(cols, 5, 0.1, 1, 1.0, 4);
+			double expected = mb.quaternaryOperations(qop, U, V, w, new MatrixBlock(), k).quickGetValue(0, 0);
+			double actual = cmb.quaternaryOperations(qop, U, V, w, new MatrixBlock(), k).quickGetValue(0, 0);
+			compareScalarResult(expected, actual);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	public void testQuaternaryMatrix(QuaternaryOperator qop, MatrixBlock w, int k) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			MatrixBlock U = TestUtils.generateTestMatrixBlock(rows, 5, 0.1, 1, 1.0, 3);
+			MatrixBlock V = TestUtils.generateTestMatrixBlock(cols, 5, 0.1, 1, 1.0, 4);
+			MatrixBlock expected = mb.quaternaryOperations(qop, U, V, w, new MatrixBlock(), k);
+			MatrixBlock actual = cmb.quaternaryOperations(qop, U, V, w, new MatrixBlock(), k);
+			compareResultMatrices(expected, actual, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	@Test
+	public void testCompressOnReadBinary() {
+		testCompressOnRead(false, 100);
+	}
+
+	@Test
+	public void testCompressOnReadBinaryMultiColumnBlocks() {
+		testCompressOnRead(false, 8);
+	}
+
+	@Test
+	public void testCompressOnReadCSV() {
+		testCompressOnRead(true, 100);
+	}
+
+	public void testCompressOnRead(boolean csv, int blen) {
+		String dir = null;
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			dir = Files.createTempDirectory("cread").toString() + File.separator;
+			final String fname = dir + (csv ? "X.csv" : "X.bin");
+			final long nnz = mb.recomputeNonZeros();
+			MatrixBlock ret;
+			if(csv) {
+				FileFormatPropertiesCSV props = new FileFormatPropertiesCSV();
+				new WriterTextCSV(props).writeMatrixToHDFS(mb, fname, rows, cols, blen, nnz);
+				ReaderTextCSVParallel reader = new ReaderTextCSVParallel(props);
+				reader.setCompressOnRead(true);
+				ret = reader.readMatrixFromHDFS(fname, rows, cols, blen, -1);
+			}
+			else {
+				new WriterBinaryBlock(1).writeMatrixToHDFS(mb, fname, rows, cols, blen, nnz);
+				ReaderBinaryBlockParallel reader = new ReaderBinaryBlockParallel(true);
+				reader.setCompressOnRead(true);
+				ret = reader.readMatrixFromHDFS(fname, rows, cols, blen, -1);
+			}
+			assertEquals(bufferedToString, nnz, ret.getNonZeros());
+			compareResultMatrices(mb, ret, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+		finally {
+			if(dir != null)
+				LocalFileUtils.deleteFileIfExists(dir);
+		}
+	}
+
+	@Test
+	public void testCompressOnReadParallelRows() {
+		testCompressOnReadParallel(false);
+	}
+
+	@Test
+	public void testCompressOnReadParallelBlocks() {
+		testCompressOnReadParallel(true);
+	}
+
+	public void testCompressOnReadParallel(boolean blocks) {
+		try {
+			if(!(cmb instanceof CompressedMatrixBlock))
+				return;
+			// replicate the input beyond the sample size, to encode most bands after the co-coding decision
+			final MatrixBlock[] reps = new MatrixBlock[8192 / rows];
+			Arrays.fill(reps, mb);
+			final MatrixBlock in = mb.append(reps, null, false);
+			final int nRows = in.getNumRows();
+			final int blen = 100;
+			final CompressedMatrixBlockBuilder builder = new CompressedMatrixBlockBuilder(nRows, cols, blen, 4);
+
+			final List<Callable<Object>> tasks = new ArrayList<>();
+			for(int rl = 0; rl < nRows; rl += blen) {
+				final int lrl = rl;
+				final int lru = Math.min(rl + blen, nRows) - 1;
+				tasks.add(() -> {
+					if(blocks)
+						for(int cl = 0; cl < cols; cl += blen)
+							builder.appendBlock(in.slice(lrl, lru, cl, Math.min(cl + blen, cols) - 1), lrl, cl);
+					else
+						builder.appendRows(in.slice(lrl, lru), lrl);
+					return null;
+				});
+			}
+			final ExecutorService pool = CommonThreadPool.get(4);
+			try {
+				for(Future<Object> f : pool.invokeAll(tasks))
+					f.get();
+			}
+			finally {
+				pool.shutdown();
+			}
+			final MatrixBlock ret = builder.build();
+			assertEquals(bufferedToString, in.recomputeNonZeros(), ret.getNonZeros());
+			compareResultMatrices(in, ret, 1);
+		}
+		catch(Exception e) {
+			e.printStackTrace();
+			throw new RuntimeException(bufferedToString + "\n" + e.getMessage(), e);
+		}
+	}
+
+	private void compareScalarResult(double expected, double actual) {
+		if(OverLapping.effectOnOutput(overlappingType))
+			assertTrue(bufferedToString, TestUtils.getPercentDistance(expected, actual, true) > .99);
+		else
+			assertEquals(bufferedToString, expected, actual, 1e-8 * Math.max(1, Math.abs(expected)));
+	}
+
+	/**
+	 * Get a column vector of group ids in [1, n] from a column of the given input. The ids are derived with scalar
+	 * operations only, which keeps compressed inputs compressed.
+	 */
+	private MatrixBlock getGroups(MatrixBlock in, int col, int n) {
+		MatrixBlock ret = in.slice(0, rows - 1, col, col);
+		ret = ret.scalarOperations(new RightScalarOperator(IntegerDivide.getFnObject(), 1), new MatrixBlock());
+		ret = ret.scalarOperations(new RightScalarOperator(Modulus.getFnObject(), n), new MatrixBlock());
+		return ret.scalarOperations(new RightScalarOperator(Plus.getPlusFnObject(), 1), new MatrixBlock());
+	}
+
 	private static long getJolSize(CompressedMatrixBlock cmb, CompressionStatistics cStat) {
 		Layouter l = new HotSpotLayouter(new X86_64_DataModel());
 		long jolEstimate = 0;
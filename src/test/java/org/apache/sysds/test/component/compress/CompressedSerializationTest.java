@@ -0,0 +1,276 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.sysds.common.Types.BlockType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupIO;
+import org.apache.sysds.runtime.instructions.spark.data.IndexedMatrixValue;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class CompressedSerializationTest {
+
+	private static final int rows = 1000;
+	private static final int cols = 140;
+	private static final int blen = 100;
+
+	private String _dir;
+
+	@Before
+	public void setUp() throws IOException {
+		_dir = Files.createTempDirectory("cmbio").toString() + File.separator;
+	}
+
+	@After
+	public void tearDown() {
+		LocalFileUtils.deleteFileIfExists(_dir);
+	}
+
+	@Test
+	public void testIndexedGroupsParallel() throws IOException {
+		CompressedMatrixBlock cmb = compress(genData(1.0, 7));
+		List<AColGroup> groups = cmb.getColGroups();
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		ColGroupIO.writeGroups(dos, groups, 4);
+		dos.flush();
+		assertEquals(ColGroupIO.getExactSizeOnDiskIndexed(groups), bos.size());
+
+		DataInputStream dis = new DataInputStream(new ByteArrayInputStream(bos.toByteArray()));
+		CompressedMatrixBlock ret = new CompressedMatrixBlock(rows, cols);
+		ret.allocateColGroupList(ColGroupIO.readGroups(dis, rows, 4));
+		ret.recomputeNonZeros();
+		assertEquals(groups.size(), ret.getColGroups().size());
+		TestUtils.compareMatrices(cmb, ret, 0, "Wrong indexed column group serialization");
+	}
+
+	@Test
+	public void testWriteCompressedHeader() throws IOException {
+		CompressedMatrixBlock cmb = compress(genData(1.0, 9));
+		List<AColGroup> groups = cmb.getColGroups();
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		cmb.write(dos);
+		dos.flush();
+
+		// the block is written as is, without replacing its column groups
+		assertSame(groups, cmb.getColGroups());
+		assertEquals(cmb.getExactSizeOnDisk(), bos.size());
+		assertEquals(BlockType.COMPRESSED_BLOCK.ordinal(), bos.toByteArray()[8]);
+
+		// uncompressed matrix blocks decompress compressed blocks
+		MatrixBlock mb = new MatrixBlock();
+		mb.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		TestUtils.compareMatrices(cmb, mb, 0, "Wrong deserialization of compressed block");
+	}
+
+	@Test
+	public void testWriteSmallerUncompressed() throws IOException {
+		// repeated overlapping column groups, which are larger than the uncompressed block
+		CompressedMatrixBlock cmb = compress(genData(1.0, 5));
+		List<AColGroup> groups = new ArrayList<>();
+		for(int i = 0; i < 100; i++)
+			groups.addAll(cmb.getColGroups());
+		CompressedMatrixBlock ocmb = new CompressedMatrixBlock(rows, cols);
+		ocmb.allocateColGroupList(groups);
+		ocmb.setOverlapping(true);
+		ocmb.recomputeNonZeros();
+
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		ocmb.write(dos);
+		dos.flush();
+
+		// the block is written as a single uncompressed column group, without replacing its column groups
+		assertSame(groups, ocmb.getColGroups());
+		assertTrue(ocmb.isOverlapping());
+		assertEquals(ocmb.getExactSizeOnDisk(), bos.size());
+		assertTrue(bos.size() < ColGroupIO.getExactSizeOnDisk(groups));
+
+		CompressedMatrixBlock ret = new CompressedMatrixBlock();
+		ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		assertEquals(1, ret.getColGroups().size());
+		assertFalse(ret.isOverlapping());
+		TestUtils.compareMatrices(ocmb, ret, 0, "Wrong serialization of smaller uncompressed block");
+	}
+
+	@Test
+	public void testEvictionRoundtrip() throws IOException {
+		CompressedMatrixBlock cmb = compress(genData(0.5, 11));
+		String fname = _dir + "evict";
+		LocalFileUtils.writeCacheBlockToLocal(fname, cmb);
+		assertTrue(LocalFileUtils.isCompressedBlockFile(fname));
+		MatrixBlock ret = (MatrixBlock) LocalFileUtils.readCacheBlockFromLocal(fname, true);
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(cmb, ret, 0, "Wrong restore of evicted compressed block");
+	}
+
+	@Test
+	public void testBinaryBlockRoundtrip() throws IOException {
+		runBinaryBlockTest(false);
+	}
+
+	@Test
+	public void testBinaryBlockRoundtripParallel() throws IOException {
+		runBinaryBlockTest(true);
+	}
+
+	@Test
+	public void testBinaryBlockRoundtripUncompressedRead() throws IOException {
+		runBinaryBlockUncompressedReadTest(false);
+	}
+
+	@Test
+	public void testBinaryBlockRoundtripUncompressedReadParallel() throws IOException {
+		runBinaryBlockUncompressedReadTest(true);
+	}
+
+	@Test
+	public void testBinaryBlockIndexRangeUncompressedRead() throws IOException {
+		CompressedMatrixBlock cmb = compress(genData(0.5, 19));
+		String fname = writeCompressed(cmb);
+		IndexRange ixrange = new IndexRange(117, 532, 42, 131);
+		MatrixBlock ret = createReader(true, false).readMatrixFromHDFS(fname,
+			ixrange.rowSpan() + 1, ixrange.colSpan() + 1, blen, -1, ixrange);
+		assertFalse(ret instanceof CompressedMatrixBlock);
+		MatrixBlock expected = cmb.getUncompressed().slice((int) ixrange.rowStart, (int) ixrange.rowEnd,
+			(int) ixrange.colStart, (int) ixrange.colEnd);
+		TestUtils.compareMatrices(expected, ret, 0, "Wrong partial read of compressed binary blocks");
+	}
+
+	@Test
+	public void testBinaryBlockIndexedBlocksUncompressedRead() throws IOException {
+		CompressedMatrixBlock cmb = compress(genData(0.5, 23));
+		String fname = writeCompressed(cmb);
+		List<IndexedMatrixValue> blocks = ((ReaderBinaryBlock) createReader(false, false))
+			.readIndexedMatrixBlocksFromHDFS(fname, rows, cols, blen);
+		MatrixBlock mb = cmb.getUncompressed();
+		assertEquals((rows / blen) * ((cols + blen - 1) / blen), blocks.size());
+		for(IndexedMatrixValue imv : blocks) {
+			MatrixIndexes ix = imv.getIndexes();
+			MatrixBlock block = (MatrixBlock) imv.getValue();
+			assertFalse(block instanceof CompressedMatrixBlock);
+			int rl = (int) (ix.getRowIndex() - 1) * blen, cl = (int) (ix.getColumnIndex() - 1) * blen;
+			MatrixBlock expected = mb.slice(rl, rl + block.getNumRows() - 1, cl, cl + block.getNumColumns() - 1);
+			TestUtils.compareMatrices(expected, block, 0, "Wrong block read of compressed binary blocks");
+		}
+	}
+
+	@Test
+	public void testBinaryBlockIndexRange() throws IOException {
+		runBinaryBlockIndexRangeTest(new IndexRange(117, 532, 42, 131), false);
+	}
+
+	@Test
+	public void testBinaryBlockIndexRangeParallel() throws IOException {
+		runBinaryBlockIndexRangeTest(new IndexRange(117, 532, 42, 131), true);
+	}
+
+	@Test
+	public void testBinaryBlockIndexRangeSingleBlock() throws IOException {
+		runBinaryBlockIndexRangeTest(new IndexRange(blen, 2 * blen - 1, 0, 7), false);
+	}
+
+	private void runBinaryBlockIndexRangeTest(IndexRange ixrange, boolean par) throws IOException {
+		CompressedMatrixBlock cmb = compress(genData(0.5, 17));
+		String fname = writeCompressed(cmb);
+		MatrixBlock ret = createReader(par).readMatrixFromHDFS(fname,
+			ixrange.rowSpan() + 1, ixrange.colSpan() + 1, blen, -1, ixrange);
+		MatrixBlock expected = cmb.getUncompressed().slice((int) ixrange.rowStart, (int) ixrange.rowEnd,
+			(int) ixrange.colStart, (int) ixrange.colEnd);
+		TestUtils.compareMatrices(expected, ret, 0, "Wrong partial read of compressed binary blocks");
+	}
+
+	private static MatrixReader createReader(boolean par) {
+		return createReader(par, true);
+	}
+
+	private static MatrixReader createReader(boolean par, boolean compressed) {
+		ReaderBinaryBlock reader = par ? new ReaderBinaryBlockParallel(true) : new ReaderBinaryBlock(true);
+		reader.setReadCompressed(compressed);
+		return reader;
+	}
+
+	private void runBinaryBlockUncompressedReadTest(boolean par) throws IOException {
+		// files written with compressed blocks remain readable if compressed reads are disabled
+		CompressedMatrixBlock cmb = compress(genData(0.5, 29));
+		String fname = writeCompressed(cmb);
+		MatrixBlock ret = createReader(par, false).readMatrixFromHDFS(fname, rows, cols, blen, cmb.getNonZeros());
+		assertFalse(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(cmb, ret, 0, "Wrong uncompressed read of compressed binary blocks");
+	}
+
+	private void runBinaryBlockTest(boolean par) throws IOException {
+		CompressedMatrixBlock cmb = compress(genData(0.5, 13));
+		String fname = writeCompressed(cmb);
+		MatrixReader reader = createReader(par);
+		MatrixBlock ret = reader.readMatrixFromHDFS(fname, rows, cols, blen, cmb.getNonZeros());
+		assertTrue(ret instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(cmb, ret, 0, "Wrong compressed binary block roundtrip");
+	}
+
+	private String writeCompressed(CompressedMatrixBlock cmb) throws IOException {
+		String fname = _dir + "X.bin";
+		WriterBinaryBlock writer = new WriterBinaryBlock(1);
+		writer.setWriteCompressed(true);
+		writer.writeMatrixToHDFS(cmb, fname, rows, cols, blen, cmb.getNonZeros());
+		return fname;
+	}
+
+	private static CompressedMatrixBlock compress(MatrixBlock mb) {
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		return (CompressedMatrixBlock) cmb;
+	}
+
+	private static MatrixBlock genData(double sparsity, int seed) {
+		// few distinct values, with correlated columns
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(rows, cols / 2, 1, 5, sparsity, seed));
+		return mb.append(mb, null, true);
+	}
+}
@@ -0,0 +1,136 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.compress;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlockFactory;
+import org.apache.sysds.runtime.compress.CompressionPlan;
+import org.apache.sysds.runtime.compress.DMLCompressionException;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class CompressionPlanTest {
+
+	private static final int rows = 3000;
+	private static final int cols = 8;
+
+	@Test
+	public void testReusePlan() {
+		CompressionPlan plan = createPlan();
+		MatrixBlock mb = genData(1, 5, 13);
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1, plan).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb, cmb, 0, "Wrong compression with reused plan");
+
+		// the plan is kept for data of the same distribution
+		List<AColGroup> groups = ((CompressedMatrixBlock) cmb).getColGroups();
+		assertEquals(plan.getNumGroups(), groups.size());
+		Set<String> expected = new HashSet<>();
+		for(int i = 0; i < plan.getNumGroups(); i++)
+			expected.add(Arrays.toString(plan.getColumns(i)));
+		for(AColGroup g : groups)
+			assertTrue(expected.contains(Arrays.toString(g.getColIndices())));
+	}
+
+	@Test
+	public void testReusePlanParallel() {
+		CompressionPlan plan = createPlan();
+		MatrixBlock mb = genData(1, 5, 17);
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 4, plan).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb, cmb, 0, "Wrong parallel compression with reused plan");
+	}
+
+	@Test
+	public void testReusePlanMoreDistinct() {
+		CompressionPlan plan = createPlan();
+		// the first column pair has more distinct tuples than fit into the byte mapping sized from the plan
+		MatrixBlock mb = genData(1, 5, 23);
+		MatrixBlock distinct = TestUtils.round(TestUtils.generateTestMatrixBlock(rows, 1, 1, 1000, 1.0, 29));
+		for(int i = 0; i < rows; i++) {
+			mb.quickSetValue(i, 0, distinct.quickGetValue(i, 0));
+			mb.quickSetValue(i, cols / 2, distinct.quickGetValue(i, 0));
+		}
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1, plan).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb, cmb, 0, "Wrong compression with more distinct tuples than the plan");
+
+		MatrixBlock cmbPar = CompressedMatrixBlockFactory.compress(mb, 4, plan).getLeft();
+		TestUtils.compareMatrices(mb, cmbPar, 0, "Wrong parallel compression with more distinct tuples than the plan");
+	}
+
+	@Test
+	public void testPlanNotBeneficial() {
+		CompressionPlan plan = createPlan();
+		// continuous values that do not compress with the plan
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, 0, 100, 1.0, 19);
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(mb, 1, plan).getLeft();
+		assertFalse(cmb instanceof CompressedMatrixBlock);
+		TestUtils.compareMatrices(mb, cmb, 0, "Wrong fallback of not beneficial plan");
+	}
+
+	@Test(expected = DMLCompressionException.class)
+	public void testInvalidSchema() {
+		CompressionPlan plan = createPlan();
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(rows, cols + 1, 1, 5, 1.0, 13));
+		CompressedMatrixBlockFactory.compress(mb, 1, plan);
+	}
+
+	@Test
+	public void testSerializePlan() throws IOException {
+		CompressionPlan plan = createPlan();
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		plan.write(dos);
+		dos.flush();
+		assertEquals(plan.getExactSizeOnDisk(), bos.size());
+
+		CompressionPlan plan2 = CompressionPlan.read(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		assertEquals(plan.toString(), plan2.toString());
+	}
+
+	private static CompressionPlan createPlan() {
+		MatrixBlock cmb = CompressedMatrixBlockFactory.compress(genData(1, 5, 7), 1).getLeft();
+		assertTrue(cmb instanceof CompressedMatrixBlock);
+		return CompressionPlan.create((CompressedMatrixBlock) cmb);
+	}
+
+	private static MatrixBlock genData(double min, double max, int seed) {
+		// correlated columns (pairs of equal columns) with few distinct values
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(rows, cols / 2, min, max, 1.0, seed));
+		return mb.append(mb, null, true);
+	}
+}
@@ -0,0 +1,154 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.util.UtilFunctions;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class FrameCompressTest
+{
+	private static final int rows = 3000;
+	private static final ValueType[] schema = {ValueType.STRING, ValueType.BOOLEAN,
+		ValueType.INT64, ValueType.FP64, ValueType.INT32, ValueType.STRING};
+
+	@Test
+	public void testCompressColumns() {
+		FrameBlock fb = createFrame(7);
+		FrameBlock expected = new FrameBlock(fb);
+		long usize = fb.getInMemorySize();
+		fb.compress(1);
+		checkCompressed(fb);
+		Assert.assertTrue(fb.getInMemorySize() < usize);
+		compareFrames(expected, fb);
+	}
+
+	@Test
+	public void testCompressColumnsParallel() {
+		FrameBlock fb = createFrame(3);
+		FrameBlock expected = new FrameBlock(fb);
+		fb.compress(4);
+		checkCompressed(fb);
+		compareFrames(expected, fb);
+	}
+
+	@Test
+	public void testSlice() {
+		FrameBlock fb = createFrame(7);
+		FrameBlock expected = new FrameBlock(fb);
+		fb.compress(1);
+		FrameBlock ret = fb.slice(117, 1532, 0, schema.length-1, true, new FrameBlock());
+		Assert.assertTrue(ret.isColumnCompressed(0));
+		compareFrames(expected.slice(117, 1532, 0, schema.length-1, new FrameBlock()), ret);
+	}
+
+	@Test
+	public void testSerialization() throws IOException {
+		FrameBlock fb = createFrame(7);
+		fb.compress(1);
+		ByteArrayOutputStream bos = new ByteArrayOutputStream();
+		DataOutputStream dos = new DataOutputStream(bos);
+		fb.write(dos);
+		dos.flush();
+		Assert.assertEquals(fb.getExactSerializedSize(), bos.size());
+
+		FrameBlock ret = new FrameBlock();
+		ret.readFields(new DataInputStream(new ByteArrayInputStream(bos.toByteArray())));
+		checkCompressed(ret);
+		compareFrames(fb, ret);
+	}
+
+	@Test
+	public void testUpdateDecompresses() {
+		FrameBlock fb = createFrame(7);
+		FrameBlock expected = new FrameBlock(fb);
+		fb.compress(1);
+		fb.set(5, 0, "new");
+		expected.set(5, 0, "new");
+		Assert.assertFalse(fb.isColumnCompressed(0));
+		Assert.assertTrue(fb.isColumnCompressed(1));
+		fb.appendRow(new Object[] {"a", true, 3L, 0.5, 1, "b"});
+		expected.appendRow(new Object[] {"a", true, 3L, 0.5, 1, "b"});
+		compareFrames(expected, fb);
+	}
+
+	@Test
+	public void testIndexAsBytes() {
+		FrameBlock fb = createFrame(7);
+		FrameBlock expected = new FrameBlock(fb);
+		fb.compress(1);
+		for( int i=0; i<rows; i++ ) {
+			Assert.assertArrayEquals(expected.getIndexAsBytes(0, i), fb.getIndexAsBytes(0, i));
+			Assert.assertArrayEquals(expected.getIndexAsBytes(5, i), fb.getIndexAsBytes(5, i));
+		}
+		//cell access does not decompress the column
+		Assert.assertTrue(fb.isColumnCompressed(0));
+		Assert.assertTrue(fb.isColumnCompressed(5));
+	}
+
+	@Test
+	public void testValueSwap() {
+		ValueType[] sschema = UtilFunctions.nCopies(3, ValueType.STRING);
+		FrameBlock fb = new FrameBlock(sschema);
+		for( int i=0; i<rows; i++ )
+			fb.appendRow(new Object[] {"name" + (i % 7), String.valueOf(i % 5), "const"});
+		FrameBlock expected = new FrameBlock(fb);
+		fb.compress(1);
+		FrameBlock types = new FrameBlock(sschema);
+		types.appendRow(new Object[] {"STRING", "INT64", "STRING"});
+		compareFrames(expected.valueSwap(types), fb.valueSwap(types));
+	}
+
+	private static void checkCompressed(FrameBlock fb) {
+		//categorical, boolean, and constant columns are compressed, unique ones are not
+		for( int j=0; j<3; j++ )
+			Assert.assertTrue("column " + j, fb.isColumnCompressed(j));
+		Assert.assertFalse(fb.isColumnCompressed(3));
+		Assert.assertTrue(fb.isColumnCompressed(4));
+		Assert.assertTrue(fb.isColumnCompressed(5));
+	}
+
+	private static void compareFrames(FrameBlock expected, FrameBlock actual) {
+		Assert.assertEquals(expected.getNumRows(), actual.getNumRows());
+		Assert.assertEquals(expected.getNumColumns(), actual.getNumColumns());
+		for( int i=0; i<expected.getNumRows(); i++ )
+			for( int j=0; j<expected.getNumColumns(); j++ )
+				Assert.assertEquals("cell " + i + "," + j, expected.get(i, j), actual.get(i, j));
+	}
+
+	private static FrameBlock createFrame(int seed) {
+		FrameBlock ret = new FrameBlock(schema);
+		Random rand = new Random(seed);
+		for( int i=0; i<rows; i++ ) {
+			ret.appendRow(new Object[] {"category_" + rand.nextInt(12), rand.nextBoolean(),
+				(long) rand.nextInt(5), rand.nextDouble(), 42, (i % 100 == 0) ? null : "x"});
+		}
+		return ret;
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeSet;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.tokenize.Tokenizer;
+import org.apache.sysds.runtime.transform.tokenize.TokenizerFactory;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TokenizeBagOfWordsTest
+{
+	private static final int rows = 1234;
+	private static final int maxTokens = 10000;
+	private static final String[] vocab = {"a", "b", "bb", "abc", "cab", "baab", "syst", "ds", "x", "yz"};
+
+	private static final String SPEC_SPLIT_HASH = "{\"algo\": \"split\", \"out\": \"hash\", "
+		+ "\"out_params\": {\"num_features\": 64}, \"id_cols\": [1], \"tokenize_col\": 2}";
+	private static final String SPEC_NGRAM_HASH = "{\"algo\": \"ngram\", \"algo_params\": {\"min_gram\": 1, \"max_gram\": 3}, "
+		+ "\"out\": \"hash\", \"out_params\": {\"num_features\": 1000}, \"id_cols\": [1], \"tokenize_col\": 2}";
+	private static final String SPEC_SPLIT_COUNT = "{\"algo\": \"split\", \"out\": \"count\", "
+		+ "\"id_cols\": [1], \"tokenize_col\": 2}";
+	private static final String SPEC_NGRAM_COUNT = "{\"algo\": \"ngram\", \"out\": \"count\", "
+		+ "\"id_cols\": [1], \"tokenize_col\": 2}";
+
+	@Test
+	public void testSplitHash() {
+		runBagOfWordsTest(SPEC_SPLIT_HASH, true, 1);
+	}
+
+	@Test
+	public void testSplitHashParallel() {
+		runBagOfWordsTest(SPEC_SPLIT_HASH, true, 4);
+	}
+
+	@Test
+	public void testNgramHashParallel() {
+		runBagOfWordsTest(SPEC_NGRAM_HASH, true, 4);
+	}
+
+	@Test
+	public void testSplitCount() {
+		runBagOfWordsTest(SPEC_SPLIT_COUNT, false, 1);
+	}
+
+	@Test
+	public void testSplitCountParallel() {
+		runBagOfWordsTest(SPEC_SPLIT_COUNT, false, 4);
+	}
+
+	@Test
+	public void testNgramCountParallel() {
+		runBagOfWordsTest(SPEC_NGRAM_COUNT, false, 3);
+	}
+
+	@Test
+	public void testBatchedFrameTokenize() {
+		FrameBlock in = createDocuments();
+		Tokenizer tokenizer1 = TokenizerFactory.createTokenizer(withBatchSize(SPEC_SPLIT_COUNT, 7), maxTokens);
+		Tokenizer tokenizer2 = TokenizerFactory.createTokenizer(withBatchSize(SPEC_SPLIT_COUNT, rows), maxTokens);
+		FrameBlock out1 = tokenizer1.tokenize(in, new FrameBlock(tokenizer1.getSchema()));
+		FrameBlock out2 = tokenizer2.tokenize(in, new FrameBlock(tokenizer2.getSchema()));
+		Assert.assertEquals(out2.getNumRows(), out1.getNumRows());
+		for( int i=0; i<out1.getNumRows(); i++ )
+			for( int j=0; j<out1.getNumColumns(); j++ )
+				Assert.assertEquals(out2.get(i, j), out1.get(i, j));
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testInvalidBatchSize() {
+		TokenizerFactory.createTokenizer(withBatchSize(SPEC_SPLIT_COUNT, 0), maxTokens);
+	}
+
+	private static String withBatchSize(String spec, int batchSize) {
+		return spec.substring(0, spec.length() - 1) + ", \"batch_size\": " + batchSize + "}";
+	}
+
+	private static void runBagOfWordsTest(String spec, boolean hash, int k) {
+		FrameBlock in = createDocuments();
+		Tokenizer tokenizer = TokenizerFactory.createTokenizer(spec, maxTokens);
+		FrameBlock fout = tokenizer.tokenize(in, new FrameBlock(tokenizer.getSchema()));
+		MatrixBlock mout = tokenizer.tokenizeToMatrix(in, k);
+
+		//construct expected bag-of-words from long-format frame output
+		TreeSet<String> tokens = new TreeSet<>();
+		for( int i=0; i<fout.getNumRows(); i++ )
+			tokens.add(fout.get(i, 1).toString());
+		List<String> dict = new ArrayList<>(tokens);
+		int ncol = hash ? (int) mout.getNumColumns() : dict.size();
+		MatrixBlock expected = new MatrixBlock(rows, ncol, false);
+		for( int i=0; i<fout.getNumRows(); i++ ) {
+			int doc = Integer.parseInt(fout.get(i, 0).toString());
+			int col = hash ? (int)((long) fout.get(i, 1) - 1) :
+				dict.indexOf(fout.get(i, 1).toString());
+			long count = (long) fout.get(i, 2);
+			expected.quickSetValue(doc, col, expected.quickGetValue(doc, col) + count);
+		}
+		expected.recomputeNonZeros();
+
+		Assert.assertEquals(ncol, mout.getNumColumns());
+		Assert.assertEquals(expected.getNonZeros(), mout.getNonZeros());
+		TestUtils.compareMatrices(expected, mout, 0, "Wrong bag-of-words output");
+	}
+
+	private static FrameBlock createDocuments() {
+		FrameBlock in = new FrameBlock(new ValueType[] {ValueType.STRING, ValueType.STRING});
+		Random rand = new Random(7);
+		for( int i=0; i<rows; i++ ) {
+			StringBuilder sb = new StringBuilder();
+			int len = 1 + rand.nextInt(20);
+			for( int j=0; j<len; j++ )
+				sb.append(j > 0 ? " " : "").append(vocab[rand.nextInt(vocab.length)]);
+			in.appendRow(new String[] {String.valueOf(i), sb.toString()});
+		}
+		return in;
+	}
+}
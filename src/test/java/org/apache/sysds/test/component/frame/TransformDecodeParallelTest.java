@@ -0,0 +1,89 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.decode.Decoder;
+import org.apache.sysds.runtime.transform.decode.DecoderFactory;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class TransformDecodeParallelTest
+{
+	private static final int rows = 10000;
+	private static final ValueType[] schema = {ValueType.STRING, ValueType.STRING, ValueType.FP64};
+
+	private static final String SPEC_RECODE = "{\"ids\": true, \"recode\": [1, 2]}";
+	private static final String SPEC_DUMMY = "{\"ids\": true, \"recode\": [1], \"dummycode\": [2]}";
+
+	@Test
+	public void testRecode() {
+		runDecodeTest(SPEC_RECODE, 1, false);
+	}
+
+	@Test
+	public void testRecodeParallel() {
+		runDecodeTest(SPEC_RECODE, 4, false);
+	}
+
+	@Test
+	public void testDummycodeParallel() {
+		runDecodeTest(SPEC_DUMMY, 4, false);
+	}
+
+	@Test
+	public void testDummycodeSparse() {
+		runDecodeTest(SPEC_DUMMY, 1, true);
+	}
+
+	@Test
+	public void testDummycodeSparseParallel() {
+		runDecodeTest(SPEC_DUMMY, 3, true);
+	}
+
+	private static void runDecodeTest(String spec, int k, boolean sparse) {
+		FrameBlock data = createFrame(rows, 7);
+		MultiColumnEncoder encoder = EncoderFactory.createEncoder(spec, data.getColumnNames(), schema, null);
+		MatrixBlock mb = encoder.encode(data);
+		FrameBlock meta = encoder.getMetaData(new FrameBlock(schema.length, ValueType.STRING));
+		if( sparse )
+			mb.denseToSparse(true);
+
+		Decoder decoder = DecoderFactory.createDecoder(spec, data.getColumnNames(), schema, meta);
+		FrameBlock out = decoder.decode(mb, new FrameBlock(decoder.getSchema()), k);
+		TestUtils.compareFrames(DataConverter.convertToStringFrame(data),
+			DataConverter.convertToStringFrame(out), rows, schema.length);
+	}
+
+	private static FrameBlock createFrame(int rows, int seed) {
+		FrameBlock ret = new FrameBlock(schema);
+		Random rand = new Random(seed);
+		for( int i=0; i<rows; i++ )
+			ret.appendRow(new Object[] {"k" + rand.nextInt(20), "c" + rand.nextInt(50), (double) rand.nextInt(100)});
+		return ret;
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.compress.CompressedMatrixBlock;
+import org.apache.sysds.runtime.compress.colgroup.AColGroup;
+import org.apache.sysds.runtime.compress.colgroup.ColGroupDDC;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransformEncodeCompressedTest
+{
+	private static final int rows = 1000;
+	private static final ValueType[] schema = {ValueType.STRING, ValueType.STRING, ValueType.FP64, ValueType.FP64};
+
+	private static final String SPEC_RECODE = "{\"ids\": true, \"recode\": [1, 2]}";
+	private static final String SPEC_DUMMY = "{\"ids\": true, \"recode\": [1, 2], \"dummycode\": [2]}";
+	private static final String SPEC_BIN = "{\"ids\": true, \"recode\": [1, 2], "
+		+ "\"bin\": [{\"id\": 3, \"method\": \"equi-width\", \"numbins\": 5}], \"dummycode\": [1, 3]}";
+
+	@Test
+	public void testRecode() {
+		runCompressedEncodeTest(SPEC_RECODE, 2, 1, false);
+	}
+
+	@Test
+	public void testRecodeParallel() {
+		runCompressedEncodeTest(SPEC_RECODE, 2, 4, false);
+	}
+
+	@Test
+	public void testRecodeMissing() {
+		runCompressedEncodeTest(SPEC_RECODE, 2, 1, true);
+	}
+
+	@Test
+	public void testDummycode() {
+		runCompressedEncodeTest(SPEC_DUMMY, 2, 1, false);
+	}
+
+	@Test
+	public void testDummycodeMissingParallel() {
+		runCompressedEncodeTest(SPEC_DUMMY, 2, 3, true);
+	}
+
+	@Test
+	public void testBinDummycode() {
+		runCompressedEncodeTest(SPEC_BIN, 1, 1, false);
+	}
+
+	@Test
+	public void testBinDummycodeParallel() {
+		runCompressedEncodeTest(SPEC_BIN, 1, 4, false);
+	}
+
+	private static void runCompressedEncodeTest(String spec, int npass, int k, boolean missing) {
+		FrameBlock f = createFrame(rows, missing, 7);
+		MultiColumnEncoder enc = EncoderFactory.createEncoder(spec, f.getColumnNames(), schema, null);
+		MatrixBlock out = enc.encode(f, k, true);
+		Assert.assertTrue(out instanceof CompressedMatrixBlock);
+
+		//recoded, binned and dummycoded columns are directly represented as DDC groups (not pass-through)
+		int ddcCols = 0;
+		for( AColGroup g : ((CompressedMatrixBlock) out).getColGroups() )
+			if( g instanceof ColGroupDDC )
+				ddcCols += g.getNumCols();
+		Assert.assertEquals(out.getNumColumns() - npass, ddcCols);
+
+		//compare with the uncompressed apply w/ the same metadata
+		MatrixBlock expected = enc.apply(f, 1);
+		Assert.assertEquals(expected.getNumColumns(), out.getNumColumns());
+		Assert.assertEquals(expected.getNonZeros(), out.getNonZeros());
+		TestUtils.compareMatrices(expected, CompressedMatrixBlock.getUncompressed(out), 0,
+			"Wrong compressed transform-encode");
+	}
+
+	private static FrameBlock createFrame(int rows, boolean missing, int seed) {
+		FrameBlock ret = new FrameBlock(schema);
+		Random rand = new Random(seed);
+		for( int i=0; i<rows; i++ ) {
+			String s1 = "k" + rand.nextInt(20);
+			String s2 = (missing && rand.nextDouble() < 0.1) ? null : "c" + rand.nextInt(7);
+			ret.appendRow(new Object[] {s1, s2, 100 * rand.nextDouble(), rand.nextDouble()});
+		}
+		return ret;
+	}
+}
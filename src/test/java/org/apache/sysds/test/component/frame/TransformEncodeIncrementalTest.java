@@ -0,0 +1,119 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.frame;
+
+import java.util.Random;
+
+import org.apache.sysds.common.Types.ValueType;
+import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.transform.encode.EncoderFactory;
+import org.apache.sysds.runtime.transform.encode.MultiColumnEncoder;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TransformEncodeIncrementalTest
+{
+	private static final int rows1 = 500;
+	private static final int rows2 = 300;
+	private static final ValueType[] schema = {ValueType.STRING, ValueType.STRING, ValueType.FP64};
+
+	private static final String SPEC_RECODE = "{\"ids\": true, \"recode\": [1, 2]}";
+	private static final String SPEC_DUMMY = "{\"ids\": true, \"recode\": [1], \"dummycode\": [2]}";
+	private static final String SPEC_BIN = "{\"ids\": true, \"recode\": [1, 2], "
+		+ "\"bin\": [{\"id\": 3, \"method\": \"equi-width\", \"numbins\": 4}], \"dummycode\": [3]}";
+
+	@Test
+	public void testRecode() {
+		runIncrementalTest(SPEC_RECODE, 1);
+	}
+
+	@Test
+	public void testRecodeParallel() {
+		runIncrementalTest(SPEC_RECODE, 4);
+	}
+
+	@Test
+	public void testDummycode() {
+		runIncrementalTest(SPEC_DUMMY, 1);
+	}
+
+	@Test
+	public void testDummycodeParallel() {
+		runIncrementalTest(SPEC_DUMMY, 3);
+	}
+
+	@Test
+	public void testBinStableBoundaries() {
+		FrameBlock f1 = createFrame(rows1, 10, 7);
+		FrameBlock f2 = createFrame(rows2, 15, 3);
+		MultiColumnEncoder enc1 = EncoderFactory.createEncoder(SPEC_BIN, f1.getColumnNames(), schema, null);
+		enc1.encode(f1);
+		FrameBlock meta1 = enc1.getMetaData(new FrameBlock(schema.length, ValueType.STRING));
+
+		//incremental encode applies the existing bins to the new rows
+		MultiColumnEncoder enc2 = EncoderFactory.createEncoder(SPEC_BIN, f2.getColumnNames(), schema, null);
+		MatrixBlock out2 = enc2.encodeIncremental(f2, meta1, 1);
+		MultiColumnEncoder enc3 = EncoderFactory.createEncoder(SPEC_BIN, f2.getColumnNames(), schema, meta1);
+		MatrixBlock expected = enc3.apply(f2);
+		int n = expected.getNumColumns();
+		Assert.assertEquals(n, out2.getNumColumns());
+		TestUtils.compareMatrices(expected.slice(0, rows2-1, n-4, n-1),
+			out2.slice(0, rows2-1, n-4, n-1), 0, "Wrong incremental binning");
+	}
+
+	private static void runIncrementalTest(String spec, int k) {
+		//new rows with partially new categories
+		FrameBlock f1 = createFrame(rows1, 10, 7);
+		FrameBlock f2 = createFrame(rows2, 15, 3);
+		FrameBlock f12 = f1.append(f2, new FrameBlock(), false);
+
+		//full encode of all rows (sequential, codes in order of appearance)
+		MultiColumnEncoder encAll = EncoderFactory.createEncoder(spec, f12.getColumnNames(), schema, null);
+		MatrixBlock outAll = encAll.encode(f12);
+
+		//encode of old rows, and incremental encode of new rows
+		MultiColumnEncoder enc1 = EncoderFactory.createEncoder(spec, f1.getColumnNames(), schema, null);
+		enc1.encode(f1, k);
+		FrameBlock meta1 = enc1.getMetaData(new FrameBlock(schema.length, ValueType.STRING));
+		MultiColumnEncoder enc2 = EncoderFactory.createEncoder(spec, f2.getColumnNames(), schema, null);
+		MatrixBlock out2 = enc2.encodeIncremental(f2, meta1, k);
+		FrameBlock meta2 = enc2.getMetaData(new FrameBlock(schema.length, ValueType.STRING));
+
+		//new rows and extended metadata match the full encode
+		TestUtils.compareMatrices(outAll.slice(rows1, rows1+rows2-1), out2, 0, "Wrong incremental encode");
+		FrameBlock metaAll = encAll.getMetaData(new FrameBlock(schema.length, ValueType.STRING));
+		for( int j=1; j<=2; j++ )
+			Assert.assertEquals(metaAll.getRecodeMap(j-1), meta2.getRecodeMap(j-1));
+		Assert.assertEquals(10, meta1.getColumnMetadata(1).getNumDistinct());
+	}
+
+	private static FrameBlock createFrame(int rows, int ncat, int seed) {
+		FrameBlock ret = new FrameBlock(schema);
+		Random rand = new Random(seed);
+		for( int i=0; i<rows; i++ ) {
+			int cat = (ncat > 10 ? 5 : 0) + rand.nextInt(ncat - (ncat > 10 ? 5 : 0));
+			ret.appendRow(new Object[] {"k" + rand.nextInt(ncat * 2),
+				"c" + cat, 100 * rand.nextDouble() + (ncat > 10 ? 20 : 0)});
+		}
+		return ret;
+	}
+}
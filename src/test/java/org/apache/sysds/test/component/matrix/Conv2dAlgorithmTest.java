@@ -0,0 +1,117 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import org.apache.sysds.runtime.matrix.data.DnnParameters;
+import org.apache.sysds.runtime.matrix.data.DnnParameters.ConvAlgorithm;
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNN;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class Conv2dAlgorithmTest {
+	@Test
+	public void testConv2d3x3Pad1() {
+		execute(3, 8, 9, 7, 8, 3, 3, 1, 1, 1, 1);
+	}
+
+	@Test
+	public void testConv2d3x3Pad0() {
+		execute(2, 3, 10, 10, 4, 3, 3, 1, 1, 0, 0);
+	}
+
+	@Test
+	public void testConv2d3x3Pad2() {
+		execute(2, 4, 5, 6, 2, 3, 3, 1, 1, 2, 2);
+	}
+
+	@Test
+	public void testConv2d5x5Stride2() {
+		execute(2, 3, 12, 11, 5, 5, 5, 2, 2, 2, 1);
+	}
+
+	@Test
+	public void testConv2d1x1() {
+		execute(4, 16, 6, 6, 8, 1, 1, 1, 1, 0, 0);
+	}
+
+	@Test
+	public void testDefaultAlgorithm() {
+		Assert.assertEquals(ConvAlgorithm.WINOGRAD, getDefaultAlgorithm(8, 16, 3, 3, 1));
+		Assert.assertEquals(ConvAlgorithm.DIRECT, getDefaultAlgorithm(3, 16, 3, 3, 1));
+		Assert.assertEquals(ConvAlgorithm.DIRECT, getDefaultAlgorithm(4, 8, 5, 5, 1));
+		//1x1 filters, many channels, and strided columns use im2col
+		Assert.assertEquals(ConvAlgorithm.IM2COL, getDefaultAlgorithm(4, 8, 1, 1, 1));
+		Assert.assertEquals(ConvAlgorithm.IM2COL, getDefaultAlgorithm(16, 32, 5, 5, 1));
+		Assert.assertEquals(ConvAlgorithm.IM2COL, getDefaultAlgorithm(3, 16, 3, 3, 2));
+	}
+
+	private static ConvAlgorithm getDefaultAlgorithm(int C, int K, int R, int S, int stride) {
+		DnnParameters params = new DnnParameters(2, C, 12, 12, K, R, S, stride, stride, 0, 0, 1);
+		params.input1 = new MatrixBlock(2, C*12*12, false).allocateBlock();
+		params.input2 = new MatrixBlock(K, C*R*S, false).allocateBlock();
+		params.output = new MatrixBlock(2, K*params.P*params.Q, false).allocateBlock();
+		return params.getConv2dAlgorithm(false);
+	}
+
+	private static void execute(int N, int C, int H, int W, int K, int R, int S,
+		int strideH, int strideW, int padH, int padW)
+	{
+		MatrixBlock in = TestUtils.generateTestMatrixBlock(N, C*H*W, -1, 1, 1.0, 7);
+		MatrixBlock filter = TestUtils.generateTestMatrixBlock(K, C*R*S, -1, 1, 1.0, 3);
+		
+		//forward: im2col as baseline
+		MatrixBlock out1 = conv2d(in, filter, N, C, H, W, K, R, S, strideH, strideW, padH, padW, ConvAlgorithm.IM2COL);
+		for( ConvAlgorithm algo : new ConvAlgorithm[] {ConvAlgorithm.DIRECT, ConvAlgorithm.WINOGRAD} ) {
+			MatrixBlock out2 = conv2d(in, filter, N, C, H, W, K, R, S, strideH, strideW, padH, padW, algo);
+			TestUtils.compareMatrices(out1, out2, 1e-10, "Incorrect conv2d result for "+algo);
+		}
+		
+		//backward data: im2col as baseline
+		DnnParameters tmp = new DnnParameters(N, C, H, W, K, R, S, strideH, strideW, padH, padW, 1);
+		MatrixBlock dout = TestUtils.generateTestMatrixBlock(N, K*tmp.P*tmp.Q, -1, 1, 1.0, 11);
+		MatrixBlock dx1 = conv2dBackwardData(filter, dout, N, C, H, W, K, R, S, strideH, strideW, padH, padW, ConvAlgorithm.IM2COL);
+		for( ConvAlgorithm algo : new ConvAlgorithm[] {ConvAlgorithm.DIRECT, ConvAlgorithm.WINOGRAD} ) {
+			MatrixBlock dx2 = conv2dBackwardData(filter, dout, N, C, H, W, K, R, S, strideH, strideW, padH, padW, algo);
+			TestUtils.compareMatrices(dx1, dx2, 1e-10, "Incorrect conv2d_backward_data result for "+algo);
+		}
+	}
+	
+	private static MatrixBlock conv2d(MatrixBlock in, MatrixBlock filter, int N, int C, int H, int W, int K,
+		int R, int S, int strideH, int strideW, int padH, int padW, ConvAlgorithm algo)
+	{
+		DnnParameters params = new DnnParameters(N, C, H, W, K, R, S, strideH, strideW, padH, padW, 4);
+		params.convAlgorithm = algo;
+		MatrixBlock out = new MatrixBlock(N, K*params.P*params.Q, false).allocateBlock();
+		LibMatrixDNN.conv2d(in, filter, out, params);
+		return out;
+	}
+	
+	private static MatrixBlock conv2dBackwardData(MatrixBlock filter, MatrixBlock dout, int N, int C, int H, int W, int K,
+		int R, int S, int strideH, int strideW, int padH, int padW, ConvAlgorithm algo)
+	{
+		DnnParameters params = new DnnParameters(N, C, H, W, K, R, S, strideH, strideW, padH, padW, 4);
+		params.convAlgorithm = algo;
+		MatrixBlock out = new MatrixBlock(N, C*H*W, false).allocateBlock();
+		LibMatrixDNN.conv2dBackwardData(filter, dout, out, params);
+		return out;
+	}
+}
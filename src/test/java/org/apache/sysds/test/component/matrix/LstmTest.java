@@ -0,0 +1,161 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import static org.junit.Assert.assertEquals;
+
+import org.apache.sysds.runtime.matrix.data.LibMatrixDNN;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Test;
+
+public class LstmTest {
+	@Test
+	public void testLstmForwardSequences() {
+		testForward(3, 4, 5, 6, true);
+	}
+
+	@Test
+	public void testLstmForwardLastState() {
+		testForward(70, 3, 2, 4, false);
+	}
+
+	@Test
+	public void testLstmBackwardSequences() {
+		testBackward(5, 3, 4, 3, true);
+	}
+
+	@Test
+	public void testLstmBackwardLastState() {
+		testBackward(40, 2, 3, 2, false);
+	}
+
+	private static void testForward(int N, int T, int D, int M, boolean seq) {
+		MatrixBlock[] in = createInputs(N, T, D, M);
+		MatrixBlock out1 = new MatrixBlock(N, seq ? T*M : M, false).allocateBlock();
+		MatrixBlock cy1 = new MatrixBlock(N, M, false).allocateBlock();
+		MatrixBlock out2 = new MatrixBlock(N, seq ? T*M : M, false).allocateBlock();
+		MatrixBlock cy2 = new MatrixBlock(N, M, false).allocateBlock();
+		LibMatrixDNN.lstm(in[0], in[1], in[2], in[3], in[4], seq, out1, cy1, 1);
+		LibMatrixDNN.lstm(in[0], in[1], in[2], in[3], in[4], seq, out2, cy2, 4);
+
+		double[][] ref = referenceForward(in, N, T, D, M, seq);
+		TestUtils.compareMatrices(ref[0], out1.getDenseBlockValues(), 1e-12);
+		TestUtils.compareMatrices(ref[1], cy1.getDenseBlockValues(), 1e-12);
+		TestUtils.compareMatrices(out1, out2, 0, "multi-threaded lstm out");
+		TestUtils.compareMatrices(cy1, cy2, 0, "multi-threaded lstm cy");
+	}
+
+	private static void testBackward(int N, int T, int D, int M, boolean seq) {
+		MatrixBlock[] in = createInputs(N, T, D, M);
+		MatrixBlock dout = TestUtils.generateTestMatrixBlock(N, seq ? T*M : M, -1, 1, 1.0, 11);
+		MatrixBlock dc = TestUtils.generateTestMatrixBlock(N, M, -1, 1, 1.0, 13);
+		MatrixBlock[] grads = new MatrixBlock[] {
+			new MatrixBlock(N, T*D, false).allocateBlock(), new MatrixBlock(D+M, 4*M, false).allocateBlock(),
+			new MatrixBlock(1, 4*M, false).allocateBlock(), new MatrixBlock(N, M, false).allocateBlock(),
+			new MatrixBlock(N, M, false).allocateBlock()};
+		LibMatrixDNN.lstmBackward(in[0], in[1], in[2], in[3], in[4], seq, dout, dc,
+			grads[0], grads[1], grads[2], grads[3], grads[4], 3);
+
+		// central finite differences of L = sum(out*dout) + sum(cy*dc) for all inputs
+		double eps = 1e-6;
+		for( int i=0; i<5; i++ ) {
+			double[] a = in[i].getDenseBlockValues();
+			double[] g = grads[i].getDenseBlockValues();
+			for( int j=0; j<a.length; j++ ) {
+				double tmp = a[j];
+				a[j] = tmp + eps;
+				double lp = loss(in, dout, dc, N, T, D, M, seq);
+				a[j] = tmp - eps;
+				double lm = loss(in, dout, dc, N, T, D, M, seq);
+				a[j] = tmp;
+				assertEquals("gradient "+i+" at "+j, (lp-lm)/(2*eps), g[j], 1e-6);
+			}
+		}
+	}
+
+	private static MatrixBlock[] createInputs(int N, int T, int D, int M) {
+		return new MatrixBlock[] {
+			TestUtils.generateTestMatrixBlock(N, T*D, -1, 1, 1.0, 1),
+			TestUtils.generateTestMatrixBlock(D+M, 4*M, -0.5, 0.5, 1.0, 2),
+			TestUtils.generateTestMatrixBlock(1, 4*M, -0.5, 0.5, 1.0, 3),
+			TestUtils.generateTestMatrixBlock(N, M, -1, 1, 1.0, 4),
+			TestUtils.generateTestMatrixBlock(N, M, -1, 1, 1.0, 5)};
+	}
+
+	private static double loss(MatrixBlock[] in, MatrixBlock dout, MatrixBlock dc,
+		int N, int T, int D, int M, boolean seq)
+	{
+		double[][] ref = referenceForward(in, N, T, D, M, seq);
+		double[] a = dout.getDenseBlockValues();
+		double[] b = dc.getDenseBlockValues();
+		double ret = 0;
+		for( int i=0; i<ref[0].length; i++ )
+			ret += ref[0][i] * a[i];
+		for( int i=0; i<ref[1].length; i++ )
+			ret += ref[1][i] * b[i];
+		return ret;
+	}
+
+	private static double[][] referenceForward(MatrixBlock[] in, int N, int T, int D, int M, boolean seq) {
+		double[] X = in[0].getDenseBlockValues();
+		double[] W = in[1].getDenseBlockValues();
+		double[] b = in[2].getDenseBlockValues();
+		double[] out = new double[N * (seq ? T*M : M)];
+		double[] cy = new double[N*M];
+		for( int n=0; n<N; n++ ) {
+			double[] h = new double[M];
+			double[] c = new double[M];
+			for( int j=0; j<M; j++ ) {
+				h[j] = in[3].quickGetValue(n, j);
+				c[j] = in[4].quickGetValue(n, j);
+			}
+			for( int t=0; t<T; t++ ) {
+				double[] ifog = new double[4*M];
+				for( int j=0; j<4*M; j++ ) {
+					double v = b[j];
+					for( int d=0; d<D; d++ )
+						v += X[n*T*D+t*D+d] * W[d*4*M+j];
+					for( int m=0; m<M; m++ )
+						v += h[m] * W[(D+m)*4*M+j];
+					ifog[j] = v;
+				}
+				for( int j=0; j<M; j++ ) {
+					double ig = sigmoid(ifog[j]);
+					double fg = sigmoid(ifog[M+j]);
+					double og = sigmoid(ifog[2*M+j]);
+					double gg = Math.tanh(ifog[3*M+j]);
+					c[j] = fg * c[j] + ig * gg;
+					h[j] = og * Math.tanh(c[j]);
+				}
+				if( seq )
+					System.arraycopy(h, 0, out, n*T*M+t*M, M);
+			}
+			if( !seq )
+				System.arraycopy(h, 0, out, n*M, M);
+			System.arraycopy(c, 0, cy, n*M, M);
+		}
+		return new double[][] {out, cy};
+	}
+
+	private static double sigmoid(double x) {
+		return 1 / (1 + Math.exp(-x));
+	}
+}
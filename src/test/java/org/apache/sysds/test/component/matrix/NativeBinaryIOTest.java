@@ -0,0 +1,100 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.sysds.runtime.io.ReaderNativeBinary;
+import org.apache.sysds.runtime.io.WriterNativeBinary;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class NativeBinaryIOTest
+{
+	private static final int blen = 100;
+
+	private String _dir;
+
+	@Before
+	public void setUp() throws IOException {
+		_dir = Files.createTempDirectory("native").toString() + File.separator;
+	}
+
+	@After
+	public void tearDown() {
+		LocalFileUtils.deleteFileIfExists(_dir);
+	}
+
+	@Test
+	public void testDenseSingleBlock() throws IOException {
+		runNativeBinaryTest(70, 80, 0.9, 1, false);
+	}
+
+	@Test
+	public void testDenseMultiBlock() throws IOException {
+		runNativeBinaryTest(1234, 345, 0.9, 4, false);
+	}
+
+	@Test
+	public void testSparseMultiBlock() throws IOException {
+		runNativeBinaryTest(1234, 345, 0.05, 4, false);
+	}
+
+	@Test
+	public void testUltraSparseMultiBlock() throws IOException {
+		runNativeBinaryTest(1234, 345, 0.0005, 3, false);
+	}
+
+	@Test
+	public void testDenseMultiBlockCompressed() throws IOException {
+		runNativeBinaryTest(1234, 345, 0.9, 4, true);
+	}
+
+	@Test
+	public void testSparseMultiBlockCompressed() throws IOException {
+		runNativeBinaryTest(1234, 345, 0.05, 1, true);
+	}
+
+	@Test
+	public void testEmpty() throws IOException {
+		runNativeBinaryTest(1234, 345, 0, 4, false);
+	}
+
+	private void runNativeBinaryTest(int rows, int cols, double sparsity, int k, boolean compress)
+		throws IOException
+	{
+		//compressible values via rounding to few distinct values
+		MatrixBlock mb = TestUtils.round(TestUtils.generateTestMatrixBlock(rows, cols, 0, 10, sparsity, 7));
+		String fname = _dir + "X.bin";
+		new WriterNativeBinary(k, compress)
+			.writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+		MatrixBlock ret = new ReaderNativeBinary(k)
+			.readMatrixFromHDFS(fname, rows, cols, blen, -1);
+		Assert.assertEquals(mb.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(mb, ret, 0, "Wrong native binary roundtrip");
+	}
+}
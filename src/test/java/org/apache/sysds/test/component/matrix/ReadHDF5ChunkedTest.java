@@ -0,0 +1,79 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import org.apache.sysds.runtime.io.FileFormatPropertiesHDF5;
+import org.apache.sysds.runtime.io.ReaderHDF5;
+import org.apache.sysds.runtime.io.ReaderHDF5Parallel;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.TestUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * The chunked input holds the same 50 x 50 dataset as the contiguous input, but
+ * stored in 16 x 16 chunks (incl. partial boundary chunks) with shuffle and deflate
+ * filters, a two-level chunk index, and one chunk that skips the deflate filter.
+ */
+public class ReadHDF5ChunkedTest
+{
+	private static final String DIR = "src/test/scripts/functions/io/hdf5/in/";
+	private static final String CONTIGUOUS = DIR + "transfusion_1.h5";
+	private static final String CHUNKED = DIR + "transfusion_chunked.h5";
+	private static final String DATASET = "DATASET_1";
+	private static final int rows = 50;
+	private static final int cols = 50;
+
+	@Test
+	public void testChunkedSequential() throws IOException {
+		MatrixBlock ret = new ReaderHDF5(new FileFormatPropertiesHDF5(DATASET))
+			.readMatrixFromHDFS(CHUNKED, rows, cols, -1, rows * cols);
+		compareWithContiguous(ret);
+	}
+
+	@Test
+	public void testChunkedParallel() throws IOException {
+		MatrixBlock ret = new ReaderHDF5Parallel(new FileFormatPropertiesHDF5(DATASET))
+			.readMatrixFromHDFS(CHUNKED, -1, -1, -1, -1);
+		compareWithContiguous(ret);
+	}
+
+	@Test
+	public void testChunkedInputStream() throws IOException {
+		try(InputStream is = new FileInputStream(CHUNKED)) {
+			MatrixBlock ret = new ReaderHDF5(new FileFormatPropertiesHDF5(DATASET))
+				.readMatrixFromInputStream(is, rows, cols, -1, rows * cols);
+			compareWithContiguous(ret);
+		}
+	}
+
+	private static void compareWithContiguous(MatrixBlock ret) throws IOException {
+		MatrixBlock expected = new ReaderHDF5(new FileFormatPropertiesHDF5(DATASET))
+			.readMatrixFromHDFS(CONTIGUOUS, rows, cols, -1, rows * cols);
+		Assert.assertEquals(rows, ret.getNumRows());
+		Assert.assertEquals(cols, ret.getNumColumns());
+		Assert.assertEquals(expected.getNonZeros(), ret.getNonZeros());
+		TestUtils.compareMatrices(expected, ret, 0, "Wrong chunked HDF5 read");
+	}
+}
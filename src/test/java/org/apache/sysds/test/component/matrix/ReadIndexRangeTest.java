@@ -0,0 +1,122 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.matrix;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.sysds.runtime.io.FileFormatPropertiesCSV;
+import org.apache.sysds.runtime.io.MatrixReader;
+import org.apache.sysds.runtime.io.ReaderBinaryBlock;
+import org.apache.sysds.runtime.io.ReaderBinaryBlockParallel;
+import org.apache.sysds.runtime.io.ReaderTextCSV;
+import org.apache.sysds.runtime.io.ReaderTextCSVParallel;
+import org.apache.sysds.runtime.io.WriterBinaryBlock;
+import org.apache.sysds.runtime.io.WriterTextCSV;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.IndexRange;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class ReadIndexRangeTest
+{
+	private static final int rows = 1234;
+	private static final int cols = 345;
+	private static final int blen = 100;
+
+	private String _dir;
+
+	@Before
+	public void setUp() throws IOException {
+		_dir = Files.createTempDirectory("ixrange").toString() + File.separator;
+	}
+
+	@After
+	public void tearDown() {
+		LocalFileUtils.deleteFileIfExists(_dir);
+	}
+
+	@Test
+	public void testBinaryDenseColumnRange() throws IOException {
+		runReadRangeTest(false, 0.9, new IndexRange(0, rows-1, 150, 249), false);
+	}
+
+	@Test
+	public void testBinaryDenseRowColumnRange() throws IOException {
+		runReadRangeTest(false, 0.9, new IndexRange(117, 532, 3, 7), false);
+	}
+
+	@Test
+	public void testBinarySparseRowColumnRange() throws IOException {
+		runReadRangeTest(false, 0.05, new IndexRange(117, 532, 42, 301), false);
+	}
+
+	@Test
+	public void testBinarySparseRowColumnRangeParallel() throws IOException {
+		runReadRangeTest(false, 0.05, new IndexRange(117, 532, 42, 301), true);
+	}
+
+	@Test
+	public void testCSVDenseColumnRange() throws IOException {
+		runReadRangeTest(true, 0.9, new IndexRange(0, rows-1, 150, 249), false);
+	}
+
+	@Test
+	public void testCSVSparseRowColumnRange() throws IOException {
+		runReadRangeTest(true, 0.05, new IndexRange(117, 532, 42, 301), false);
+	}
+
+	@Test
+	public void testCSVDenseRowColumnRangeParallel() throws IOException {
+		runReadRangeTest(true, 0.9, new IndexRange(117, 532, 3, 7), true);
+	}
+
+	@Test
+	public void testCSVSparseLastRowsParallel() throws IOException {
+		runReadRangeTest(true, 0.05, new IndexRange(rows-10, rows-1, 0, cols-1), true);
+	}
+
+	private void runReadRangeTest(boolean csv, double sparsity, IndexRange ixrange, boolean par)
+		throws IOException
+	{
+		MatrixBlock mb = TestUtils.generateTestMatrixBlock(rows, cols, -1, 1, sparsity, 7);
+		String fname = _dir + (csv ? "X.csv" : "X.bin");
+		FileFormatPropertiesCSV props = new FileFormatPropertiesCSV();
+		if( csv )
+			new WriterTextCSV(props).writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+		else
+			new WriterBinaryBlock(1).writeMatrixToHDFS(mb, fname, rows, cols, blen, mb.getNonZeros());
+
+		MatrixReader reader = csv ?
+			(par ? new ReaderTextCSVParallel(props) : new ReaderTextCSV(props)) :
+			(par ? new ReaderBinaryBlockParallel(true) : new ReaderBinaryBlock(true));
+		long rlen = ixrange.rowEnd - ixrange.rowStart + 1;
+		long clen = ixrange.colEnd - ixrange.colStart + 1;
+		MatrixBlock ret = reader.readMatrixFromHDFS(fname, rlen, clen, blen, -1, ixrange);
+
+		MatrixBlock expected = mb.slice((int)ixrange.rowStart, (int)ixrange.rowEnd,
+			(int)ixrange.colStart, (int)ixrange.colEnd);
+		TestUtils.compareMatrices(expected, ret, 1e-10, "Wrong partial read");
+	}
+}
@@ -0,0 +1,144 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.spark.HashPartitioner;
+import org.apache.spark.SparkConf;
+import org.apache.spark.api.java.JavaPairRDD;
+import org.apache.spark.api.java.JavaSparkContext;
+import org.apache.sysds.runtime.DMLRuntimeException;
+import org.apache.sysds.runtime.controlprogram.context.SparkExecutionContext;
+import org.apache.sysds.runtime.instructions.spark.utils.SparkUtils;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.matrix.data.MatrixIndexes;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import scala.Tuple2;
+
+@net.jcip.annotations.NotThreadSafe
+public class SparkZipJoinTest {
+
+	protected static final Log LOG = LogFactory.getLog(SparkZipJoinTest.class.getName());
+
+	private static final int numBlocks = 40;
+	private static final int numPartitions = 4;
+
+	private static SparkConf conf;
+	private static JavaSparkContext sc;
+
+	@BeforeClass
+	public static void setUpClass() {
+		if(conf == null)
+			conf = SparkExecutionContext.createSystemDSSparkConf().setAppName("SparkZipJoinTest")
+				.set("spark.port.maxRetries", "100")
+				.setMaster("local")
+				.set("spark.driver.bindAddress", "127.0.0.1")
+				.set("SPARK_MASTER_PORT", "0")
+				.set("SPARK_WORKER_PORT", "0");
+
+		if(sc == null)
+			sc = new JavaSparkContext(conf);
+	}
+
+	@Test
+	public void testZipJoinEqualsJoin() {
+		JavaPairRDD<MatrixIndexes, MatrixBlock> in1 = createBlocks(1, 1, numPartitions);
+		JavaPairRDD<MatrixIndexes, MatrixBlock> in2 = createBlocks(2, 3, numPartitions);
+		assertTrue(SparkUtils.isCoPartitioned(in1, in2));
+
+		JavaPairRDD<MatrixIndexes, Tuple2<MatrixBlock, MatrixBlock>> out = SparkUtils.zipJoin(in1, in2);
+		assertEquals(in1.rdd().partitioner(), out.rdd().partitioner());
+
+		// inner join semantics, i.e., only the keys contained in both inputs
+		Map<MatrixIndexes, Tuple2<MatrixBlock, MatrixBlock>> ret = out.collectAsMap();
+		Map<MatrixIndexes, Tuple2<MatrixBlock, MatrixBlock>> expected = in1.join(in2).collectAsMap();
+		assertEquals(expected.size(), ret.size());
+		for(Map.Entry<MatrixIndexes, Tuple2<MatrixBlock, MatrixBlock>> e : expected.entrySet()) {
+			Tuple2<MatrixBlock, MatrixBlock> val = ret.get(e.getKey());
+			assertEquals(e.getValue()._1().quickGetValue(0, 0), val._1().quickGetValue(0, 0), 0);
+			assertEquals(e.getValue()._2().quickGetValue(0, 0), val._2().quickGetValue(0, 0), 0);
+		}
+	}
+
+	@Test
+	public void testNotCoPartitionedNumPartitions() {
+		JavaPairRDD<MatrixIndexes, MatrixBlock> in1 = createBlocks(1, 1, numPartitions);
+		JavaPairRDD<MatrixIndexes, MatrixBlock> in2 = createBlocks(2, 1, numPartitions + 1);
+		assertFalse(SparkUtils.isCoPartitioned(in1, in2));
+	}
+
+	@Test
+	public void testNotCoPartitionedUnpartitioned() {
+		JavaPairRDD<MatrixIndexes, MatrixBlock> in1 = createBlocks(1, 1, -1);
+		JavaPairRDD<MatrixIndexes, MatrixBlock> in2 = createBlocks(2, 1, -1);
+		assertFalse(SparkUtils.isCoPartitioned(in1, in2));
+	}
+
+	@Test(expected = DMLRuntimeException.class)
+	public void testZipJoinNotCoPartitioned() {
+		JavaPairRDD<MatrixIndexes, MatrixBlock> in1 = createBlocks(1, 1, numPartitions);
+		JavaPairRDD<MatrixIndexes, MatrixBlock> in2 = createBlocks(2, 1, -1);
+		SparkUtils.zipJoin(in1, in2);
+	}
+
+	/**
+	 * Creates an RDD of 1x1 blocks with value scale * i for every step-th block index i.
+	 * 
+	 * @param scale         scale of the block values
+	 * @param step          step between the block indexes
+	 * @param numPartitions number of hash partitions, or -1 for an unpartitioned RDD
+	 * @return RDD of indexed blocks
+	 */
+	private static JavaPairRDD<MatrixIndexes, MatrixBlock> createBlocks(int scale, int step, int numPartitions) {
+		List<Tuple2<MatrixIndexes, MatrixBlock>> list = new ArrayList<>();
+		for(int i = 1; i <= numBlocks; i += step)
+			list.add(new Tuple2<>(new MatrixIndexes(i, 1), new MatrixBlock(1, 1, (double) scale * i)));
+		JavaPairRDD<MatrixIndexes, MatrixBlock> ret = sc.parallelizePairs(list, 3);
+		return (numPartitions > 0) ? ret.partitionBy(new HashPartitioner(numPartitions)) : ret;
+	}
+
+	@AfterClass
+	public static void tearDownClass() {
+		// stop spark context to allow single jvm tests (otherwise the
+		// next test that tries to create a SparkContext would fail)
+		try {
+			sc.stop();
+		}
+		catch(Exception e) {
+			LOG.warn(e);
+		}
+		finally {
+			sc = null;
+			conf = null;
+		}
+	}
+}
@@ -0,0 +1,143 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.misc;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import org.apache.sysds.runtime.controlprogram.caching.LazyWriteBuffer;
+import org.apache.sysds.runtime.controlprogram.caching.UnifiedMemoryManager;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.util.LocalFileUtils;
+import org.apache.sysds.test.TestUtils;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+@net.jcip.annotations.NotThreadSafe
+public class UnifiedMemoryManagerTest {
+	private static final int numBlocks = 10;
+
+	private String _dir;
+	private MatrixBlock[] _blocks;
+	private long _size;
+
+	@Before
+	public void setUp() throws IOException {
+		_dir = Files.createTempDirectory("umm").toString() + File.separator;
+		_blocks = new MatrixBlock[numBlocks];
+		for( int i=0; i<numBlocks; i++ )
+			_blocks[i] = TestUtils.generateTestMatrixBlock(100, 100, -1, 1, 1.0, i+7);
+		_size = LazyWriteBuffer.getCacheBlockSize(_blocks[0]);
+		UnifiedMemoryManager.init(10 * _size, 2 * _size);
+	}
+
+	@After
+	public void tearDown() {
+		UnifiedMemoryManager.cleanup();
+		LocalFileUtils.deleteFileIfExists(_dir);
+	}
+
+	@Test
+	public void testBufferPoolUsesUnpinnedCapacity() throws IOException {
+		for( int i=0; i<numBlocks; i++ )
+			assertEquals(0, UnifiedMemoryManager.writeBlock(key(i), _blocks[i]));
+		assertEquals(numBlocks, UnifiedMemoryManager.getQueueSize());
+		assertEquals(numBlocks * _size, UnifiedMemoryManager.getCachedSize());
+	}
+
+	@Test
+	public void testPinEvictsInLRUOrder() throws IOException {
+		for( int i=0; i<6; i++ )
+			UnifiedMemoryManager.writeBlock(key(i), _blocks[i]);
+		//access block 0 to move it to the end of the eviction queue
+		UnifiedMemoryManager.readBlock(key(0), true);
+
+		UnifiedMemoryManager.pin("op1", 6 * _size);
+		assertEquals(4 * _size, UnifiedMemoryManager.getBufferPoolLimit());
+		assertFalse(UnifiedMemoryManager.isCached(key(1)));
+		assertFalse(UnifiedMemoryManager.isCached(key(2)));
+		assertTrue(UnifiedMemoryManager.isCached(key(0)));
+		assertEquals(4, UnifiedMemoryManager.getQueueSize());
+
+		//restore evicted block from local FS
+		MatrixBlock mb = (MatrixBlock) UnifiedMemoryManager.readBlock(key(1), true);
+		TestUtils.compareMatrices(_blocks[1], mb, 0, "Wrong restored block");
+
+		//unpin releases the operation memory for the buffer pool
+		UnifiedMemoryManager.unpin("op1");
+		assertEquals(0, UnifiedMemoryManager.getPinnedSize());
+		assertEquals(10 * _size, UnifiedMemoryManager.getBufferPoolLimit());
+		for( int i=6; i<numBlocks; i++ )
+			assertEquals(0, UnifiedMemoryManager.writeBlock(key(i), _blocks[i]));
+	}
+
+	@Test
+	public void testMinimumBufferPoolSize() throws IOException {
+		for( int i=0; i<numBlocks; i++ )
+			UnifiedMemoryManager.writeBlock(key(i), _blocks[i]);
+		UnifiedMemoryManager.pin("op1", 100 * _size);
+		assertEquals(2 * _size, UnifiedMemoryManager.getBufferPoolLimit());
+		assertEquals(2 * _size, UnifiedMemoryManager.getCachedSize());
+		assertTrue(UnifiedMemoryManager.isCached(key(numBlocks-1)));
+	}
+
+	@Test
+	public void testPinnedCachedBlocksNotCountedTwice() throws IOException {
+		for( int i=0; i<numBlocks; i++ )
+			UnifiedMemoryManager.writeBlock(key(i), _blocks[i]);
+
+		//pinning a shallow cached block does not require additional memory
+		UnifiedMemoryManager.pin(key(0), _size);
+		assertEquals(numBlocks, UnifiedMemoryManager.getQueueSize());
+
+		//pinned blocks are excluded from eviction
+		UnifiedMemoryManager.pin("op1", 100 * _size);
+		assertTrue(UnifiedMemoryManager.isCached(key(0)));
+		assertTrue(UnifiedMemoryManager.isCached(key(numBlocks-1)));
+		assertEquals(2, UnifiedMemoryManager.getQueueSize());
+
+		//multiple pins require the same number of unpins
+		UnifiedMemoryManager.pin("op1", 100 * _size);
+		UnifiedMemoryManager.unpin("op1");
+		assertEquals(101 * _size, UnifiedMemoryManager.getPinnedSize());
+		UnifiedMemoryManager.unpin("op1");
+		UnifiedMemoryManager.unpin(key(0));
+		assertEquals(0, UnifiedMemoryManager.getPinnedSize());
+	}
+
+	@Test
+	public void testDeleteBlock() throws IOException {
+		for( int i=0; i<numBlocks; i++ )
+			UnifiedMemoryManager.writeBlock(key(i), _blocks[i]);
+		UnifiedMemoryManager.deleteBlock(key(3));
+		assertFalse(UnifiedMemoryManager.isCached(key(3)));
+		assertEquals((numBlocks-1) * _size, UnifiedMemoryManager.getCachedSize());
+	}
+
+	private String key(int i) {
+		return _dir + "cache" + i + ".dat";
+	}
+}
@@ -0,0 +1,112 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueue;
+import org.apache.sysds.runtime.controlprogram.parfor.LocalTaskQueueStealing;
+import org.apache.sysds.runtime.controlprogram.parfor.Task;
+import org.apache.sysds.runtime.controlprogram.parfor.Task.TaskType;
+import org.apache.sysds.runtime.controlprogram.parfor.TaskPartitionerStealing;
+import org.apache.sysds.runtime.instructions.cp.IntObject;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class LocalTaskQueueStealingTest
+{
+	@Test
+	public void testStealingBalanced() throws Exception {
+		runStealingTest(4, 1, 10000, 1, false);
+	}
+
+	@Test
+	public void testStealingSkewed() throws Exception {
+		runStealingTest(4, 1, 2000, 1, true);
+	}
+
+	@Test
+	public void testStealingIncrement() throws Exception {
+		runStealingTest(3, 7, 7+3*999, 3, true);
+	}
+
+	@Test
+	public void testStealingFewIterations() throws Exception {
+		runStealingTest(8, 1, 3, 1, false);
+	}
+
+	@Test
+	public void testStealingNoIterations() throws Exception {
+		runStealingTest(2, 1, 0, 1, false);
+	}
+
+	private static void runStealingTest(int k, long from, long to, long incr, boolean skewed)
+		throws Exception
+	{
+		TaskPartitionerStealing partitioner = new TaskPartitionerStealing(1, k, "i",
+			new IntObject(from), new IntObject(to), new IntObject(incr));
+		LocalTaskQueueStealing queue = new LocalTaskQueueStealing(k);
+		partitioner.createTasks(queue);
+
+		int numIter = (int) Math.max((to - from) / incr + 1, 0);
+		AtomicIntegerArray counts = new AtomicIntegerArray(numIter);
+		ExecutorService pool = Executors.newFixedThreadPool(k);
+		try {
+			List<Future<Long>> tasks = new ArrayList<>();
+			for( int w=0; w<k; w++ ) {
+				final int wid = w;
+				tasks.add(pool.submit(() -> {
+					long numTasks = 0;
+					Task t = null;
+					while( (t = queue.dequeueTask()) != LocalTaskQueue.NO_MORE_TASKS ) {
+						Assert.assertEquals(TaskType.RANGE, t.getType());
+						long lfrom = t.getIterations().get(0).getLongValue();
+						long lto = t.getIterations().get(1).getLongValue();
+						Assert.assertEquals(incr, t.getIterations().get(2).getLongValue());
+						for( long i=lfrom; i<=lto; i+=incr ) {
+							counts.incrementAndGet((int)((i - from) / incr));
+							//make the first worker slow to force steals
+							if( skewed && wid == 0 )
+								Thread.sleep(0, 100000);
+						}
+						numTasks++;
+					}
+					return numTasks;
+				}));
+			}
+			long numTasks = 0;
+			for( Future<Long> f : tasks )
+				numTasks += f.get();
+			Assert.assertEquals(numTasks, queue.getNumCreatedTasks());
+		}
+		finally {
+			pool.shutdown();
+		}
+
+		//every iteration is executed exactly once
+		for( int i=0; i<numIter; i++ )
+			Assert.assertEquals("Wrong count of iteration "+i, 1, counts.get(i));
+	}
+}
@@ -0,0 +1,77 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.parfor;
+
+import org.apache.sysds.runtime.controlprogram.parfor.opt.OptNode;
+import org.apache.sysds.runtime.controlprogram.parfor.opt.OptNode.ExecType;
+import org.apache.sysds.runtime.controlprogram.parfor.opt.OptNode.NodeType;
+import org.apache.sysds.runtime.controlprogram.parfor.opt.OptimizerRuleBased;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class TaskPartitionerSelectionTest
+{
+	@Test
+	public void testSimpleBody() {
+		//balanced simple body keeps factoring
+		Assert.assertFalse(OptimizerRuleBased.isWorkStealingApplicable(
+			createParFor(ExecType.CP, NodeType.HOP), 1000));
+	}
+
+	@Test
+	public void testLoopBody() {
+		Assert.assertTrue(OptimizerRuleBased.isWorkStealingApplicable(
+			createParFor(ExecType.CP, NodeType.FOR), 1000));
+	}
+
+	@Test
+	public void testBranchBody() {
+		Assert.assertTrue(OptimizerRuleBased.isWorkStealingApplicable(
+			createParFor(ExecType.CP, NodeType.IF), 1000));
+	}
+
+	@Test
+	public void testFunctionBody() {
+		Assert.assertTrue(OptimizerRuleBased.isWorkStealingApplicable(
+			createParFor(ExecType.CP, NodeType.FUNCCALL), 1000));
+	}
+
+	@Test
+	public void testFewIterations() {
+		Assert.assertFalse(OptimizerRuleBased.isWorkStealingApplicable(
+			createParFor(ExecType.CP, NodeType.FOR), 31));
+	}
+
+	@Test
+	public void testRemote() {
+		Assert.assertFalse(OptimizerRuleBased.isWorkStealingApplicable(
+			createParFor(ExecType.SPARK, NodeType.FOR), 1000));
+	}
+
+	private static OptNode createParFor(ExecType et, NodeType childType) {
+		OptNode pn = new OptNode(NodeType.PARFOR, et);
+		pn.setK(8);
+		OptNode body = new OptNode(NodeType.GENERIC);
+		body.addChild(new OptNode(NodeType.HOP));
+		body.addChild(new OptNode(childType));
+		pn.addChild(body);
+		return pn;
+	}
+}
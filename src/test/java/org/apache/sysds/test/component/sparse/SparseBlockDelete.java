@@ -24,6 +24,7 @@ import java.util.Iterator;
 import org.junit.Assert;
 import org.junit.Test;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockBCSR;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
@@ -99,6 +100,21 @@ public class SparseBlockDelete extends AutomatedTestBase
 		runSparseBlockDeleteTest(SparseBlock.Type.COO, sparsity3);
 	}
 	
+	@Test
+	public void testSparseBlockBCSR1()  {
+		runSparseBlockDeleteTest(SparseBlock.Type.BCSR, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2()  {
+		runSparseBlockDeleteTest(SparseBlock.Type.BCSR, sparsity2);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3()  {
+		runSparseBlockDeleteTest(SparseBlock.Type.BCSR, sparsity3);
+	}
+	
 	private void runSparseBlockDeleteTest( SparseBlock.Type btype, double sparsity)
 	{
 		try
@@ -114,6 +130,7 @@ public class SparseBlockDelete extends AutomatedTestBase
 				case MCSR: sblock = new SparseBlockMCSR(srtmp); break;
 				case CSR: sblock = new SparseBlockCSR(srtmp); break;
 				case COO: sblock = new SparseBlockCOO(srtmp); break;
+				case BCSR: sblock = new SparseBlockBCSR(srtmp); break;
 			}
 			
 			//delete range per row via set
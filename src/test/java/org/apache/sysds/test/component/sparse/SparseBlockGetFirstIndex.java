@@ -22,6 +22,7 @@ package org.apache.sysds.test.component.sparse;
 import org.junit.Assert;
 import org.junit.Test;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockBCSR;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
@@ -190,6 +191,51 @@ public class SparseBlockGetFirstIndex extends AutomatedTestBase
 		runSparseBlockGetFirstIndexTest(SparseBlock.Type.COO, sparsity3, IndexType.LTE);
 	}
 	
+	@Test
+	public void testSparseBlockBCSR1GT()  {
+		runSparseBlockGetFirstIndexTest(SparseBlock.Type.BCSR, sparsity1, IndexType.GT);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2GT()  {
+		runSparseBlockGetFirstIndexTest(SparseBlock.Type.BCSR, sparsity2, IndexType.GT);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3GT()  {
+		runSparseBlockGetFirstIndexTest(SparseBlock.Type.BCSR, sparsity3, IndexType.GT);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR1GTE()  {
+		runSparseBlockGetFirstIndexTest(SparseBlock.Type.BCSR, sparsity1, IndexType.GTE);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2GTE()  {
+		runSparseBlockGetFirstIndexTest(SparseBlock.Type.BCSR, sparsity2, IndexType.GTE);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3GTE()  {
+		runSparseBlockGetFirstIndexTest(SparseBlock.Type.BCSR, sparsity3, IndexType.GTE);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR1LTE()  {
+		runSparseBlockGetFirstIndexTest(SparseBlock.Type.BCSR, sparsity1, IndexType.LTE);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2LTE()  {
+		runSparseBlockGetFirstIndexTest(SparseBlock.Type.BCSR, sparsity2, IndexType.LTE);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3LTE()  {
+		runSparseBlockGetFirstIndexTest(SparseBlock.Type.BCSR, sparsity3, IndexType.LTE);
+	}
+	
 	private void runSparseBlockGetFirstIndexTest( SparseBlock.Type btype, double sparsity, IndexType itype)
 	{
 		try
@@ -205,6 +251,7 @@ public class SparseBlockGetFirstIndex extends AutomatedTestBase
 				case MCSR: sblock = new SparseBlockMCSR(srtmp); break;
 				case CSR: sblock = new SparseBlockCSR(srtmp); break;
 				case COO: sblock = new SparseBlockCOO(srtmp); break;
+				case BCSR: sblock = new SparseBlockBCSR(srtmp); break;
 			}
 			
 			//check for correct number of non-zeros
@@ -22,6 +22,7 @@ package org.apache.sysds.test.component.sparse;
 import org.junit.Assert;
 import org.junit.Test;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockBCSR;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
@@ -194,6 +195,71 @@ public class SparseBlockGetSet extends AutomatedTestBase
 		runSparseBlockGetSetTest(SparseBlock.Type.COO, sparsity3, InitType.RAND_SET);
 	}
 	
+	@Test
+	public void testSparseBlockBCSR1Bulk()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.BCSR, sparsity1, InitType.BULK);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2Bulk()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.BCSR, sparsity2, InitType.BULK);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3Bulk()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.BCSR, sparsity3, InitType.BULK);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR1Seq()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.BCSR, sparsity1, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2Seq()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.BCSR, sparsity2, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3Seq()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.BCSR, sparsity3, InitType.SEQ_SET);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR1Rand()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.BCSR, sparsity1, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2Rand()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.BCSR, sparsity2, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3Rand()  {
+		runSparseBlockGetSetTest(SparseBlock.Type.BCSR, sparsity3, InitType.RAND_SET);
+	}
+	
+	@Test
+	public void testSparseBlockMCSRInPlaceUpdate()  {
+		runSparseBlockInPlaceUpdateTest(SparseBlock.Type.MCSR);
+	}
+	
+	@Test
+	public void testSparseBlockCSRInPlaceUpdate()  {
+		runSparseBlockInPlaceUpdateTest(SparseBlock.Type.CSR);
+	}
+	
+	@Test
+	public void testSparseBlockCOOInPlaceUpdate()  {
+		runSparseBlockInPlaceUpdateTest(SparseBlock.Type.COO);
+	}
+	
+	@Test
+	public void testSparseBlockBCSRReadOnlyRows()  {
+		runSparseBlockBCSRReadOnlyRowsTest();
+	}
+	
 	private void runSparseBlockGetSetTest( SparseBlock.Type btype, double sparsity, InitType itype)
 	{
 		try
@@ -210,6 +276,7 @@ public class SparseBlockGetSet extends AutomatedTestBase
 					case MCSR: sblock = new SparseBlockMCSR(srtmp); break;
 					case CSR: sblock = new SparseBlockCSR(srtmp); break;
 					case COO: sblock = new SparseBlockCOO(srtmp); break;
+					case BCSR: sblock = new SparseBlockBCSR(srtmp); break;
 				}
 			}
 			else if( itype == InitType.SEQ_SET || itype == InitType.RAND_SET ) {
@@ -217,6 +284,7 @@ public class SparseBlockGetSet extends AutomatedTestBase
 					case MCSR: sblock = new SparseBlockMCSR(rows, cols); break;
 					case CSR: sblock = new SparseBlockCSR(rows, cols); break;
 					case COO: sblock = new SparseBlockCOO(rows, cols); break;
+					case BCSR: sblock = new SparseBlockBCSR(rows); break;
 				}
 				
 				if(itype == InitType.SEQ_SET) {
@@ -270,4 +338,74 @@ public class SparseBlockGetSet extends AutomatedTestBase
 			throw new RuntimeException(ex);
 		}
 	}
-}
\ No newline at end of file
+
+	private void runSparseBlockInPlaceUpdateTest( SparseBlock.Type btype )
+	{
+		double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity2, 7654321);
+		MatrixBlock mbtmp = DataConverter.convertToMatrixBlock(A);
+		SparseBlock sblock = null;
+		switch( btype ) {
+			case MCSR: sblock = new SparseBlockMCSR(mbtmp.getSparseBlock()); break;
+			case CSR: sblock = new SparseBlockCSR(mbtmp.getSparseBlock()); break;
+			case COO: sblock = new SparseBlockCOO(mbtmp.getSparseBlock()); break;
+		}
+		
+		//scale all values in place via the row arrays (with repeated row access),
+		//and set every even row's first value to zero
+		for( int i=0; i<rows; i++ ) {
+			if( sblock.isEmpty(i) ) continue;
+			int apos = sblock.pos(i);
+			int alen = sblock.size(i);
+			for( int j=apos; j<apos+alen; j++ )
+				sblock.values(i)[j] *= 2;
+			if( i % 2 == 0 ) {
+				A[i][sblock.indexes(i)[apos]] = 0;
+				sblock.values(i)[apos] = 0;
+			}
+		}
+		
+		//check updated values
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				double tmp = sblock.get(i, j);
+				if( tmp != 2*A[i][j] )
+					Assert.fail("Wrong get value for cell ("+i+","+j+"): "+tmp+", expected: "+2*A[i][j]);
+			}
+	}
+
+	private void runSparseBlockBCSRReadOnlyRowsTest()
+	{
+		double[][] A = getRandomMatrix(rows, cols, -10, 10, sparsity2, 7654321);
+		MatrixBlock mbtmp = DataConverter.convertToMatrixBlock(A);
+		SparseBlock sblock = new SparseBlockBCSR(mbtmp.getSparseBlock());
+		long nnz = sblock.size();
+		
+		//updates of the row arrays must not modify the block,
+		//while updates via set are applied to the block
+		for( int i=0; i<rows; i++ ) {
+			if( sblock.isEmpty(i) ) continue;
+			int apos = sblock.pos(i);
+			int alen = sblock.size(i);
+			int[] aix = sblock.indexes(i);
+			double[] avals = sblock.values(i);
+			for( int j=apos; j<apos+alen; j++ )
+				avals[j] *= 2;
+			for( int j=apos; j<apos+alen; j++ )
+				Assert.assertEquals(A[i][aix[j]], sblock.get(i, aix[j]), 0);
+			if( i % 2 == 0 ) {
+				sblock.set(i, aix[apos], 0);
+				A[i][aix[apos]] = 0;
+				nnz--;
+			}
+		}
+		
+		//check values and non-zeros
+		Assert.assertEquals(nnz, sblock.size());
+		for( int i=0; i<rows; i++ )
+			for( int j=0; j<cols; j++ ) {
+				double tmp = sblock.get(i, j);
+				if( tmp != A[i][j] )
+					Assert.fail("Wrong get value for cell ("+i+","+j+"): "+tmp+", expected: "+A[i][j]);
+			}
+	}
+}
@@ -25,6 +25,7 @@ import java.util.Iterator;
 import org.junit.Assert;
 import org.junit.Test;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockBCSR;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
@@ -150,6 +151,36 @@ public class SparseBlockIndexRange extends AutomatedTestBase
 		runSparseBlockIndexRangeTest(SparseBlock.Type.COO, sparsity3, UpdateType.INSERT);
 	}
 	
+	@Test
+	public void testSparseBlockBCSR1Delete()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.BCSR, sparsity1, UpdateType.DELETE);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2Delete()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.BCSR, sparsity2, UpdateType.DELETE);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3Delete()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.BCSR, sparsity3, UpdateType.DELETE);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR1Insert()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.BCSR, sparsity1, UpdateType.INSERT);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2Insert()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.BCSR, sparsity2, UpdateType.INSERT);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3Insert()  {
+		runSparseBlockIndexRangeTest(SparseBlock.Type.BCSR, sparsity3, UpdateType.INSERT);
+	}
+	
 	private void runSparseBlockIndexRangeTest( SparseBlock.Type btype, double sparsity, UpdateType utype)
 	{
 		try
@@ -165,6 +196,7 @@ public class SparseBlockIndexRange extends AutomatedTestBase
 				case MCSR: sblock = new SparseBlockMCSR(srtmp); break;
 				case CSR: sblock = new SparseBlockCSR(srtmp); break;
 				case COO: sblock = new SparseBlockCOO(srtmp); break;
+				case BCSR: sblock = new SparseBlockBCSR(srtmp); break;
 			}
 			
 			//delete range per row via set
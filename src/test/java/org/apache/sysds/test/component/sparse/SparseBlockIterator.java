@@ -24,6 +24,7 @@ import java.util.Iterator;
 import org.junit.Assert;
 import org.junit.Test;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockBCSR;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
@@ -143,6 +144,36 @@ public class SparseBlockIterator extends AutomatedTestBase
 		runSparseBlockIteratorTest(SparseBlock.Type.COO, sparsity3, true);
 	}
 	
+	@Test
+	public void testSparseBlockBCSR1Full()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.BCSR, sparsity1, false);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2Full()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.BCSR, sparsity2, false);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3Full()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.BCSR, sparsity3, false);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR1Partial()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.BCSR, sparsity1, true);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2Partial()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.BCSR, sparsity2, true);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3Partial()  {
+		runSparseBlockIteratorTest(SparseBlock.Type.BCSR, sparsity3, true);
+	}
+	
 	private void runSparseBlockIteratorTest( SparseBlock.Type btype, double sparsity, boolean partial)
 	{
 		try
@@ -158,6 +189,7 @@ public class SparseBlockIterator extends AutomatedTestBase
 				case MCSR: sblock = new SparseBlockMCSR(srtmp); break;
 				case CSR: sblock = new SparseBlockCSR(srtmp); break;
 				case COO: sblock = new SparseBlockCOO(srtmp); break;
+				case BCSR: sblock = new SparseBlockBCSR(srtmp); break;
 			}
 			
 			//check for correct number of non-zeros
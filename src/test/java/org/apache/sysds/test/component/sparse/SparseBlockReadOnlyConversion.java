@@ -0,0 +1,75 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.component.sparse;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockFactory;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestUtils;
+
+/**
+ * This is a sparse matrix block component test for the conversion of
+ * read-only MCSR blocks into CSR according to the memory cost model.
+ */
+public class SparseBlockReadOnlyConversion extends AutomatedTestBase
+{
+	private final static int rows = 10000;
+	private final static int cols = 1000;
+	private final static double sparsity1 = 0.0003;
+	private final static double sparsity2 = 0.3;
+	private final static double sparsity3 = 0.00001;
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+	}
+
+	@Test
+	public void testUltraSparseConverted()  {
+		runReadOnlyConversionTest(sparsity1, true);
+	}
+
+	@Test
+	public void testSparseNotConverted()  {
+		runReadOnlyConversionTest(sparsity2, false);
+	}
+
+	@Test
+	public void testTinyNotConverted()  {
+		runReadOnlyConversionTest(sparsity3, false);
+	}
+
+	private static void runReadOnlyConversionTest(double sparsity, boolean converted) {
+		MatrixBlock mb = MatrixBlock.randOperations(rows, cols, sparsity, -1, 1, "uniform", 7);
+		MatrixBlock ref = new MatrixBlock(mb);
+		if( !mb.isInSparseFormat() || !SparseBlockFactory
+			.isSparseBlockType(mb.getSparseBlock(), SparseBlock.Type.MCSR) )
+			Assert.fail("Wrong input sparse block type.");
+
+		long saved = mb.compactReadOnlySparseBlock();
+		Assert.assertEquals(converted, saved > 0);
+		Assert.assertEquals(converted ? SparseBlock.Type.CSR : SparseBlock.Type.MCSR,
+			SparseBlockFactory.getSparseBlockType(mb.getSparseBlock()));
+		TestUtils.compareMatrices(ref, mb, 0, "Wrong values after conversion");
+	}
+}
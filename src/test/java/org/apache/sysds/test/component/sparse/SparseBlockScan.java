@@ -22,6 +22,7 @@ package org.apache.sysds.test.component.sparse;
 import org.junit.Assert;
 import org.junit.Test;
 import org.apache.sysds.runtime.data.SparseBlock;
+import org.apache.sysds.runtime.data.SparseBlockBCSR;
 import org.apache.sysds.runtime.data.SparseBlockCOO;
 import org.apache.sysds.runtime.data.SparseBlockCSR;
 import org.apache.sysds.runtime.data.SparseBlockMCSR;
@@ -94,6 +95,21 @@ public class SparseBlockScan extends AutomatedTestBase
 		runSparseBlockScanTest(SparseBlock.Type.COO, sparsity3);
 	}
 	
+	@Test
+	public void testSparseBlockBCSR1Full()  {
+		runSparseBlockScanTest(SparseBlock.Type.BCSR, sparsity1);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR2Full()  {
+		runSparseBlockScanTest(SparseBlock.Type.BCSR, sparsity2);
+	}
+	
+	@Test
+	public void testSparseBlockBCSR3Full()  {
+		runSparseBlockScanTest(SparseBlock.Type.BCSR, sparsity3);
+	}
+	
 	private void runSparseBlockScanTest( SparseBlock.Type btype, double sparsity)
 	{
 		try
@@ -109,6 +125,7 @@ public class SparseBlockScan extends AutomatedTestBase
 				case MCSR: sblock = new SparseBlockMCSR(srtmp); break;
 				case CSR: sblock = new SparseBlockCSR(srtmp); break;
 				case COO: sblock = new SparseBlockCOO(srtmp); break;
+				case BCSR: sblock = new SparseBlockBCSR(srtmp); break;
 			}
 			
 			//check for correct number of non-zeros
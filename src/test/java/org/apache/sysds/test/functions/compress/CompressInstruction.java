@@ -61,6 +61,12 @@ public class CompressInstruction extends AutomatedTestBase {
 		compressTest(10, 10000, 0.3, ExecType.CP, 0, 5, 1, 1, "07");
 	}
 
+	@Test
+	public void testCompressInstructionFrame() {
+		String out = compressTest(10, 1000, 1.0, ExecType.CP, 0, 5, 0, 1, "frame");
+		assertTrue("Wrong result of frame compression: " + out, out.contains("mismatches: 0"));
+	}
+
 	// @Test
 	// public void testCompressInstruction_07_noCompress() {
 	// compressTest(10, 10000, 0.3, ExecType.CP, 0, 5, 1, 1, "07_noCompress");
@@ -83,7 +89,7 @@ public class CompressInstruction extends AutomatedTestBase {
 		}
 	}
 
-	public void compressTest(int cols, int rows, double sparsity, ExecType instType, int min, int max,
+	public String compressTest(int cols, int rows, double sparsity, ExecType instType, int min, int max,
 		int decompressionCountExpected, int compressionCountsExpected, String name) {
 
 		OptimizerUtils.ALLOW_SCRIPT_LEVEL_COMPRESS_COMMAND = true;
@@ -96,12 +102,12 @@ public class CompressInstruction extends AutomatedTestBase {
 
 			programArgs = new String[] {"-stats", "100", "-nvargs", "cols=" + cols, "rows=" + rows, "sparsity=" + sparsity,
 				"min=" + min, "max= " + max};
-			runTest(null);
-
+			return runTest(null).toString();
 		}
 		catch(Exception e) {
 			e.printStackTrace();
 			assertTrue("Exception in execution: " + e.getMessage(), false);
+			return null;
 		}
 		finally {
 			rtplatform = platformOld;
@@ -117,4 +117,13 @@ public class FrameGenerateReaderCSVTest extends GenerateReaderFrameTest {
 		extractSampleRawCSV(separator);
 		runGenerateReaderTest();
 	}
+
+	@Test
+	public void test9() {
+		String[] naStrings = {"NULL", "inf", "NaN"};
+		String separator = "\t\"";
+		generateRandomData(2000, 20, -10, 10, 0.5, naStrings);
+		extractSampleRawCSV(separator);
+		runGenerateReaderTest();
+	}
 }
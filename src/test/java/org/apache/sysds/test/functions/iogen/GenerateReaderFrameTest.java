@@ -22,9 +22,12 @@ package org.apache.sysds.test.functions.iogen;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.conf.CompilerConfig;
+import org.apache.sysds.conf.CompilerConfig.ConfigType;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.io.FrameReader;
 import org.apache.sysds.runtime.iogen.GenerateReader;
 import org.apache.sysds.runtime.matrix.data.FrameBlock;
+import org.apache.sysds.runtime.util.DataConverter;
 import org.apache.sysds.runtime.util.UtilFunctions;
 import org.apache.sysds.test.AutomatedTestBase;
 import org.apache.sysds.test.TestConfiguration;
@@ -36,6 +39,8 @@ import java.io.FileWriter;
 import java.io.IOException;
 import java.util.Random;
 
+import static org.junit.Assert.fail;
+
 public abstract class GenerateReaderFrameTest extends AutomatedTestBase {
 
 	protected final static String TEST_DIR = "functions/iogen/";
@@ -152,7 +157,6 @@ public abstract class GenerateReaderFrameTest extends AutomatedTestBase {
 				generateRandomNumeric(nrows, types[rnt],min,max,naStrings, sparsity,data,i);
 			}
 	}
-	@SuppressWarnings("unused")
 	protected void runGenerateReaderTest() {
 
 		Types.ExecMode oldPlatform = rtplatform;
@@ -177,10 +181,28 @@ public abstract class GenerateReaderFrameTest extends AutomatedTestBase {
 			String dataPath = HOME + "frame_data.raw";
 			int clen = data[0].length;
 			writeRawString(sampleRaw, dataPath);
-			GenerateReader.GenerateReaderFrame gr = new GenerateReader.GenerateReaderFrame(sampleRaw, sampleFrame);
-
+			GenerateReader.GenerateReaderFrame gr = new GenerateReader.GenerateReaderFrame(sampleRaw, sampleFrame, false);
 			FrameReader fr= gr.getReader();
 			FrameBlock grFrame = fr.readFrameFromHDFS(dataPath,schema,names,data.length, clen);
+
+			// compare the generated (compiled, multi-threaded) reader with the interpreted reader
+			FrameBlock cgFrame = null;
+			CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+			boolean oldParRead = cconf.getBool(ConfigType.PARALLEL_CP_READ_TEXTFORMATS);
+			try {
+				cconf.set(ConfigType.PARALLEL_CP_READ_TEXTFORMATS, true);
+				cgFrame = new GenerateReader.GenerateReaderFrame(sampleRaw, sampleFrame, true).getReader()
+					.readFrameFromHDFS(dataPath,schema,names,data.length, clen);
+			}
+			catch(Exception ex) {
+				ex.printStackTrace();
+				fail("Failed read with generated reader: " + ex.getMessage());
+			}
+			finally {
+				cconf.set(ConfigType.PARALLEL_CP_READ_TEXTFORMATS, oldParRead);
+			}
+			TestUtils.compareFrames(DataConverter.convertToStringFrame(grFrame),
+				DataConverter.convertToStringFrame(cgFrame), data.length, clen);
 		}
 		catch(Exception exception) {
 			exception.printStackTrace();
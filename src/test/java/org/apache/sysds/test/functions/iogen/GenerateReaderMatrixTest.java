@@ -22,6 +22,8 @@ package org.apache.sysds.test.functions.iogen;
 import org.apache.sysds.api.DMLScript;
 import org.apache.sysds.common.Types;
 import org.apache.sysds.conf.CompilerConfig;
+import org.apache.sysds.conf.CompilerConfig.ConfigType;
+import org.apache.sysds.conf.ConfigurationManager;
 import org.apache.sysds.runtime.io.MatrixReader;
 import org.apache.sysds.runtime.iogen.GenerateReader;
 import org.apache.sysds.runtime.matrix.data.MatrixBlock;
@@ -35,6 +37,9 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
 public abstract class GenerateReaderMatrixTest extends AutomatedTestBase {
 
 	protected final static String TEST_DIR = "functions/iogen/";
@@ -64,7 +69,6 @@ public abstract class GenerateReaderMatrixTest extends AutomatedTestBase {
 		}
 	}
 
-	@SuppressWarnings("unused")
 	protected void runGenerateReaderTest() {
 
 		Types.ExecMode oldPlatform = rtplatform;
@@ -89,10 +93,28 @@ public abstract class GenerateReaderMatrixTest extends AutomatedTestBase {
 			String dataPath = HOME + "matrix_data.raw";
 			int clen = sampleMatrix[0].length;
 			writeRawString(sampleRaw, dataPath);
-			GenerateReader.GenerateReaderMatrix gr = new GenerateReader.GenerateReaderMatrix(sampleRaw, sampleMB);
-
+			GenerateReader.GenerateReaderMatrix gr = new GenerateReader.GenerateReaderMatrix(sampleRaw, sampleMB, false);
 			MatrixReader mr= gr.getReader();
 			MatrixBlock matrixBlock = mr.readMatrixFromHDFS(dataPath, -1, clen, -1, -1);
+
+			// compare the generated (compiled, multi-threaded) reader with the interpreted reader
+			MatrixBlock cgMatrixBlock = null;
+			CompilerConfig cconf = ConfigurationManager.getCompilerConfig();
+			boolean oldParRead = cconf.getBool(ConfigType.PARALLEL_CP_READ_TEXTFORMATS);
+			try {
+				cconf.set(ConfigType.PARALLEL_CP_READ_TEXTFORMATS, true);
+				cgMatrixBlock = new GenerateReader.GenerateReaderMatrix(sampleRaw, sampleMB, true).getReader()
+					.readMatrixFromHDFS(dataPath, -1, clen, -1, -1);
+			}
+			catch(Exception ex) {
+				ex.printStackTrace();
+				fail("Failed read with generated reader: " + ex.getMessage());
+			}
+			finally {
+				cconf.set(ConfigType.PARALLEL_CP_READ_TEXTFORMATS, oldParRead);
+			}
+			TestUtils.compareMatrices(matrixBlock, cgMatrixBlock, 0, "Generated reader differs from interpreted reader");
+			assertEquals(cgMatrixBlock.getNonZeros(), cgMatrixBlock.recomputeNonZeros());
 		}
 		catch(Exception exception) {
 			exception.printStackTrace();
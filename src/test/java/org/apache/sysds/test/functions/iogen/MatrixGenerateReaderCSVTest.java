@@ -148,4 +148,11 @@ public class MatrixGenerateReaderCSVTest extends GenerateReaderMatrixTest {
 		generateRandomCSV(1000, 500, -10, 10, 0.5, ",,", naString);
 		runGenerateReaderTest();
 	}
+
+	@Test
+	public void test14() {
+		String[] naString = {"\"NA\"", "\\N"};
+		generateRandomCSV(2000, 20, -10, 10, 0.6, "\t", naString);
+		runGenerateReaderTest();
+	}
 }
@@ -143,6 +143,12 @@ public class MatrixGenerateReaderMatrixMarketTest extends GenerateReaderMatrixTe
 		runGenerateReaderTest();
 	}
 
+	@Test
+	public void test1_3() {
+		generateRandomMM(1, 2000, 20, -100, 100, 0.5, ",");
+		runGenerateReaderTest();
+	}
+
 	// Symmetric Tests:
 	// Symmetric Index from 0
 	@Test
@@ -0,0 +1,150 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.rewrite;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.common.Types.FileFormat;
+import org.apache.sysds.hops.OptimizerUtils;
+import org.apache.sysds.lops.RightIndex;
+import org.apache.sysds.runtime.matrix.data.MatrixBlock;
+import org.apache.sysds.runtime.meta.MatrixCharacteristics;
+import org.apache.sysds.runtime.util.DataConverter;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+
+/**
+ * End-to-end tests of the read indexing pushdown, which compare the results
+ * of partial reads (rewrite enabled) with full reads and right indexing
+ * (rewrite disabled). The outputs are written in the input format, which
+ * also checks the export of partially read objects that are not backed by
+ * the source file.
+ */
+public class RewriteReadIndexingPushdownTest extends AutomatedTestBase
+{
+	private static final String TEST_NAME1 = "RewriteReadIndexingPushdown1";
+	private static final String TEST_NAME2 = "RewriteReadIndexingPushdown2";
+	private static final String TEST_NAME3 = "RewriteReadIndexingPushdownFrame";
+
+	private static final String TEST_DIR = "functions/rewrite/";
+	private static final String TEST_CLASS_DIR = TEST_DIR + RewriteReadIndexingPushdownTest.class.getSimpleName() + "/";
+
+	private static final int rows = 234;
+	private static final int cols = 37;
+	private static final int blen = 20;
+	private static final double sparsity = 0.7;
+
+	//1-based index ranges (inclusive), where the second is contained in the first
+	private static final int[] ix1 = {33, 121, 5, 26};
+	private static final int[] ix2 = {41, 87, 7, 19};
+
+	@Override
+	public void setUp() {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] {"A"}));
+		addTestConfiguration(TEST_NAME2, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME2, new String[] {"A", "B"}));
+		addTestConfiguration(TEST_NAME3, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME3, new String[] {"A"}));
+	}
+
+	@Test
+	public void testSingleConsumerBinary() {
+		runReadIndexingPushdownTest(TEST_NAME1, FileFormat.BINARY);
+	}
+
+	@Test
+	public void testSingleConsumerCSV() {
+		runReadIndexingPushdownTest(TEST_NAME1, FileFormat.CSV);
+	}
+
+	@Test
+	public void testMultipleConsumersBinary() {
+		runReadIndexingPushdownTest(TEST_NAME2, FileFormat.BINARY);
+	}
+
+	@Test
+	public void testMultipleConsumersCSV() {
+		runReadIndexingPushdownTest(TEST_NAME2, FileFormat.CSV);
+	}
+
+	@Test
+	public void testFrameCSV() {
+		runReadIndexingPushdownTest(TEST_NAME3, FileFormat.CSV);
+	}
+
+	private void runReadIndexingPushdownTest(String testname, FileFormat fmt) {
+		boolean oldFlag = OptimizerUtils.ALLOW_READ_INDEXING_PUSHDOWN;
+		try {
+			TestConfiguration config = getTestConfiguration(testname);
+			loadTestConfiguration(config);
+
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + testname + ".dml";
+			programArgs = new String[] {"-stats", "-nvargs", "X=" + input("X"), "A=" + output("A"), "B=" + output("B"),
+				"fmt=" + fmt.toString().toLowerCase(), "rows=" + rows, "cols=" + cols,
+				"rl=" + ix1[0], "ru=" + ix1[1], "cl=" + ix1[2], "cu=" + ix1[3],
+				"rl2=" + ix2[0], "ru2=" + ix2[1], "cl2=" + ix2[2], "cu2=" + ix2[3]};
+
+			//write input (frames w/o meta data file because a schema prevents the rewrite)
+			boolean frame = testname.equals(TEST_NAME3);
+			double[][] X = getRandomMatrix(rows, cols, -1, 1, frame ? 1.0 : sparsity, 7);
+			MatrixCharacteristics mc = new MatrixCharacteristics(rows, cols, blen, TestUtils.computeNNZ(X));
+			if( frame )
+				TestUtils.writeCSVTestMatrix(input("X"), X);
+			else if( fmt == FileFormat.BINARY )
+				writeInputBinaryMatrixWithMTD("X", X, blen, blen, false, mc);
+			else
+				writeCSVMatrix("X", X, false, mc);
+
+			//run w/o and w/ read indexing pushdown
+			OptimizerUtils.ALLOW_READ_INDEXING_PUSHDOWN = false;
+			runTest(true, false, null, -1);
+			Assert.assertTrue(heavyHittersContainsString(RightIndex.OPCODE));
+			MatrixBlock A1 = readOutput("A", fmt, ix1);
+			MatrixBlock B1 = testname.equals(TEST_NAME2) ? readOutput("B", fmt, ix2) : null;
+
+			OptimizerUtils.ALLOW_READ_INDEXING_PUSHDOWN = true;
+			runTest(true, false, null, -1);
+			if( !testname.equals(TEST_NAME2) ) //only consumer replaced by partial read
+				Assert.assertFalse(heavyHittersContainsString(RightIndex.OPCODE));
+			MatrixBlock A2 = readOutput("A", fmt, ix1);
+			MatrixBlock B2 = testname.equals(TEST_NAME2) ? readOutput("B", fmt, ix2) : null;
+
+			//compare results of both runs and with the expected slice
+			MatrixBlock expected = DataConverter.convertToMatrixBlock(X)
+				.slice(ix1[0]-1, ix1[1]-1, ix1[2]-1, ix1[3]-1);
+			TestUtils.compareMatrices(expected, A1, 1e-14, "Wrong result w/o read indexing pushdown");
+			TestUtils.compareMatrices(A1, A2, 1e-14, "Wrong result w/ read indexing pushdown");
+			if( B1 != null )
+				TestUtils.compareMatrices(B1, B2, 1e-14, "Wrong shifted result w/ read indexing pushdown");
+		}
+		catch(Exception ex) {
+			throw new RuntimeException(ex);
+		}
+		finally {
+			OptimizerUtils.ALLOW_READ_INDEXING_PUSHDOWN = oldFlag;
+		}
+	}
+
+	private MatrixBlock readOutput(String name, FileFormat fmt, int[] ix) throws Exception {
+		return DataConverter.readMatrixFromHDFS(output(name), fmt,
+			ix[1] - ix[0] + 1, ix[3] - ix[2] + 1, OptimizerUtils.DEFAULT_BLOCKSIZE);
+	}
+}
@@ -0,0 +1,91 @@
+/*
+ * Licensed to the Apache Software Foundation (ASF) under one
+ * or more contributor license agreements.  See the NOTICE file
+ * distributed with this work for additional information
+ * regarding copyright ownership.  The ASF licenses this file
+ * to you under the Apache License, Version 2.0 (the
+ * "License"); you may not use this file except in compliance
+ * with the License.  You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing,
+ * software distributed under the License is distributed on an
+ * "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+ * KIND, either express or implied.  See the License for the
+ * specific language governing permissions and limitations
+ * under the License.
+ */
+
+package org.apache.sysds.test.functions.transform;
+
+import java.util.HashMap;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.apache.sysds.common.Types.ExecMode;
+import org.apache.sysds.runtime.matrix.data.MatrixValue.CellIndex;
+import org.apache.sysds.test.AutomatedTestBase;
+import org.apache.sysds.test.TestConfiguration;
+import org.apache.sysds.test.TestUtils;
+import org.apache.sysds.utils.Statistics;
+
+/**
+ * Tests transformencode with existing meta data, which extends the given
+ * recode maps with the new distinct keys and keeps the existing codes.
+ */
+public class TransformEncodeMetaTest extends AutomatedTestBase 
+{
+	private final static String TEST_NAME1 = "TransformEncodeMeta";
+	private final static String TEST_DIR = "functions/transform/";
+	private final static String TEST_CLASS_DIR = TEST_DIR + TransformEncodeMetaTest.class.getSimpleName() + "/";
+	
+	private final static int rows = 500;
+	
+	@Override
+	public void setUp()  {
+		TestUtils.clearAssertionInformation();
+		addTestConfiguration(TEST_NAME1, new TestConfiguration(TEST_CLASS_DIR, TEST_NAME1, new String[] { "R" }) );
+	}
+	
+	@Test
+	public void testEncodeMetaSingleNode() {
+		runTransformEncodeMetaTest(ExecMode.SINGLE_NODE);
+	}
+	
+	@Test
+	public void testEncodeMetaHybrid() {
+		runTransformEncodeMetaTest(ExecMode.HYBRID);
+	}
+	
+	private void runTransformEncodeMetaTest( ExecMode rt )
+	{
+		ExecMode rtold = setExecMode(rt);
+		
+		try
+		{
+			getAndLoadTestConfiguration(TEST_NAME1);
+			
+			String HOME = SCRIPT_DIR + TEST_DIR;
+			fullDMLScriptName = HOME + TEST_NAME1 + ".dml";
+			programArgs = new String[]{"-stats", "-nvargs",
+				"rows=" + rows, "R=" + output("R")};
+			
+			runTest(true, false, null, -1);
+			
+			//check consistent codes, extended recode maps, and no unknown keys
+			HashMap<CellIndex, Double> R = readDMLMatrixFromOutputDir("R");
+			for( int j=1; j<=4; j++ )
+				Assert.assertEquals("Wrong result for check " + j, 0,
+					R.getOrDefault(new CellIndex(1, j), 0d), 0);
+			
+			//incremental encode w/ existing meta data only supported in CP
+			if( rt == ExecMode.HYBRID )
+				Assert.assertEquals("Wrong number of executed Spark instructions: " + 
+					Statistics.getNoOfExecutedSPInst(), 0, Statistics.getNoOfExecutedSPInst());
+		}
+		finally {
+			resetExecMode(rtold);
+		}
+	}
+}